@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.util.Random;
+
+/**
+ * Shared fixtures for the benchmarks.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class BenchData {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private BenchData() {
+    }
+
+    // Returns a printable ASCII secret of exactly size bytes (UTF-8), seeded so runs are comparable.
+    static String secret(int size) {
+        Random r = new Random(size);
+        char[] cs = new char[size];
+        for (int i = 0; i < size; i++) {
+            cs[i] = ALPHABET.charAt(r.nextInt(ALPHABET.length()));
+        }
+        return new String(cs);
+    }
+
+    // Parses a "k:n" shape parameter into {minimum, shares}.
+    static int[] shape(String shape) {
+        String[] kn = shape.split(":");
+        return new int[]{Integer.parseInt(kn[0]), Integer.parseInt(kn[1])};
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line; when nothing
+ * else is given it runs every benchmark in throughput and average-time modes with
+ * the GC allocation profiler (gc.alloc.rate.norm = bytes allocated per operation).
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * java -jar target/benchmarks.jar
+ * java -jar target/benchmarks.jar SSSPhaseBenchmark.decodeShare -p shape=10:20
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmd);
+        if (cmd.getIncludes().isEmpty()) {
+            builder.include("com\\.ntc\\.jcrypto\\.sss\\..*Benchmark");
+        }
+        if (!cmd.getBenchModes().hasValue()) {
+            builder.mode(Mode.Throughput).mode(Mode.AverageTime);
+        }
+        if (cmd.getProfilers().isEmpty()) {
+            builder.addProfiler(GCProfiler.class);
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Field arithmetic and create/combine with the limb primitives of the multi-release jar: this class runs with the
+ * classes of META-INF/versions/9 (on Java 9+), {@link Baseline} runs the same benchmarks with multi-release lookup
+ * disabled, that is with the Java 8 baseline.
+ * <pre>
+ * java -jar target/benchmarks.jar LimbsBenchmark
+ * </pre>
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LimbsBenchmark {
+
+    @Param({"1024"})
+    public int secretSize;
+
+    private SSS sss;
+    private byte[] secret;
+    private List<String> quorum;
+    private long[] a;
+    private long[] b;
+    private long[] r;
+    private byte[] bytes;
+
+    @Fork(value = 1, jvmArgsAppend = "-Djdk.util.jar.enableMultiRelease=false")
+    public static class Baseline extends LimbsBenchmark {
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        SecureRandom rand = new SecureRandom();
+        sss = new SSS();
+        secret = new byte[secretSize];
+        rand.nextBytes(secret);
+        quorum = sss.create(3, 6, secret, true).subList(0, 3);
+        bytes = new byte[32];
+        rand.nextBytes(bytes);
+        a = Fp256.create();
+        b = Fp256.create();
+        r = Fp256.create();
+        Fp256.fromBytes(a, bytes, 0);
+        rand.nextBytes(bytes);
+        Fp256.fromBytes(b, bytes, 0);
+        if (!Fp256.isReduced(a) || !Fp256.isReduced(b)) {
+            Fp256.setOne(a);
+            Fp256.setOne(b);
+        }
+    }
+
+    @Benchmark
+    public long[] mul() {
+        Fp256.mul(r, a, b);
+        return r;
+    }
+
+    @Benchmark
+    public long[] sqr() {
+        Fp256.sqr(r, a);
+        return r;
+    }
+
+    @Benchmark
+    public byte[] bytesRoundTrip() {
+        Fp256.toBytes(a, bytes, 0);
+        Fp256.fromBytes(r, bytes, 0);
+        return bytes;
+    }
+
+    @Benchmark
+    public List<String> create() throws Exception {
+        return sss.create(3, 6, secret, true);
+    }
+
+    @Benchmark
+    public byte[] combine() throws Exception {
+        return sss.combineBytes(quorum, true);
+    }
+}
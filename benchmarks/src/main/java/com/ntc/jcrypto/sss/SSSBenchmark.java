@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * End-to-end create/combine over secret sizes, (k, n) shapes and encodings.
+ * 
+ * The full matrix is large and the biggest secrets are slow; narrow it with
+ * -p secretSize=... -p shape=... -p encoding=... -p format=...
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SSSBenchmark {
+
+    @Param({"32", "1024", "32768", "1048576"})
+    public int secretSize;
+
+    // minimum:shares
+    @Param({"2:3", "3:6", "10:20", "50:100"})
+    public String shape;
+
+    @Param({"base64", "hex"})
+    public String encoding;
+
+    @Param({"legacy", "compact"})
+    public String format;
+
+    private SSS sss;
+    private String secret;
+    private int minimum;
+    private int shares;
+    private boolean isBase64;
+    private boolean isCompact;
+    private List<String> quorum;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        sss = new SSS();
+        secret = BenchData.secret(secretSize);
+        int[] kn = BenchData.shape(shape);
+        minimum = kn[0];
+        shares = kn[1];
+        isBase64 = "base64".equals(encoding);
+        isCompact = "compact".equals(format);
+        quorum = sss.create(minimum, shares, secret, isBase64, isCompact).subList(0, minimum);
+    }
+
+    @Benchmark
+    public List<String> create() throws Exception {
+        return sss.create(minimum, shares, secret, isBase64, isCompact);
+    }
+
+    @Benchmark
+    public String combine() throws Exception {
+        return sss.combine(quorum, isBase64);
+    }
+}
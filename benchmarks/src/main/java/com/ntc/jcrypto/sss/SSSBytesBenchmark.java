@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * create/combine of raw binary keys through the byte[] and direct ByteBuffer APIs.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SSSBytesBenchmark {
+
+    @Param({"32", "1024", "1048576"})
+    public int secretSize;
+
+    // 0 = serial engine, otherwise a ForkJoinPool of that many workers
+    @Param({"0", "4"})
+    public int parallelism;
+
+    // minimum:shares
+    @Param({"2:3", "3:6", "10:20"})
+    public String shape;
+
+    private SSS sss;
+    private ForkJoinPool pool;
+    private byte[] secret;
+    private int minimum;
+    private List<byte[]> quorum;
+    private ByteBuffer secretBuf;
+    private ByteBuffer[] shareBufs;
+    private ByteBuffer[] quorumBufs;
+    private ByteBuffer outBuf;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        pool = parallelism > 0 ? new ForkJoinPool(parallelism) : null;
+        sss = pool == null ? new SSS() : new SSS(pool, 64);
+        secret = new byte[secretSize];
+        new SecureRandom().nextBytes(secret);
+        int[] kn = BenchData.shape(shape);
+        minimum = kn[0];
+        quorum = sss.create(kn[0], kn[1], secret).subList(0, minimum);
+
+        secretBuf = ByteBuffer.allocateDirect(secretSize);
+        secretBuf.put(secret).flip();
+        shareBufs = new ByteBuffer[kn[1]];
+        for (int i = 0; i < kn[1]; i++) {
+            shareBufs[i] = ByteBuffer.allocateDirect(SSS.shareLength(secretSize));
+        }
+        quorumBufs = new ByteBuffer[minimum];
+        for (int i = 0; i < minimum; i++) {
+            quorumBufs[i] = ByteBuffer.allocateDirect(SSS.shareLength(secretSize));
+            quorumBufs[i].put(quorum.get(i)).flip();
+        }
+        outBuf = ByteBuffer.allocateDirect(SSS.maxSecretLength(SSS.shareLength(secretSize)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<byte[]> createBytes() throws Exception {
+        return sss.create(minimum, shareBufs.length, secret);
+    }
+
+    @Benchmark
+    public byte[] combineBytes() throws Exception {
+        return sss.combine(quorum);
+    }
+
+    @Benchmark
+    public ByteBuffer[] createDirect() throws Exception {
+        secretBuf.rewind();
+        for (ByteBuffer share : shareBufs) {
+            share.clear();
+        }
+        sss.create(minimum, secretBuf, shareBufs);
+        return shareBufs;
+    }
+
+    @Benchmark
+    public int combineDirect() throws Exception {
+        for (ByteBuffer share : quorumBufs) {
+            share.rewind();
+        }
+        outBuf.clear();
+        return sss.combine(quorumBufs, outBuf);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * create throughput of one SSS instance shared by all benchmark threads. Run with increasing thread counts to see
+ * how it scales with cores, e.g. -t 1, -t 2, -t 4, -t max; the secureRandom source shows the contention on a single
+ * shared generator for comparison.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SSSConcurrencyBenchmark {
+
+    @Param({"threadLocal", "secureRandom"})
+    public String source;
+
+    @Param({"32", "1024"})
+    public int secretSize;
+
+    // minimum:shares
+    @Param({"3:6", "10:20"})
+    public String shape;
+
+    private SSS sss;
+    private String secret;
+    private int minimum;
+    private int shares;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        RandomSource random = "threadLocal".equals(source) ? RandomSource.threadLocal() : RandomSource.of(new SecureRandom());
+        sss = new SSS(random);
+        secret = BenchData.secret(secretSize);
+        int[] kn = BenchData.shape(shape);
+        minimum = kn[0];
+        shares = kn[1];
+    }
+
+    @Benchmark
+    public List<String> createCompact() throws Exception {
+        return sss.create(minimum, shares, secret, true, true);
+    }
+
+    @Benchmark
+    public List<String> createClassic() throws Exception {
+        return sss.create(minimum, shares, secret, true);
+    }
+}
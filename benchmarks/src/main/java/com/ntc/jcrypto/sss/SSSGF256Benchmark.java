@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * create/combine of raw binary secrets with the GF(2^8) engine; compare with SSSBytesBenchmark.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SSSGF256Benchmark {
+
+    @Param({"32", "1024", "1048576"})
+    public int secretSize;
+
+    // minimum:shares
+    @Param({"2:3", "3:6", "10:20"})
+    public String shape;
+
+    private SSSGF256 sss;
+    private byte[] secret;
+    private int minimum;
+    private int shares;
+    private List<byte[]> quorum;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        sss = new SSSGF256();
+        secret = new byte[secretSize];
+        new SecureRandom().nextBytes(secret);
+        int[] kn = BenchData.shape(shape);
+        minimum = kn[0];
+        shares = kn[1];
+        quorum = sss.create(minimum, shares, secret).subList(0, minimum);
+    }
+
+    @Benchmark
+    public List<byte[]> create() throws Exception {
+        return sss.create(minimum, shares, secret);
+    }
+
+    @Benchmark
+    public byte[] combine() throws Exception {
+        return sss.combine(quorum);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Breaks create/combine down into their phases so we can see where the time goes.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SSSPhaseBenchmark {
+
+    @Param({"32", "1024", "32768"})
+    public int secretSize;
+
+    // minimum:shares
+    @Param({"2:3", "10:20", "50:100"})
+    public String shape;
+
+    private SSS sss;
+    private String secret;
+    private List<BigInteger> secrets;
+    private List<String> quorumBase64;
+    private List<String> quorumHex;
+    private BigInteger[][] polynomial;
+    private BigInteger x;
+    private long[][] coeffs;
+    private long[] xe;
+    private long[] ye;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        sss = new SSS();
+        secret = BenchData.secret(secretSize);
+        secrets = sss.splitSecretToBigInt(secret);
+        int[] kn = BenchData.shape(shape);
+        quorumBase64 = sss.create(kn[0], kn[1], secret, true).subList(0, kn[0]);
+        quorumHex = sss.create(kn[0], kn[1], secret, false).subList(0, kn[0]);
+        // one part, degree (minimum - 1)
+        polynomial = new BigInteger[1][kn[0]];
+        for (int i = 0; i < kn[0]; i++) {
+            polynomial[0][i] = sss.random();
+        }
+        x = sss.random();
+        coeffs = new long[kn[0]][];
+        for (int i = 0; i < kn[0]; i++) {
+            coeffs[i] = Fp256.valueOf(polynomial[0][i]);
+        }
+        xe = Fp256.valueOf(x);
+        ye = Fp256.create();
+    }
+
+    @Benchmark
+    public BigInteger[][][] decodeShareBase64() throws Exception {
+        return sss.decodeShareBase64(quorumBase64);
+    }
+
+    @Benchmark
+    public BigInteger[][][] decodeShareHex() throws Exception {
+        return sss.decodeShareHex(quorumHex);
+    }
+
+    @Benchmark
+    public List<BigInteger> splitSecretToBigInt() {
+        return sss.splitSecretToBigInt(secret);
+    }
+
+    @Benchmark
+    public String mergeBigIntToString() {
+        return sss.mergeBigIntToString(secrets);
+    }
+
+    @Benchmark
+    public BigInteger random() {
+        return sss.random();
+    }
+
+    @Benchmark
+    public BigInteger evaluatePolynomial() {
+        return sss.evaluatePolynomial(polynomial, 0, x);
+    }
+
+    @Benchmark
+    public long[] evaluatePolynomialFp256() {
+        sss.evaluatePolynomial(ye, coeffs, xe);
+        return ye;
+    }
+}
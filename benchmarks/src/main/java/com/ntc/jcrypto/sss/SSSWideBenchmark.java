@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * create/combine of very wide sharings (thousands of shares, large thresholds) of a short binary secret.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SSSWideBenchmark {
+
+    @Param({"124"})
+    public int secretSize;
+
+    // minimum:shares
+    @Param({"16:4096", "1024:4096", "4096:8192"})
+    public String shape;
+
+    private SSS sss;
+    private byte[] secret;
+    private int minimum;
+    private int shares;
+    private List<String> quorum;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        sss = new SSS();
+        secret = new byte[secretSize];
+        new SecureRandom().nextBytes(secret);
+        int[] kn = BenchData.shape(shape);
+        minimum = kn[0];
+        shares = kn[1];
+        quorum = sss.create(minimum, shares, secret, true).subList(0, minimum);
+    }
+
+    @Benchmark
+    public List<String> create() throws Exception {
+        return sss.create(minimum, shares, secret, true);
+    }
+
+    @Benchmark
+    public byte[] combine() throws Exception {
+        return sss.combineBytes(quorum, true);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss.server;
+
+import com.ntc.jcrypto.sss.SSS;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loopback load test of {@link RecoveryServer}: connections clients each keep depth combine requests in flight for
+ * the given number of seconds, then the throughput, the client-side latency and the server counters are printed.
+ * Without a port an in-process server is started on a free port. With "batch" the share sets come from
+ * SSS#createBatch and share their x-coordinates, so the server reuses one Lagrange basis across each batch.
+ * 
+ * java -cp ntc-jcrypto-server.jar:ntc-jcrypto.jar com.ntc.jcrypto.sss.server.LoadTest
+ *      [connections=8] [depth=64] [seconds=10] [secretSize=32] [k:n=3:5] [batch|single] [port]
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int secretSize = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+        String[] kn = (args.length > 4 ? args[4] : "3:5").split(":");
+        boolean isBatch = args.length <= 5 || args[5].equals("batch");
+        int minimum = Integer.parseInt(kn[0]);
+        int shares = Integer.parseInt(kn[1]);
+
+        RecoveryServer server = null;
+        int port;
+        if (args.length > 6) {
+            port = Integer.parseInt(args[6]);
+        } else {
+            server = new RecoveryServer(new SSS(ForkJoinPool.commonPool(), 16), 0, RecoveryServer.DEFAULT_MEMORY_BUDGET, RecoveryServer.DEFAULT_MAX_BATCH, 0);
+            server.start();
+            port = server.port();
+        }
+
+        // share sets to recover, reused round-robin
+        SSS sss = new SSS();
+        SecureRandom rand = new SecureRandom();
+        List<byte[]> secrets = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            byte[] secret = new byte[secretSize];
+            rand.nextBytes(secret);
+            secrets.add(secret);
+        }
+        List<List<String>> sets = new ArrayList<>();
+        if (isBatch) {
+            sss.createBatch(minimum, shares, secrets, true, sets);
+        } else {
+            for (byte[] secret : secrets) {
+                sets.add(sss.create(minimum, shares, secret, true));
+            }
+        }
+        List<List<String>> quorums = new ArrayList<>();
+        for (List<String> set : sets) {
+            quorums.add(set.subList(0, minimum));
+        }
+
+        AtomicLong done = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong latencyTotal = new AtomicLong();
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> threads = new ArrayList<>();
+        List<RecoveryClient> clients = new ArrayList<>();
+        for (int t = 0; t < connections; t++) {
+            RecoveryClient client = new RecoveryClient(port);
+            clients.add(client);
+            int offset = t;
+            Thread thread = new Thread(() -> {
+                Semaphore inFlight = new Semaphore(depth);
+                for (int i = offset; System.nanoTime() < end; i += connections) {
+                    inFlight.acquireUninterruptibly();
+                    int n = i % quorums.size();
+                    long start = System.nanoTime();
+                    client.combineAsync(quorums.get(n), true).whenComplete((secret, e) -> {
+                        latencyTotal.addAndGet(System.nanoTime() - start);
+                        if (e != null || !Arrays.equals(secret, secrets.get(n))) {
+                            failed.incrementAndGet();
+                        }
+                        done.incrementAndGet();
+                        inFlight.release();
+                    });
+                }
+                inFlight.acquireUninterruptibly(depth);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (RecoveryClient client : clients) {
+            client.close();
+        }
+        long n = done.get();
+        System.out.printf("%d requests in %d s: %.0f req/s, mean latency %.0f us, %d failed%n",
+                n, seconds, n / (double) seconds, n == 0 ? 0.0 : latencyTotal.get() / 1000.0 / n, failed.get());
+        if (server != null) {
+            System.out.println("server: " + server.counters());
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A client of {@link RecoveryServer} on the loopback interface. Requests are pipelined on one connection: the async
+ * methods send at once and complete when the response with their id arrives, read by a background thread; the
+ * blocking methods wait for it. Thread-safe.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public class RecoveryClient implements Closeable {
+
+    private final SocketChannel ch;
+    private final AtomicInteger ids = new AtomicInteger();
+    private final Map<Integer, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<>();
+    private final Thread reader;
+    private volatile boolean closed;
+
+    public RecoveryClient(int port) throws IOException {
+        ch = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        ch.socket().setTcpNoDelay(true);
+        reader = new Thread(this::readLoop, "sss-recovery-client");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    public CompletableFuture<byte[]> combineAsync(List<String> shares, boolean isBase64) {
+        int id = ids.incrementAndGet();
+        return send(id, RecoveryProtocol.combineRequest(id, shares, isBase64));
+    }
+
+    public CompletableFuture<List<String>> splitAsync(int minimum, int shares, byte[] secret, boolean isBase64) {
+        int id = ids.incrementAndGet();
+        return send(id, RecoveryProtocol.splitRequest(id, minimum, shares, secret, isBase64)).thenApply(RecoveryProtocol::splitShares);
+    }
+
+    /**
+     * Returns the secret bytes recovered by the server from the shares, see SSS#combineBytes(List, boolean).
+     *
+     * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @return byte[] secret
+     * @throws Exception Shares invalid or I/O error
+     */
+    public byte[] combine(List<String> shares, boolean isBase64) throws Exception {
+        return await(combineAsync(shares, isBase64));
+    }
+
+    /**
+     * Returns byte-exact compact shares of the secret created by the server, see SSS#create(int, int, byte[], boolean).
+     *
+     * @param minimum int minimum
+     * @param shares int shares
+     * @param secret byte[] secret
+     * @param isBase64 True using encode Base64Url, otherwise encode Hex
+     * @return List string shares
+     * @throws Exception Input params invalid or I/O error
+     */
+    public List<String> split(int minimum, int shares, byte[] secret, boolean isBase64) throws Exception {
+        return await(splitAsync(minimum, shares, secret, isBase64));
+    }
+
+    private CompletableFuture<byte[]> send(int id, ByteBuffer frame) {
+        CompletableFuture<byte[]> f = new CompletableFuture<>();
+        pending.put(id, f);
+        try {
+            synchronized (ch) {
+                while (frame.hasRemaining()) {
+                    ch.write(frame);
+                }
+            }
+        } catch (IOException e) {
+            pending.remove(id);
+            f.completeExceptionally(e);
+        }
+        if (closed && pending.remove(id) != null) {
+            f.completeExceptionally(new IOException("connection is closed"));
+        }
+        return f;
+    }
+
+    private static <T> T await(CompletableFuture<T> f) throws Exception {
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    // Reads responses into one buffer and completes the futures of every whole frame in it.
+    private void readLoop() {
+        ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+        try {
+            while (ch.read(in) >= 0) {
+                in.flip();
+                while (in.remaining() >= 4) {
+                    int len = in.getInt(in.position());
+                    if (len < RecoveryProtocol.RESPONSE_HEADER - 4) {
+                        throw new IOException("response is invalid");
+                    }
+                    if (in.remaining() < 4 + len) {
+                        break;
+                    }
+                    in.getInt();
+                    int id = in.getInt();
+                    int status = in.get();
+                    byte[] b = new byte[len - (RecoveryProtocol.RESPONSE_HEADER - 4)];
+                    in.get(b);
+                    complete(id, status, b);
+                }
+                if (in.remaining() >= 4 && 4 + in.getInt(in.position()) > in.capacity()) {
+                    // a frame larger than the buffer
+                    ByteBuffer bigger = ByteBuffer.allocate(4 + in.getInt(in.position()));
+                    bigger.put(in);
+                    in = bigger;
+                } else {
+                    in.compact();
+                }
+            }
+        } catch (IOException e) {
+            // fall through: fail whatever is still pending
+        }
+        closed = true;
+        for (Integer id : pending.keySet()) {
+            CompletableFuture<byte[]> f = pending.remove(id);
+            if (f != null) {
+                f.completeExceptionally(new IOException("connection is closed"));
+            }
+        }
+    }
+
+    private void complete(int id, int status, byte[] b) {
+        CompletableFuture<byte[]> f = pending.remove(id);
+        if (f == null) {
+            return;
+        }
+        if (status == RecoveryProtocol.STATUS_OK) {
+            f.complete(b);
+        } else {
+            f.completeExceptionally(new Exception(new String(b, StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        ch.close();
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss.server;
+
+import com.ntc.jcrypto.sss.SSS;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The binary protocol of {@link RecoveryServer}: length-prefixed frames over a stream socket, all integers unsigned
+ * big-endian. A connection may pipeline any number of requests; responses carry the request id and may come back in
+ * a different order.
+ * 
+ * <pre>
+ * request   u32 length of the rest | u32 id | u8 op | u8 flags (bit 0: Base64, otherwise Hex) | body
+ *   COMBINE   u32 count | count * (u32 length | share string, ASCII)
+ *   SPLIT     u16 minimum | u16 shares | secret bytes
+ * response  u32 length of the rest | u32 id | u8 status | body
+ *   OK        COMBINE: secret bytes; SPLIT: u32 count | count * (u32 length | share string, ASCII)
+ *   INVALID   error message, UTF-8
+ * </pre>
+ * 
+ * Split returns byte-exact compact shares (see SSS#create(int, int, byte[], boolean)).
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class RecoveryProtocol {
+
+    public static final int OP_COMBINE = 1;
+    public static final int OP_SPLIT = 2;
+
+    public static final int FLAG_BASE64 = 1;
+
+    public static final int STATUS_OK = 0;
+    public static final int STATUS_INVALID = 1;
+
+    // Length prefix, id, op and flags.
+    static final int REQUEST_HEADER = 10;
+    // Length prefix, id and status.
+    static final int RESPONSE_HEADER = 9;
+
+    private RecoveryProtocol() {
+    }
+
+    // Returns a COMBINE request frame.
+    public static ByteBuffer combineRequest(int id, List<String> shares, boolean isBase64) {
+        int len = REQUEST_HEADER + 4;
+        for (String share : shares) {
+            len += 4 + share.length();
+        }
+        ByteBuffer b = header(len, id, OP_COMBINE, isBase64);
+        b.putInt(shares.size());
+        putStrings(b, shares);
+        b.flip();
+        return b;
+    }
+
+    // Returns a SPLIT request frame.
+    public static ByteBuffer splitRequest(int id, int minimum, int shares, byte[] secret, boolean isBase64) {
+        ByteBuffer b = header(REQUEST_HEADER + 4 + secret.length, id, OP_SPLIT, isBase64);
+        b.putShort((short) minimum).putShort((short) shares).put(secret);
+        b.flip();
+        return b;
+    }
+
+    private static ByteBuffer header(int len, int id, int op, boolean isBase64) {
+        ByteBuffer b = ByteBuffer.allocate(len);
+        b.putInt(len - 4).putInt(id).put((byte) op).put((byte) (isBase64 ? FLAG_BASE64 : 0));
+        return b;
+    }
+
+    // Returns a response frame with the given body.
+    static ByteBuffer response(int id, int status, byte[] body) {
+        ByteBuffer b = ByteBuffer.allocate(RESPONSE_HEADER + body.length);
+        b.putInt(RESPONSE_HEADER - 4 + body.length).putInt(id).put((byte) status).put(body);
+        b.flip();
+        return b;
+    }
+
+    // Length of a split response frame, length prefix included, for shares byte-exact shares of a secret.
+    static long splitResponseLength(int shares, int secretLength, boolean isBase64) {
+        long share = SSS.BYTES_PREFIX.length() + (long) (SSS.shareLength(secretLength) / 32) * (isBase64 ? 44 : 64);
+        return RESPONSE_HEADER + 4 + shares * (4 + share);
+    }
+
+    // Returns an OK response frame to a SPLIT.
+    static ByteBuffer splitResponse(int id, List<String> shares) {
+        int len = RESPONSE_HEADER + 4;
+        for (String share : shares) {
+            len += 4 + share.length();
+        }
+        ByteBuffer b = ByteBuffer.allocate(len);
+        b.putInt(len - 4).putInt(id).put((byte) STATUS_OK).putInt(shares.size());
+        putStrings(b, shares);
+        b.flip();
+        return b;
+    }
+
+    private static void putStrings(ByteBuffer b, List<String> strings) {
+        for (String s : strings) {
+            b.putInt(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                b.put((byte) s.charAt(i));
+            }
+        }
+    }
+
+    // Reads count length-prefixed ASCII strings; returns null if they overrun the buffer.
+    static List<String> getStrings(ByteBuffer b, int count) {
+        if (count < 0 || count > b.remaining() / 4) {
+            return null;
+        }
+        List<String> rs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (b.remaining() < 4) {
+                return null;
+            }
+            int len = b.getInt();
+            if (len < 0 || len > b.remaining()) {
+                return null;
+            }
+            rs.add(new String(b.array(), b.arrayOffset() + b.position(), len, StandardCharsets.ISO_8859_1));
+            b.position(b.position() + len);
+        }
+        return rs;
+    }
+
+    // Returns the shares of an OK response body to a SPLIT.
+    public static List<String> splitShares(byte[] body) {
+        ByteBuffer b = ByteBuffer.wrap(body);
+        return b.remaining() < 4 ? null : getStrings(b, b.getInt());
+    }
+}
@@ -0,0 +1,569 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss.server;
+
+import com.ntc.jcrypto.sss.SSS;
+import com.ntc.jcrypto.sss.ShareCodec;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local share recovery and split service on the loopback interface, speaking {@link RecoveryProtocol}.
+ * 
+ * One selector thread does all socket I/O without blocking. Complete requests go to a queue drained by one engine
+ * thread in micro-batches of up to maxBatch requests (whatever is queued, after waiting up to batchWindow for more):
+ * the combines of a batch are ordered by x-coordinates and recovered with {@link SSS#combineBatch}, which computes
+ * one Lagrange basis per run of share sets with the same x-coordinates, and can spread the batch over the pool of the
+ * engine. A batch that fails is retried request by request, so an invalid request only fails itself.
+ * 
+ * Memory is bounded by memoryBudget: a combine is charged {@link #EXPANSION} times its frame, for its decoded shares
+ * and its response, and a split {@link #EXPANSION} times its frame plus its response, whose size follows from the
+ * secret length and the number of shares (at most {@link #MAX_SPLIT_SHARES}); the charge holds from the moment the
+ * length of the request is read, before its body is allocated, until its response is written, and a split pays for
+ * its response once its body is read. When the budget is used up the
+ * selector stops reading from the connection whose request does not fit, so TCP flow control pushes back on the
+ * client, and reads it again once responses are written. A request charged more than the whole budget closes its
+ * connection.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public class RecoveryServer implements Closeable {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+    public static final int DEFAULT_MAX_BATCH = 256;
+    // Each request is charged this many times its frame length against the memory budget.
+    public static final int EXPANSION = 4;
+    // Largest number of shares a split request may ask for.
+    public static final int MAX_SPLIT_SHARES = 1024;
+
+    private final SSS sss;
+    private final int requestedPort;
+    private final long memoryBudget;
+    private final int maxBatch;
+    private final long batchWindowNanos;
+    private final ServerCounters counters = new ServerCounters();
+
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    // Connections with responses to write, handed from the engine to the selector thread.
+    private final ConcurrentLinkedQueue<Connection> ready = new ConcurrentLinkedQueue<>();
+    // Connections not read until the budget frees up; selector thread only.
+    private final ArrayDeque<Connection> paused = new ArrayDeque<>();
+    private volatile boolean running;
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread ioThread;
+    private Thread engineThread;
+
+    public RecoveryServer(int port) {
+        this(new SSS(ForkJoinPool.commonPool(), 16), port, DEFAULT_MEMORY_BUDGET, DEFAULT_MAX_BATCH, 0);
+    }
+
+    /**
+     * Creates a server, not yet started.
+     *
+     * @param sss SSS engine, with a pool to spread batches over threads
+     * @param port int TCP port on the loopback interface, 0 for any free port
+     * @param memoryBudget long bytes that requests may hold from their header to their response
+     * @param maxBatch int maximum number of requests per batch
+     * @param batchWindowMicros long time to wait for more requests when a batch is not full, 0 to take what is queued
+     */
+    public RecoveryServer(SSS sss, int port, long memoryBudget, int maxBatch, long batchWindowMicros) {
+        if (sss == null || port < 0 || port > 0xFFFF || memoryBudget <= 0 || maxBatch <= 0 || batchWindowMicros < 0) {
+            throw new IllegalArgumentException("sss is NULL or port, memoryBudget, maxBatch or batchWindowMicros is invalid");
+        }
+        this.sss = sss;
+        this.requestedPort = port;
+        this.memoryBudget = memoryBudget;
+        this.maxBatch = maxBatch;
+        this.batchWindowNanos = TimeUnit.MICROSECONDS.toNanos(batchWindowMicros);
+    }
+
+    // Binds the loopback port and starts the selector and engine threads.
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        ioThread = new Thread(this::ioLoop, "sss-recovery-io");
+        engineThread = new Thread(this::engineLoop, "sss-recovery-engine");
+        ioThread.setDaemon(true);
+        engineThread.setDaemon(true);
+        ioThread.start();
+        engineThread.start();
+    }
+
+    // Returns the bound port.
+    public int port() {
+        return server.socket().getLocalPort();
+    }
+
+    public ServerCounters counters() {
+        return counters;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        engineThread.interrupt();
+        try {
+            ioThread.join();
+            engineThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private static final class Request {
+        final Connection conn;
+        final ByteBuffer frame;
+        final long cost;
+        final long readAt;
+        int id;
+        boolean isBase64;
+        List<String> shares;
+        // for combine: the x-coordinate prefix of every share, to cluster sets with the same x-coordinates
+        String xKey;
+
+        Request(Connection conn, ByteBuffer frame, long cost) {
+            this.conn = conn;
+            this.frame = frame;
+            this.cost = cost;
+            this.readAt = System.nanoTime();
+        }
+    }
+
+    private static final class Response {
+        final ByteBuffer buf;
+        final long cost;
+
+        Response(ByteBuffer buf, long cost) {
+            this.buf = buf;
+            this.cost = cost;
+        }
+    }
+
+    private final class Connection {
+        final SocketChannel ch;
+        final SelectionKey key;
+        final ByteBuffer head = ByteBuffer.allocate(4);
+        ByteBuffer body;
+        // a complete frame waiting for room in the budget
+        ByteBuffer waiting;
+        // charged for the frame being read or waiting, until it is queued
+        long reserved;
+        // guarded by itself; written by the engine, drained by the selector thread
+        final ArrayDeque<Response> out = new ArrayDeque<>();
+        volatile boolean closed;
+
+        Connection(SocketChannel ch) throws IOException {
+            this.ch = ch;
+            this.key = ch.register(selector, SelectionKey.OP_READ, this);
+        }
+    }
+
+    // --- selector thread ---
+
+    private void ioLoop() {
+        try {
+            while (running) {
+                selector.select();
+                Connection c;
+                while ((c = ready.poll()) != null) {
+                    write(c);
+                }
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection conn = (Connection) key.attachment();
+                    if (key.isWritable()) {
+                        write(conn);
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        read(conn);
+                    }
+                }
+                resume();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            running = false;
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel ch = server.accept();
+        if (ch != null) {
+            ch.configureBlocking(false);
+            ch.socket().setTcpNoDelay(true);
+            new Connection(ch);
+        }
+    }
+
+    private void read(Connection c) {
+        try {
+            while (true) {
+                if (c.waiting == null) {
+                    if (c.body == null) {
+                        if (c.head.hasRemaining() && c.ch.read(c.head) < 0) {
+                            close(c);
+                            return;
+                        }
+                        if (c.head.hasRemaining()) {
+                            return;
+                        }
+                        int len = c.head.getInt(0);
+                        if (len < RecoveryProtocol.REQUEST_HEADER - 4 || cost(len) > memoryBudget) {
+                            close(c);
+                            return;
+                        }
+                        // charge the frame before its body is allocated
+                        if (!reserve(c, cost(len))) {
+                            pause(c);
+                            return;
+                        }
+                        c.body = ByteBuffer.allocate(len);
+                    }
+                    if (c.ch.read(c.body) < 0) {
+                        close(c);
+                        return;
+                    }
+                    if (c.body.hasRemaining()) {
+                        return;
+                    }
+                    c.waiting = c.body;
+                    c.waiting.flip();
+                    c.body = null;
+                    c.head.clear();
+                    if (cost(c.waiting) > memoryBudget) {
+                        close(c);
+                        return;
+                    }
+                }
+                if (!reserve(c, cost(c.waiting))) {
+                    pause(c);
+                    return;
+                }
+                counters.queued();
+                queue.add(new Request(c, c.waiting, c.reserved));
+                c.waiting = null;
+                c.reserved = 0;
+            }
+        } catch (IOException e) {
+            close(c);
+        }
+    }
+
+    // The least a frame of frameLength bytes is charged, known before its body is read.
+    private static long cost(int frameLength) {
+        return (long) EXPANSION * (frameLength + 4);
+    }
+
+    // The charge of a complete frame: a split also pays for the shares it will send back.
+    static long cost(ByteBuffer frame) {
+        long cost = cost(frame.remaining());
+        int secretLength = frame.remaining() - (RecoveryProtocol.REQUEST_HEADER - 4) - 4;
+        if (frame.get(4) == RecoveryProtocol.OP_SPLIT && secretLength >= 0) {
+            int shares = Math.min(frame.getShort(8) & 0xFFFF, MAX_SPLIT_SHARES);
+            boolean isBase64 = (frame.get(5) & RecoveryProtocol.FLAG_BASE64) != 0;
+            cost += (long) EXPANSION * RecoveryProtocol.splitResponseLength(shares, secretLength, isBase64);
+        }
+        return cost;
+    }
+
+    // Raises the charge of the frame c is reading to cost if it fits the budget; a frame always fits when nothing else
+    // is held.
+    private boolean reserve(Connection c, long cost) {
+        long held = counters.inFlightBytes() - c.reserved;
+        if (held > 0 && held + cost > memoryBudget) {
+            return false;
+        }
+        counters.reserved(cost - c.reserved);
+        c.reserved = cost;
+        return true;
+    }
+
+    // Stops reading the connection until responses free the budget.
+    private void pause(Connection c) {
+        c.key.interestOps(c.key.interestOps() & ~SelectionKey.OP_READ);
+        paused.add(c);
+        counters.throttle();
+    }
+
+    // Charges the paused connections, in order, while their frames fit, and reads those connections again.
+    private void resume() {
+        while (!paused.isEmpty()) {
+            Connection c = paused.peek();
+            if (!c.closed) {
+                if (!reserve(c, c.waiting != null ? cost(c.waiting) : cost(c.head.getInt(0)))) {
+                    return;
+                }
+                c.key.interestOps(c.key.interestOps() | SelectionKey.OP_READ);
+                read(c);
+            }
+            paused.remove(c);
+        }
+    }
+
+    private void write(Connection c) {
+        if (c.closed) {
+            return;
+        }
+        try {
+            synchronized (c.out) {
+                while (!c.out.isEmpty()) {
+                    Response r = c.out.peek();
+                    c.ch.write(r.buf);
+                    if (r.buf.hasRemaining()) {
+                        break;
+                    }
+                    c.out.poll();
+                    counters.released(r.cost);
+                }
+                int ops = c.key.interestOps();
+                c.key.interestOps(c.out.isEmpty() ? ops & ~SelectionKey.OP_WRITE : ops | SelectionKey.OP_WRITE);
+            }
+        } catch (IOException e) {
+            close(c);
+        }
+    }
+
+    private void close(Connection c) {
+        c.closed = true;
+        c.key.cancel();
+        try {
+            c.ch.close();
+        } catch (IOException e) {
+            // already closed
+        }
+        synchronized (c.out) {
+            for (Response r : c.out) {
+                counters.released(r.cost);
+            }
+            c.out.clear();
+        }
+        counters.released(c.reserved);
+        c.reserved = 0;
+        c.body = null;
+        c.waiting = null;
+        paused.remove(c);
+    }
+
+    // --- engine thread ---
+
+    private void engineLoop() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - batch.size());
+                long deadline = System.nanoTime() + batchWindowNanos;
+                while (batch.size() < maxBatch && batchWindowNanos > 0) {
+                    Request r = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (r == null) {
+                        break;
+                    }
+                    batch.add(r);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            }
+            if (!batch.isEmpty()) {
+                for (int i = 0; i < batch.size(); i++) {
+                    counters.dequeued();
+                }
+                counters.batch();
+                process(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Request> batch) {
+        Set<Connection> touched = new HashSet<>();
+        List<Request> base64 = new ArrayList<>();
+        List<Request> hex = new ArrayList<>();
+        for (Request r : batch) {
+            ByteBuffer b = r.frame;
+            r.id = b.getInt();
+            int op = b.get();
+            r.isBase64 = (b.get() & RecoveryProtocol.FLAG_BASE64) != 0;
+            if (op == RecoveryProtocol.OP_COMBINE) {
+                r.shares = b.remaining() < 4 ? null : RecoveryProtocol.getStrings(b, b.getInt());
+                if (r.shares == null || r.shares.isEmpty() || b.hasRemaining()) {
+                    fail(r, "request is invalid", touched);
+                    continue;
+                }
+                r.xKey = xKey(r.shares, r.isBase64);
+                (r.isBase64 ? base64 : hex).add(r);
+            } else if (op == RecoveryProtocol.OP_SPLIT) {
+                split(r, touched);
+            } else {
+                fail(r, "operation is not supported", touched);
+            }
+        }
+        combine(base64, true, touched);
+        combine(hex, false, touched);
+        for (Connection c : touched) {
+            ready.add(c);
+        }
+        selector.wakeup();
+    }
+
+    private void split(Request r, Set<Connection> touched) {
+        ByteBuffer b = r.frame;
+        if (b.remaining() < 4) {
+            fail(r, "request is invalid", touched);
+            return;
+        }
+        int minimum = b.getShort() & 0xFFFF;
+        int shares = b.getShort() & 0xFFFF;
+        if (shares > MAX_SPLIT_SHARES) {
+            fail(r, "shares is invalid", touched);
+            return;
+        }
+        byte[] secret = new byte[b.remaining()];
+        b.get(secret);
+        try {
+            respond(r, RecoveryProtocol.splitResponse(r.id, sss.create(minimum, shares, secret, r.isBase64)), false, touched);
+        } catch (Exception e) {
+            fail(r, e.getMessage(), touched);
+        }
+    }
+
+    // Combines the share sets of one encoding, first as one batch, then one by one if the batch fails.
+    private void combine(List<Request> rs, boolean isBase64, Set<Connection> touched) {
+        if (rs.isEmpty()) {
+            return;
+        }
+        rs.sort(Comparator.comparing(r -> r.xKey));
+        List<List<String>> sets = new ArrayList<>(rs.size());
+        for (Request r : rs) {
+            sets.add(r.shares);
+        }
+        List<byte[]> secrets = new ArrayList<>(rs.size());
+        try {
+            sss.combineBatch(sets, isBase64, secrets);
+        } catch (Exception e) {
+            secrets = null;
+        }
+        for (int i = 0; i < rs.size(); i++) {
+            Request r = rs.get(i);
+            try {
+                byte[] secret = secrets != null ? secrets.get(i) : sss.combineBytes(r.shares, isBase64);
+                respond(r, RecoveryProtocol.response(r.id, RecoveryProtocol.STATUS_OK, secret), false, touched);
+            } catch (Exception e) {
+                fail(r, e.getMessage(), touched);
+            }
+        }
+    }
+
+    // The prefix and x-coordinate block of every share, which identify the points of a compact share.
+    private static String xKey(List<String> shares, boolean isBase64) {
+        int length = SSS.BYTES_PREFIX.length() + ShareCodec.blockLength(isBase64);
+        StringBuilder sb = new StringBuilder();
+        for (String share : shares) {
+            sb.append(share, 0, Math.min(share.length(), length)).append(',');
+        }
+        return sb.toString();
+    }
+
+    private void fail(Request r, String message, Set<Connection> touched) {
+        byte[] body = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        respond(r, RecoveryProtocol.response(r.id, RecoveryProtocol.STATUS_INVALID, body), true, touched);
+    }
+
+    private void respond(Request r, ByteBuffer buf, boolean isError, Set<Connection> touched) {
+        counters.completed(System.nanoTime() - r.readAt, isError);
+        Connection c = r.conn;
+        synchronized (c.out) {
+            if (c.closed) {
+                counters.released(r.cost);
+                return;
+            }
+            c.out.add(new Response(buf, r.cost));
+        }
+        touched.add(c);
+    }
+
+    /**
+     * Runs a server until the process is killed, printing its counters every 10 seconds.
+     * 
+     * java -cp ntc-jcrypto-server.jar:ntc-jcrypto.jar com.ntc.jcrypto.sss.server.RecoveryServer [port] [budgetMB]
+     *
+     * @param args String[] optional port and memory budget in MB
+     * @throws Exception I/O error
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7450;
+        long budget = args.length > 1 ? Long.parseLong(args[1]) << 20 : DEFAULT_MEMORY_BUDGET;
+        RecoveryServer server = new RecoveryServer(new SSS(ForkJoinPool.commonPool(), 16), port, budget, DEFAULT_MAX_BATCH, 0);
+        server.start();
+        System.out.println("listening on " + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.port());
+        while (true) {
+            Thread.sleep(10000);
+            System.out.println(server.counters());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Live counters of a {@link RecoveryServer}: gauges of the queue and of the memory held by requests, totals
+ * of requests, batches and errors, and the latency from a request being fully read to its response being queued for
+ * writing, in a histogram of power-of-two buckets of nanoseconds. All methods are thread-safe and lock-free.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class ServerCounters {
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong latencyTotal = new AtomicLong();
+    private final AtomicLong latencyMax = new AtomicLong();
+    // latency[b] counts latencies in [2^b, 2^(b+1)) ns
+    private final AtomicLongArray latency = new AtomicLongArray(64);
+
+    ServerCounters() {
+    }
+
+    void reserved(long cost) {
+        inFlightBytes.addAndGet(cost);
+    }
+
+    void queued() {
+        queueDepth.incrementAndGet();
+    }
+
+    void dequeued() {
+        queueDepth.decrementAndGet();
+    }
+
+    void released(long cost) {
+        inFlightBytes.addAndGet(-cost);
+    }
+
+    void batch() {
+        batches.incrementAndGet();
+    }
+
+    void throttle() {
+        throttled.incrementAndGet();
+    }
+
+    void completed(long nanos, boolean isError) {
+        requests.incrementAndGet();
+        if (isError) {
+            errors.incrementAndGet();
+        }
+        latencyTotal.addAndGet(nanos);
+        latencyMax.accumulateAndGet(nanos, Math::max);
+        latency.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(nanos, 1)));
+    }
+
+    // Requests read and waiting for, or in, the engine.
+    public long queueDepth() {
+        return queueDepth.get();
+    }
+
+    // Estimated memory held by requests from their header until their responses are written.
+    public long inFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    // Requests answered, including errors.
+    public long requests() {
+        return requests.get();
+    }
+
+    // Requests answered with an error.
+    public long errors() {
+        return errors.get();
+    }
+
+    // Batches handed to the engine.
+    public long batches() {
+        return batches.get();
+    }
+
+    // Times a connection stopped being read because the memory budget was used up.
+    public long throttled() {
+        return throttled.get();
+    }
+
+    public long meanLatencyNanos() {
+        long n = requests.get();
+        return n == 0 ? 0 : latencyTotal.get() / n;
+    }
+
+    public long maxLatencyNanos() {
+        return latencyMax.get();
+    }
+
+    // Returns an upper bound of the q-quantile (0 < q <= 1) of the latency: the top of its power-of-two bucket.
+    public long latencyNanos(double q) {
+        long total = 0;
+        for (int b = 0; b < 64; b++) {
+            total += latency.get(b);
+        }
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int b = 0; b < 64; b++) {
+            seen += latency.get(b);
+            if (seen >= rank && seen > 0) {
+                return b >= 62 ? Long.MAX_VALUE : (2L << b) - 1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "requests=" + requests() + " errors=" + errors() + " batches=" + batches() + " queueDepth=" + queueDepth()
+                + " inFlightBytes=" + inFlightBytes() + " throttled=" + throttled() + " latency mean="
+                + meanLatencyNanos() / 1000 + "us p50<=" + latencyNanos(0.5) / 1000 + "us p99<="
+                + latencyNanos(0.99) / 1000 + "us max=" + maxLatencyNanos() / 1000 + "us";
+    }
+}
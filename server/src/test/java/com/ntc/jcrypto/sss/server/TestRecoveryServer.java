@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss.server;
+
+import com.ntc.jcrypto.sss.SSS;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestRecoveryServer test
+ */
+public class TestRecoveryServer {
+    private static final SSS sss = new SSS();
+    
+    private static List<byte[]> secrets(int count, int size) {
+        Random rand = new Random(count);
+        List<byte[]> rs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            byte[] secret = new byte[size];
+            rand.nextBytes(secret);
+            rs.add(secret);
+        }
+        return rs;
+    }
+    
+    @Test
+    public void testCombineSplit() throws Exception {
+        try (RecoveryServer server = new RecoveryServer(0)) {
+            server.start();
+            try (RecoveryClient client = new RecoveryClient(server.port())) {
+                byte[] secret = "nghiatcxxx recovery service".getBytes("UTF-8");
+                for (boolean isBase64 : new boolean[]{true, false}) {
+                    List<String> shares = sss.create(3, 5, secret, isBase64);
+                    Assert.assertArrayEquals("Combine", secret, client.combine(shares.subList(1, 4), isBase64));
+                    List<String> split = client.split(2, 4, secret, isBase64);
+                    Assert.assertEquals("Split", 4, split.size());
+                    Assert.assertArrayEquals("Split combine", secret, sss.combineBytes(split.subList(2, 4), isBase64));
+                }
+                List<String> classic = sss.create(2, 3, "classic secret", true);
+                Assert.assertArrayEquals("Classic", "classic secret".getBytes("UTF-8"), client.combine(classic.subList(0, 2), true));
+                // responses larger than the client read buffer
+                byte[] large = secrets(1, 100 * 1024).get(0);
+                List<String> parts = client.split(2, 3, large, true);
+                Assert.assertArrayEquals("Large", large, client.combine(parts.subList(0, 2), true));
+            }
+            Assert.assertEquals("Requests", 7, server.counters().requests());
+            Assert.assertEquals("Errors", 0, server.counters().errors());
+        }
+    }
+    
+    @Test
+    public void testPipelinedBatches() throws Exception {
+        SSS engine = new SSS(ForkJoinPool.commonPool(), 4);
+        try (RecoveryServer server = new RecoveryServer(engine, 0, RecoveryServer.DEFAULT_MEMORY_BUDGET, 64, 500)) {
+            server.start();
+            List<byte[]> secrets = secrets(300, 32);
+            List<List<String>> sets = new ArrayList<>();
+            sss.createBatch(3, 5, secrets, true, sets);
+            try (RecoveryClient client = new RecoveryClient(server.port())) {
+                List<CompletableFuture<byte[]>> fs = new ArrayList<>();
+                for (int i = 0; i < secrets.size(); i++) {
+                    List<String> quorum = i == 7 ? Arrays.asList("v2b.invalid", "v2b.invalid") : sets.get(i).subList(0, 3);
+                    fs.add(client.combineAsync(quorum, true));
+                }
+                for (int i = 0; i < secrets.size(); i++) {
+                    if (i == 7) {
+                        try {
+                            fs.get(i).get();
+                            Assert.fail("Invalid shares should fail");
+                        } catch (ExecutionException e) {
+                            Assert.assertEquals("Invalid", "one of the shares is invalid", e.getCause().getMessage());
+                        }
+                    } else {
+                        Assert.assertArrayEquals("Secret " + i, secrets.get(i), fs.get(i).get());
+                    }
+                }
+            }
+            ServerCounters counters = server.counters();
+            Assert.assertEquals("Requests", 300, counters.requests());
+            Assert.assertEquals("Errors", 1, counters.errors());
+            Assert.assertTrue("Batched " + counters, counters.batches() < 300);
+            Assert.assertEquals("Queue drained", 0, counters.queueDepth());
+            Assert.assertTrue("Latency", counters.latencyNanos(0.99) >= counters.latencyNanos(0.5));
+        }
+    }
+    
+    @Test
+    public void testBackpressure() throws Exception {
+        List<byte[]> secrets = secrets(200, 1000);
+        List<List<String>> quorums = new ArrayList<>();
+        for (byte[] secret : secrets) {
+            quorums.add(sss.create(3, 4, secret, false).subList(0, 3));
+        }
+        // room for about three requests at a time
+        long frame = 4 + 10 + 4 + 3 * (4 + quorums.get(0).get(0).length());
+        long budget = 3 * RecoveryServer.EXPANSION * frame;
+        try (RecoveryServer server = new RecoveryServer(new SSS(), 0, budget, 8, 0)) {
+            server.start();
+            List<RecoveryClient> clients = new ArrayList<>();
+            List<CompletableFuture<byte[]>> fs = new ArrayList<>();
+            try {
+                for (int c = 0; c < 4; c++) {
+                    clients.add(new RecoveryClient(server.port()));
+                }
+                for (int i = 0; i < quorums.size(); i++) {
+                    fs.add(clients.get(i % clients.size()).combineAsync(quorums.get(i), false));
+                }
+                for (int i = 0; i < quorums.size(); i++) {
+                    Assert.assertArrayEquals("Secret " + i, secrets.get(i), fs.get(i).get());
+                }
+            } finally {
+                for (RecoveryClient client : clients) {
+                    client.close();
+                }
+            }
+            ServerCounters counters = server.counters();
+            Assert.assertTrue("Throttled " + counters, counters.throttled() > 0);
+            Assert.assertEquals("Requests", 200, counters.requests());
+            // the server releases a charge after its write returns, which may be after the client got the response
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (counters.inFlightBytes() != 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals("Released", 0, counters.inFlightBytes());
+        }
+    }
+    
+    @Test
+    public void testOversizedRequest() throws Exception {
+        try (RecoveryServer server = new RecoveryServer(new SSS(), 0, 1024, 8, 0)) {
+            server.start();
+            try (SocketChannel ch = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port()))) {
+                ByteBuffer frame = ByteBuffer.allocate(4).putInt(1 << 20);
+                frame.flip();
+                ch.write(frame);
+                Assert.assertEquals("Closed", -1, ch.read(ByteBuffer.allocate(16)));
+            } catch (IOException e) {
+                // reset by the server, also a close
+            }
+            try (RecoveryClient client = new RecoveryClient(server.port())) {
+                byte[] secret = new byte[10];
+                Assert.assertArrayEquals("Still serving", secret, client.combine(sss.create(2, 2, secret, true), true));
+            }
+        }
+    }
+    
+    @Test
+    public void testLargeHeaders() throws Exception {
+        long budget = 16 << 20;
+        // each header asks for the largest frame the budget allows, so only one body fits at a time
+        int len = (int) (budget / RecoveryServer.EXPANSION) - 4;
+        Runtime rt = Runtime.getRuntime();
+        try (RecoveryServer server = new RecoveryServer(new SSS(), 0, budget, 8, 0)) {
+            server.start();
+            List<SocketChannel> chs = new ArrayList<>();
+            try {
+                System.gc();
+                long before = rt.totalMemory() - rt.freeMemory();
+                for (int c = 0; c < 32; c++) {
+                    SocketChannel ch = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port()));
+                    chs.add(ch);
+                    ByteBuffer head = ByteBuffer.allocate(4).putInt(len);
+                    head.flip();
+                    ch.write(head);
+                }
+                ServerCounters counters = server.counters();
+                long deadline = System.nanoTime() + 5_000_000_000L;
+                while (counters.throttled() < chs.size() - 1 && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+                Assert.assertEquals("Paused at the header " + counters, chs.size() - 1, counters.throttled());
+                Assert.assertTrue("Charged " + counters, counters.inFlightBytes() <= budget);
+                System.gc();
+                long used = rt.totalMemory() - rt.freeMemory() - before;
+                Assert.assertTrue("Heap " + used, used < budget);
+            } finally {
+                for (SocketChannel ch : chs) {
+                    ch.close();
+                }
+            }
+            ServerCounters counters = server.counters();
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (counters.inFlightBytes() != 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals("Released", 0, counters.inFlightBytes());
+            try (RecoveryClient client = new RecoveryClient(server.port())) {
+                byte[] secret = new byte[10];
+                Assert.assertArrayEquals("Still serving", secret, client.combine(sss.create(2, 2, secret, true), true));
+            }
+        }
+    }
+
+    @Test
+    public void testSplitCost() throws Exception {
+        for (int len : new int[]{0, 1, 31, 32, 1000}) {
+            for (boolean isBase64 : new boolean[]{true, false}) {
+                List<String> shares = sss.create(2, 5, new byte[len], isBase64);
+                Assert.assertEquals("Response " + len + " " + isBase64, RecoveryProtocol.splitResponse(1, shares).remaining(),
+                        RecoveryProtocol.splitResponseLength(5, len, isBase64));
+                ByteBuffer frame = RecoveryProtocol.splitRequest(1, 2, 5, new byte[len], isBase64);
+                frame.position(4);
+                long cost = RecoveryServer.EXPANSION * (frame.limit() + RecoveryProtocol.splitResponseLength(5, len, isBase64));
+                Assert.assertEquals("Cost " + len + " " + isBase64, cost, RecoveryServer.cost(frame.slice()));
+            }
+        }
+    }
+    
+    @Test
+    public void testSplitOverBudget() throws Exception {
+        try (RecoveryServer server = new RecoveryServer(new SSS(), 0, 1 << 20, 8, 0)) {
+            server.start();
+            // a small request whose shares do not fit the budget
+            try (SocketChannel ch = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port()))) {
+                ByteBuffer frame = RecoveryProtocol.splitRequest(1, 2, RecoveryServer.MAX_SPLIT_SHARES, new byte[1000], true);
+                while (frame.hasRemaining()) {
+                    ch.write(frame);
+                }
+                Assert.assertEquals("Closed", -1, ch.read(ByteBuffer.allocate(16)));
+            } catch (IOException e) {
+                // reset by the server, also a close
+            }
+            try (RecoveryClient client = new RecoveryClient(server.port())) {
+                byte[] secret = new byte[10];
+                Assert.assertEquals("Still serving", 3, client.split(2, 3, secret, true).size());
+                try {
+                    client.split(2, RecoveryServer.MAX_SPLIT_SHARES + 1, secret, true);
+                    Assert.fail("Too many shares");
+                } catch (Exception e) {
+                    Assert.assertEquals("Shares", "shares is invalid", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.app;
+
+import com.ntc.jcrypto.sss.SSS;
+import com.ntc.jcrypto.sss.SSSMetrics;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synthetic create/combine load: every thread splits random secrets of a fixed size with one shared engine and
+ * combines the first threshold shares back, until the duration is over.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+class Bench {
+
+    private final int minimum;
+    private final int shares;
+    private final int size;
+    private final String encoding;
+    private final int threads;
+    private final int seconds;
+
+    Bench(int minimum, int shares, int size, String encoding, int threads, int seconds) {
+        this.minimum = minimum;
+        this.shares = shares;
+        this.size = size;
+        this.encoding = encoding;
+        this.threads = threads;
+        this.seconds = seconds;
+    }
+
+    // Runs the load and prints ops/s, MB/s and phase times; returns the number of failed round trips.
+    long run(PrintStream out) throws Exception {
+        SSS sss = new SSS();
+        // one untimed round trip checks the parameters before any thread starts
+        roundTrip(sss, new byte[size]);
+        Report report = new Report();
+        AtomicLong trips = new AtomicLong();
+        AtomicLong createNanos = new AtomicLong();
+        AtomicLong combineNanos = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        SSSMetrics.addListener(report);
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        try {
+            List<Thread> ts = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                Thread thread = new Thread(() -> {
+                    byte[] secret = new byte[size];
+                    long n = 0;
+                    long[] nanos = new long[2];
+                    while (System.nanoTime() < end) {
+                        ThreadLocalRandom.current().nextBytes(secret);
+                        try {
+                            if (!Arrays.equals(secret, roundTrip(sss, secret, nanos))) {
+                                failed.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                        n++;
+                    }
+                    trips.addAndGet(n);
+                    createNanos.addAndGet(nanos[0]);
+                    combineNanos.addAndGet(nanos[1]);
+                }, "sss-bench-" + t);
+                ts.add(thread);
+                thread.start();
+            }
+            for (Thread thread : ts) {
+                thread.join();
+            }
+        } finally {
+            SSSMetrics.removeListener(report);
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        long n = trips.get();
+        out.printf(Locale.ROOT, "bench k=%d n=%d size=%d encoding=%s threads=%d: %d round trips in %.3f s (%d failed)%n",
+                minimum, shares, size, encoding, threads, n, elapsed, failed.get());
+        print(out, "create", n, createNanos.get(), elapsed);
+        print(out, "combine", n, combineNanos.get(), elapsed);
+        report.printPhases(out);
+        return failed.get();
+    }
+
+    private void print(PrintStream out, String op, long n, long nanos, double elapsed) {
+        out.printf(Locale.ROOT, "  %-8s %12.0f ops/s %10.2f MB/s %12.1f us/op%n",
+                op, n / elapsed, n * (double) size / 1e6 / elapsed, n == 0 ? 0.0 : nanos / 1e3 / n);
+    }
+
+    private byte[] roundTrip(SSS sss, byte[] secret) throws Exception {
+        return roundTrip(sss, secret, new long[2]);
+    }
+
+    // Splits and combines one secret, adding the create and combine times to nanos[0] and nanos[1].
+    private byte[] roundTrip(SSS sss, byte[] secret, long[] nanos) throws Exception {
+        long t0 = System.nanoTime();
+        byte[] r;
+        if (encoding.equals(ShareFiles.BINARY)) {
+            List<byte[]> list = sss.create(minimum, shares, secret);
+            long t1 = System.nanoTime();
+            r = sss.combine(list.subList(0, minimum));
+            nanos[0] += t1 - t0;
+            nanos[1] += System.nanoTime() - t1;
+        } else {
+            List<String> list = sss.create(minimum, shares, secret, encoding.equals(ShareFiles.BASE64));
+            long t1 = System.nanoTime();
+            r = sss.combineBytes(list.subList(0, minimum), encoding.equals(ShareFiles.BASE64));
+            nanos[0] += t1 - t0;
+            nanos[1] += System.nanoTime() - t1;
+        }
+        return r;
+    }
+}
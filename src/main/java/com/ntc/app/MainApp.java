@@ -17,11 +17,33 @@
 package com.ntc.app;
 
 import com.ntc.jcrypto.sss.SSS;
-import java.math.BigInteger;
+import com.ntc.jcrypto.sss.SSSMetrics;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
+ * Command line tool: splits files and directories into share files, combines them back, and benchmarks the engine.
+ * Files are processed in parallel on a pool of threads threads, which also splits the chunks of large files; see
+ * {@link ShareFiles} for the share file format.
+ * 
+ * java -jar ntc-jcrypto.jar split -k 3 -n 5 -o shares secret.bin docs/
+ * java -jar ntc-jcrypto.jar combine -o restored shares/share-1 shares/share-4 shares/share-5
+ * java -jar ntc-jcrypto.jar bench -k 3 -n 5 -s 1024 -t 4
  *
  * @author nghiatc
  * @since Dec 31, 2019
@@ -30,258 +52,264 @@ import java.util.List;
  */
 public class MainApp {
 
+    static final String USAGE = String.join("\n",
+            "usage: java -jar ntc-jcrypto.jar <command> [options]",
+            "  split   -k threshold -n shares -o dir [-e base64|hex|binary] [-c chunkBytes] [-t threads] <file|dir>...",
+            "          writes dir/share-1 .. dir/share-n, each with one share file per input file",
+            "  combine -o file|dir [-t threads] <share file>... | <share dir>...",
+            "          rebuilds one file from its share files, or every file of share directories made by split",
+            "  bench   [-k 3] [-n 5] [-s secretBytes=32] [-e base64|hex|binary] [-t threads=1] [-d seconds=10]",
+            "          creates and combines random secrets with one shared engine");
+    static final List<String> OPTIONS = Arrays.asList("-k", "-n", "-o", "-e", "-c", "-t", "-s", "-d");
+    // Parts of a chunk from which the engine splits it across the pool.
+    private static final int PARALLEL_PARTS = 64;
+
     /**
      * @param args the command line arguments
      */
     public static void main(String[] args) {
-        try {
-            // testDev
-            //testDev();
-            
-            // test1
-            //test1();
-            
-            // test2
-            //test2();
-            
-            // test3
-            //test3();
-            
-            // test4
-            //test4();
-            
-            
-            // test5
-            test5();
-            
-            // test6
-            test6();
-            
-            // test7
-            test7();
-            
-            // test8
-            test8();
-        } catch (Exception e) {
-            e.printStackTrace();
+        int code = run(args, System.out, System.err);
+        if (code != 0) {
+            System.exit(code);
         }
     }
-    
-    public static void testDev() {
+
+    /**
+     * Runs one command and returns its exit code: 0 on success, 1 if any file or round trip failed, 2 on a usage
+     * error.
+     *
+     * @param args String[] command and options
+     * @param out PrintStream report
+     * @param err PrintStream errors
+     * @return int exit code
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        if (args.length == 0 || args[0].equals("help") || args[0].equals("-h")) {
+            out.println(USAGE);
+            return args.length == 0 ? 2 : 0;
+        }
+        Map<String, String> opts = new HashMap<>();
+        List<String> paths = new ArrayList<>();
         try {
-            SSS sss = new SSS();
-            
-            // Dev1: encode & decode
-            BigInteger number = new BigInteger("67356225285819719212258382314594931188352598651646313425411610888829358649431");
-            System.out.println("67356225285819719212258382314594931188352598651646313425411610888829358649431");
-            // encode
-            String b64data = sss.toBase64(number);
-            System.out.println(b64data.length()); // 44
-            System.out.println(b64data); // lOpFwywpCeVAcK0_LOKG-YtW71xyj1bX06CcW7VZMFc=
-            String hexdata = sss.toHex(number);
-            System.out.println(hexdata.length()); // 64
-            System.out.println(hexdata); // 94ea45c32c2909e54070ad3f2ce286f98b56ef5c728f56d7d3a09c5bb5593057
-            // decode
-            BigInteger numb64decode = sss.fromBase64(b64data);
-            System.out.println(numb64decode.toString(10));
-            BigInteger numhexdecode = sss.fromHex(hexdata);
-            System.out.println(numhexdecode.toString(10));
+            parse(args, opts, paths);
+            switch (args[0]) {
+                case "split":
+                    return split(opts, paths, out, err);
+                case "combine":
+                    return combine(opts, paths, out, err);
+                case "bench":
+                    return bench(opts, paths, out);
+                default:
+                    throw new IllegalArgumentException("command is unknown: " + args[0]);
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
         } catch (Exception e) {
-            e.printStackTrace();
+            err.println(e.getMessage());
+            return 1;
         }
     }
-    
-    public static void test8() {
-        try {
-            String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
-            SSS sss = new SSS();
-            List<String> arr = new ArrayList<>();
-            arr.add("fb57922a2e9c65fa3ab813d9407aca04c5e395d2af9a63808ac3d9fb598c4aaac300d578573808fab2e714aac4011cf6d1d82a769e183241b8e77760aaa4a37486b68684f3a36d8fc7f8060db91b27a4546ed2c4f25e62ef614a72ee48fdf4716426cd2caaf1c06c89b35292b8af53baf4e75ea5e6865744b1131940d66adb148713204887b9bf932b1f323a856990bcabbd46f4ab69caf86f19a09ab7b749f8a119d86abe0325af1737a093dfe30253ce351173bf8eb8217048034c5ee05837cf976bc2bd3520c18d0e76e66d57e7ae907dbbca2175631d86be0f2be4662a07704fe613ee8703be3aabc629f9ffaf9c0095edec58ea9d0c8e6eec113bc79e34");
-            arr.add("bb56025e23e7845cb10d579e24312c4a78eab9b0c2913938a9ea05630ddba625d1da75753543bb2d3e5511f69b025a8b8ee9efc73f7a3f2348e42bc1c3a3820b3abecd51f417710b4fd5531aaa3eede026ae69ddc3838231f38ea85115777200add59f23af85661546a6089602795192169e69bbccf72783ae5d1a6535076d5dcc2051b9d03cf6fbc66caa56d8e089affd102c0af52639e000b145494e0a8dd1575c2bda511b647a9d527ce0773a9c2ae37d60a21fab78a74dddeabce79a43ed1463e0f8ad07dbb217371896ad543a9755de297b38e6188dcc3dc2d82960ebdb9123135780e861d88e4219f2decc94d5b4dc41cdb4838169ce552e253066ad5b");
-            arr.add("8e9d3dfa8e02f8a270a16a3dbf299313b38f20285ccd2b87752a2510384dc28a061a6709d42cc385c7f4e19c3e15e4727c3ba990e355b7951fd5bac00cbf8eb7cf367ba2e783f29044fd078ffbe483aa253159d1b668148258a3015807bd90f0544cd8c5ab5800efb403e8b6b3e56333e80cfd7993bfa1c58ad4d93aaaed7d6b334c104375c954e86ca7096617e5f40267dddd8718be8a23c4958e9dc7cd7923b1cdf99f8a5efe97d3c10e8f57fd514405961dc34b1fb2d593f5d8bb92425eb0028ce40dfaaca5f3a43ccecc3f9504be4e26250e7706b132a26fbace1575c3a92c2f981dcd93f9e098c83db646ed41a972382e77424d6ad566138757a350c6d1");
-            arr.add("671bd45a8bbc5d01ab3cba50279c7c7af1163c733b92b71224c3be538ef5b0fd9c5ca7b19a1805d954a0eba4790e632968892bfcce13d306b9183ad1c2d7f97d08d4c4e1175438911d17e674f1062cf057d354ad3a0f7034ff997e8b79d7266e7c4b98f0861246b35723e390160709e799a097a0ea9aff11d54afaeff3bf9492c94c856a81db4c40d389f976edf60472442fe4d6614059a8ea07558b4ab9f77ba0691ed0bc4f18541f53d331477f3c23b385e48164abf0baa9bc5e95f1afad6a73c5009e03e8b0ef894f1939e32364224818078b17386f11a773a3fc694c0975ee832d30e268506f76d88700912c9c1c23f82ccf1c047687f2922d3e3684673b");
-            arr.add("c58b906aa93eaca1a19e67246cac713a8079f93fefb95a186545264c95e4e479ced656ccf2f8e7a41df5c0a9dd79524b9ab9d1731067471a211f4bb0890d95ace9861f599a19e2ec399ba7c3f523aeee644b9d704b7199a71df25452c94c7e7ce68651bb71fe5bcc400d82d2f503f9f49f1bd778a58285d5e46d893de45729aa32667dfe73df71713007df58de20c4045c9e72589772bc325817d3a5d34861cb2afa8959bd9fc8ff30c29695d24b35f10260db5e5f6e119172961a3f193d1cd9e1cd3853ec3d1b7a15ce8f3a1e443969de9f9691b6fb0d348055686e907156b33921b281b8dbd07848d0ce743dac94e983250b873848dd0afcc907110fc7921e");
-            arr.add("76a5d1a340078c86c85a809c3cdfb539dccbc8af95e7cefba1ab6447eaec38636ec099086e72de93aef8d0c28fa0a9677e0fd2e3b6792c7d8feee462a570926a1779bf8b6ee15c3d46eb94d8e98049c4fcd1c27958a853ff1b177233c8ffd0fbc0ac2d5d05a48b102145927149c07457ce2d39f4f9f1a7df1ace57b5611459f488a4b1f49d8df025d67f12517a18e43f54d6eb4dfa5fb3869075b73e701f86e032a7c33bffad4a94460f41a76a2153d31444442460eb50e17754d458bac65bbd386f38e8a11e0f87201f5d3a0df4d0fd2d291d5b34fdcb4b504c3ea585ff032185b21d95b3b97a7a1be36833c5fd4a248b8375b7c03a8acf2301167b4fece766");
-            //System.out.println(arr);
-//            for (int i=0; i<arr.size(); i++) {
-//                System.out.println("shares["+i+"]: " + arr.get(i));
-//            }
-            
-            System.out.println("\nsecret: " + s);
-            System.out.println("secret.length: " + s.length());
-            
-            String s1 = sss.combine(arr.subList(0, 3), false);
-            System.out.println("combines shares 1 length = " + arr.subList(0, 3).size());
-            System.out.println("secret: " + s1);
-            System.out.println("secret.length: " + s1.length());
-            
-            String s2 = sss.combine(arr.subList(3, 6), false);
-            System.out.println("combines shares 2 length = " + arr.subList(3, 6).size());
-            System.out.println("secret: " + s2);
-            System.out.println("secret.length: " + s2.length());
-            
-            String s3 = sss.combine(arr.subList(1, 5), false);
-            System.out.println("combines shares 3 length = " + arr.subList(1, 5).size());
-            System.out.println("secret: " + s3);
-            System.out.println("secret.length: " + s3.length());
-        } catch (Exception e) {
-            e.printStackTrace();
+
+    private static int split(Map<String, String> opts, List<String> paths, PrintStream out, PrintStream err) throws Exception {
+        int minimum = intOpt(opts, "-k", -1);
+        int shares = intOpt(opts, "-n", -1);
+        String encoding = encodingOpt(opts);
+        Path dir = pathOpt(opts);
+        if (minimum <= 0 || shares < minimum || paths.isEmpty()) {
+            throw new IllegalArgumentException("split needs 0 < k <= n and at least one input");
+        }
+        // every input file, with its path relative to the share directories; two inputs must not share one
+        Map<Path, Path> files = new LinkedHashMap<>();
+        Map<Path, Path> sources = new HashMap<>();
+        for (String p : paths) {
+            Path in = Paths.get(p);
+            Path base = in.toAbsolutePath().normalize().getParent();
+            for (Path f : regularFiles(in)) {
+                Path abs = f.toAbsolutePath().normalize();
+                Path target = base == null ? abs.getFileName() : base.relativize(abs);
+                Path other = sources.putIfAbsent(target, abs);
+                if (other == null) {
+                    files.put(f, target);
+                } else if (!other.equals(abs)) {
+                    throw new IllegalArgumentException("inputs " + other + " and " + abs + " have the same share path " + target);
+                }
+            }
         }
+        return runFiles("split", opts, files.size(), out, err, (engine, report) -> {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (Map.Entry<Path, Path> e : files.entrySet()) {
+                List<Path> outs = new ArrayList<>(shares);
+                for (int i = 1; i <= shares; i++) {
+                    outs.add(dir.resolve("share-" + i).resolve(e.getValue().toString()));
+                }
+                tasks.add(task(e.getKey(), report, err, () -> engine.split(e.getKey(), minimum, outs, encoding)));
+            }
+            return tasks;
+        });
     }
-    
-    public static void test7() {
-        try {
-            String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
-            SSS sss = new SSS();
-            List<String> arr = sss.create(3, 6, s, false);
-            //System.out.println(arr);
-//            for (int i=0; i<arr.size(); i++) {
-//                System.out.println("shares["+i+"]: " + arr.get(i));
-//            }
-            
-            System.out.println("\nsecret: " + s);
-            System.out.println("secret.length: " + s.length());
-            
-            String s1 = sss.combine(arr.subList(0, 3), false);
-            System.out.println("combines shares 1 length = " + arr.subList(0, 3).size());
-            System.out.println("secret: " + s1);
-            System.out.println("secret.length: " + s1.length());
-            
-            String s2 = sss.combine(arr.subList(3, 6), false);
-            System.out.println("combines shares 2 length = " + arr.subList(3, 6).size());
-            System.out.println("secret: " + s2);
-            System.out.println("secret.length: " + s2.length());
-            
-            String s3 = sss.combine(arr.subList(1, 5), false);
-            System.out.println("combines shares 3 length = " + arr.subList(1, 5).size());
-            System.out.println("secret: " + s3);
-            System.out.println("secret.length: " + s3.length());
-        } catch (Exception e) {
-            e.printStackTrace();
+
+    private static int combine(Map<String, String> opts, List<String> paths, PrintStream out, PrintStream err) throws Exception {
+        Path target = pathOpt(opts);
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("combine needs share files or share directories");
         }
+        List<Path> ins = paths.stream().map(Paths::get).collect(Collectors.toList());
+        long dirs = ins.stream().filter(Files::isDirectory).count();
+        if (dirs != 0 && dirs != ins.size()) {
+            throw new IllegalArgumentException("share paths must be all files or all directories");
+        }
+        // every file to rebuild, with its share files
+        Map<Path, List<Path>> files = new LinkedHashMap<>();
+        if (dirs == 0) {
+            files.put(target, ins);
+        } else {
+            for (Path f : regularFiles(ins.get(0))) {
+                Path rel = ins.get(0).relativize(f);
+                files.put(target.resolve(rel.toString()),
+                        ins.stream().map(d -> d.resolve(rel.toString())).collect(Collectors.toList()));
+            }
+        }
+        return runFiles("combine", opts, files.size(), out, err, (engine, report) -> {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (Map.Entry<Path, List<Path>> e : files.entrySet()) {
+                tasks.add(task(e.getKey(), report, err, () -> engine.combine(e.getValue(), e.getKey())));
+            }
+            return tasks;
+        });
     }
-    
-    public static void test6() {
-        try {
-            String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
-            SSS sss = new SSS();
-            List<String> arr = new ArrayList<>();
-            arr.add("5K658W3HsUJznGuG-Wopl5RmlgfnOlIywIXNMK3FLk8=o3nzK8zTmfbDGStLLeKsE0jJrCMFOpLY1KAGHWFVzmw=wDyZ65yO8m4cQFRgfePvv9Bm13lqPnn89-mGCM6fG4A=IJrdRsJYkPCW9EeHu0x2k7nYcjdybQNMo97rpqhutck=vUw82_ma8GcxtutzRDlGPuzH4-xEeDt7F4HBoQ-BiIQ=xLoPS4AkYTi7neR6U2X36nA9EritybvqpeW5Fk2rH2M=cts237KejOmRLCFlcJuQak6yWNlspWYbpG--159CDsI=uF2CE31BTxuNw52ArvOWU012pKhUSbh8RZyVLgkB1Fs=");
-            arr.add("fTcsa9KUZ3Bj90Kjby3lQbWvw-qIz7qd3Hcp2GXFvOU=0I3lmm7QkNWceXgE7HlfqXFTjx9IC8DHJFxq1SHI38g=m-iAPMRkSeLhjBmpFCcVmK-ij717mo4A5CJb59x_WHc=QljK8TBqpMcGajO36Iq6TSY9i2sIpqryBUR-sM8AbS8=s_-MPlE5uyVL_x0tW4oqkhtUQ_p3ewck4SUhu_8BW7c=ngY2QG-0pw8dLUt6-n3Z8ZXAbu6omHsE487etr766U4=rBwse8m7gBiM-2sSSghUsZ6NyTr2AaUzlzYY73xySSQ=PlVKJLNYTQJQVrfr5xAYynR0jbOY1JRZlnxDX7jnvMg=");
-            arr.add("w3Jkf6Z7Yu1AZ6MKItRcctLnfbYAdFCXL2GQ5MFHiMY=RkRsomEVMrDNTcRp9z0-7OuxejYPHS-8KaCe7zU4J8M=yewuhylKn3k-lEtWGzGr3GWcwq6Iq1C3K04gtUwDjr4=v7Brej_SAU1ZgeUbNATPG6b0DG4W_UvWKWP-y1zwf8E=y_7M0EXAsGNb1RczU5O3ETSdLP6ZnmNfe_GbFzDQTvI=sCM7OcGlgDdzqOJtGPJmFdqqlSSsl-cxESbMGdWmDaM=BsGo_7_Ex9yD6I4_NNRDdTJlBaSapklJjmqnklAHtVY=SnGjhnGzb44mW-Znf66gQ2-EQpPrzq3qKENlh6sraHI=");
-            arr.add("csGGaMUuHDAaDonxJL0KfyG0Ss-T1dbuwZOJ-hxNI0o=UQlyoA6i2VMc2Kysl1sH1TC1zLeXOuAD8bHO0ojTRbc=IqdpT9Kx3J7k9-yU1D3pTKO2p3vX0H2NzipoQOWToNk=Q6ZE-2epO7xYtQs7fIQzn1gzgVDRxAVhqxIkIF_mJP4=M8wNAoP-KRL-aRx92guGJHG0aqB7Sil6dGWMhTGDwWk=SJhC8RRdnXJzpzdiGPGrJwUhyw0fURpwLSlVK20UxtY=9Vtngtd1PMfw9cIapuKX6ItqueqUG6S1VNGyWYmSCqk=h3zbVA1kDoxD_SiNGasrJX4vtW9kJs0KxA7KPogv9vA=");
-            arr.add("9QKSk5UpqHTDgqNzABhY1cpKJHW2Pa_qbMBlHS5sRwU=-MLMyVwzt3o9IbtsAfmslyniAJQ-jTfqrL2LFGoNRMs=x7qgHtj-OjDYv6WYtfklWEOyFguuZLHOCjn5Jn5a6J0=oM0tg3QDP8LsBDTWctnLHFtNpC9rs89FywzRL6KgJ70=e28jTt7Q-T9Ao4fZjZjZ0FRpfkvT9wSuXR17mEWSzSI=ZTFKrvAsNsmcQG0Ca4dSixgD20gXqQLJj8vdO30bzdM=Yy-smQCOzm2UVUPY7FX6_EkDoSrS4K6sfQ7X8CQedq8=xHp9pi-NJPosjyRQPypxs95j126JEk0D5qLZL6scx40=");
-            arr.add("jBMScPNqLqtB3GASqZ3XZux0Bh3vhGYw2h1SeaZJjEo=ZiguZLL3xU7FaEAynDjifHkynzRlm00eVNPhnr2NNW4=hJ_hcVm45CFYD9UrzxBrrJDyY_8l2wQ-M0PSH-V4Ck8=fpZJLvbIv85XS8CRutjavpY_Fdf76G-DirfnL6Nz3y0=3ZKJZ0WF-e79ZpaLT2MELiCbN3xRqNMzMrLbQ4A0qXc=deCGm9koob82zKVR-6XPiavInSatUnIEwJaTtEpbsJs=7xoGyz4IJG2SimElIYA-0lvnIKvZBbkK2PydA1TzOb0=dJ0OrQKkVhZNg9DIDRtW1MA7OvaMr385D4Q8MxiPaLQ=");
-//            for (int i=0; i<arr.size(); i++) {
-//                System.out.println("shares["+i+"]: " + arr.get(i));
-//            }
-            
-            System.out.println("\nsecret: " + s);
-            System.out.println("secret.length: " + s.length());
-            
-            String s1 = sss.combine(arr.subList(0, 3), true);
-            System.out.println("combines shares 1 length = " + arr.subList(0, 3).size());
-            System.out.println("secret: " + s1);
-            System.out.println("secret.length: " + s1.length());
-            
-            String s2 = sss.combine(arr.subList(3, 6), true);
-            System.out.println("combines shares 2 length = " + arr.subList(3, 6).size());
-            System.out.println("secret: " + s2);
-            System.out.println("secret.length: " + s2.length());
-            
-            String s3 = sss.combine(arr.subList(1, 5), true);
-            System.out.println("combines shares 3 length = " + arr.subList(1, 5).size());
-            System.out.println("secret: " + s3);
-            System.out.println("secret.length: " + s3.length());
-        } catch (Exception e) {
-            e.printStackTrace();
+
+    private static int bench(Map<String, String> opts, List<String> paths, PrintStream out) throws Exception {
+        if (!paths.isEmpty()) {
+            throw new IllegalArgumentException("bench takes no paths");
+        }
+        int minimum = intOpt(opts, "-k", 3);
+        int shares = intOpt(opts, "-n", 5);
+        int size = intOpt(opts, "-s", 32);
+        int threads = intOpt(opts, "-t", 1);
+        int seconds = intOpt(opts, "-d", 10);
+        if (minimum <= 0 || shares < minimum || size <= 0 || threads <= 0 || seconds <= 0) {
+            throw new IllegalArgumentException("bench needs 0 < k <= n and positive size, threads and seconds");
         }
+        Bench bench = new Bench(minimum, shares, size, encodingOpt(opts), threads, seconds);
+        return bench.run(out) == 0 ? 0 : 1;
+    }
+
+    // Creates the tasks of one command against an engine and a report.
+    private interface Plan {
+
+        List<ForkJoinTask<?>> tasks(ShareFiles engine, Report report) throws Exception;
     }
-    
-    public static void test5() {
+
+    // One file of work; its failure is reported and counted, and does not stop the others.
+    private interface FileWork {
+
+        void run() throws Exception;
+    }
+
+    private static ForkJoinTask<?> task(Path file, Report report, PrintStream err, FileWork work) {
+        return ForkJoinTask.adapt(() -> {
+            try {
+                work.run();
+            } catch (Exception e) {
+                report.failed();
+                synchronized (err) {
+                    err.println(file + ": " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    // Runs the file tasks of a command on a pool of -t threads and prints its report.
+    private static int runFiles(String command, Map<String, String> opts, int count, PrintStream out, PrintStream err,
+            Plan plan) throws Exception {
+        int threads = intOpt(opts, "-t", Runtime.getRuntime().availableProcessors());
+        int chunk = intOpt(opts, "-c", ShareFiles.DEFAULT_CHUNK_SIZE);
+        if (threads <= 0 || chunk <= 0 || chunk > ShareFiles.MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("threads or chunk size is invalid");
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException(command + " found no files");
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        Report report = new Report();
+        SSSMetrics.addListener(report);
         try {
-            String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
-            SSS sss = new SSS();
-            List<String> arr = sss.create(3, 6, s, true);
-            //System.out.println(arr);
-//            for (int i=0; i<arr.size(); i++) {
-//                System.out.println("shares["+i+"]: " + arr.get(i));
-//            }
-            
-            System.out.println("\nsecret: " + s);
-            System.out.println("secret.length: " + s.length());
-            
-            String s1 = sss.combine(arr.subList(0, 3), true);
-            System.out.println("combines shares 1 length = " + arr.subList(0, 3).size());
-            System.out.println("secret: " + s1);
-            System.out.println("secret.length: " + s1.length());
-            
-            String s2 = sss.combine(arr.subList(3, 6), true);
-            System.out.println("combines shares 2 length = " + arr.subList(3, 6).size());
-            System.out.println("secret: " + s2);
-            System.out.println("secret.length: " + s2.length());
-            
-            String s3 = sss.combine(arr.subList(1, 5), true);
-            System.out.println("combines shares 3 length = " + arr.subList(1, 5).size());
-            System.out.println("secret: " + s3);
-            System.out.println("secret.length: " + s3.length());
-        } catch (Exception e) {
-            e.printStackTrace();
+            ShareFiles engine = new ShareFiles(new SSS(pool, PARALLEL_PARTS), chunk, report);
+            List<ForkJoinTask<?>> tasks = plan.tasks(engine, report);
+            for (ForkJoinTask<?> task : tasks) {
+                pool.execute(task);
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    report.failed();
+                    err.println(e.getCause());
+                }
+            }
+        } finally {
+            SSSMetrics.removeListener(report);
+            pool.shutdown();
         }
+        report.print(command, out);
+        return report.failures() == 0 ? 0 : 1;
     }
-    
-    public static void test4() {
-        try {
-            SSS sss = new SSS();
-            String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
-            System.out.println("s: " + s);
-            // Convert the secret to its respective 256-bit big.Int representation
-            List<BigInteger> secrets = sss.splitSecretToBigInt(s);
-            String r = sss.mergeBigIntToString(secrets);
-            System.out.println("r: " + r);
-        } catch (Exception e) {
-            e.printStackTrace();
+
+    // The regular files under path, in a stable order, or path itself when it is a file.
+    private static List<Path> regularFiles(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            if (!Files.isRegularFile(path)) {
+                throw new IOException("file not found: " + path);
+            }
+            return Collections.singletonList(path);
+        }
+        try (Stream<Path> s = Files.walk(path)) {
+            return s.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
         }
     }
-    
-    public static void test3() {
-        try {
-            SSS sss = new SSS();
-            BigInteger number = new BigInteger("67356225285819719212258382314594931188352598651646313425411610888829358649431");
-            System.out.println(number.toString(10));
-            String b64data = sss.toBase64(number);
-            System.out.println(b64data); // lOpFwywpCeVAcK0_LOKG-YtW71xyj1bX06CcW7VZMFc=
-            String hexdata = sss.toHex(number);
-            System.out.println(hexdata); // 94ea45c32c2909e54070ad3f2ce286f98b56ef5c728f56d7d3a09c5bb5593057
-            BigInteger numb64decode = sss.fromBase64(b64data);
-            System.out.println(numb64decode);
-            BigInteger numhexdecode = sss.fromHex(hexdata);
-            System.out.println(numhexdecode);
-        } catch (Exception e) {
-            e.printStackTrace();
+
+    // Options take one value each and may come anywhere after the command; everything else is a path.
+    private static void parse(String[] args, Map<String, String> opts, List<String> paths) {
+        for (int i = 1; i < args.length; i++) {
+            String a = args[i];
+            if (a.startsWith("-") && a.length() == 2) {
+                if (!OPTIONS.contains(a) || i + 1 == args.length) {
+                    throw new IllegalArgumentException("option is invalid: " + a);
+                }
+                opts.put(a, args[++i]);
+            } else {
+                paths.add(a);
+            }
         }
     }
-    
-    public static void test2() {
+
+    private static int intOpt(Map<String, String> opts, String name, int def) {
+        String v = opts.get(name);
+        if (v == null) {
+            return def;
+        }
         try {
-//            BigInteger prime = new BigInteger("115792089237316195423570985008687907853269984665640564039457584007913129639747");
-//            System.out.println("prime=" + prime.toString(2));
-//            // 111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111
-//            // 111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111111
-//            // 1111111111111111111111111111111111111101000011
-//            System.out.println("prime.bitLength=" + prime.bitLength()); // 256
-//            System.out.println("prime.bitCount=" + prime.bitCount()); // 251
-//            System.out.println("prime.isProbablePrime[10000]=" + prime.isProbablePrime(10000)); // true
+            return Integer.parseInt(v);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("option " + name + " is not a number: " + v);
+        }
+    }
 
-            // https://primes.utm.edu/lists/2small/200bit.html
-            // PRIME = 2^n - k = 2^256 - 189
-            BigInteger prime = new BigInteger("2").pow(256).subtract(new BigInteger("189"));
-            System.out.println("prime=" + prime.toString(10));
-            // prime=115792089237316195423570985008687907853269984665640564039457584007913129639747
-        } catch (Exception e) {
-            e.printStackTrace();
+    private static String encodingOpt(Map<String, String> opts) {
+        String encoding = opts.getOrDefault("-e", ShareFiles.BASE64);
+        if (!ShareFiles.isEncoding(encoding)) {
+            throw new IllegalArgumentException("encoding is invalid: " + encoding);
         }
+        return encoding;
     }
-    
 
+    private static Path pathOpt(Map<String, String> opts) {
+        String v = opts.get("-o");
+        if (v == null) {
+            throw new IllegalArgumentException("option -o is required");
+        }
+        return Paths.get(v);
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.app;
+
+import com.ntc.jcrypto.sss.SSSCallStats;
+import com.ntc.jcrypto.sss.SSSCallStats.Phase;
+import com.ntc.jcrypto.sss.SSSListener;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and per-phase timings of one command. Registered with SSSMetrics, it sums the phases of every
+ * create/combine call the command makes; the commands add the time they spend reading and writing files. Times are
+ * summed over threads, so with several threads they can add up to more than the elapsed time.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+class Report implements SSSListener {
+
+    private final long start = System.nanoTime();
+    private final LongAdder files = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder plainBytes = new LongAdder();
+    private final LongAdder shareBytes = new LongAdder();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder parts = new LongAdder();
+    private final LongAdder readNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder[] phaseNanos = new LongAdder[Phase.values().length];
+
+    Report() {
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void onCall(SSSCallStats stats) {
+        calls.increment();
+        parts.add(stats.parts());
+        for (Phase phase : Phase.values()) {
+            phaseNanos[phase.ordinal()].add(stats.nanos(phase));
+        }
+    }
+
+    // One file done: its plain size and the total size of its share files.
+    void file(long plain, long shares) {
+        files.increment();
+        plainBytes.add(plain);
+        shareBytes.add(shares);
+    }
+
+    void failed() {
+        failed.increment();
+    }
+
+    void read(long nanos) {
+        readNanos.add(nanos);
+    }
+
+    void write(long nanos) {
+        writeNanos.add(nanos);
+    }
+
+    long failures() {
+        return failed.sum();
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - start;
+    }
+
+    // Prints the summary of a split or combine.
+    void print(String command, PrintStream out) {
+        double seconds = elapsedNanos() / 1e9;
+        out.printf(Locale.ROOT, "%s: %d files (%d failed), %d bytes plain, %d bytes of shares in %.3f s%n",
+                command, files.sum(), failed.sum(), plainBytes.sum(), shareBytes.sum(), seconds);
+        out.printf(Locale.ROOT, "  %.2f MB/s, %.0f parts/s, %d calls%n",
+                plainBytes.sum() / 1e6 / seconds, parts.sum() / seconds, calls.sum());
+        printTime(out, "read", readNanos.sum());
+        printPhases(out);
+        printTime(out, "write", writeNanos.sum());
+    }
+
+    // Prints the summed time of every phase that ran.
+    void printPhases(PrintStream out) {
+        for (Phase phase : Phase.values()) {
+            long nanos = phaseNanos[phase.ordinal()].sum();
+            if (nanos > 0) {
+                printTime(out, phase.name().toLowerCase(Locale.ROOT), nanos);
+            }
+        }
+    }
+
+    private static void printTime(PrintStream out, String name, long nanos) {
+        out.printf(Locale.ROOT, "  %-12s %10.1f ms%n", name, nanos / 1e6);
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.app;
+
+import com.ntc.jcrypto.sss.SSS;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits a file into share files and combines share files back, one chunk at a time.
+ * 
+ * A share file starts with the ASCII line "SSSF1 encoding threshold chunkSize", followed by one share per chunk of
+ * chunkSize bytes of the file (the last chunk may be shorter):
+ * <ul>
+ * <li>base64, hex: one byte-exact share string (see {@link SSS#BYTES_PREFIX}) per line, which
+ * {@link SSS#combineBytes(List, boolean)} also reads on its own;</li>
+ * <li>binary: raw binary shares (see {@link SSS#create(int, java.nio.ByteBuffer, java.nio.ByteBuffer[])}) back to
+ * back, {@link SSS#shareLength(int)} bytes per chunk.</li>
+ * </ul>
+ * Files are memory-mapped one chunk at a time and shares are streamed out as they are made, so memory stays at a few
+ * chunks per file whatever its size. With a parallel engine each chunk is also split across the engine's pool.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public class ShareFiles {
+
+    public static final String MAGIC = "SSSF1";
+    public static final String BASE64 = "base64";
+    public static final String HEX = "hex";
+    public static final String BINARY = "binary";
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    public static final int MAX_CHUNK_SIZE = 1 << 26;
+    // Longest header line read back, newline included.
+    private static final int MAX_HEADER_LENGTH = 64;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SSS sss;
+    private final int chunkSize;
+    private final Report report;
+
+    public ShareFiles(SSS sss, int chunkSize) {
+        this(sss, chunkSize, null);
+    }
+
+    ShareFiles(SSS sss, int chunkSize, Report report) {
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize is invalid");
+        }
+        this.sss = sss;
+        this.chunkSize = chunkSize;
+        this.report = report;
+    }
+
+    /**
+     * Splits the file in into one share file per path of outs, any minimum of which rebuild it. Parent directories
+     * are created and existing files replaced; if the split fails, the share files written so far are deleted.
+     *
+     * @param in Path file to split
+     * @param minimum int minimum
+     * @param outs List&lt;Path&gt; share files to write
+     * @param encoding String base64, hex or binary
+     * @return long total bytes of the share files
+     * @throws Exception Input params invalid or I/O error
+     */
+    public long split(Path in, int minimum, List<Path> outs, String encoding) throws Exception {
+        checkEncoding(encoding);
+        if (minimum <= 0 || outs == null || outs.isEmpty()) {
+            throw new Exception("minimum or shares is invalid");
+        }
+        if (minimum > outs.size()) {
+            throw new Exception("cannot require more shares then existing");
+        }
+        byte[] header = (MAGIC + " " + encoding + " " + minimum + " " + chunkSize + "\n").getBytes(StandardCharsets.US_ASCII);
+        int n = outs.size();
+        List<OutputStream> os = new ArrayList<>(n);
+        boolean isDone = false;
+        try (FileChannel src = FileChannel.open(in, StandardOpenOption.READ)) {
+            for (Path out : outs) {
+                os.add(create(out));
+            }
+            long written = (long) header.length * n;
+            for (OutputStream o : os) {
+                o.write(header);
+            }
+            long size = src.size();
+            ByteBuffer[] shares = null;
+            if (encoding.equals(BINARY)) {
+                shares = new ByteBuffer[n];
+                for (int i = 0; i < n; i++) {
+                    shares[i] = ByteBuffer.allocate(SSS.shareLength(chunkSize));
+                }
+            }
+            for (long pos = 0; pos < size; pos += chunkSize) {
+                int len = (int) Math.min(chunkSize, size - pos);
+                long t = System.nanoTime();
+                ByteBuffer chunk = src.map(FileChannel.MapMode.READ_ONLY, pos, len);
+                if (shares != null) {
+                    read(t);
+                    for (ByteBuffer share : shares) {
+                        share.clear();
+                    }
+                    sss.create(minimum, chunk, shares);
+                    t = System.nanoTime();
+                    for (int i = 0; i < n; i++) {
+                        os.get(i).write(shares[i].array(), 0, shares[i].position());
+                        written += shares[i].position();
+                    }
+                } else {
+                    byte[] secret = new byte[len];
+                    chunk.get(secret);
+                    read(t);
+                    List<String> lines = sss.create(minimum, n, secret, encoding.equals(BASE64));
+                    t = System.nanoTime();
+                    for (int i = 0; i < n; i++) {
+                        byte[] line = lines.get(i).getBytes(StandardCharsets.US_ASCII);
+                        os.get(i).write(line);
+                        os.get(i).write('\n');
+                        written += line.length + 1;
+                    }
+                }
+                write(t);
+            }
+            long t = System.nanoTime();
+            closeAll(os);
+            write(t);
+            if (report != null) {
+                report.file(size, written);
+            }
+            isDone = true;
+            return written;
+        } finally {
+            if (!isDone) {
+                closeQuietly(os);
+                for (Path out : outs) {
+                    Files.deleteIfExists(out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds a file from its share files into out, reading only the first threshold of them. The share files must
+     * come from the same split; if the combine fails, out is deleted.
+     *
+     * @param ins List&lt;Path&gt; share files
+     * @param out Path file to write
+     * @return long bytes of the file
+     * @throws Exception Input params invalid or I/O error
+     */
+    public long combine(List<Path> ins, Path out) throws Exception {
+        if (ins == null || ins.isEmpty()) {
+            throw new Exception("shares is NULL or empty");
+        }
+        List<FileChannel> chs = new ArrayList<>();
+        OutputStream o = null;
+        boolean isDone = false;
+        try {
+            String[] header = null;
+            int headerLength = 0;
+            for (Path in : ins) {
+                FileChannel ch = FileChannel.open(in, StandardOpenOption.READ);
+                chs.add(ch);
+                String line = readHeader(ch);
+                if (header == null) {
+                    header = parseHeader(line);
+                    headerLength = line.length() + 1;
+                } else if (!String.join(" ", header).equals(line)) {
+                    throw new Exception("share files are from different splits");
+                }
+            }
+            String encoding = header[1];
+            int threshold = Integer.parseInt(header[2]);
+            int chunk = Integer.parseInt(header[3]);
+            if (ins.size() < threshold) {
+                throw new Exception("share files are fewer than the threshold");
+            }
+            o = create(out);
+            long size = encoding.equals(BINARY)
+                    ? combineBinary(chs.subList(0, threshold), headerLength, chunk, o)
+                    : combineText(ins.subList(0, threshold), encoding.equals(BASE64), o);
+            long t = System.nanoTime();
+            o.close();
+            write(t);
+            if (report != null) {
+                long shares = 0;
+                for (FileChannel ch : chs.subList(0, threshold)) {
+                    shares += ch.size();
+                }
+                report.file(size, shares);
+            }
+            isDone = true;
+            return size;
+        } finally {
+            for (FileChannel ch : chs) {
+                ch.close();
+            }
+            if (!isDone) {
+                if (o != null) {
+                    closeQuietly(Collections.singletonList(o));
+                }
+                Files.deleteIfExists(out);
+            }
+        }
+    }
+
+    // Combines binary share files chunk by chunk, mapping one chunk share of each file at a time.
+    private long combineBinary(List<FileChannel> chs, int headerLength, int chunk, OutputStream o) throws Exception {
+        long length = chs.get(0).size();
+        for (FileChannel ch : chs) {
+            if (ch.size() != length) {
+                throw new Exception("share files have different lengths");
+            }
+        }
+        int shareLength = SSS.shareLength(chunk);
+        ByteBuffer[] bufs = new ByteBuffer[chs.size()];
+        ByteBuffer secret = ByteBuffer.allocate(SSS.maxSecretLength(shareLength));
+        long size = 0;
+        for (long pos = headerLength; pos < length; pos += shareLength) {
+            int len = (int) Math.min(shareLength, length - pos);
+            long t = System.nanoTime();
+            for (int i = 0; i < bufs.length; i++) {
+                bufs[i] = chs.get(i).map(FileChannel.MapMode.READ_ONLY, pos, len);
+            }
+            read(t);
+            secret.clear();
+            sss.combine(bufs, secret);
+            t = System.nanoTime();
+            o.write(secret.array(), 0, secret.position());
+            write(t);
+            size += secret.position();
+        }
+        return size;
+    }
+
+    // Combines text share files line by line.
+    private long combineText(List<Path> ins, boolean isBase64, OutputStream o) throws Exception {
+        List<BufferedReader> readers = new ArrayList<>(ins.size());
+        try {
+            for (Path in : ins) {
+                BufferedReader r = Files.newBufferedReader(in, StandardCharsets.US_ASCII);
+                readers.add(r);
+                r.readLine();
+            }
+            long size = 0;
+            List<String> lines = new ArrayList<>(ins.size());
+            while (true) {
+                long t = System.nanoTime();
+                lines.clear();
+                int ended = 0;
+                for (BufferedReader r : readers) {
+                    String line = r.readLine();
+                    if (line == null) {
+                        ended++;
+                    }
+                    lines.add(line);
+                }
+                read(t);
+                if (ended == readers.size()) {
+                    return size;
+                }
+                if (ended > 0) {
+                    throw new Exception("share files have different lengths");
+                }
+                byte[] secret = sss.combineBytes(lines, isBase64);
+                t = System.nanoTime();
+                o.write(secret);
+                write(t);
+                size += secret.length;
+            }
+        } finally {
+            for (BufferedReader r : readers) {
+                r.close();
+            }
+        }
+    }
+
+    // Reads the header line at the start of a share file, leaving the channel position after it.
+    private static String readHeader(FileChannel ch) throws Exception {
+        ByteBuffer buf = ByteBuffer.allocate(MAX_HEADER_LENGTH);
+        while (buf.hasRemaining() && ch.read(buf) > 0) {
+            // fill up to the longest header
+        }
+        for (int i = 0; i < buf.position(); i++) {
+            if (buf.get(i) == '\n') {
+                ch.position(i + 1);
+                return new String(buf.array(), 0, i, StandardCharsets.US_ASCII);
+            }
+        }
+        throw new Exception("share file is invalid");
+    }
+
+    // Splits and checks a header line: magic, encoding, threshold, chunk size.
+    private static String[] parseHeader(String line) throws Exception {
+        String[] fields = line.split(" ");
+        try {
+            if (fields.length == 4 && fields[0].equals(MAGIC) && isEncoding(fields[1])
+                    && Integer.parseInt(fields[2]) > 0
+                    && Integer.parseInt(fields[3]) > 0 && Integer.parseInt(fields[3]) <= MAX_CHUNK_SIZE) {
+                return fields;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new Exception("share file is invalid");
+    }
+
+    static boolean isEncoding(String encoding) {
+        return BASE64.equals(encoding) || HEX.equals(encoding) || BINARY.equals(encoding);
+    }
+
+    private static void checkEncoding(String encoding) throws Exception {
+        if (!isEncoding(encoding)) {
+            throw new Exception("encoding is invalid");
+        }
+    }
+
+    private static OutputStream create(Path out) throws IOException {
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new BufferedOutputStream(Files.newOutputStream(out), BUFFER_SIZE);
+    }
+
+    // Closes every stream, keeping the first error.
+    private static void closeAll(List<OutputStream> os) throws IOException {
+        IOException error = null;
+        for (OutputStream o : os) {
+            try {
+                o.close();
+            } catch (IOException e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    // Closes every stream after a failure, whose error is the one to report.
+    private static void closeQuietly(List<OutputStream> os) {
+        for (OutputStream o : os) {
+            try {
+                o.close();
+            } catch (IOException e) {
+                // already failing
+            }
+        }
+    }
+
+    private void read(long start) {
+        if (report != null) {
+            report.read(System.nanoTime() - start);
+        }
+    }
+
+    private void write(long start) {
+        if (report != null) {
+            report.write(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A self-describing binary share: a fixed header followed by the raw y-coordinates of the share, one 32-byte
+ * big-endian field element per part.
+ * 
+ * <pre>
+ *  offset  size  field
+ *       0     4  magic "SSSB"
+ *       4     1  version (1)
+ *       5     1  field id (1 = GF(2^256 - 189))
+ *       6     1  layout (0 = 32-byte parts, trailing zeros trimmed; 1 = byte-exact, see SSS.BYTES_PREFIX)
+ *       7     1  reserved (0)
+ *       8     2  threshold, the minimum number of shares to combine
+ *      10     2  reserved (0)
+ *      12     4  number of parts
+ *      16    16  secret id, the same in every share of one secret
+ *      32    32  x-coordinate
+ *      64     4  CRC32 of bytes [0, 64) and of the parts
+ *      68     4  reserved (0)
+ *      72        parts * 32 bytes of y-coordinates
+ * </pre>
+ * 
+ * All integers are unsigned big-endian. A share reads its fields in place from the buffer it wraps, which may be a
+ * file mapped with {@link #map(Path)}, so loading a share copies nothing to the heap. The checksum detects corruption,
+ * not tampering.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class BinaryShare {
+
+    public static final int MAGIC = 0x53535342; // "SSSB"
+    public static final int VERSION = 1;
+    public static final int FIELD_P256 = 1;
+    public static final int LAYOUT_PADDED = 0;
+    public static final int LAYOUT_EXACT = 1;
+    public static final int HEADER_LENGTH = 72;
+    public static final int SECRET_ID_LENGTH = 16;
+
+    private static final int CHECKSUM_OFFSET = 64;
+
+    // Big-endian view of the share, from index 0 to its length.
+    private final ByteBuffer buf;
+
+    private BinaryShare(ByteBuffer buf) {
+        this.buf = buf;
+    }
+
+    /**
+     * Reads a share from the remaining bytes of buffer, heap, direct or mapped, without copying it. The header and
+     * checksum are verified; the buffer must not be modified afterwards.
+     *
+     * @param buffer ByteBuffer share
+     * @return BinaryShare share
+     * @throws Exception the share is invalid
+     */
+    public static BinaryShare wrap(ByteBuffer buffer) throws Exception {
+        if (buffer == null) {
+            throw new Exception("share is NULL");
+        }
+        ByteBuffer b = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        if (b.remaining() < HEADER_LENGTH || b.getInt(0) != MAGIC) {
+            throw new Exception("share is not a binary share");
+        }
+        if ((b.get(4) & 0xFF) != VERSION) {
+            throw new Exception("share version is not supported");
+        }
+        int layout = b.get(6) & 0xFF;
+        if ((b.get(5) & 0xFF) != FIELD_P256 || (layout != LAYOUT_PADDED && layout != LAYOUT_EXACT)) {
+            throw new Exception("share format is not supported");
+        }
+        long parts = b.getInt(12) & 0xFFFFFFFFL;
+        if (parts == 0 || b.remaining() != HEADER_LENGTH + parts * 32) {
+            throw new Exception("share length is invalid");
+        }
+        if (b.getInt(CHECKSUM_OFFSET) != checksum(b)) {
+            throw new Exception("share checksum is invalid");
+        }
+        BinaryShare share = new BinaryShare(b);
+        long[] e = Fp256.create();
+        share.x(e);
+        if (Fp256.isZero(e) || !Fp256.isReduced(e) || share.threshold() == 0) {
+            throw new Exception("one of the shares is invalid");
+        }
+        for (int j = 0; j < share.parts(); j++) {
+            if (!Fp256.isReduced(share.y(j, e))) {
+                throw new Exception("one of the shares is invalid");
+            }
+        }
+        return share;
+    }
+
+    /**
+     * Maps a share file read-only into memory and reads it in place (see {@link #wrap(ByteBuffer)}).
+     *
+     * @param path Path share file
+     * @return BinaryShare share
+     * @throws Exception the file cannot be read or the share is invalid
+     */
+    public static BinaryShare map(Path path) throws Exception {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return wrap(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    /**
+     * Writes the share to a file, replacing it if it exists.
+     *
+     * @param path Path share file
+     * @throws IOException the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer b = buffer();
+            while (b.hasRemaining()) {
+                ch.write(b);
+            }
+        }
+    }
+
+    // Returns a new read-only view of the whole share.
+    public ByteBuffer buffer() {
+        return buf.asReadOnlyBuffer();
+    }
+
+    // Returns a copy of the whole share.
+    public byte[] toByteArray() {
+        byte[] b = new byte[buf.remaining()];
+        buffer().get(b);
+        return b;
+    }
+
+    public int length() {
+        return buf.remaining();
+    }
+
+    public int layout() {
+        return buf.get(6) & 0xFF;
+    }
+
+    public int threshold() {
+        return buf.getShort(8) & 0xFFFF;
+    }
+
+    public int parts() {
+        return buf.getInt(12);
+    }
+
+    public byte[] secretId() {
+        byte[] id = new byte[SECRET_ID_LENGTH];
+        for (int i = 0; i < SECRET_ID_LENGTH; i++) {
+            id[i] = buf.get(16 + i);
+        }
+        return id;
+    }
+
+    // Returns whether both shares carry the same secret id.
+    public boolean sameSecret(BinaryShare other) {
+        for (int i = 0; i < SECRET_ID_LENGTH; i += 8) {
+            if (buf.getLong(16 + i) != other.buf.getLong(16 + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Loads the x-coordinate into r and returns it.
+    public long[] x(long[] r) {
+        Fp256.fromBuffer(r, buf, 32);
+        return r;
+    }
+
+    // Loads the y-coordinate of part into r and returns it.
+    public long[] y(int part, long[] r) {
+        Fp256.fromBuffer(r, buf, HEADER_LENGTH + 32 * part);
+        return r;
+    }
+
+    /**
+     * Returns the share in the compact string format (see {@link SSS#COMPACT_PREFIX}, {@link SSS#BYTES_PREFIX}), which
+     * {@link SSS#combine(List, boolean)} reads. The threshold and secret id are not kept.
+     *
+     * @param isBase64 True using encode Base64Url, otherwise encode Hex
+     * @return String share
+     */
+    public String toString(boolean isBase64) {
+        String prefix = layout() == LAYOUT_EXACT ? SSS.BYTES_PREFIX : SSS.COMPACT_PREFIX;
+        int blockLen = ShareCodec.blockLength(isBase64);
+        char[] c = new char[prefix.length() + (1 + parts()) * blockLen];
+        prefix.getChars(0, prefix.length(), c, 0);
+        long[] e = Fp256.create();
+        ShareCodec.encode(x(e), isBase64, c, prefix.length());
+        for (int j = 0; j < parts(); j++) {
+            ShareCodec.encode(y(j, e), isBase64, c, prefix.length() + (j + 1) * blockLen);
+        }
+        return new String(c);
+    }
+
+    /**
+     * Converts shares in the compact string format (see {@link SSS#COMPACT_PREFIX}, {@link SSS#BYTES_PREFIX}) of one
+     * secret into binary shares, which record the given threshold and share a new secret id. Classic shares have one
+     * x-coordinate per part and cannot be converted.
+     *
+     * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @param threshold int minimum number of shares to combine
+     * @param secretId byte[] 16 byte secret id
+     * @return List binary shares
+     * @throws Exception Input params invalid
+     */
+    public static List<BinaryShare> fromStrings(List<String> shares, boolean isBase64, int threshold, byte[] secretId) throws Exception {
+        if (shares == null || shares.isEmpty()) {
+            throw new Exception("shares is NULL or empty");
+        }
+        int blockLen = ShareCodec.blockLength(isBase64);
+        List<BinaryShare> rs = new ArrayList<>(shares.size());
+        long[] e = Fp256.create();
+        for (String share : shares) {
+            int start = SSS.compactPrefixLength(share);
+            int len = share == null ? 0 : share.length() - start;
+            if (start == 0 || len < 2 * blockLen || len % blockLen != 0) {
+                throw new Exception("one of the shares is invalid");
+            }
+            int parts = len / blockLen - 1;
+            int layout = share.startsWith(SSS.BYTES_PREFIX) ? LAYOUT_EXACT : LAYOUT_PADDED;
+            ByteBuffer b = allocate(layout, threshold, parts, secretId);
+            for (int j = 0; j <= parts; j++) {
+                if (!ShareCodec.decode(share, start + j * blockLen, isBase64, e) || (j == 0 && Fp256.isZero(e))) {
+                    throw new Exception("one of the shares is invalid");
+                }
+                Fp256.toBuffer(e, b, j == 0 ? 32 : HEADER_LENGTH + 32 * (j - 1));
+            }
+            rs.add(seal(b));
+        }
+        return rs;
+    }
+
+    // Returns a binary share of the point (x, ys) with the header filled in.
+    static BinaryShare of(int layout, int threshold, byte[] secretId, long[] x, long[][] ys) throws Exception {
+        ByteBuffer b = allocate(layout, threshold, ys.length, secretId);
+        Fp256.toBuffer(x, b, 32);
+        for (int j = 0; j < ys.length; j++) {
+            Fp256.toBuffer(ys[j], b, HEADER_LENGTH + 32 * j);
+        }
+        return seal(b);
+    }
+
+    // Allocates a share of parts y-coordinates with its header, apart from x and the checksum.
+    private static ByteBuffer allocate(int layout, int threshold, int parts, byte[] secretId) throws Exception {
+        if (threshold <= 0 || threshold > 0xFFFF) {
+            throw new Exception("threshold is invalid");
+        }
+        if (secretId == null || secretId.length != SECRET_ID_LENGTH) {
+            throw new Exception("secret id is invalid");
+        }
+        if (parts > (Integer.MAX_VALUE - HEADER_LENGTH) / 32) {
+            throw new Exception("secret is too long");
+        }
+        ByteBuffer b = ByteBuffer.allocate(HEADER_LENGTH + 32 * parts);
+        b.putInt(0, MAGIC);
+        b.put(4, (byte) VERSION);
+        b.put(5, (byte) FIELD_P256);
+        b.put(6, (byte) layout);
+        b.putShort(8, (short) threshold);
+        b.putInt(12, parts);
+        for (int i = 0; i < SECRET_ID_LENGTH; i++) {
+            b.put(16 + i, secretId[i]);
+        }
+        return b;
+    }
+
+    private static BinaryShare seal(ByteBuffer b) {
+        b.putInt(CHECKSUM_OFFSET, checksum(b));
+        return new BinaryShare(b);
+    }
+
+    // CRC32 of the header before the checksum field and of the parts.
+    private static int checksum(ByteBuffer b) {
+        CRC32 crc = new CRC32();
+        ByteBuffer d = b.duplicate();
+        d.position(0).limit(CHECKSUM_OFFSET);
+        crc.update(d);
+        d.limit(b.limit()).position(HEADER_LENGTH);
+        crc.update(d);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BinaryShare && buf.equals(((BinaryShare) o).buf);
+    }
+
+    @Override
+    public int hashCode() {
+        return buf.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "BinaryShare{layout=" + layout() + ", threshold=" + threshold() + ", parts=" + parts() + "}";
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * A per-thread AES-CTR deterministic random bit generator behind {@link RandomSource#threadLocal()}.
+ * 
+ * Each generator is seeded with a 256-bit key (128-bit where the JCE policy limits AES) and a 128-bit counter from
+ * the system SecureRandom, produces its
+ * output as the AES-CTR keystream, and after every refill replaces its key and counter with fresh keystream, so
+ * earlier output cannot be recomputed from its state. It reseeds from the system after RESEED_INTERVAL bytes.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class CtrDrbg {
+
+    static final RandomSource THREAD_LOCAL = new RandomSource() {
+        private final ThreadLocal<CtrDrbg> drbg = ThreadLocal.withInitial(CtrDrbg::new);
+
+        @Override
+        public void nextBytes(byte[] bytes, int off, int len) {
+            drbg.get().nextBytes(bytes, off, len);
+        }
+    };
+
+    private static final SecureRandom SEEDER = new SecureRandom();
+    private static final int KEY_LENGTH = maxKeyLength();
+    private static final int SEED_LENGTH = KEY_LENGTH + 16;
+    private static final int BUFFER_LENGTH = 4096;
+    private static final long RESEED_INTERVAL = 1L << 32;
+
+    private final Cipher cipher;
+    // buf[pos, BUFFER_LENGTH) is unused keystream; used bytes are zeroed.
+    private final byte[] buf = new byte[BUFFER_LENGTH];
+    private int pos = BUFFER_LENGTH;
+    private long generated;
+
+    CtrDrbg() {
+        try {
+            cipher = Cipher.getInstance("AES/CTR/NoPadding");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES/CTR is not available", e);
+        }
+        byte[] seed = new byte[SEED_LENGTH];
+        synchronized (SEEDER) {
+            SEEDER.nextBytes(seed);
+        }
+        rekey(seed);
+    }
+
+    void nextBytes(byte[] bytes, int off, int len) {
+        if (len >= BUFFER_LENGTH) {
+            // bulk: straight from the keystream
+            Arrays.fill(bytes, off, off + len, (byte) 0);
+            keystream(bytes, off, len);
+            update();
+            return;
+        }
+        while (len > 0) {
+            if (pos == BUFFER_LENGTH) {
+                keystream(buf, 0, BUFFER_LENGTH);
+                update();
+                pos = 0;
+            }
+            int n = Math.min(len, BUFFER_LENGTH - pos);
+            System.arraycopy(buf, pos, bytes, off, n);
+            Arrays.fill(buf, pos, pos + n, (byte) 0);
+            pos += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    // Encrypts the zero bytes b[off, off + len) in place, i.e. writes keystream there.
+    private void keystream(byte[] b, int off, int len) {
+        try {
+            cipher.update(b, off, len, b, off);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        generated += len;
+    }
+
+    // Replaces key and counter with fresh keystream (or a new system seed every RESEED_INTERVAL bytes).
+    private void update() {
+        byte[] seed = new byte[SEED_LENGTH];
+        if (generated >= RESEED_INTERVAL) {
+            synchronized (SEEDER) {
+                SEEDER.nextBytes(seed);
+            }
+            generated = 0;
+        } else {
+            keystream(seed, 0, SEED_LENGTH);
+        }
+        rekey(seed);
+    }
+
+    private void rekey(byte[] seed) {
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(seed, 0, KEY_LENGTH, "AES"), new IvParameterSpec(seed, KEY_LENGTH, 16));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            Arrays.fill(seed, (byte) 0);
+        }
+    }
+
+    // 32 bytes (AES-256) unless a restricted JCE policy caps AES at 128 bits.
+    private static int maxKeyLength() {
+        try {
+            return Cipher.getMaxAllowedKeyLength("AES") >= 256 ? 32 : 16;
+        } catch (GeneralSecurityException e) {
+            return 16;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Feldman commitments to the polynomials of a secret shared with
+ * {@link SSS#createVerifiable(int, int, byte[], boolean)}: for every part j and coefficient c the group element
+ * g^a[j][c] of {@link FeldmanGroup}, from which anyone can check that a share lies on the committed polynomials
+ * without learning the secret or seeing the other shares.
+ * 
+ * <pre>
+ *  offset  size  field
+ *       0     4  magic "SSSF"
+ *       4     1  version (1)
+ *       5     1  reserved (0)
+ *       6     2  threshold, the number of coefficients per part
+ *       8     4  number of parts
+ *      12        parts * threshold * 256 bytes of commitments, part by part, big-endian
+ * </pre>
+ * 
+ * Verification is only as trustworthy as the commitments: they must reach the verifier authentically, for example
+ * signed by the dealer or published on a channel the shareholders agree on. Decoding only checks that every element
+ * lies in [1, Q).
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class FeldmanCommitments {
+
+    public static final int MAGIC = 0x53535346; // "SSSF"
+    public static final int VERSION = 1;
+    public static final int HEADER_LENGTH = 12;
+
+    // commitments[parts][threshold] in Montgomery form (see FeldmanGroup).
+    private final BigInteger[][] commitments;
+
+    FeldmanCommitments(BigInteger[][] commitments) {
+        this.commitments = commitments;
+    }
+
+    /**
+     * Decodes commitments written by {@link #toByteArray()}.
+     *
+     * @param bytes byte[] encoded commitments
+     * @return FeldmanCommitments commitments
+     * @throws Exception the encoding is invalid
+     */
+    public static FeldmanCommitments fromByteArray(byte[] bytes) throws Exception {
+        if (bytes == null) {
+            throw new Exception("commitments is NULL");
+        }
+        ByteBuffer b = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_LENGTH || b.getInt(0) != MAGIC) {
+            throw new Exception("commitments are not Feldman commitments");
+        }
+        if ((b.get(4) & 0xFF) != VERSION) {
+            throw new Exception("commitments version is not supported");
+        }
+        int threshold = b.getShort(6) & 0xFFFF;
+        long parts = b.getInt(8) & 0xFFFFFFFFL;
+        if (threshold == 0 || parts == 0
+                || bytes.length != HEADER_LENGTH + parts * threshold * FeldmanGroup.ELEMENT_LENGTH) {
+            throw new Exception("commitments length is invalid");
+        }
+        BigInteger[][] commitments = new BigInteger[(int) parts][threshold];
+        byte[] element = new byte[FeldmanGroup.ELEMENT_LENGTH];
+        int off = HEADER_LENGTH;
+        for (BigInteger[] part : commitments) {
+            for (int c = 0; c < threshold; c++) {
+                System.arraycopy(bytes, off, element, 0, element.length);
+                off += element.length;
+                BigInteger e = new BigInteger(1, element);
+                if (e.signum() == 0 || e.compareTo(FeldmanGroup.Q) >= 0) {
+                    throw new Exception("commitments are invalid");
+                }
+                part[c] = FeldmanGroup.toMont(e);
+            }
+        }
+        return new FeldmanCommitments(commitments);
+    }
+
+    /**
+     * Returns the encoded commitments, {@link #HEADER_LENGTH} + parts * threshold * 256 bytes.
+     *
+     * @return byte[] encoded commitments
+     */
+    public byte[] toByteArray() {
+        int threshold = threshold();
+        ByteBuffer b = ByteBuffer.allocate(HEADER_LENGTH + commitments.length * threshold * FeldmanGroup.ELEMENT_LENGTH);
+        b.putInt(MAGIC).put((byte) VERSION).put((byte) 0).putShort((short) threshold).putInt(commitments.length);
+        for (BigInteger[] part : commitments) {
+            for (BigInteger c : part) {
+                byte[] e = FeldmanGroup.fromMont(c).toByteArray();
+                // unsigned, left-padded to ELEMENT_LENGTH bytes
+                int len = Math.min(e.length, FeldmanGroup.ELEMENT_LENGTH);
+                b.position(b.position() + FeldmanGroup.ELEMENT_LENGTH - len);
+                b.put(e, e.length - len, len);
+            }
+        }
+        return b.array();
+    }
+
+    // Returns the minimum number of shares to combine, the number of coefficients per part.
+    public int threshold() {
+        return commitments[0].length;
+    }
+
+    // Returns the number of parts of the secret.
+    public int parts() {
+        return commitments.length;
+    }
+
+    // Returns the commitment to coefficient c of part j, in Montgomery form.
+    BigInteger get(int j, int c) {
+        return commitments[j][c];
+    }
+}
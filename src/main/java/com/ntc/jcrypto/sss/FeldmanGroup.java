@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.math.BigInteger;
+
+/**
+ * The group for Feldman commitments: the subgroup of order PRIME (2^256 - 189, see {@link Fp256}) of the
+ * multiplicative group modulo the 2048-bit prime Q = PRIME * K + 1, generated by G = 2^K mod Q.
+ * 
+ * K is a nothing-up-my-sleeve number: the 1792-bit big-endian value of SHA-256("ntc-jcrypto Feldman group" || i)
+ * for i = 0..6 shifted right by one bit, with bits 1791 and 1790 set and bit 0 cleared, plus 2850, the smallest even
+ * offset making Q prime (see TestFeldman). Elements are BigIntegers; products are Montgomery multiplications built on
+ * BigInteger, which are several times cheaper than multiply-then-mod. Powers of G use a fixed-base table of 8-bit
+ * windows built on first use, and products of powers of several bases share their squarings (Straus).
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class FeldmanGroup {
+
+    static final BigInteger Q = new BigInteger(
+            "e35b42882bff198572263d8b1a81566d2416a32a7622e1b04e80f37ff5fd0d0bbc7bf16445d4cace0a7bfd01344ea2c4"
+            + "aec576a800f812bb1bdf43cee05e75afa9e02c372dcf8eac5d9cff1cd294dd15fe00db2e961a896198efb668341cb2361a"
+            + "532390141136453af9c12240e379af04fa7e7fade6d82ed6788805991b4d809a5d841ca7c476e2a1f5cbbab894845e9b37"
+            + "d8340cac00f800e03017c40640d690e6c39b24930d47a749536ee370759aea472e60bd4167d04201edeef250ce3ece6dfc"
+            + "88f0b5818689a715101f3adeca90a40b17cbef984b59afbd6fb49994562311aa1233dab5517dbae200214a2c01d0f44fa3"
+            + "be464c38e5d8b8bbbee2e8a1", 16);
+    static final BigInteger G = BigInteger.valueOf(2).modPow(Q.subtract(BigInteger.ONE).divide(Fp256.P), Q);
+    // Bytes of an encoded element.
+    static final int ELEMENT_LENGTH = 256;
+
+    // Montgomery radix R = 2^2048.
+    private static final int BITS = 2048;
+    private static final BigInteger MASK = BigInteger.ONE.shiftLeft(BITS).subtract(BigInteger.ONE);
+    // -Q^-1 mod R
+    private static final BigInteger QINV = Q.modInverse(MASK.add(BigInteger.ONE)).negate().and(MASK);
+    private static final BigInteger ONE = toMont(BigInteger.ONE);
+
+    private FeldmanGroup() {
+    }
+
+    // Returns aR mod Q.
+    static BigInteger toMont(BigInteger a) {
+        return a.shiftLeft(BITS).mod(Q);
+    }
+
+    // Returns a / R mod Q.
+    static BigInteger fromMont(BigInteger a) {
+        return mul(a, BigInteger.ONE);
+    }
+
+    // Montgomery product a * b / R mod Q of a, b in [0, Q).
+    static BigInteger mul(BigInteger a, BigInteger b) {
+        BigInteger t = a.multiply(b);
+        BigInteger m = t.and(MASK).multiply(QINV).and(MASK);
+        BigInteger u = t.add(m.multiply(Q)).shiftRight(BITS);
+        return u.compareTo(Q) >= 0 ? u.subtract(Q) : u;
+    }
+
+    // Fixed-base table: TABLE[i][d] = G^(d * 2^(8i)) in Montgomery form, d in [1, 256); built on first use.
+    private static final class Table {
+        static final BigInteger[][] TABLE = new BigInteger[32][256];
+
+        static {
+            BigInteger base = toMont(G);
+            for (int i = 0; i < 32; i++) {
+                TABLE[i][1] = base;
+                for (int d = 2; d < 256; d++) {
+                    TABLE[i][d] = mul(TABLE[i][d - 1], base);
+                }
+                base = mul(TABLE[i][255], base);
+            }
+        }
+    }
+
+    // Returns G^e in Montgomery form, e an element of GF(PRIME): 32 products, no squarings.
+    static BigInteger powG(long[] e) {
+        BigInteger acc = ONE;
+        for (int i = 0; i < 32; i++) {
+            int d = (int) (e[i >>> 3] >>> ((i & 7) << 3)) & 0xFF;
+            if (d != 0) {
+                acc = mul(acc, Table.TABLE[i][d]);
+            }
+        }
+        return acc;
+    }
+
+    // Returns prod bases[b]^exps[b] in Montgomery form, bases in Montgomery form and exps elements of GF(PRIME):
+    // 4-bit windows over all exponents at once, so the 256 squarings are shared by every base.
+    static BigInteger multiPow(BigInteger[] bases, long[][] exps) {
+        BigInteger[][] powers = new BigInteger[bases.length][16];
+        for (int b = 0; b < bases.length; b++) {
+            powers[b][1] = bases[b];
+            for (int d = 2; d < 16; d++) {
+                powers[b][d] = mul(powers[b][d - 1], bases[b]);
+            }
+        }
+        BigInteger acc = ONE;
+        for (int w = 63; w >= 0; w--) {
+            if (w != 63) {
+                for (int s = 0; s < 4; s++) {
+                    acc = mul(acc, acc);
+                }
+            }
+            for (int b = 0; b < bases.length; b++) {
+                int d = (int) (exps[b][w >>> 4] >>> ((w & 15) << 2)) & 0xF;
+                if (d != 0) {
+                    acc = mul(acc, powers[b][d]);
+                }
+            }
+        }
+        return acc;
+    }
+}
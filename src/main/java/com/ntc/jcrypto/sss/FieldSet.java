@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+/**
+ * Open-addressing hash set of field elements (see {@link Fp256}), used to keep the random
+ * coefficients and x-coordinates of a sharing distinct without boxing them. Zero is treated
+ * as always present, so it can never be drawn.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class FieldSet {
+
+    // table[4 * slot .. 4 * slot + 3]; an all-zero slot is empty.
+    private long[] table;
+    private int mask;
+    private int size;
+
+    FieldSet(int expected) {
+        int cap = Integer.highestOneBit(Math.max(8, expected * 2 - 1)) << 1;
+        table = new long[cap * 4];
+        mask = cap - 1;
+    }
+
+    // Adds e; returns false if it was already present.
+    boolean add(long[] e) {
+        if (Fp256.isZero(e)) {
+            return false;
+        }
+        if ((size + 1) * 2 > mask + 1) {
+            grow();
+        }
+        if (!insert(table, mask, e)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static boolean insert(long[] table, int mask, long[] e) {
+        int slot = hash(e) & mask;
+        while (true) {
+            int i = slot << 2;
+            if ((table[i] | table[i + 1] | table[i + 2] | table[i + 3]) == 0) {
+                table[i] = e[0];
+                table[i + 1] = e[1];
+                table[i + 2] = e[2];
+                table[i + 3] = e[3];
+                return true;
+            }
+            if (table[i] == e[0] && table[i + 1] == e[1] && table[i + 2] == e[2] && table[i + 3] == e[3]) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int hash(long[] e) {
+        long h = e[0] ^ e[1] ^ e[2] ^ e[3];
+        h *= 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void grow() {
+        int cap = (mask + 1) << 1;
+        long[] next = new long[cap * 4];
+        long[] e = new long[4];
+        for (int i = 0; i < table.length; i += 4) {
+            if ((table[i] | table[i + 1] | table[i + 2] | table[i + 3]) != 0) {
+                System.arraycopy(table, i, e, 0, 4);
+                insert(next, cap - 1, e);
+            }
+        }
+        table = next;
+        mask = cap - 1;
+    }
+}
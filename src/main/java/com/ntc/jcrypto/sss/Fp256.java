@@ -0,0 +1,631 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Arithmetic in the prime field GF(p), p = 2^256 - 189, on fixed-width elements.
+ * 
+ * An element is a long[4] of little-endian 64-bit limbs (limb 0 is the least significant)
+ * holding a value in [0, p). All operations write into a caller-supplied result array,
+ * which may alias an operand. The arithmetic on single elements (add, sub, mul, sqr, the
+ * byte conversions) allocates nothing; the exceptions are create and valueOf, which return
+ * new elements, the BigInteger conversions, inv, which allocates seven temporary elements
+ * per call, and invAll, which allocates n + 9 elements for n inputs (one inv included).
+ * Because p is a pseudo-Mersenne prime,
+ * 2^256 = 189 (mod p), so a 512-bit product H*2^256 + L is reduced by folding L + 189*H
+ * instead of dividing.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class Fp256 {
+
+    // https://primes.utm.edu/lists/2small/200bit.html
+    // PRIME = 2^n - k = 2^256 - 189
+    public static final BigInteger P = new BigInteger("115792089237316195423570985008687907853269984665640564039457584007913129639747");
+    // 2^256 - P
+    private static final long C = 189L;
+    private static final long MASK32 = 0xFFFFFFFFL;
+    private static final long[] ZERO = new long[4];
+
+    private Fp256() {
+    }
+
+    // Returns a new zero element.
+    public static long[] create() {
+        return new long[4];
+    }
+
+    // Returns a new element holding v mod P.
+    public static long[] valueOf(BigInteger v) {
+        long[] r = new long[4];
+        set(r, v);
+        return r;
+    }
+
+    // Returns a new element holding the small value v (0 <= v).
+    public static long[] valueOf(long v) {
+        long[] r = new long[4];
+        r[0] = v;
+        return r;
+    }
+
+    // Sets r to v mod P.
+    public static void set(long[] r, BigInteger v) {
+        if (v.signum() < 0 || v.compareTo(P) >= 0) {
+            v = v.mod(P);
+        }
+        byte[] b = v.toByteArray();
+        r[0] = r[1] = r[2] = r[3] = 0;
+        // toByteArray is big-endian and may carry one leading sign byte.
+        for (int i = 0, end = Math.min(b.length, 32); i < end; i++) {
+            int limb = i >>> 3;
+            r[limb] |= (long) (b[b.length - 1 - i] & 0xFF) << ((i & 7) << 3);
+        }
+    }
+
+    // Returns the element as a non-negative BigInteger.
+    public static BigInteger toBigInteger(long[] a) {
+        byte[] b = new byte[33];
+        toBytes(a, b, 1);
+        return new BigInteger(b);
+    }
+
+    // Loads 32 bytes big-endian; the value is not reduced, check with isReduced.
+    public static void fromBytes(long[] r, byte[] b, int off) {
+        r[3] = Limbs.getLong(b, off);
+        r[2] = Limbs.getLong(b, off + 8);
+        r[1] = Limbs.getLong(b, off + 16);
+        r[0] = Limbs.getLong(b, off + 24);
+    }
+
+    // Stores the element as 32 bytes big-endian.
+    public static void toBytes(long[] a, byte[] b, int off) {
+        Limbs.putLong(b, off, a[3]);
+        Limbs.putLong(b, off + 8, a[2]);
+        Limbs.putLong(b, off + 16, a[1]);
+        Limbs.putLong(b, off + 24, a[0]);
+    }
+
+    // Loads 32 bytes big-endian at the absolute index, whatever the buffer's byte order; the value is not reduced.
+    public static void fromBuffer(long[] r, ByteBuffer b, int index) {
+        boolean be = b.order() == ByteOrder.BIG_ENDIAN;
+        for (int i = 0; i < 4; i++) {
+            long v = b.getLong(index + 8 * i);
+            r[3 - i] = be ? v : Long.reverseBytes(v);
+        }
+    }
+
+    // Stores the element as 32 bytes big-endian at the absolute index, whatever the buffer's byte order.
+    public static void toBuffer(long[] a, ByteBuffer b, int index) {
+        boolean be = b.order() == ByteOrder.BIG_ENDIAN;
+        for (int i = 0; i < 4; i++) {
+            long v = a[3 - i];
+            b.putLong(index + 8 * i, be ? v : Long.reverseBytes(v));
+        }
+    }
+
+    public static void copy(long[] r, long[] a) {
+        r[0] = a[0];
+        r[1] = a[1];
+        r[2] = a[2];
+        r[3] = a[3];
+    }
+
+    public static void setZero(long[] r) {
+        r[0] = r[1] = r[2] = r[3] = 0;
+    }
+
+    public static void setOne(long[] r) {
+        r[0] = 1;
+        r[1] = r[2] = r[3] = 0;
+    }
+
+    public static boolean isZero(long[] a) {
+        return (a[0] | a[1] | a[2] | a[3]) == 0;
+    }
+
+    public static boolean equals(long[] a, long[] b) {
+        return ((a[0] ^ b[0]) | (a[1] ^ b[1]) | (a[2] ^ b[2]) | (a[3] ^ b[3])) == 0;
+    }
+
+    // Returns whether a (as a 256-bit integer) is in [0, P).
+    public static boolean isReduced(long[] a) {
+        // a < P  <=>  a + 189 does not carry out of 256 bits
+        return (a[1] & a[2] & a[3]) != -1L || Long.compareUnsigned(a[0], -C) < 0;
+    }
+
+    // r = a + b mod P
+    public static void add(long[] r, long[] a, long[] b) {
+        long s0 = a[0] + b[0];
+        long c = Long.compareUnsigned(s0, b[0]) < 0 ? 1 : 0;
+        long t = a[1] + b[1];
+        long s1 = t + c;
+        c = (Long.compareUnsigned(t, b[1]) < 0 ? 1 : 0) | (Long.compareUnsigned(s1, c) < 0 ? 1 : 0);
+        t = a[2] + b[2];
+        long s2 = t + c;
+        c = (Long.compareUnsigned(t, b[2]) < 0 ? 1 : 0) | (Long.compareUnsigned(s2, c) < 0 ? 1 : 0);
+        t = a[3] + b[3];
+        long s3 = t + c;
+        c = (Long.compareUnsigned(t, b[3]) < 0 ? 1 : 0) | (Long.compareUnsigned(s3, c) < 0 ? 1 : 0);
+        reduceOnce(r, s0, s1, s2, s3, c);
+    }
+
+    // r = a - b mod P
+    public static void sub(long[] r, long[] a, long[] b) {
+        long s0 = a[0] - b[0];
+        long bw = Long.compareUnsigned(a[0], b[0]) < 0 ? 1 : 0;
+        long t = a[1] - b[1];
+        long s1 = t - bw;
+        bw = (Long.compareUnsigned(a[1], b[1]) < 0 ? 1 : 0) | (Long.compareUnsigned(t, bw) < 0 ? 1 : 0);
+        t = a[2] - b[2];
+        long s2 = t - bw;
+        bw = (Long.compareUnsigned(a[2], b[2]) < 0 ? 1 : 0) | (Long.compareUnsigned(t, bw) < 0 ? 1 : 0);
+        t = a[3] - b[3];
+        long s3 = t - bw;
+        bw = (Long.compareUnsigned(a[3], b[3]) < 0 ? 1 : 0) | (Long.compareUnsigned(t, bw) < 0 ? 1 : 0);
+        // On borrow the 256-bit result wrapped by 2^256; adding P back is subtracting 189.
+        long k = C & -bw;
+        t = s0;
+        s0 = t - k;
+        bw = Long.compareUnsigned(t, k) < 0 ? 1 : 0;
+        t = s1;
+        s1 = t - bw;
+        bw = Long.compareUnsigned(t, bw) < 0 ? 1 : 0;
+        t = s2;
+        s2 = t - bw;
+        bw = Long.compareUnsigned(t, bw) < 0 ? 1 : 0;
+        s3 = s3 - bw;
+        r[0] = s0;
+        r[1] = s1;
+        r[2] = s2;
+        r[3] = s3;
+    }
+
+    // r = -a mod P
+    public static void neg(long[] r, long[] a) {
+        sub(r, ZERO, a);
+    }
+
+    // r = a * b mod P
+    public static void mul(long[] r, long[] a, long[] b) {
+        long a0 = a[0], a1 = a[1], a2 = a[2], a3 = a[3];
+        long b0 = b[0], b1 = b[1], b2 = b[2], b3 = b[3];
+        long t0, t1, t2, t3, t4, t5, t6, t7;
+        long c0 = 0, c1 = 0, c2 = 0, lo, hi, h;
+        // column 0
+        lo = a0 * b0;
+        hi = Limbs.mulHigh(a0, b0);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t0 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 1
+        lo = a0 * b1;
+        hi = Limbs.mulHigh(a0, b1);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a1 * b0;
+        hi = Limbs.mulHigh(a1, b0);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t1 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 2
+        lo = a0 * b2;
+        hi = Limbs.mulHigh(a0, b2);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a1 * b1;
+        hi = Limbs.mulHigh(a1, b1);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a2 * b0;
+        hi = Limbs.mulHigh(a2, b0);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t2 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 3
+        lo = a0 * b3;
+        hi = Limbs.mulHigh(a0, b3);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a1 * b2;
+        hi = Limbs.mulHigh(a1, b2);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a2 * b1;
+        hi = Limbs.mulHigh(a2, b1);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a3 * b0;
+        hi = Limbs.mulHigh(a3, b0);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t3 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 4
+        lo = a1 * b3;
+        hi = Limbs.mulHigh(a1, b3);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a2 * b2;
+        hi = Limbs.mulHigh(a2, b2);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a3 * b1;
+        hi = Limbs.mulHigh(a3, b1);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t4 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 5
+        lo = a2 * b3;
+        hi = Limbs.mulHigh(a2, b3);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a3 * b2;
+        hi = Limbs.mulHigh(a3, b2);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t5 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 6
+        lo = a3 * b3;
+        hi = Limbs.mulHigh(a3, b3);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t6 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        t7 = c0;
+        reduce(r, t0, t1, t2, t3, t4, t5, t6, t7);
+    }
+
+    // r = a^2 mod P
+    public static void sqr(long[] r, long[] a) {
+        long a0 = a[0], a1 = a[1], a2 = a[2], a3 = a[3];
+        long t0, t1, t2, t3, t4, t5, t6, t7;
+        long c0 = 0, c1 = 0, c2 = 0, lo, hi, h;
+        // column 0
+        lo = a0 * a0;
+        hi = Limbs.mulHigh(a0, a0);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t0 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 1
+        lo = a0 * a1;
+        hi = Limbs.mulHigh(a0, a1);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t1 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 2
+        lo = a0 * a2;
+        hi = Limbs.mulHigh(a0, a2);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a1 * a1;
+        hi = Limbs.mulHigh(a1, a1);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t2 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 3
+        lo = a0 * a3;
+        hi = Limbs.mulHigh(a0, a3);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a1 * a2;
+        hi = Limbs.mulHigh(a1, a2);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t3 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 4
+        lo = a1 * a3;
+        hi = Limbs.mulHigh(a1, a3);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        lo = a2 * a2;
+        hi = Limbs.mulHigh(a2, a2);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t4 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 5
+        lo = a2 * a3;
+        hi = Limbs.mulHigh(a2, a3);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t5 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        // column 6
+        lo = a3 * a3;
+        hi = Limbs.mulHigh(a3, a3);
+        c0 += lo;
+        h = hi + (Long.compareUnsigned(c0, lo) < 0 ? 1 : 0);
+        c1 += h;
+        c2 += Long.compareUnsigned(c1, h) < 0 ? 1 : 0;
+        t6 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        t7 = c0;
+        reduce(r, t0, t1, t2, t3, t4, t5, t6, t7);
+    }
+
+    // r = a^(2^n) mod P
+    public static void sqrN(long[] r, long[] a, int n) {
+        copy(r, a);
+        for (int i = 0; i < n; i++) {
+            sqr(r, r);
+        }
+    }
+
+    // Sets r[i] = a[i]^-1 for every i with a single inversion and 3 (n - 1) multiplications (Montgomery's trick).
+    // r may alias a. Allocates the n prefix products and the temporaries of inv.
+    public static void invAll(long[][] r, long[][] a) {
+        int n = a.length;
+        if (n == 0) {
+            return;
+        }
+        // prefix[i] = a[0] * ... * a[i]
+        long[][] prefix = new long[n][4];
+        copy(prefix[0], a[0]);
+        for (int i = 1; i < n; i++) {
+            mul(prefix[i], prefix[i - 1], a[i]);
+        }
+        long[] t = new long[4];
+        long[] u = new long[4];
+        inv(t, prefix[n - 1]);
+        for (int i = n - 1; i > 0; i--) {
+            // t = (a[0] * ... * a[i])^-1
+            mul(u, t, prefix[i - 1]);
+            mul(t, t, a[i]);
+            copy(r[i], u);
+        }
+        copy(r[0], t);
+    }
+
+    // r = a^-1 mod P, computed as a^(P-2) (Fermat) with a fixed addition chain; allocates seven temporaries, which
+    // is small next to its ~265 squarings. P - 2 = (2^248 - 1) * 2^8 + 0x41
+    public static void inv(long[] r, long[] a) {
+        if (isZero(a)) {
+            throw new ArithmeticException("BigInteger not invertible.");
+        }
+        long[] x2 = new long[4];
+        long[] x4 = new long[4];
+        long[] x8 = new long[4];
+        long[] x16 = new long[4];
+        long[] x32 = new long[4];
+        long[] x64 = new long[4];
+        long[] t = new long[4];
+        sqr(t, a);
+        mul(x2, t, a);
+        sqrN(t, x2, 2);
+        mul(x4, t, x2);
+        sqrN(t, x4, 4);
+        mul(x8, t, x4);
+        sqrN(t, x8, 8);
+        mul(x16, t, x8);
+        sqrN(t, x16, 16);
+        mul(x32, t, x16);
+        sqrN(t, x32, 32);
+        mul(x64, t, x32);
+        // x128
+        sqrN(t, x64, 64);
+        mul(t, t, x64);
+        // x192
+        sqrN(t, t, 64);
+        mul(t, t, x64);
+        // x224
+        sqrN(t, t, 32);
+        mul(t, t, x32);
+        // x240
+        sqrN(t, t, 16);
+        mul(t, t, x16);
+        // x248
+        sqrN(t, t, 8);
+        mul(t, t, x8);
+        // tail 0x41 = 0b01000001
+        sqr(t, t);
+        sqr(t, t);
+        mul(t, t, a);
+        sqrN(t, t, 5);
+        sqr(t, t);
+        mul(r, t, a);
+    }
+
+    // Returns floor(v * 189 / 2^64) for an unsigned v.
+    private static long mulHighC(long v) {
+        return ((v >>> 32) * C + (((v & MASK32) * C) >>> 32)) >>> 32;
+    }
+
+    // r = (t7..t0) mod P for a 512-bit value.
+    private static void reduce(long[] r, long t0, long t1, long t2, long t3, long t4, long t5, long t6, long t7) {
+        // L + 189 * H, where H = (t7..t4): first add the low words of 189*H[i]...
+        long m = t4 * C;
+        long s0 = t0 + m;
+        long c = Long.compareUnsigned(s0, m) < 0 ? 1 : 0;
+        m = t5 * C;
+        long u = t1 + m;
+        long s1 = u + c;
+        c = (Long.compareUnsigned(u, m) < 0 ? 1 : 0) | (Long.compareUnsigned(s1, c) < 0 ? 1 : 0);
+        m = t6 * C;
+        u = t2 + m;
+        long s2 = u + c;
+        c = (Long.compareUnsigned(u, m) < 0 ? 1 : 0) | (Long.compareUnsigned(s2, c) < 0 ? 1 : 0);
+        m = t7 * C;
+        u = t3 + m;
+        long s3 = u + c;
+        c = (Long.compareUnsigned(u, m) < 0 ? 1 : 0) | (Long.compareUnsigned(s3, c) < 0 ? 1 : 0);
+        long top = c;
+        // ...then the high words, shifted up one limb.
+        m = mulHighC(t4);
+        u = s1 + m;
+        c = Long.compareUnsigned(u, m) < 0 ? 1 : 0;
+        s1 = u;
+        m = mulHighC(t5);
+        u = s2 + m;
+        long v = u + c;
+        c = (Long.compareUnsigned(u, m) < 0 ? 1 : 0) | (Long.compareUnsigned(v, c) < 0 ? 1 : 0);
+        s2 = v;
+        m = mulHighC(t6);
+        u = s3 + m;
+        v = u + c;
+        c = (Long.compareUnsigned(u, m) < 0 ? 1 : 0) | (Long.compareUnsigned(v, c) < 0 ? 1 : 0);
+        s3 = v;
+        top += c + mulHighC(t7);
+        // Fold the (< 2^9) overflow word once more: top * 2^256 = top * 189.
+        m = top * C;
+        u = s0 + m;
+        c = Long.compareUnsigned(u, m) < 0 ? 1 : 0;
+        s0 = u;
+        s1 += c;
+        c = (s1 == 0 && c != 0) ? 1 : 0;
+        s2 += c;
+        c = (s2 == 0 && c != 0) ? 1 : 0;
+        s3 += c;
+        c = (s3 == 0 && c != 0) ? 1 : 0;
+        // A carry here leaves s tiny, so adding 189 for it cannot carry again.
+        s0 += C & -c;
+        reduceOnce(r, s0, s1, s2, s3, 0);
+    }
+
+    // r = (carry, s3..s0) mod P for a value < 2P.
+    private static void reduceOnce(long[] r, long s0, long s1, long s2, long s3, long carry) {
+        long u0 = s0 + C;
+        long c = Long.compareUnsigned(u0, C) < 0 ? 1 : 0;
+        long u1 = s1 + c;
+        c = (u1 == 0 && c != 0) ? 1 : 0;
+        long u2 = s2 + c;
+        c = (u2 == 0 && c != 0) ? 1 : 0;
+        long u3 = s3 + c;
+        c = (u3 == 0 && c != 0) ? 1 : 0;
+        // s >= P (or the sum already overflowed) <=> s + 189 overflows; then s - P = s + 189 mod 2^256.
+        long mask = -(c | carry);
+        r[0] = (u0 & mask) | (s0 & ~mask);
+        r[1] = (u1 & mask) | (s1 & ~mask);
+        r[2] = (u2 & mask) | (s2 & ~mask);
+        r[3] = (u3 & mask) | (s3 & ~mask);
+    }
+}
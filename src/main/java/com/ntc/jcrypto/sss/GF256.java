@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+/**
+ * Arithmetic in the binary field GF(2^8) with the AES polynomial x^8 + x^4 + x^3 + x + 1.
+ * 
+ * Elements are bytes handled as ints in [0, 256). Addition and subtraction are XOR; multiplication
+ * and inversion are table lookups. Besides the log/exp tables a full 64 KB product table is kept, so
+ * multiplying a whole array by a constant is one indexed load per byte.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class GF256 {
+
+    // x^8 + x^4 + x^3 + x + 1
+    private static final int POLY = 0x11B;
+    // EXP[i] = 3^i, doubled so EXP[LOG[a] + LOG[b]] needs no reduction mod 255.
+    private static final int[] EXP = new int[510];
+    private static final int[] LOG = new int[256];
+    // MUL[(a << 8) | b] = a * b
+    private static final byte[] MUL = new byte[256 * 256];
+    private static final int[] INV = new int[256];
+
+    static {
+        int v = 1;
+        for (int i = 0; i < 255; i++) {
+            EXP[i] = EXP[i + 255] = v;
+            LOG[v] = i;
+            // v *= 3, that is v ^ (v * 2)
+            int d = v << 1;
+            if (d > 0xFF) {
+                d ^= POLY;
+            }
+            v ^= d;
+        }
+        for (int a = 1; a < 256; a++) {
+            for (int b = 1; b < 256; b++) {
+                MUL[(a << 8) | b] = (byte) EXP[LOG[a] + LOG[b]];
+            }
+            INV[a] = EXP[255 - LOG[a]];
+        }
+    }
+
+    private GF256() {
+    }
+
+    public static int add(int a, int b) {
+        return a ^ b;
+    }
+
+    public static int mul(int a, int b) {
+        return MUL[(a << 8) | b] & 0xFF;
+    }
+
+    // Returns a / b; b must not be zero.
+    public static int div(int a, int b) {
+        if (b == 0) {
+            throw new ArithmeticException("/ by zero");
+        }
+        return MUL[(a << 8) | INV[b]] & 0xFF;
+    }
+
+    // Returns 1 / a; a must not be zero.
+    public static int inv(int a) {
+        if (a == 0) {
+            throw new ArithmeticException("/ by zero");
+        }
+        return INV[a];
+    }
+
+    // r[i] = a * r[i] ^ c[i] for i in [off, off + len), one Horner step over a whole array.
+    static void mulAdd(byte[] r, int a, byte[] c, int cOff, int off, int len) {
+        int row = a << 8;
+        for (int i = 0; i < len; i++) {
+            r[off + i] = (byte) (MUL[row | (r[off + i] & 0xFF)] ^ c[cOff + i]);
+        }
+    }
+
+    // r[i] ^= a * y[i] for i in [0, len), one Lagrange term over a whole array.
+    static void addMul(byte[] r, int rOff, int a, byte[] y, int yOff, int len) {
+        int row = a << 8;
+        for (int i = 0; i < len; i++) {
+            r[rOff + i] ^= MUL[row | (y[yOff + i] & 0xFF)];
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+/**
+ * 64-bit limb primitives used by {@link Fp256}.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class Limbs {
+
+    private static final long MASK32 = 0xFFFFFFFFL;
+
+    private Limbs() {
+    }
+
+    // Returns the high 64 bits of the unsigned 128-bit product a * b.
+    static long mulHigh(long a, long b) {
+        long a0 = a & MASK32;
+        long a1 = a >>> 32;
+        long b0 = b & MASK32;
+        long b1 = b >>> 32;
+        long p00 = a0 * b0;
+        long p01 = a0 * b1;
+        long p10 = a1 * b0;
+        long p11 = a1 * b1;
+        long mid = (p00 >>> 32) + (p01 & MASK32) + (p10 & MASK32);
+        return p11 + (p01 >>> 32) + (p10 >>> 32) + (mid >>> 32);
+    }
+
+    // Reads 8 bytes big-endian as a long.
+    static long getLong(byte[] b, int off) {
+        return ((long) b[off] << 56)
+                | ((long) (b[off + 1] & 0xFF) << 48)
+                | ((long) (b[off + 2] & 0xFF) << 40)
+                | ((long) (b[off + 3] & 0xFF) << 32)
+                | ((long) (b[off + 4] & 0xFF) << 24)
+                | ((long) (b[off + 5] & 0xFF) << 16)
+                | ((long) (b[off + 6] & 0xFF) << 8)
+                | ((long) (b[off + 7] & 0xFF));
+    }
+
+    // Writes a long as 8 bytes big-endian.
+    static void putLong(byte[] b, int off, long v) {
+        b[off] = (byte) (v >>> 56);
+        b[off + 1] = (byte) (v >>> 48);
+        b[off + 2] = (byte) (v >>> 40);
+        b[off + 3] = (byte) (v >>> 32);
+        b[off + 4] = (byte) (v >>> 24);
+        b[off + 5] = (byte) (v >>> 16);
+        b[off + 6] = (byte) (v >>> 8);
+        b[off + 7] = (byte) v;
+    }
+}
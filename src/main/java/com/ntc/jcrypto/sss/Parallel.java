@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits a loop over [0, n) into ranges run on a ForkJoinPool.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class Parallel {
+
+    // Body of a loop over [from, to).
+    interface Range {
+
+        void run(int from, int to) throws Exception;
+    }
+
+    private Parallel() {
+    }
+
+    // Runs body over [0, n): on the caller's thread when pool is null or n is below threshold,
+    // otherwise split into about 4 ranges per worker. The first exception thrown by a range is rethrown.
+    static void forRange(ForkJoinPool pool, int threshold, int n, Range body) throws Exception {
+        if (pool == null || n < threshold || n < 2) {
+            body.run(0, n);
+            return;
+        }
+        int grain = Math.max(1, n / (pool.getParallelism() * 4));
+        try {
+            pool.invoke(new RangeAction(body, 0, n, grain));
+        } catch (RuntimeException e) {
+            // ForkJoin may rethrow a copy of the exception with the original as its cause.
+            RangeException found = null;
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof RangeException) {
+                    found = (RangeException) t;
+                }
+            }
+            if (found != null) {
+                throw (Exception) found.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class RangeException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        RangeException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    private static final class RangeAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private final Range body;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        RangeAction(Range body, int from, int to, int grain) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                try {
+                    body.run(from, to);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RangeException(e);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeAction(body, from, mid, grain), new RangeAction(body, mid, to, grain));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+/**
+ * Dense polynomials over GF(PRIME) (see {@link Fp256}) as arrays of coefficients, lowest degree first. Products use
+ * Karatsuba above {@link #KARATSUBA_THRESHOLD} coefficients, and remainders a precomputed power series inverse, so
+ * both take O(n^1.59) field multiplications; PRIME - 1 has no large smooth factor, so there is no FFT to go further.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class Poly {
+
+    // Below this many coefficients schoolbook multiplication is faster.
+    static final int KARATSUBA_THRESHOLD = 24;
+
+    private Poly() {
+    }
+
+    // Returns a * b, a.length + b.length - 1 coefficients.
+    static long[][] mul(long[][] a, long[][] b) {
+        long[][] r = new long[a.length + b.length - 1][4];
+        mulAdd(r, 0, a, 0, a.length, b, 0, b.length);
+        return r;
+    }
+
+    // Returns a * b mod x^n.
+    static long[][] mulLow(long[][] a, long[][] b, int n) {
+        int la = Math.min(a.length, n);
+        int lb = Math.min(b.length, n);
+        if (Math.min(la, lb) < KARATSUBA_THRESHOLD) {
+            // schoolbook, skipping the terms of degree n and above
+            long[][] r = new long[Math.min(n, la + lb - 1)][4];
+            long[] t = Fp256.create();
+            for (int i = 0; i < la; i++) {
+                for (int k = 0; k < lb && i + k < n; k++) {
+                    Fp256.mul(t, a[i], b[k]);
+                    Fp256.add(r[i + k], r[i + k], t);
+                }
+            }
+            return r;
+        }
+        long[][] r = new long[la + lb - 1][4];
+        mulAdd(r, 0, a, 0, la, b, 0, lb);
+        return truncate(r, n);
+    }
+
+    // r[off..] += a[aOff, aOff + la) * b[bOff, bOff + lb).
+    private static void mulAdd(long[][] r, int off, long[][] a, int aOff, int la, long[][] b, int bOff, int lb) {
+        if (la < lb) {
+            mulAdd(r, off, b, bOff, lb, a, aOff, la);
+            return;
+        }
+        if (lb < KARATSUBA_THRESHOLD) {
+            long[] t = Fp256.create();
+            for (int i = 0; i < la; i++) {
+                for (int k = 0; k < lb; k++) {
+                    Fp256.mul(t, a[aOff + i], b[bOff + k]);
+                    Fp256.add(r[off + i + k], r[off + i + k], t);
+                }
+            }
+            return;
+        }
+        int h = (la + 1) / 2;
+        if (lb <= h) {
+            // unbalanced: a0 * b + x^h * a1 * b
+            mulAdd(r, off, a, aOff, h, b, bOff, lb);
+            mulAdd(r, off + h, a, aOff + h, la - h, b, bOff, lb);
+            return;
+        }
+        // a = a0 + x^h a1, b = b0 + x^h b1:
+        // a * b = z0 + x^h ((a0 + a1)(b0 + b1) - z0 - z2) + x^2h z2
+        int la1 = la - h;
+        int lb1 = lb - h;
+        long[][] z0 = new long[2 * h - 1][4];
+        long[][] z2 = new long[la1 + lb1 - 1][4];
+        mulAdd(z0, 0, a, aOff, h, b, bOff, h);
+        mulAdd(z2, 0, a, aOff + h, la1, b, bOff + h, lb1);
+        long[][] sa = new long[h][4];
+        long[][] sb = new long[h][4];
+        for (int i = 0; i < h; i++) {
+            Fp256.copy(sa[i], a[aOff + i]);
+            Fp256.copy(sb[i], b[bOff + i]);
+        }
+        for (int i = 0; i < la1; i++) {
+            Fp256.add(sa[i], sa[i], a[aOff + h + i]);
+        }
+        for (int i = 0; i < lb1; i++) {
+            Fp256.add(sb[i], sb[i], b[bOff + h + i]);
+        }
+        long[][] z1 = new long[2 * h - 1][4];
+        mulAdd(z1, 0, sa, 0, h, sb, 0, h);
+        for (int i = 0; i < z0.length; i++) {
+            Fp256.sub(z1[i], z1[i], z0[i]);
+            Fp256.add(r[off + i], r[off + i], z0[i]);
+        }
+        for (int i = 0; i < z2.length; i++) {
+            Fp256.sub(z1[i], z1[i], z2[i]);
+            Fp256.add(r[off + 2 * h + i], r[off + 2 * h + i], z2[i]);
+        }
+        for (int i = 0; i < z1.length; i++) {
+            Fp256.add(r[off + h + i], r[off + h + i], z1[i]);
+        }
+    }
+
+    // Returns 1 / h mod x^n by Newton iteration g <- g (2 - h g); h[0] must be one.
+    static long[][] inverse(long[][] h, int n) {
+        long[][] g = new long[][]{Fp256.valueOf(1)};
+        long[] two = Fp256.valueOf(2);
+        for (int t = 1; t < n; ) {
+            t = Math.min(2 * t, n);
+            long[][] e = mulLow(h, g, t);
+            for (long[] c : e) {
+                Fp256.neg(c, c);
+            }
+            Fp256.add(e[0], e[0], two);
+            g = mulLow(g, e, t);
+        }
+        return g;
+    }
+
+    // Returns the coefficients of a mod m, m.length - 1 of them, for a monic m of degree d and a of degree below
+    // d + inv.length, where inv = 1 / reverse(m) mod x^inv.length (see inverse).
+    static long[][] rem(long[][] a, long[][] m, long[][] inv) {
+        int d = m.length - 1;
+        if (a.length <= d) {
+            return a;
+        }
+        // reverse(q) = reverse(a) / reverse(m) mod x^(deg a - d + 1)
+        int ql = a.length - d;
+        long[][] ra = new long[ql][];
+        for (int i = 0; i < ql; i++) {
+            ra[i] = a[a.length - 1 - i];
+        }
+        long[][] rq = mulLow(ra, inv, ql);
+        long[][] q = new long[ql][];
+        for (int i = 0; i < ql; i++) {
+            q[i] = rq[ql - 1 - i];
+        }
+        // a - q m, whose coefficients from degree d up vanish
+        long[][] qm = mulLow(q, m, d);
+        long[][] r = new long[d][4];
+        for (int i = 0; i < d; i++) {
+            if (i < qm.length) {
+                Fp256.sub(r[i], a[i], qm[i]);
+            } else {
+                Fp256.copy(r[i], a[i]);
+            }
+        }
+        return r;
+    }
+
+    // Returns a truncated to its first n coefficients.
+    private static long[][] truncate(long[][] a, int n) {
+        if (a.length <= n) {
+            return a;
+        }
+        long[][] r = new long[n][];
+        System.arraycopy(a, 0, r, 0, n);
+        return r;
+    }
+}
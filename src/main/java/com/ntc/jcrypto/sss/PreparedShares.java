@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import com.ntc.jcrypto.sss.SSSCallStats.Phase;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A set of shares of one secret parsed and validated once, for repeated combines of the whole set or of subsets.
+ * 
+ * Combining needs the Lagrange basis at 0 of the x-coordinates of the chosen shares; it is computed once per subset
+ * and kept in a bounded LRU cache keyed by that subset, so a later combine of the same subset is a dot product per
+ * part. Created by {@link SSS#prepare(java.util.List, boolean)} or {@link SSS#prepareBinary(java.util.List)}. Safe
+ * for use by several threads. A combine reports to {@link SSSMetrics} with encoding "raw" and no DECODE phase, since
+ * the shares were decoded when prepared.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class PreparedShares {
+
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private final SSS sss;
+    // Classic shares have one x-coordinate per part: xs[share][part]; otherwise xs[share][0].
+    private final long[][][] xs;
+    private final long[][][] ys;
+    private final boolean isClassic;
+    private final boolean isExact;
+    private final int threshold;
+    // subset of share indexes -> Lagrange basis per part (a single one unless classic), least recently used first
+    private final LinkedHashMap<BitSet, long[][][]> cache;
+
+    PreparedShares(SSS sss, long[][][] xs, long[][][] ys, boolean isClassic, boolean isExact, int threshold, int cacheSize) throws Exception {
+        if (cacheSize < 0) {
+            throw new Exception("cacheSize is invalid");
+        }
+        this.sss = sss;
+        this.xs = xs;
+        this.ys = ys;
+        this.isClassic = isClassic;
+        this.isExact = isExact;
+        this.threshold = threshold;
+        this.cache = new LinkedHashMap<BitSet, long[][][]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BitSet, long[][][]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    // Returns the number of prepared shares.
+    public int size() {
+        return ys.length;
+    }
+
+    // Returns the number of parts of the secret.
+    public int parts() {
+        return ys[0].length;
+    }
+
+    /**
+     * Combines the shares at the given indexes, in any order, or all the shares if there are none, and returns the
+     * secret as a string.
+     *
+     * @param indexes int... share indexes
+     * @return String secret
+     * @throws Exception Input params invalid
+     */
+    public String combine(int... indexes) throws Exception {
+        return new String(combineBytes(indexes), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Like {@link #combine(int...)} but returns the secret bytes: exact for byte-exact shares (see
+     * {@link SSS#BYTES_PREFIX}), with trailing zero bytes removed otherwise.
+     *
+     * @param indexes int... share indexes
+     * @return byte[] secret
+     * @throws Exception Input params invalid
+     */
+    public byte[] combineBytes(int... indexes) throws Exception {
+        int[] subset = subset(indexes);
+        if (subset.length < threshold) {
+            throw new Exception("shares are fewer than the threshold");
+        }
+        String format = isClassic ? "classic" : isExact ? "exact" : "compact";
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.COMBINE, format, "raw", 0, subset.length, parts());
+        long[][][] basis = basis(subset);
+        long[][][] points = new long[subset.length][][];
+        for (int i = 0; i < subset.length; i++) {
+            points[i] = ys[subset[i]];
+        }
+        byte[] rs;
+        if (!isClassic) {
+            rs = sss.recover(basis[0], points, isExact, stats);
+        } else {
+            byte[] bytes = new byte[parts() * 32];
+            long[] secret = Fp256.create();
+            long[] t = Fp256.create();
+            for (int j = 0; j < parts(); j++) {
+                SSS.interpolate(secret, basis[j], points, j, t);
+                Fp256.toBytes(secret, bytes, j * 32);
+            }
+            SSSMetrics.lap(stats, Phase.INTERPOLATE, parts());
+            rs = sss.trimRight(bytes);
+            SSSMetrics.lap(stats, Phase.MERGE, rs.length);
+        }
+        SSSMetrics.end(stats);
+        return rs;
+    }
+
+    // Returns whether the basis of the subset is cached.
+    boolean isCached(int... indexes) throws Exception {
+        BitSet key = key(subset(indexes));
+        synchronized (cache) {
+            return cache.containsKey(key);
+        }
+    }
+
+    // Returns the sorted, distinct share indexes; all shares if there are none.
+    private int[] subset(int[] indexes) throws Exception {
+        if (indexes == null || indexes.length == 0) {
+            int[] all = new int[size()];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        int[] subset = indexes.clone();
+        Arrays.sort(subset);
+        for (int i = 0; i < subset.length; i++) {
+            if (subset[i] < 0 || subset[i] >= size() || (i > 0 && subset[i] == subset[i - 1])) {
+                throw new Exception("share index is invalid");
+            }
+        }
+        return subset;
+    }
+
+    private static BitSet key(int[] subset) {
+        BitSet key = new BitSet();
+        for (int i : subset) {
+            key.set(i);
+        }
+        return key;
+    }
+
+    // Returns the cached Lagrange basis of the subset, computing it on a miss.
+    private long[][][] basis(int[] subset) {
+        BitSet key = key(subset);
+        long[][][] basis;
+        synchronized (cache) {
+            basis = cache.get(key);
+        }
+        if (basis != null) {
+            return basis;
+        }
+        // computed outside the lock; concurrent misses on one subset compute the same value
+        basis = new long[xs[0].length][][];
+        long[][] x = new long[subset.length][];
+        for (int j = 0; j < basis.length; j++) {
+            for (int i = 0; i < subset.length; i++) {
+                x[i] = xs[subset[i]][j];
+            }
+            basis[j] = SSS.lagrangeBasisAtZero(x);
+        }
+        synchronized (cache) {
+            cache.put(key, basis);
+        }
+        return basis;
+    }
+}
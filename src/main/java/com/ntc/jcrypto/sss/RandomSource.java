@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.security.SecureRandom;
+
+/**
+ * Source of the random bytes drawn for coefficients, x-coordinates and secret ids. Implementations must be safe to
+ * call from several threads at once; {@link SSS} and {@link SSSGF256} instances are thread-safe as long as their
+ * source is.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public interface RandomSource {
+
+    // Fills bytes[off, off + len) with random bytes.
+    void nextBytes(byte[] bytes, int off, int len);
+
+    // Fills bytes with random bytes.
+    default void nextBytes(byte[] bytes) {
+        nextBytes(bytes, 0, bytes.length);
+    }
+
+    // Returns a uniform random int in [0, bound), 0 < bound <= 2^16.
+    default int nextInt(int bound) {
+        byte[] b = new byte[2];
+        // reject the top 65536 % bound values so every result is equally likely
+        int limit = 65536 - 65536 % bound;
+        int v;
+        do {
+            nextBytes(b, 0, 2);
+            v = ((b[0] & 0xFF) << 8) | (b[1] & 0xFF);
+        } while (v >= limit);
+        return v % bound;
+    }
+
+    /**
+     * Returns the default source: one AES-CTR deterministic random bit generator per thread, seeded from the
+     * system SecureRandom when the thread first draws and rekeyed after every refill of its buffer. Threads never
+     * share a lock, and small draws are served from a per-thread buffer filled by a single keystream call.
+     *
+     * @return RandomSource per-thread source
+     */
+    static RandomSource threadLocal() {
+        return CtrDrbg.THREAD_LOCAL;
+    }
+
+    /**
+     * Returns a source drawing from the given generator, e.g. a SecureRandom of a specific provider. Threads contend
+     * on whatever locking the generator does.
+     *
+     * @param random SecureRandom generator
+     * @return RandomSource source
+     */
+    static RandomSource of(SecureRandom random) {
+        if (random == null) {
+            throw new IllegalArgumentException("random is NULL");
+        }
+        return (bytes, off, len) -> {
+            if (off == 0 && len == bytes.length) {
+                random.nextBytes(bytes);
+            } else {
+                byte[] b = new byte[len];
+                random.nextBytes(b);
+                System.arraycopy(b, 0, bytes, off, len);
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+/**
+ * Berlekamp-Welch style decoding of Shamir shares seen as a Reed-Solomon code: the y-coordinates of n shares with
+ * distinct x-coordinates are a codeword of the polynomials of degree below k, so up to (n - k) / 2 wrong values can
+ * be located in polynomial time. The syndromes S_t = sum_i v_i * y_i * x_i^t, t in [0, n - k), with
+ * v_i = 1 / prod_{l != i} (x_i - x_l), all vanish for a codeword; otherwise the error locator E, the monic polynomial
+ * of least degree e whose roots are the wrong x-coordinates, solves the Hankel system
+ * sum_c E_c * S_(r + c) = -S_(r + e) for r in [0, n - k - e).
+ * 
+ * The weights v_i * x_i^t depend only on the x-coordinates, so one decoder serves every part of compact shares.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class ReedSolomon {
+
+    private final long[][] xs;
+    private final int threshold;
+    // weights[i][t] = v_i * x_i^t
+    private final long[][][] weights;
+
+    ReedSolomon(long[][] xs, int threshold) {
+        int n = xs.length;
+        this.xs = xs;
+        this.threshold = threshold;
+        this.weights = new long[n][Math.max(0, n - threshold)][4];
+        if (n <= threshold) {
+            return;
+        }
+        long[][] v = new long[n][4];
+        long[] t = Fp256.create();
+        for (int i = 0; i < n; i++) {
+            Fp256.setOne(v[i]);
+            for (int l = 0; l < n; l++) {
+                if (l != i) {
+                    Fp256.sub(t, xs[i], xs[l]);
+                    Fp256.mul(v[i], v[i], t);
+                }
+            }
+        }
+        Fp256.invAll(v, v);
+        for (int i = 0; i < n; i++) {
+            Fp256.copy(weights[i][0], v[i]);
+            for (int s = 1; s < n - threshold; s++) {
+                Fp256.mul(weights[i][s], weights[i][s - 1], xs[i]);
+            }
+        }
+    }
+
+    // Returns the indexes of the wrong values among ys[i][part], in increasing order, or null if there are more
+    // than the code can correct.
+    int[] errors(long[][][] ys, int part) {
+        int n = xs.length;
+        int m = n - threshold;
+        long[][] syndromes = new long[m][4];
+        long[] t = Fp256.create();
+        boolean isZero = true;
+        for (int s = 0; s < m; s++) {
+            for (int i = 0; i < n; i++) {
+                Fp256.mul(t, weights[i][s], ys[i][part]);
+                Fp256.add(syndromes[s], syndromes[s], t);
+            }
+            isZero &= Fp256.isZero(syndromes[s]);
+        }
+        if (isZero) {
+            return new int[0];
+        }
+        // the least e with a consistent system is the number of errors
+        for (int e = 1; 2 * e <= m; e++) {
+            long[][] locator = solveLocator(syndromes, e);
+            if (locator == null) {
+                continue;
+            }
+            int[] roots = new int[e];
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                // E(x_i) by Horner's rule, leading coefficient one
+                Fp256.setOne(t);
+                for (int c = e - 1; c >= 0; c--) {
+                    Fp256.mul(t, t, xs[i]);
+                    Fp256.add(t, t, locator[c]);
+                }
+                if (Fp256.isZero(t)) {
+                    if (count == e) {
+                        return null;
+                    }
+                    roots[count++] = i;
+                }
+            }
+            return count == e ? roots : null;
+        }
+        return null;
+    }
+
+    // Solves sum_c E_c * S_(r + c) = -S_(r + e), r in [0, m - e), by Gaussian elimination; returns E_0..E_(e-1), or
+    // null if the system is inconsistent or has more than one solution.
+    private static long[][] solveLocator(long[][] syndromes, int e) {
+        int rows = syndromes.length - e;
+        long[][][] a = new long[rows][e + 1][4];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < e; c++) {
+                Fp256.copy(a[r][c], syndromes[r + c]);
+            }
+            Fp256.neg(a[r][e], syndromes[r + e]);
+        }
+        long[] inv = Fp256.create();
+        long[] t = Fp256.create();
+        for (int c = 0; c < e; c++) {
+            int pivot = c;
+            while (pivot < rows && Fp256.isZero(a[pivot][c])) {
+                pivot++;
+            }
+            if (pivot == rows) {
+                return null;
+            }
+            long[][] row = a[pivot];
+            a[pivot] = a[c];
+            a[c] = row;
+            Fp256.inv(inv, row[c]);
+            for (int cc = c; cc <= e; cc++) {
+                Fp256.mul(row[cc], row[cc], inv);
+            }
+            for (int r = 0; r < rows; r++) {
+                if (r != c && !Fp256.isZero(a[r][c])) {
+                    long[] f = a[r][c].clone();
+                    for (int cc = c; cc <= e; cc++) {
+                        Fp256.mul(t, f, row[cc]);
+                        Fp256.sub(a[r][cc], a[r][cc], t);
+                    }
+                }
+            }
+        }
+        // the remaining equations must hold too
+        for (int r = e; r < rows; r++) {
+            if (!Fp256.isZero(a[r][e])) {
+                return null;
+            }
+        }
+        long[][] locator = new long[e][];
+        for (int c = 0; c < e; c++) {
+            locator[c] = a[c][e];
+        }
+        return locator;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The result of {@link SSS#combineRobust(java.util.List, boolean, int)}: the secret and the indexes of the shares
+ * that were not used because they were malformed, repeated an earlier x-coordinate or were found to be wrong.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class RobustSecret {
+
+    private final byte[] secret;
+    private final int[] faultyShares;
+
+    RobustSecret(byte[] secret, int[] faultyShares) {
+        this.secret = secret;
+        this.faultyShares = faultyShares;
+    }
+
+    // Returns the secret bytes: exact for byte-exact shares, with trailing zero bytes removed otherwise.
+    public byte[] secret() {
+        return secret.clone();
+    }
+
+    // Returns the secret decoded as UTF-8.
+    public String secretString() {
+        return new String(secret, StandardCharsets.UTF_8);
+    }
+
+    // Returns the indexes of the faulty shares in increasing order.
+    public int[] faultyShares() {
+        return faultyShares.clone();
+    }
+}
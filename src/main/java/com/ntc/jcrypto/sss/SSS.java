@@ -16,9 +16,12 @@
 package com.ntc.jcrypto.sss;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.ntc.jcrypto.sss.SSSCallStats.Phase;
 //import javax.xml.bind.DatatypeConverter;
 import jakarta.xml.bind.DatatypeConverter;
 
@@ -31,208 +34,1953 @@ public class SSS {
 
     // https://primes.utm.edu/lists/2small/200bit.html
     // PRIME = 2^n - k = 2^256 - 189
-    private static final BigInteger PRIME = new BigInteger("115792089237316195423570985008687907853269984665640564039457584007913129639747");
-    private Random rand = new SecureRandom();
+    private static final BigInteger PRIME = Fp256.P;
+    // Marks a share in the compact format: one x-coordinate for the share, then one y-coordinate
+    // per part. '.' is in neither the Base64Url nor the Hex alphabet, so no legacy share starts with it.
+    public static final String COMPACT_PREFIX = "v2.";
+    // Marks a compact share whose secret is an exact byte string (streams, binary secrets): each part
+    // carries BYTES_PER_PART secret bytes below its top byte, so it is always below PRIME, and the top
+    // byte of the final part holds how many of its bytes are used. Trailing zero bytes survive.
+    public static final String BYTES_PREFIX = "v2b.";
+    static final int BYTES_PER_PART = 31;
+    // Coefficients from which create may evaluate with a subproduct tree (see isFastEvaluation).
+    static final int FAST_EVALUATION_MINIMUM = 1024;
+    // Shares from which the Lagrange basis comes from a subproduct tree (see lagrangeBasisAtZero).
+    static final int FAST_INTERPOLATION_MINIMUM = 8192;
+    // Bytes of random field elements drawn per call to the random source.
+    private static final int RANDOM_BATCH = 4096;
+    // Bulk random bytes; thread-safe, so one engine can serve many threads.
+    private final RandomSource rand;
+    // Optional pool for the parallel mode, and the number of parts below which work stays on the caller's thread.
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    public SSS() {
+        this(RandomSource.threadLocal(), null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a serial engine drawing its randomness from the given source. Engines are thread-safe: one instance can
+     * be shared by all request threads, and with the default {@link RandomSource#threadLocal()} source they do not
+     * contend on a common generator.
+     *
+     * @param random RandomSource source of random bytes
+     */
+    public SSS(RandomSource random) {
+        this(random, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an engine that splits the parts of large secrets across the workers of pool. Polynomial generation,
+     * evaluation, interpolation and share encoding/decoding of the compact, byte-exact and binary formats run in
+     * parallel once a secret has at least parallelThreshold parts; the classic format stays serial. Random
+     * coefficients and x-coordinates are kept distinct exactly as in the serial path, and combine returns the same
+     * secret.
+     *
+     * @param pool ForkJoinPool workers, or null to stay serial
+     * @param parallelThreshold int minimum number of parts (32 bytes each, 31 for byte-exact secrets) to go parallel
+     */
+    public SSS(ForkJoinPool pool, int parallelThreshold) {
+        this(RandomSource.threadLocal(), pool, parallelThreshold);
+    }
+
+    /**
+     * Like {@link #SSS(ForkJoinPool, int)} drawing randomness from the given source.
+     *
+     * @param random RandomSource source of random bytes
+     * @param pool ForkJoinPool workers, or null to stay serial
+     * @param parallelThreshold int minimum number of parts (32 bytes each, 31 for byte-exact secrets) to go parallel
+     */
+    public SSS(RandomSource random, ForkJoinPool pool, int parallelThreshold) {
+        if (random == null) {
+            throw new IllegalArgumentException("random is NULL");
+        }
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("parallelThreshold is invalid");
+        }
+        this.rand = random;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Returns a new array of secret shares (encoding x,y pairs as Base64 or Hex strings) created by Shamir's Secret
+     * Sharing Algorithm requiring a minimum number of share to recreate, of length shares, from the input secret raw as
+     * a string
+     *
+     * @param minimum int minimum
+     * @param shares int shares
+     * @param secret String secret
+     * @param isBase64 True using encode Base64Url, otherwise encode Hex
+     * @return List string shares
+     * @throws Exception Input params invalid
+     */
+    public List<String> create(int minimum, int shares, String secret, boolean isBase64) throws Exception {
+        return create(minimum, shares, secret, isBase64, false);
+    }
+
+    /**
+     * Returns a new array of secret shares created by Shamir's Secret Sharing Algorithm, like
+     * {@link #create(int, int, String, boolean)}. In compact format a share carries a single x-coordinate followed by
+     * one y-coordinate per part of the secret (see {@link #COMPACT_PREFIX}), which roughly halves its size and lets
+     * combine compute the Lagrange basis once for all parts.
+     *
+     * @param minimum int minimum
+     * @param shares int shares
+     * @param secret String secret
+     * @param isBase64 True using encode Base64Url, otherwise encode Hex
+     * @param isCompact True using the compact format, otherwise one x,y pair per part
+     * @return List string shares
+     * @throws Exception Input params invalid
+     */
+    public List<String> create(int minimum, int shares, String secret, boolean isBase64, boolean isCompact) throws Exception {
+        List<String> rs = new ArrayList<>();
+        // Verify minimum isn't greater than shares; there is no way to recreate
+        // the original polynomial in our current setup, therefore it doesn't make
+        // sense to generate fewer shares than are needed to reconstruct the secret.
+        if (minimum <= 0 || shares <= 0) {
+            throw new Exception("minimum or shares is invalid");
+        }
+        if (minimum > shares) {
+            throw new Exception("cannot require more shares then existing");
+        }
+        if (secret == null || secret.isEmpty()) {
+            throw new Exception("secret is NULL or empty");
+        }
+
+        if (isCompact) {
+            // One x-coordinate per share, then one y-coordinate per part.
+            long[][] parts = splitSecret(secret.getBytes(StandardCharsets.UTF_8));
+            SSSCallStats stats = SSSMetrics.begin(SSSCallStats.CREATE, "compact", SSSMetrics.encoding(isBase64), minimum, shares, parts.length);
+            long[][] xs = new long[shares][4];
+            long[][][] ys = new long[shares][parts.length][4];
+            createPoints(minimum, parts, xs, ys, stats);
+            rs = encodeCompact(COMPACT_PREFIX, xs, ys, isBase64);
+            SSSMetrics.lap(stats, Phase.ENCODE, shares);
+            SSSMetrics.end(stats);
+            return rs;
+        }
+
+        // Convert the secret to its respective 256-bit BigInteger representation
+        List<BigInteger> secrets = splitSecretToBigInt(secret);
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.CREATE, "classic", SSSMetrics.encoding(isBase64), minimum, shares, secrets.size());
+
+        // Create the polynomial of degree (minimum - 1); that is, the highest
+        // order term is (minimum-1), though as there is a constant term with
+        // order 0, there are (minimum) number of coefficients.
+        // 
+        // However, the polynomial object is a 2d array, because we are constructing
+        // a different polynomial for each part of the secret
+        // 
+        // polynomial[parts][minimum], each coefficient a field element (see Fp256)
+        int numSecret = secrets.size();
+        long[][] coeffs = new long[numSecret * (minimum - 1)][4];
+        // every share carries its own x-coordinate for every part: xs[shares][parts]
+        long[][] flatXs = new long[shares * numSecret][4];
+        random(coeffs, randomScratch(coeffs.length));
+        random(flatXs, randomScratch(flatXs.length));
+        // Each coefficient and x-coordinate should be unique, and no x-coordinate zero.
+        FieldSet numbers = new FieldSet(coeffs.length + flatXs.length);
+        byte[] scratch = new byte[32];
+        long[][][] polynomial = new long[numSecret][minimum][];
+        for (int j = 0, c0 = 0; j < numSecret; j++) {
+            polynomial[j][0] = Fp256.valueOf(secrets.get(j));
+            for (int c = 1; c < minimum; c++) {
+                polynomial[j][c] = coeffs[c0++];
+                while (!numbers.add(polynomial[j][c])) {
+                    random(polynomial[j][c], scratch);
+                }
+            }
+        }
+        long[][][] xs = new long[shares][numSecret][];
+        for (int i = 0; i < shares; i++) {
+            for (int j = 0; j < numSecret; j++) {
+                xs[i][j] = flatXs[i * numSecret + j];
+                while (!numbers.add(xs[i][j])) {
+                    random(xs[i][j], scratch);
+                }
+            }
+        }
+        SSSMetrics.lap(stats, Phase.RANDOM, coeffs.length + flatXs.length);
+
+        // Create the points object; this holds the (x, y) points of each share.
+        // Again, because secrets is an array, each share could have multiple parts
+        // over which we are computing Shamir's Algorithm. The parts are independent,
+        // so ranges of parts are evaluated in parallel.
+        long[][][] ys = new long[shares][numSecret][4];
+        forRange(numSecret, (from, to) -> {
+            for (int j = from; j < to; j++) {
+                for (int i = 0; i < shares; i++) {
+                    evaluatePolynomial(ys[i][j], polynomial[j], xs[i][j]);
+                }
+            }
+        });
+        SSSMetrics.lap(stats, Phase.EVALUATE, (long) shares * numSecret);
+
+        // encode to Base64 or Hex.
+        rs = encodeClassic(xs, ys, isBase64);
+        SSSMetrics.lap(stats, Phase.ENCODE, shares);
+        SSSMetrics.end(stats);
+        return rs;
+    }
+
+    /**
+     * Returns a new array of secret shares of the byte string secret, encoded as Base64 or Hex strings in the
+     * byte-exact compact format (see {@link #BYTES_PREFIX}). Unlike the String secret of
+     * {@link #create(int, int, String, boolean)} the secret need not be valid UTF-8 and trailing zero bytes are kept.
+     *
+     * @param minimum int minimum
+     * @param shares int shares
+     * @param secret byte[] secret
+     * @param isBase64 True using encode Base64Url, otherwise encode Hex
+     * @return List string shares
+     * @throws Exception Input params invalid
+     */
+    public List<String> create(int minimum, int shares, byte[] secret, boolean isBase64) throws Exception {
+        validateCreate(minimum, shares, secret);
+        long[][] parts = splitSecretExact(ByteBuffer.wrap(secret));
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.CREATE, "exact", SSSMetrics.encoding(isBase64), minimum, shares, parts.length);
+        long[][] xs = new long[shares][4];
+        long[][][] ys = new long[shares][parts.length][4];
+        createPoints(minimum, parts, xs, ys, stats);
+        List<String> rs = encodeCompact(BYTES_PREFIX, xs, ys, isBase64);
+        SSSMetrics.lap(stats, Phase.ENCODE, shares);
+        SSSMetrics.end(stats);
+        return rs;
+    }
+
+    /**
+     * Returns a new array of binary secret shares of the byte string secret. A binary share is the x-coordinate
+     * followed by one y-coordinate per 31-byte part of the secret, each as 32 bytes big-endian: the raw form of a
+     * {@link #BYTES_PREFIX} share, {@link #shareLength(int)} bytes long.
+     *
+     * @param minimum int minimum
+     * @param shares int shares
+     * @param secret byte[] secret
+     * @return List binary shares
+     * @throws Exception Input params invalid
+     */
+    public List<byte[]> create(int minimum, int shares, byte[] secret) throws Exception {
+        validateCreate(minimum, shares, secret);
+        ByteBuffer[] bufs = new ByteBuffer[shares];
+        List<byte[]> rs = new ArrayList<>(shares);
+        for (int i = 0; i < shares; i++) {
+            byte[] share = new byte[shareLength(secret.length)];
+            bufs[i] = ByteBuffer.wrap(share);
+            rs.add(share);
+        }
+        create(minimum, ByteBuffer.wrap(secret), bufs);
+        return rs;
+    }
+
+    /**
+     * Returns self-describing binary shares of the secret bytes (see {@link BinaryShare}): each records the
+     * threshold, the number of parts and a random id common to the shares of this secret, followed by the raw
+     * byte-exact parts. They can be written to files and read back in place with {@link BinaryShare#map}.
+     *
+     * @param minimum int minimum
+     * @param shares int shares
+     * @param secret byte[] secret
+     * @return List binary shares
+     * @throws Exception Input params invalid
+     */
+    public List<BinaryShare> createBinary(int minimum, int shares, byte[] secret) throws Exception {
+        validateCreate(minimum, shares, secret);
+        long[][] parts = splitSecretExact(ByteBuffer.wrap(secret));
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.CREATE, "header", "raw", minimum, shares, parts.length);
+        long[][] xs = new long[shares][4];
+        long[][][] ys = new long[shares][parts.length][4];
+        createPoints(minimum, parts, xs, ys, stats);
+        byte[] secretId = new byte[BinaryShare.SECRET_ID_LENGTH];
+        rand.nextBytes(secretId);
+        List<BinaryShare> rs = new ArrayList<>(shares);
+        for (int i = 0; i < shares; i++) {
+            rs.add(BinaryShare.of(BinaryShare.LAYOUT_EXACT, minimum, secretId, xs[i], ys[i]));
+        }
+        SSSMetrics.lap(stats, Phase.ENCODE, shares);
+        SSSMetrics.end(stats);
+        return rs;
+    }
+
+    /**
+     * Returns byte-exact compact shares of the secret bytes, like {@link #create(int, int, byte[], boolean)}, with
+     * Feldman commitments to the polynomials (see {@link FeldmanCommitments}). Shareholders check their share with
+     * {@link #verifyShare(String, boolean, FeldmanCommitments)}, and {@link #combineVerified} drops corrupted or
+     * forged shares before interpolating. Committing costs about one modular exponentiation per coefficient.
+     *
+     * @param minimum int minimum
+     * @param shares int shares
+     * @param secret byte[] secret
+     * @param isBase64 True using encode Base64Url, otherwise encode Hex
+     * @return VerifiableShares shares and commitments
+     * @throws Exception Input params invalid
+     */
+    public VerifiableShares createVerifiable(int minimum, int shares, byte[] secret, boolean isBase64) throws Exception {
+        validateCreate(minimum, shares, secret);
+        if (minimum > 0xFFFF) {
+            throw new Exception("minimum is invalid");
+        }
+        long[][] parts = splitSecretExact(ByteBuffer.wrap(secret));
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.CREATE, "exact", SSSMetrics.encoding(isBase64), minimum, shares, parts.length);
+        long[][] xs = new long[shares][4];
+        long[][][] ys = new long[shares][parts.length][4];
+        long[][][] polynomial = createPoints(minimum, parts, xs, ys, stats);
+        BigInteger[][] commitments = new BigInteger[parts.length][minimum];
+        forRange(parts.length, (from, to) -> {
+            for (int j = from; j < to; j++) {
+                for (int c = 0; c < minimum; c++) {
+                    commitments[j][c] = FeldmanGroup.powG(polynomial[j][c]);
+                }
+            }
+        });
+        SSSMetrics.skip(stats);
+        List<String> rs = encodeCompact(BYTES_PREFIX, xs, ys, isBase64);
+        SSSMetrics.lap(stats, Phase.ENCODE, shares);
+        SSSMetrics.end(stats);
+        return new VerifiableShares(rs, new FeldmanCommitments(commitments));
+    }
+
+    /**
+     * Writes binary secret shares (see {@link #create(int, int, byte[])}) of the remaining bytes of secret into the
+     * caller's buffers, heap or direct, one share per buffer. Each buffer must have at least
+     * {@link #shareLength(int)} bytes remaining; the positions of secret and of every share are advanced.
+     *
+     * @param minimum int minimum
+     * @param secret ByteBuffer secret
+     * @param shares ByteBuffer[] shares
+     * @throws Exception Input params invalid
+     */
+    public void create(int minimum, ByteBuffer secret, ByteBuffer[] shares) throws Exception {
+        if (secret == null || shares == null) {
+            throw new Exception("secret or shares is NULL");
+        }
+        if (minimum <= 0 || shares.length <= 0) {
+            throw new Exception("minimum or shares is invalid");
+        }
+        if (minimum > shares.length) {
+            throw new Exception("cannot require more shares then existing");
+        }
+        int len = shareLength(secret.remaining());
+        for (ByteBuffer share : shares) {
+            if (share == null || share.remaining() < len) {
+                throw new Exception("one of the share buffers is too small");
+            }
+        }
+        long[][] parts = splitSecretExact(secret);
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.CREATE, "binary", "raw", minimum, shares.length, parts.length);
+        long[][] xs = new long[shares.length][4];
+        long[][][] ys = new long[shares.length][parts.length][4];
+        createPoints(minimum, parts, xs, ys, stats);
+        for (int i = 0; i < shares.length; i++) {
+            ByteBuffer share = shares[i];
+            int pos = share.position();
+            Fp256.toBuffer(xs[i], share, pos);
+            for (int j = 0; j < parts.length; j++) {
+                Fp256.toBuffer(ys[i][j], share, pos + 32 * (j + 1));
+            }
+            share.position(pos + len);
+        }
+        SSSMetrics.lap(stats, Phase.ENCODE, shares.length);
+        SSSMetrics.end(stats);
+    }
+
+    // Returns the length in bytes of a binary share of a secret of secretLength bytes.
+    public static int shareLength(int secretLength) {
+        return 32 * (1 + bytesToParts(secretLength));
+    }
+
+    // Returns the largest secret length in bytes a binary share of shareLength bytes can hold.
+    public static int maxSecretLength(int shareLength) {
+        return (shareLength / 32 - 1) * BYTES_PER_PART;
+    }
+
+    private static void validateCreate(int minimum, int shares, byte[] secret) throws Exception {
+        validateShape(minimum, shares);
+        if (secret == null) {
+            throw new Exception("secret is NULL");
+        }
+    }
+
+    // Checks the threshold and number of shares of a create.
+    private static void validateShape(int minimum, int shares) throws Exception {
+        if (minimum <= 0 || shares <= 0) {
+            throw new Exception("minimum or shares is invalid");
+        }
+        if (minimum > shares) {
+            throw new Exception("cannot require more shares then existing");
+        }
+    }
+
+    // Draws distinct non-zero x-coordinates xs and, for each part j, a polynomial of degree (minimum - 1) with
+    // constant term parts[j] and distinct random coefficients, then sets ys[i][j] to its value at xs[i].
+    // Returns the coefficients, polynomial[parts][minimum].
+    long[][][] createPoints(int minimum, long[][] parts, long[][] xs, long[][][] ys) throws Exception {
+        return createPoints(minimum, parts, xs, ys, null);
+    }
+
+    // Like createPoints, timing the random draws and the evaluation into stats when not null.
+    private long[][][] createPoints(int minimum, long[][] parts, long[][] xs, long[][][] ys, SSSCallStats stats) throws Exception {
+        FieldSet numbers = new FieldSet(xs.length + parts.length * (minimum - 1));
+        byte[] scratch = randomScratch(xs.length);
+        random(xs, scratch);
+        for (long[] x : xs) {
+            while (!numbers.add(x)) {
+                random(x, scratch);
+            }
+        }
+        // polynomial[parts][minimum]; the coefficients are drawn in bulk per range of parts...
+        long[][][] polynomial = new long[parts.length][minimum][];
+        forRange(parts.length, (from, to) -> {
+            long[][] coeffs = new long[(to - from) * (minimum - 1)][4];
+            random(coeffs, randomScratch(coeffs.length));
+            for (int j = from, c0 = 0; j < to; j++) {
+                polynomial[j][0] = parts[j];
+                for (int c = 1; c < minimum; c++) {
+                    polynomial[j][c] = coeffs[c0++];
+                }
+            }
+        });
+        // ...then checked for uniqueness in order, so both paths keep the same guarantee.
+        for (int j = 0; j < parts.length; j++) {
+            for (int c = 1; c < minimum; c++) {
+                while (!numbers.add(polynomial[j][c])) {
+                    random(polynomial[j][c], scratch);
+                }
+            }
+        }
+        SSSMetrics.lap(stats, Phase.RANDOM, xs.length + (long) parts.length * (minimum - 1));
+        if (isFastEvaluation(minimum, parts.length)) {
+            // one tree over the x-coordinates serves every part
+            SubproductTree tree = new SubproductTree(xs, minimum);
+            forRange(parts.length, (from, to) -> {
+                long[][] r = new long[xs.length][4];
+                for (int j = from; j < to; j++) {
+                    tree.evaluate(polynomial[j], r);
+                    for (int i = 0; i < xs.length; i++) {
+                        Fp256.copy(ys[i][j], r[i]);
+                    }
+                }
+            });
+        } else {
+            forRange(parts.length, (from, to) -> {
+                for (int j = from; j < to; j++) {
+                    for (int i = 0; i < xs.length; i++) {
+                        evaluatePolynomial(ys[i][j], polynomial[j], xs[i]);
+                    }
+                }
+            });
+        }
+        SSSMetrics.lap(stats, Phase.EVALUATE, (long) xs.length * parts.length);
+        return polynomial;
+    }
+
+    // Returns whether to evaluate the polynomials of degree (minimum - 1) of parts parts with a subproduct tree rather
+    // than by Horner's rule at every point: evaluating with the tree wins from about FAST_EVALUATION_MINIMUM
+    // coefficients and building it costs about as much again, so a single part needs a much larger degree.
+    static boolean isFastEvaluation(int minimum, int parts) {
+        return minimum >= FAST_EVALUATION_MINIMUM && (parts >= 4 || minimum >= 8 * FAST_EVALUATION_MINIMUM);
+    }
+
+    // Runs body over the parts [0, n), in parallel when configured and n reaches the threshold.
+    void forRange(int n, Parallel.Range body) throws Exception {
+        Parallel.forRange(pool, parallelThreshold, n, body);
+    }
+
+    // Encodes points as classic shares: one x,y pair per part.
+    private List<String> encodeClassic(long[][][] xs, long[][][] ys, boolean isBase64) throws Exception {
+        int blockLen = ShareCodec.blockLength(isBase64);
+        int numSecret = ys[0].length;
+        char[][] chars = new char[xs.length][numSecret * 2 * blockLen];
+        // every pair has a fixed offset, so ranges of parts are encoded independently
+        forRange(numSecret, (from, to) -> {
+            for (int i = 0; i < xs.length; i++) {
+                for (int j = from; j < to; j++) {
+                    ShareCodec.encode(xs[i][j], isBase64, chars[i], 2 * j * blockLen);
+                    ShareCodec.encode(ys[i][j], isBase64, chars[i], (2 * j + 1) * blockLen);
+                }
+            }
+        });
+        List<String> rs = new ArrayList<>(xs.length);
+        for (char[] c : chars) {
+            rs.add(new String(c));
+        }
+        return rs;
+    }
+
+    // Encodes points as compact shares: prefix, x-coordinate, then one y-coordinate per part.
+    private List<String> encodeCompact(String prefix, long[][] xs, long[][][] ys, boolean isBase64) throws Exception {
+        int blockLen = ShareCodec.blockLength(isBase64);
+        int start = prefix.length() + blockLen;
+        int numSecret = ys[0].length;
+        char[][] chars = new char[xs.length][start + numSecret * blockLen];
+        for (int i = 0; i < xs.length; i++) {
+            prefix.getChars(0, prefix.length(), chars[i], 0);
+            ShareCodec.encode(xs[i], isBase64, chars[i], prefix.length());
+        }
+        // every block has a fixed offset, so ranges of parts are encoded independently
+        forRange(numSecret, (from, to) -> {
+            for (int i = 0; i < xs.length; i++) {
+                for (int j = from; j < to; j++) {
+                    ShareCodec.encode(ys[i][j], isBase64, chars[i], start + j * blockLen);
+                }
+            }
+        });
+        List<String> rs = new ArrayList<>(xs.length);
+        for (char[] c : chars) {
+            rs.add(new String(c));
+        }
+        return rs;
+    }
+
+    /**
+     * Takes a string array of shares encoded in Base64 or Hex created via Shamir's Algorithm Note: the polynomial will
+     * converge if the specified minimum number of shares or more are passed to this function. Passing thus does not
+     * affect it Passing fewer however, simply means that the returned secret is wrong. Shares in the compact format
+     * (see {@link #COMPACT_PREFIX}) are recognized and combined with a single Lagrange basis for all parts.
+     *
+     * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @return String secret
+     * @throws Exception Input params invalid
+     */
+    public String combine(List<String> shares, boolean isBase64) throws Exception {
+        String rs = "";
+        if (shares == null || shares.isEmpty()) {
+            throw new Exception("shares is NULL or empty");
+        }
+        if (isCompactShare(shares.get(0))) {
+            SSSCallStats stats = beginCombine(shares, isBase64);
+            byte[] bytes = combineCompact(shares, isBase64, stats);
+            rs = new String(bytes, StandardCharsets.UTF_8);
+            SSSMetrics.lap(stats, Phase.MERGE, 0);
+            SSSMetrics.end(stats);
+            return rs;
+        }
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.COMBINE, "classic", SSSMetrics.encoding(isBase64), 0, shares.size(), 0);
+
+        // Recreate the original object of x, y points, based upon number of shares
+        // and size of each share (number of parts in the secret).
+        // 
+        // points[shares][parts][2], each coordinate a field element (see Fp256)
+        long[][][][] points = decodeShareLegacy(shares, isBase64);
+        SSSMetrics.lap(stats, Phase.DECODE, shares.size());
+        SSSMetrics.parts(stats, points[0].length);
+        rs = combineClassic(points, stats);
+        SSSMetrics.end(stats);
+        return rs;
+    }
+
+    // Interpolates the decoded points of classic shares, points[shares][parts][2], and returns the secret string.
+    private String combineClassic(long[][][][] points, SSSCallStats stats) throws Exception {
+        // Use Lagrange Polynomial Interpolation (LPI) to reconstruct the secret.
+        // The arithmetic runs on fixed-width field elements (see Fp256); the basis
+        // at 0 of each part's x-coordinates is computed in barycentric form with a
+        // single batched inversion (see lagrangeBasisAtZero), then dotted with the ys.
+        // Every part has its own x-coordinates, so ranges of parts are interpolated in parallel.
+        int numSecret = points[0].length;
+        int numShare = points.length;
+        BigInteger[] parts = new BigInteger[numSecret];
+        forRange(numSecret, (from, to) -> {
+            long[][] xs = new long[numShare][];
+            long[][][] ys = new long[numShare][1][];
+            long[] secret = Fp256.create();
+            long[] t = Fp256.create();
+            for (int j = from; j < to; j++) {
+                for (int i = 0; i < numShare; i++) {
+                    xs[i] = points[i][j][0];
+                    ys[i][0] = points[i][j][1];
+                }
+                interpolate(secret, lagrangeBasisAtZero(xs), ys, 0, t);
+                parts[j] = Fp256.toBigInteger(secret);
+            }
+        });
+        SSSMetrics.lap(stats, Phase.INTERPOLATE, numSecret);
+
+        // recover secret string.
+        String rs = mergeBigIntToString(Arrays.asList(parts));
+        SSSMetrics.lap(stats, Phase.MERGE, rs.length());
+        return rs;
+    }
+
+    /**
+     * Like {@link #combine(List, boolean)} but returns the secret as bytes, without decoding it as UTF-8. Shares in
+     * the byte-exact format (see {@link #BYTES_PREFIX}) give back exactly the bytes passed to create; for the other
+     * formats trailing zero bytes are removed.
+     *
+     * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @return byte[] secret
+     * @throws Exception Input params invalid
+     */
+    public byte[] combineBytes(List<String> shares, boolean isBase64) throws Exception {
+        if (shares == null || shares.isEmpty()) {
+            throw new Exception("shares is NULL or empty");
+        }
+        if (isCompactShare(shares.get(0))) {
+            SSSCallStats stats = beginCombine(shares, isBase64);
+            byte[] rs = combineCompact(shares, isBase64, stats);
+            SSSMetrics.end(stats);
+            return rs;
+        }
+        return combine(shares, isBase64).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Takes binary shares created by {@link #create(int, int, byte[])} and returns the secret bytes.
+     *
+     * @param shares List binary shares
+     * @return byte[] secret
+     * @throws Exception Input params invalid
+     */
+    public byte[] combine(List<byte[]> shares) throws Exception {
+        if (shares == null || shares.isEmpty()) {
+            throw new Exception("shares is NULL or empty");
+        }
+        ByteBuffer[] bufs = new ByteBuffer[shares.size()];
+        for (int i = 0; i < bufs.length; i++) {
+            if (shares.get(i) == null) {
+                throw new Exception("one of the shares is invalid");
+            }
+            bufs[i] = ByteBuffer.wrap(shares.get(i));
+        }
+        ByteBuffer secret = ByteBuffer.allocate(maxSecretLength(bufs[0].remaining()));
+        combine(bufs, secret);
+        return Arrays.copyOf(secret.array(), secret.position());
+    }
+
+    /**
+     * Takes binary shares (see {@link #create(int, int, byte[])}) as the remaining bytes of the given buffers, heap
+     * or direct, and writes the secret at the position of secret, which needs at most
+     * {@link #maxSecretLength(int)} bytes remaining. The positions of every share and of secret are advanced.
+     *
+     * @param shares ByteBuffer[] shares
+     * @param secret ByteBuffer secret
+     * @return int number of secret bytes written
+     * @throws Exception Input params invalid
+     */
+    public int combine(ByteBuffer[] shares, ByteBuffer secret) throws Exception {
+        if (shares == null || shares.length == 0 || secret == null) {
+            throw new Exception("shares is NULL or empty");
+        }
+        int numShare = shares.length;
+        int len = shares[0] == null ? 0 : shares[0].remaining();
+        if (len < 64 || len % 32 != 0) {
+            throw new Exception("one of the shares is invalid");
+        }
+        int numSecret = len / 32 - 1;
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.COMBINE, "binary", "raw", 0, numShare, numSecret);
+        long[][] xs = new long[numShare][4];
+        long[][][] ys = new long[numShare][numSecret][4];
+        for (int i = 0; i < numShare; i++) {
+            ByteBuffer share = shares[i];
+            if (share == null || share.remaining() != len) {
+                throw new Exception("shares have different lengths");
+            }
+            int pos = share.position();
+            Fp256.fromBuffer(xs[i], share, pos);
+            if (Fp256.isZero(xs[i]) || !Fp256.isReduced(xs[i])) {
+                throw new Exception("one of the shares is invalid");
+            }
+            for (int k = 0; k < i; k++) {
+                if (Fp256.equals(xs[k], xs[i])) {
+                    throw new Exception("shares have duplicate x-coordinates");
+                }
+            }
+            for (int j = 0; j < numSecret; j++) {
+                Fp256.fromBuffer(ys[i][j], share, pos + 32 * (j + 1));
+                if (!Fp256.isReduced(ys[i][j])) {
+                    throw new Exception("one of the shares is invalid");
+                }
+            }
+        }
+        SSSMetrics.lap(stats, Phase.DECODE, numShare);
+        byte[] bytes = new byte[numSecret * BYTES_PER_PART];
+        int n = recoverExact(lagrangeBasisAtZero(xs), ys, bytes);
+        SSSMetrics.lap(stats, Phase.INTERPOLATE, numSecret);
+        secret.put(bytes, 0, n);
+        SSSMetrics.lap(stats, Phase.MERGE, n);
+        for (ByteBuffer share : shares) {
+            share.position(share.limit());
+        }
+        SSSMetrics.end(stats);
+        return n;
+    }
+
+    /**
+     * Splits many secrets at once into byte-exact compact shares, like {@link #create(int, int, byte[], boolean)} for
+     * each, appending the list of shares of every secret to out in order. All the secrets of a batch share one set of
+     * x-coordinates, so holder i gets the i-th share of every secret and {@link #combineBatch(List, boolean, Collection)}
+     * computes the Lagrange basis once per set of holders. Randomness is drawn in bulk and buffers are reused across
+     * secrets; secrets are processed in parallel when a pool is configured.
+     *
+     * @param minimum int minimum
+     * @param shares int shares
+     * @param secrets List secrets
+     * @param isBase64 True using encode Base64Url, otherwise encode Hex
+     * @param out Collection receiving the shares of each secret
+     * @throws Exception Input params invalid
+     */
+    public void createBatch(int minimum, int shares, List<byte[]> secrets, boolean isBase64, Collection<List<String>> out) throws Exception {
+        if (secrets == null || out == null) {
+            throw new Exception("secrets or out is NULL");
+        }
+        validateShape(minimum, shares);
+        int count = secrets.size();
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.CREATE, "exact", SSSMetrics.encoding(isBase64), minimum, shares, 0);
+        SSSMetrics.secrets(stats, count);
+        long[][] xs = randomXs(shares);
+        SSSMetrics.lap(stats, Phase.RANDOM, shares);
+        // filled by index from the workers of the pool
+        List<List<String>> rs = new ArrayList<>(Collections.nCopies(count, (List<String>) null));
+        AtomicInteger numParts = new AtomicInteger();
+        forRange(count, (from, to) -> {
+            BatchBuffers buf = new BatchBuffers();
+            int n = 0;
+            for (int s = from; s < to; s++) {
+                byte[] secret = secrets.get(s);
+                if (secret == null) {
+                    throw new Exception("secret is NULL");
+                }
+                long[][][] ys = new long[shares][bytesToParts(secret.length)][4];
+                buf.evaluate(this, minimum, xs, secret, 0, secret.length, ys);
+                rs.set(s, encodeCompact(BYTES_PREFIX, xs, ys, isBase64));
+                n += ys[0].length;
+            }
+            numParts.addAndGet(n);
+        });
+        SSSMetrics.parts(stats, numParts.get());
+        SSSMetrics.lap(stats, Phase.EVALUATE, (long) shares * numParts.get());
+        out.addAll(rs);
+        SSSMetrics.end(stats);
+    }
+
+    /**
+     * Splits the remaining bytes of secrets, count secrets of secretLength bytes each, into binary shares (see
+     * {@link #create(int, ByteBuffer, ByteBuffer[])}): holder buffer shares[i] receives the i-th share of every secret
+     * in order, {@link #shareLength(int)} bytes each, so it must have count * shareLength(secretLength) bytes
+     * remaining. All the secrets share one set of x-coordinates. The positions of secrets and of every share buffer
+     * are advanced.
+     *
+     * @param minimum int minimum
+     * @param secrets ByteBuffer packed secrets
+     * @param secretLength int length in bytes of each secret
+     * @param shares ByteBuffer[] one buffer per holder
+     * @throws Exception Input params invalid
+     */
+    public void createBatch(int minimum, ByteBuffer secrets, int secretLength, ByteBuffer[] shares) throws Exception {
+        if (secrets == null || shares == null) {
+            throw new Exception("secret or shares is NULL");
+        }
+        validateShape(minimum, shares.length);
+        if (secretLength <= 0 || secrets.remaining() % secretLength != 0) {
+            throw new Exception("secretLength is invalid");
+        }
+        int count = secrets.remaining() / secretLength;
+        int shareLen = shareLength(secretLength);
+        for (ByteBuffer share : shares) {
+            if (share == null || share.remaining() < (long) count * shareLen) {
+                throw new Exception("one of the share buffers is too small");
+            }
+        }
+        int numSecret = bytesToParts(secretLength);
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.CREATE, "binary", "raw", minimum, shares.length, count * numSecret);
+        SSSMetrics.secrets(stats, count);
+        long[][] xs = randomXs(shares.length);
+        SSSMetrics.lap(stats, Phase.RANDOM, shares.length);
+        int base = secrets.position();
+        forRange(count, (from, to) -> {
+            BatchBuffers buf = new BatchBuffers();
+            ByteBuffer src = secrets.duplicate();
+            byte[] secret = new byte[secretLength];
+            long[][][] ys = new long[shares.length][numSecret][4];
+            for (int s = from; s < to; s++) {
+                src.position(base + s * secretLength);
+                src.get(secret);
+                buf.evaluate(this, minimum, xs, secret, 0, secretLength, ys);
+                for (int i = 0; i < shares.length; i++) {
+                    int pos = shares[i].position() + s * shareLen;
+                    Fp256.toBuffer(xs[i], shares[i], pos);
+                    for (int j = 0; j < numSecret; j++) {
+                        Fp256.toBuffer(ys[i][j], shares[i], pos + 32 * (j + 1));
+                    }
+                }
+            }
+            Arrays.fill(secret, (byte) 0);
+        });
+        SSSMetrics.lap(stats, Phase.EVALUATE, (long) shares.length * count * numSecret);
+        secrets.position(base + count * secretLength);
+        for (ByteBuffer share : shares) {
+            share.position(share.position() + count * shareLen);
+        }
+        SSSMetrics.end(stats);
+    }
+
+    /**
+     * Combines the shares of many secrets, like {@link #combineBytes(List, boolean)} for each, appending the secrets
+     * to out in order. Consecutive sets with the same x-coordinates, as from the same holders of a
+     * {@link #createBatch(int, int, List, boolean, Collection)} batch, reuse one Lagrange basis, so each further
+     * secret costs one decode and a dot product per part.
+     *
+     * @param shareSets List of the shares of each secret
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @param out Collection receiving the secrets
+     * @throws Exception Input params invalid
+     */
+    public void combineBatch(List<List<String>> shareSets, boolean isBase64, Collection<byte[]> out) throws Exception {
+        if (shareSets == null || out == null) {
+            throw new Exception("shareSets or out is NULL");
+        }
+        int count = shareSets.size();
+        // the format and size of the first set stand for the batch
+        List<String> first = count == 0 ? null : shareSets.get(0);
+        boolean hasFirst = first != null && !first.isEmpty() && first.get(0) != null;
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.COMBINE, hasFirst ? formatOf(first.get(0)) : "exact",
+                SSSMetrics.encoding(isBase64), 0, hasFirst ? first.size() : 0, 0);
+        SSSMetrics.secrets(stats, count);
+        byte[][] rs = new byte[count][];
+        AtomicInteger numParts = new AtomicInteger();
+        forRange(count, (from, to) -> {
+            long[][] prevXs = null;
+            long[][] basis = null;
+            int n = 0;
+            for (int s = from; s < to; s++) {
+                List<String> shares = shareSets.get(s);
+                if (shares == null || shares.isEmpty()) {
+                    throw new Exception("shares is NULL or empty");
+                }
+                if (!isCompactShare(shares.get(0))) {
+                    // not combineBytes, which would report a call of its own
+                    long[][][][] points = decodeShareLegacy(shares, isBase64);
+                    rs[s] = combineClassic(points, null).getBytes(StandardCharsets.UTF_8);
+                    n += points[0].length;
+                    continue;
+                }
+                long[][] xs = new long[shares.size()][];
+                long[][][] ys = new long[shares.size()][][];
+                decodeShareCompact(shares, isBase64, xs, ys);
+                if (!sameXs(prevXs, xs)) {
+                    basis = lagrangeBasisAtZero(xs);
+                    prevXs = xs;
+                }
+                rs[s] = recover(basis, ys, shares.get(0).startsWith(BYTES_PREFIX));
+                n += ys[0].length;
+            }
+            numParts.addAndGet(n);
+        });
+        SSSMetrics.parts(stats, numParts.get());
+        SSSMetrics.lap(stats, Phase.INTERPOLATE, numParts.get());
+        out.addAll(Arrays.asList(rs));
+        SSSMetrics.end(stats);
+    }
+
+    /**
+     * Combines binary shares written by {@link #createBatch(int, ByteBuffer, int, ByteBuffer[])}: shares[i] holds the
+     * remaining shares of holder i, one per secret, at least minimum holders. The secrets, secretLength bytes each, are
+     * written to secrets in order. Consecutive secrets with the same x-coordinates reuse one Lagrange basis. The
+     * positions of secrets and of every share buffer are advanced.
+     *
+     * @param shares ByteBuffer[] one buffer per holder
+     * @param secretLength int length in bytes of each secret
+     * @param secrets ByteBuffer receiving the packed secrets
+     * @return int number of secrets
+     * @throws Exception Input params invalid
+     */
+    public int combineBatch(ByteBuffer[] shares, int secretLength, ByteBuffer secrets) throws Exception {
+        if (shares == null || shares.length == 0 || secrets == null) {
+            throw new Exception("shares is NULL or empty");
+        }
+        if (secretLength <= 0) {
+            throw new Exception("secretLength is invalid");
+        }
+        int shareLen = shareLength(secretLength);
+        int len = shares[0] == null ? 0 : shares[0].remaining();
+        if (len % shareLen != 0) {
+            throw new Exception("one of the shares is invalid");
+        }
+        for (ByteBuffer share : shares) {
+            if (share == null || share.remaining() != len) {
+                throw new Exception("shares have different lengths");
+            }
+        }
+        int count = len / shareLen;
+        if (secrets.remaining() < (long) count * secretLength) {
+            throw new Exception("secret buffer is too small");
+        }
+        int numShare = shares.length;
+        int numSecret = bytesToParts(secretLength);
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.COMBINE, "binary", "raw", 0, numShare, count * numSecret);
+        SSSMetrics.secrets(stats, count);
+        int base = secrets.position();
+        forRange(count, (from, to) -> {
+            ByteBuffer dst = secrets.duplicate();
+            long[][] prevXs = null;
+            long[][] basis = null;
+            long[][] xs = new long[numShare][4];
+            long[][][] ys = new long[numShare][numSecret][4];
+            byte[] secret = new byte[numSecret * BYTES_PER_PART];
+            for (int s = from; s < to; s++) {
+                for (int i = 0; i < numShare; i++) {
+                    int pos = shares[i].position() + s * shareLen;
+                    Fp256.fromBuffer(xs[i], shares[i], pos);
+                    for (int j = 0; j < numSecret; j++) {
+                        Fp256.fromBuffer(ys[i][j], shares[i], pos + 32 * (j + 1));
+                        if (!Fp256.isReduced(ys[i][j])) {
+                            throw new Exception("one of the shares is invalid");
+                        }
+                    }
+                }
+                if (!sameXs(prevXs, xs)) {
+                    for (int i = 0; i < numShare; i++) {
+                        if (Fp256.isZero(xs[i]) || !Fp256.isReduced(xs[i])) {
+                            throw new Exception("one of the shares is invalid");
+                        }
+                        for (int k = 0; k < i; k++) {
+                            if (Fp256.equals(xs[k], xs[i])) {
+                                throw new Exception("shares have duplicate x-coordinates");
+                            }
+                        }
+                    }
+                    basis = lagrangeBasisAtZero(xs);
+                    prevXs = new long[numShare][];
+                    for (int i = 0; i < numShare; i++) {
+                        prevXs[i] = xs[i].clone();
+                    }
+                }
+                if (recoverExact(basis, ys, secret) != secretLength) {
+                    throw new Exception("shares do not recover a valid secret");
+                }
+                dst.position(base + s * secretLength);
+                dst.put(secret, 0, secretLength);
+            }
+            Arrays.fill(secret, (byte) 0);
+        });
+        SSSMetrics.lap(stats, Phase.INTERPOLATE, (long) count * numSecret);
+        secrets.position(base + count * secretLength);
+        for (ByteBuffer share : shares) {
+            share.position(share.limit());
+        }
+        SSSMetrics.end(stats);
+        return count;
+    }
+
+    // Returns whether the x-coordinates of two share sets are the same, in the same order.
+    private static boolean sameXs(long[][] a, long[][] b) {
+        if (a == null || a.length != b.length) {
+            return false;
+        }
+        for (int i = 0; i < a.length; i++) {
+            if (!Fp256.equals(a[i], b[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns shares distinct non-zero random x-coordinates.
+    long[][] randomXs(int shares) {
+        long[][] xs = new long[shares][4];
+        FieldSet numbers = new FieldSet(shares);
+        byte[] scratch = randomScratch(shares);
+        random(xs, scratch);
+        for (long[] x : xs) {
+            while (!numbers.add(x)) {
+                random(x, scratch);
+            }
+        }
+        return xs;
+    }
+
+    // Per-thread buffers of a batch: the coefficients of one secret are drawn in a single call to the random source.
+    private static final class BatchBuffers {
+        private long[][] coeffs = new long[0][];
+        private byte[] scratch = new byte[32];
+        private final byte[] partScratch = new byte[32];
+        private final long[] t = Fp256.create();
+
+        // Splits secret[off, off + len) into byte-exact parts and sets ys[i][j] to the value at xs[i] of a random
+        // polynomial of degree (minimum - 1) with constant term part j.
+        void evaluate(SSS sss, int minimum, long[][] xs, byte[] secret, int off, int len, long[][][] ys) {
+            int numSecret = bytesToParts(len);
+            int count = numSecret * (minimum - 1);
+            if (coeffs.length != count) {
+                coeffs = new long[count][4];
+                scratch = new byte[Math.max(32, 32 * count)];
+            }
+            sss.random(coeffs, scratch);
+            for (int j = 0; j < numSecret; j++) {
+                // the part itself is the constant term
+                int n = Math.min(BYTES_PER_PART, len - j * BYTES_PER_PART);
+                bytesToPart(t, secret, off + j * BYTES_PER_PART, n, j == numSecret - 1, partScratch);
+                int c0 = j * (minimum - 1);
+                for (int i = 0; i < xs.length; i++) {
+                    long[] y = ys[i][j];
+                    if (minimum == 1) {
+                        Fp256.copy(y, t);
+                        continue;
+                    }
+                    // Horner's rule from the top coefficient down to the part
+                    Fp256.copy(y, coeffs[c0 + minimum - 2]);
+                    for (int c = minimum - 3; c >= 0; c--) {
+                        Fp256.mul(y, y, xs[i]);
+                        Fp256.add(y, y, coeffs[c0 + c]);
+                    }
+                    Fp256.mul(y, y, xs[i]);
+                    Fp256.add(y, y, t);
+                }
+            }
+            Arrays.fill(partScratch, (byte) 0);
+        }
+    }
+
+    /**
+     * Takes binary shares (see {@link BinaryShare}) of one secret, at least as many as their threshold, and returns
+     * the secret bytes. The y-coordinates are read in place from the share buffers, e.g. mapped files.
+     *
+     * @param shares List binary shares
+     * @return byte[] secret
+     * @throws Exception Input params invalid
+     */
+    public byte[] combineBinary(List<BinaryShare> shares) throws Exception {
+        if (shares == null || shares.isEmpty()) {
+            throw new Exception("shares is NULL or empty");
+        }
+        if (shares.get(0) != null && shares.size() < shares.get(0).threshold()) {
+            throw new Exception("shares are fewer than the threshold");
+        }
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.COMBINE, "header", "raw", 0, shares.size(), 0);
+        long[][] xs = new long[shares.size()][];
+        long[][][] ys = new long[shares.size()][][];
+        boolean isExact = decodeShareBinary(shares, xs, ys);
+        SSSMetrics.lap(stats, Phase.DECODE, shares.size());
+        SSSMetrics.parts(stats, ys[0].length);
+        byte[] rs = recover(lagrangeBasisAtZero(xs), ys, isExact, stats);
+        SSSMetrics.end(stats);
+        return rs;
+    }
+
+    /**
+     * Checks that a share lies on the polynomials committed to by commitments (see
+     * {@link #createVerifiable(int, int, byte[], boolean)}): g^y == prod_c C[c]^(x^c) for every part, tested at once
+     * with random weights. A malformed share, one not in the byte-exact compact format (see {@link #BYTES_PREFIX}) or
+     * one with a different number of parts is invalid.
+     *
+     * @param share String share
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @param commitments FeldmanCommitments commitments
+     * @return boolean share is valid
+     * @throws Exception commitments is NULL
+     */
+    public boolean verifyShare(String share, boolean isBase64, FeldmanCommitments commitments) throws Exception {
+        return verifyShares(Collections.singletonList(share), isBase64, commitments)[0];
+    }
+
+    /**
+     * Checks many shares against commitments, like {@link #verifyShare(String, boolean, FeldmanCommitments)}.
+     * All shares are tested with a single random linear combination, one fixed-base and one multi-base
+     * exponentiation whatever their number; only if that fails are the shares split in halves and retested, so a
+     * few bad shares cost a few extra checks each. A bad share passes with probability at most 2^-128.
+     *
+     * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @param commitments FeldmanCommitments commitments
+     * @return boolean[] for each share whether it is valid
+     * @throws Exception shares or commitments is NULL
+     */
+    public boolean[] verifyShares(List<String> shares, boolean isBase64, FeldmanCommitments commitments) throws Exception {
+        return verifyShares(shares, isBase64, commitments, new long[shares == null ? 0 : shares.size()][],
+                new long[shares == null ? 0 : shares.size()][][]);
+    }
+
+    // Verifies shares, leaving the points of each decodable share i in xs[i] and ys[i][parts].
+    private boolean[] verifyShares(List<String> shares, boolean isBase64, FeldmanCommitments commitments,
+            long[][] xs, long[][][] ys) throws Exception {
+        if (shares == null || commitments == null) {
+            throw new Exception("shares or commitments is NULL");
+        }
+        int numShare = shares.size();
+        int[] decoded = new int[numShare];
+        int n = 0;
+        for (int i = 0; i < numShare; i++) {
+            String share = shares.get(i);
+            long[][] x = new long[1][];
+            long[][][] y = new long[1][][];
+            try {
+                if (share == null || !share.startsWith(BYTES_PREFIX)) {
+                    continue;
+                }
+                decodeShareCompact(Collections.singletonList(share), isBase64, x, y);
+            } catch (Exception e) {
+                continue;
+            }
+            if (y[0].length == commitments.parts()) {
+                xs[i] = x[0];
+                ys[i] = y[0];
+                decoded[n++] = i;
+            }
+        }
+        boolean[] valid = new boolean[numShare];
+        verifyPoints(xs, ys, Arrays.copyOf(decoded, n), commitments, valid);
+        return valid;
+    }
+
+    // Marks valid[i] for the shares i of idx whose points lie on the committed polynomials, halving idx on failure.
+    private void verifyPoints(long[][] xs, long[][][] ys, int[] idx, FeldmanCommitments commitments, boolean[] valid) {
+        if (idx.length == 0) {
+            return;
+        }
+        if (checkPoints(xs, ys, idx, commitments)) {
+            for (int i : idx) {
+                valid[i] = true;
+            }
+        } else if (idx.length > 1) {
+            int half = idx.length / 2;
+            verifyPoints(xs, ys, Arrays.copyOfRange(idx, 0, half), commitments, valid);
+            verifyPoints(xs, ys, Arrays.copyOfRange(idx, half, idx.length), commitments, valid);
+        }
+    }
+
+    // Tests g^(sum_ij r_ij y_ij) == prod_jc C_jc^(sum_i r_ij x_i^c) with random 128-bit weights r_ij; exponents are
+    // reduced modulo PRIME, the order of g.
+    private boolean checkPoints(long[][] xs, long[][][] ys, int[] idx, FeldmanCommitments commitments) {
+        int numSecret = commitments.parts();
+        int k = commitments.threshold();
+        long[] s = Fp256.create();
+        long[][] exps = new long[numSecret * k][4];
+        long[] r = Fp256.create();
+        long[] power = Fp256.create();
+        long[] t = Fp256.create();
+        byte[] scratch = new byte[32];
+        for (int i : idx) {
+            for (int j = 0; j < numSecret; j++) {
+                rand.nextBytes(scratch, 16, 16);
+                Fp256.fromBytes(r, scratch, 0);
+                Fp256.mul(t, r, ys[i][j]);
+                Fp256.add(s, s, t);
+                // power = r * x^c
+                Fp256.copy(power, r);
+                for (int c = 0; c < k; c++) {
+                    Fp256.add(exps[j * k + c], exps[j * k + c], power);
+                    Fp256.mul(power, power, xs[i]);
+                }
+            }
+        }
+        BigInteger[] bases = new BigInteger[numSecret * k];
+        for (int j = 0; j < numSecret; j++) {
+            for (int c = 0; c < k; c++) {
+                bases[j * k + c] = commitments.get(j, c);
+            }
+        }
+        return FeldmanGroup.powG(s).equals(FeldmanGroup.multiPow(bases, exps));
+    }
+
+    /**
+     * Verifies shares against commitments (see {@link #verifyShares(List, boolean, FeldmanCommitments)}),
+     * drops the invalid ones and duplicates, and combines the first threshold valid shares into the secret bytes.
+     *
+     * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @param commitments FeldmanCommitments commitments
+     * @return byte[] secret
+     * @throws Exception fewer than threshold shares are valid
+     */
+    public byte[] combineVerified(List<String> shares, boolean isBase64, FeldmanCommitments commitments) throws Exception {
+        if (shares == null || commitments == null) {
+            throw new Exception("shares or commitments is NULL");
+        }
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.COMBINE, "exact", SSSMetrics.encoding(isBase64), 0, shares.size(), commitments.parts());
+        long[][] xs = new long[shares.size()][];
+        long[][][] ys = new long[shares.size()][][];
+        // the Feldman checks are the validation of the shares
+        boolean[] valid = verifyShares(shares, isBase64, commitments, xs, ys);
+        int k = commitments.threshold();
+        long[][] px = new long[k][];
+        long[][][] py = new long[k][][];
+        int n = 0;
+        for (int i = 0; i < valid.length && n < k; i++) {
+            if (valid[i] && !containsX(px, n, xs[i])) {
+                px[n] = xs[i];
+                py[n++] = ys[i];
+            }
+        }
+        if (n < k) {
+            throw new Exception("valid shares are fewer than the threshold");
+        }
+        SSSMetrics.lap(stats, Phase.DECODE, shares.size());
+        byte[] rs = recover(lagrangeBasisAtZero(px), py, true, stats);
+        SSSMetrics.end(stats);
+        return rs;
+    }
+
+    // Returns whether x is one of xs[0, n); valid shares with the same x-coordinate are the same point.
+    private static boolean containsX(long[][] xs, int n, long[] x) {
+        for (int i = 0; i < n; i++) {
+            if (Fp256.equals(xs[i], x)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Reads the points of binary shares of one secret into xs[shares] and ys[shares][parts];
+    // returns whether their parts are byte-exact.
+    static boolean decodeShareBinary(List<BinaryShare> shares, long[][] xs, long[][][] ys) throws Exception {
+        BinaryShare first = shares.get(0);
+        if (first == null) {
+            throw new Exception("one of the shares is invalid");
+        }
+        int numSecret = first.parts();
+        for (int i = 0; i < shares.size(); i++) {
+            BinaryShare share = shares.get(i);
+            if (share == null) {
+                throw new Exception("one of the shares is invalid");
+            }
+            if (!share.sameSecret(first) || share.threshold() != first.threshold() || share.layout() != first.layout()) {
+                throw new Exception("shares belong to different secrets");
+            }
+            if (share.parts() != numSecret) {
+                throw new Exception("shares have different lengths");
+            }
+            xs[i] = share.x(Fp256.create());
+            for (int k = 0; k < i; k++) {
+                if (Fp256.equals(xs[k], xs[i])) {
+                    throw new Exception("shares have duplicate x-coordinates");
+                }
+            }
+            ys[i] = new long[numSecret][4];
+            for (int j = 0; j < numSecret; j++) {
+                share.y(j, ys[i][j]);
+            }
+        }
+        return first.layout() == BinaryShare.LAYOUT_EXACT;
+    }
+
+    /**
+     * Parses and validates shares in any string format once, for repeated combines of the whole set or of subsets
+     * through {@link PreparedShares}, which caches the Lagrange coefficients of up to
+     * {@link PreparedShares#DEFAULT_CACHE_SIZE} subsets.
+     *
+     * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @return PreparedShares prepared shares
+     * @throws Exception Input params invalid
+     */
+    public PreparedShares prepare(List<String> shares, boolean isBase64) throws Exception {
+        return prepare(shares, isBase64, PreparedShares.DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Like {@link #prepare(List, boolean)} with an LRU cache of the Lagrange coefficients of up to cacheSize subsets.
+     *
+     * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @param cacheSize int maximum number of cached subsets
+     * @return PreparedShares prepared shares
+     * @throws Exception Input params invalid
+     */
+    public PreparedShares prepare(List<String> shares, boolean isBase64, int cacheSize) throws Exception {
+        if (shares == null || shares.isEmpty()) {
+            throw new Exception("shares is NULL or empty");
+        }
+        int numShare = shares.size();
+        long[][][] xs = new long[numShare][][];
+        long[][][] ys = new long[numShare][][];
+        if (isCompactShare(shares.get(0))) {
+            long[][] x = new long[numShare][];
+            decodeShareCompact(shares, isBase64, x, ys);
+            for (int i = 0; i < numShare; i++) {
+                xs[i] = new long[][]{x[i]};
+            }
+            return new PreparedShares(this, xs, ys, false, shares.get(0).startsWith(BYTES_PREFIX), 0, cacheSize);
+        }
+        decodeShareClassic(shares, isBase64, xs, ys);
+        return new PreparedShares(this, xs, ys, true, false, 0, cacheSize);
+    }
+
+    // Decodes classic shares into xs[shares][parts] and ys[shares][parts] field elements, checking that all shares
+    // have the same number of parts and, part by part, distinct x-coordinates.
+    static void decodeShareClassic(List<String> shares, boolean isBase64, long[][][] xs, long[][][] ys) throws Exception {
+        long[][][][] points = decodeShareLegacy(shares, isBase64);
+        int numSecret = points[0].length;
+        for (int i = 0; i < shares.size(); i++) {
+            if (points[i].length != numSecret) {
+                throw new Exception("shares have different lengths");
+            }
+            xs[i] = new long[numSecret][];
+            ys[i] = new long[numSecret][];
+            for (int j = 0; j < numSecret; j++) {
+                xs[i][j] = points[i][j][0];
+                ys[i][j] = points[i][j][1];
+                for (int k = 0; k < i; k++) {
+                    if (Fp256.equals(xs[k][j], xs[i][j])) {
+                        throw new Exception("shares have duplicate x-coordinates");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Proactively refreshes the string shares of many secrets without reconstructing them: for each secret and part a
+     * random polynomial of degree (minimum - 1) with a zero constant term is drawn, and every share's y-coordinate is
+     * increased by its value at the share's x-coordinate. The new shares combine to the same secrets, while old and
+     * new shares cannot be mixed, so the old ones become useless once discarded. Each list must hold all outstanding
+     * shares of one secret, created with this minimum; classic and compact shares are accepted and keep their format
+     * and x-coordinates. Secrets are processed in parallel when a pool is configured.
+     *
+     * @param minimum int minimum the shares were created with
+     * @param shareSets List of the shares of each secret
+     * @param isBase64 True using Base64Url, otherwise Hex
+     * @return List of the new shares of each secret, in the same order
+     * @throws Exception Input params invalid
+     */
+    public List<List<String>> refresh(int minimum, List<List<String>> shareSets, boolean isBase64) throws Exception {
+        if (shareSets == null) {
+            throw new Exception("shareSets is NULL");
+        }
+        if (minimum <= 0) {
+            throw new Exception("minimum is invalid");
+        }
+        int numSet = shareSets.size();
+        // classic sets have one x-coordinate per part: xs[set][share][part]; otherwise xs[set][share][0]
+        long[][][][] xs = new long[numSet][][][];
+        long[][][][] ys = new long[numSet][][][];
+        String[] prefixes = new String[numSet];
+        for (int s = 0; s < numSet; s++) {
+            List<String> shares = shareSets.get(s);
+            if (shares == null || shares.isEmpty()) {
+                throw new Exception("shares is NULL or empty");
+            }
+            xs[s] = new long[shares.size()][][];
+            ys[s] = new long[shares.size()][][];
+            if (isCompactShare(shares.get(0))) {
+                long[][] x = new long[shares.size()][];
+                decodeShareCompact(shares, isBase64, x, ys[s]);
+                for (int i = 0; i < x.length; i++) {
+                    xs[s][i] = new long[][]{x[i]};
+                }
+                prefixes[s] = shares.get(0).startsWith(BYTES_PREFIX) ? BYTES_PREFIX : COMPACT_PREFIX;
+            } else {
+                decodeShareClassic(shares, isBase64, xs[s], ys[s]);
+            }
+        }
+        refreshPoints(minimum, xs, ys);
+        List<List<String>> rs = new ArrayList<>(numSet);
+        for (int s = 0; s < numSet; s++) {
+            if (prefixes[s] != null) {
+                long[][] x = new long[xs[s].length][];
+                for (int i = 0; i < x.length; i++) {
+                    x[i] = xs[s][i][0];
+                }
+                rs.add(encodeCompact(prefixes[s], x, ys[s], isBase64));
+            } else {
+                rs.add(encodeClassic(xs[s], ys[s], isBase64));
+            }
+        }
+        return rs;
+    }
+
+    /**
+     * Refreshes binary shares (see {@link #create(int, ByteBuffer, ByteBuffer[])}) of many secrets in place, like
+     * {@link #refresh(int, List, boolean)}: shareSets[s] holds every outstanding share of secret s, each in the
+     * remaining bytes of its buffer, whose y-coordinates are overwritten. Buffer positions are not changed.
+     *
+     * @param minimum int minimum the shares were created with
+     * @param shareSets ByteBuffer[][] the shares of each secret
+     * @throws Exception Input params invalid
+     */
+    public void refresh(int minimum, ByteBuffer[][] shareSets) throws Exception {
+        if (shareSets == null) {
+            throw new Exception("shareSets is NULL");
+        }
+        if (minimum <= 0) {
+            throw new Exception("minimum is invalid");
+        }
+        int numSet = shareSets.length;
+        long[][][][] xs = new long[numSet][][][];
+        long[][][][] ys = new long[numSet][][][];
+        for (int s = 0; s < numSet; s++) {
+            ByteBuffer[] shares = shareSets[s];
+            if (shares == null || shares.length == 0 || shares[0] == null) {
+                throw new Exception("shares is NULL or empty");
+            }
+            int len = shares[0].remaining();
+            if (len < 64 || len % 32 != 0) {
+                throw new Exception("one of the shares is invalid");
+            }
+            xs[s] = new long[shares.length][1][];
+            ys[s] = new long[shares.length][len / 32 - 1][];
+            for (int i = 0; i < shares.length; i++) {
+                ByteBuffer share = shares[i];
+                if (share == null || share.remaining() != len) {
+                    throw new Exception("shares have different lengths");
+                }
+                long[] x = Fp256.create();
+                Fp256.fromBuffer(x, share, share.position());
+                if (Fp256.isZero(x) || !Fp256.isReduced(x)) {
+                    throw new Exception("one of the shares is invalid");
+                }
+                for (int k = 0; k < i; k++) {
+                    if (Fp256.equals(xs[s][k][0], x)) {
+                        throw new Exception("shares have duplicate x-coordinates");
+                    }
+                }
+                xs[s][i][0] = x;
+                for (int j = 0; j < ys[s][i].length; j++) {
+                    long[] y = Fp256.create();
+                    Fp256.fromBuffer(y, share, share.position() + 32 * (j + 1));
+                    if (!Fp256.isReduced(y)) {
+                        throw new Exception("one of the shares is invalid");
+                    }
+                    ys[s][i][j] = y;
+                }
+            }
+        }
+        refreshPoints(minimum, xs, ys);
+        for (int s = 0; s < numSet; s++) {
+            for (int i = 0; i < shareSets[s].length; i++) {
+                ByteBuffer share = shareSets[s][i];
+                for (int j = 0; j < ys[s][i].length; j++) {
+                    Fp256.toBuffer(ys[s][i][j], share, share.position() + 32 * (j + 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Refreshes binary shares (see {@link BinaryShare}) of many secrets, like {@link #refresh(int, List, boolean)},
+     * with the threshold recorded in the shares. The new shares keep the secret id and x-coordinates.
+     *
+     * @param shareSets List of the binary shares of each secret
+     * @return List of the new binary shares of each secret, in the same order
+     * @throws Exception Input params invalid
+     */
+    public List<List<BinaryShare>> refreshBinary(List<List<BinaryShare>> shareSets) throws Exception {
+        if (shareSets == null) {
+            throw new Exception("shareSets is NULL");
+        }
+        List<List<BinaryShare>> rs = new ArrayList<>(shareSets.size());
+        // sets are grouped by threshold, which fixes the degree of the update polynomials
+        Map<Integer, List<Integer>> byThreshold = new HashMap<>();
+        long[][][][] xs = new long[shareSets.size()][][][];
+        long[][][][] ys = new long[shareSets.size()][][][];
+        for (int s = 0; s < shareSets.size(); s++) {
+            List<BinaryShare> shares = shareSets.get(s);
+            if (shares == null || shares.isEmpty()) {
+                throw new Exception("shares is NULL or empty");
+            }
+            long[][] x = new long[shares.size()][];
+            ys[s] = new long[shares.size()][][];
+            decodeShareBinary(shares, x, ys[s]);
+            xs[s] = new long[x.length][][];
+            for (int i = 0; i < x.length; i++) {
+                xs[s][i] = new long[][]{x[i]};
+            }
+            byThreshold.computeIfAbsent(shares.get(0).threshold(), k -> new ArrayList<>()).add(s);
+            rs.add(null);
+        }
+        for (Map.Entry<Integer, List<Integer>> group : byThreshold.entrySet()) {
+            List<Integer> sets = group.getValue();
+            long[][][][] gxs = new long[sets.size()][][][];
+            long[][][][] gys = new long[sets.size()][][][];
+            for (int g = 0; g < sets.size(); g++) {
+                gxs[g] = xs[sets.get(g)];
+                gys[g] = ys[sets.get(g)];
+            }
+            refreshPoints(group.getKey(), gxs, gys);
+        }
+        for (int s = 0; s < shareSets.size(); s++) {
+            List<BinaryShare> shares = shareSets.get(s);
+            BinaryShare first = shares.get(0);
+            List<BinaryShare> refreshed = new ArrayList<>(shares.size());
+            for (int i = 0; i < shares.size(); i++) {
+                refreshed.add(BinaryShare.of(first.layout(), first.threshold(), first.secretId(), xs[s][i][0], ys[s][i]));
+            }
+            rs.set(s, refreshed);
+        }
+        return rs;
+    }
+
+    // Adds to every ys[set][share][part] the value at xs[set][share][0], or xs[set][share][part] for classic sets,
+    // of a fresh random polynomial of degree (minimum - 1) with a zero constant term, one per set and part. Ranges
+    // of sets run in parallel, each drawing the coefficients of a set in bulk into reused buffers.
+    private void refreshPoints(int minimum, long[][][][] xs, long[][][][] ys) throws Exception {
+        if (minimum == 1) {
+            return;
+        }
+        forRange(xs.length, (from, to) -> {
+            byte[] scratch = new byte[RANDOM_BATCH];
+            long[][] coeffs = new long[0][];
+            long[] t = Fp256.create();
+            for (int s = from; s < to; s++) {
+                int numSecret = ys[s][0].length;
+                int count = numSecret * (minimum - 1);
+                if (coeffs.length < count) {
+                    coeffs = new long[count][4];
+                } else if (coeffs.length > count) {
+                    coeffs = Arrays.copyOf(coeffs, count);
+                }
+                random(coeffs, scratch);
+                for (int i = 0; i < ys[s].length; i++) {
+                    for (int j = 0; j < numSecret; j++) {
+                        long[] x = xs[s][i][xs[s][i].length == 1 ? 0 : j];
+                        // delta(x) = (...(b_(k-1) x + b_(k-2)) x + ... + b_1) x
+                        int c0 = j * (minimum - 1);
+                        Fp256.copy(t, coeffs[c0 + minimum - 2]);
+                        for (int c = minimum - 3; c >= 0; c--) {
+                            Fp256.mul(t, t, x);
+                            Fp256.add(t, t, coeffs[c0 + c]);
+                        }
+                        Fp256.mul(t, t, x);
+                        Fp256.add(ys[s][i][j], ys[s][i][j], t);
+                    }
+                }
+            }
+            Arrays.fill(scratch, (byte) 0);
+        });
+    }
 
     /**
-     * Returns a new array of secret shares (encoding x,y pairs as Base64 or Hex strings) created by Shamir's Secret
-     * Sharing Algorithm requiring a minimum number of share to recreate, of length shares, from the input secret raw as
-     * a string
+     * Like {@link #prepare(List, boolean)} for binary shares (see {@link BinaryShare}); their threshold is enforced
+     * on every combine.
      *
-     * @param minimum int minimum
-     * @param shares int shares
-     * @param secret String secret
-     * @param isBase64 True using encode Base64Url, otherwise encode Hex
-     * @return List string shares
+     * @param shares List binary shares
+     * @return PreparedShares prepared shares
      * @throws Exception Input params invalid
      */
-    public List<String> create(int minimum, int shares, String secret, boolean isBase64) throws Exception {
-        List<String> rs = new ArrayList<>();
-        // Verify minimum isn't greater than shares; there is no way to recreate
-        // the original polynomial in our current setup, therefore it doesn't make
-        // sense to generate fewer shares than are needed to reconstruct the secret.
-        if (minimum <= 0 || shares <= 0) {
-            throw new Exception("minimum or shares is invalid");
-        }
-        if (minimum > shares) {
-            throw new Exception("cannot require more shares then existing");
+    public PreparedShares prepareBinary(List<BinaryShare> shares) throws Exception {
+        if (shares == null || shares.isEmpty()) {
+            throw new Exception("shares is NULL or empty");
         }
-        if (secret == null || secret.isEmpty()) {
-            throw new Exception("secret is NULL or empty");
+        int numShare = shares.size();
+        long[][] x = new long[numShare][];
+        long[][][] ys = new long[numShare][][];
+        boolean isExact = decodeShareBinary(shares, x, ys);
+        long[][][] xs = new long[numShare][][];
+        for (int i = 0; i < numShare; i++) {
+            xs[i] = new long[][]{x[i]};
         }
+        return new PreparedShares(this, xs, ys, false, isExact, shares.get(0).threshold(), PreparedShares.DEFAULT_CACHE_SIZE);
+    }
 
-        // Convert the secret to its respective 256-bit BigInteger representation
-        List<BigInteger> secrets = splitSecretToBigInt(secret);
-
-        // List of currently used numbers in the polynomial
-        List<BigInteger> numbers = new ArrayList<>();
-        numbers.add(BigInteger.ZERO);
-
-        // Create the polynomial of degree (minimum - 1); that is, the highest
-        // order term is (minimum-1), though as there is a constant term with
-        // order 0, there are (minimum) number of coefficients.
-        // 
-        // However, the polynomial object is a 2d array, because we are constructing
-        // a different polynomial for each part of the secret
-        // 
-        // polynomial[parts][minimum]
-        BigInteger[][] polynomial = new BigInteger[secrets.size()][minimum];
-        for (int i = 0; i < secrets.size(); i++) {
-            polynomial[i][0] = secrets.get(i);
-            for (int j = 1; j < minimum; j++) {
-                // Each coefficient should be unique
-                BigInteger number = random();
-                while (inNumbers(numbers, number)) {
-                    number = random();
+    /**
+     * Combines shares of which some may be wrong, as from a faulty or malicious holder, and reports them. Shares are
+     * Reed-Solomon codewords, so with n shares of a secret requiring minimum of them up to (n - minimum) / 2 wrong
+     * ones are located per part by decoding (see {@link ReedSolomon}), instead of trying every subset. Compact shares
+     * share one decoder for all parts. Malformed shares, shares of another length and shares repeating the
+     * x-coordinate of an earlier one are set aside and reported as well.
+     *
+     * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @param minimum int minimum number of shares the secret was created with
+     * @return RobustSecret secret and faulty share indexes
+     * @throws Exception too many shares are faulty
+     */
+    public RobustSecret combineRobust(List<String> shares, boolean isBase64, int minimum) throws Exception {
+        if (shares == null || shares.isEmpty()) {
+            throw new Exception("shares is NULL or empty");
+        }
+        if (minimum <= 0) {
+            throw new Exception("minimum is invalid");
+        }
+        int numShare = shares.size();
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.COMBINE, formatOf(shares.get(0)), SSSMetrics.encoding(isBase64), 0, numShare, 0);
+        // points of the decodable shares; classic shares have one x-coordinate per part: xs[share][part]
+        long[][][] xs = new long[numShare][][];
+        long[][][] ys = new long[numShare][][];
+        boolean isClassic = !isCompactShare(shares.get(0));
+        Map<Integer, Integer> lengths = new HashMap<>();
+        for (int i = 0; i < numShare; i++) {
+            String share = shares.get(i);
+            try {
+                if (share == null || isCompactShare(share) == isClassic) {
+                    continue;
                 }
-                numbers.add(number);
-
-                polynomial[i][j] = number;
+                if (isClassic) {
+                    long[][][] points = decodeShareLegacy(Collections.singletonList(share), isBase64)[0];
+                    xs[i] = new long[points.length][];
+                    ys[i] = new long[points.length][];
+                    for (int j = 0; j < points.length; j++) {
+                        xs[i][j] = points[j][0];
+                        ys[i][j] = points[j][1];
+                    }
+                } else {
+                    long[][] x = new long[1][];
+                    long[][][] y = new long[1][][];
+                    decodeShareCompact(Collections.singletonList(share), isBase64, x, y);
+                    xs[i] = x;
+                    ys[i] = y[0];
+                }
+            } catch (Exception e) {
+                continue;
             }
+            lengths.merge(share.length(), 1, Integer::sum);
         }
-
-        // Create the points object; this holds the (x, y) points of each share.
-        // Again, because secrets is an array, each share could have multiple parts
-        // over which we are computing Shamir's Algorithm. The last dimension is
-        // always two, as it is storing an x, y pair of points.
-        // 
-        // For every share...
-        for (int i = 0; i < shares; i++) {
-            String s = "";
-            // and every part of the secret...
-            for (int j = 0; j < secrets.size(); j++) {
-                // generate a new x-coordinate
-                BigInteger x = random();
-                while (inNumbers(numbers, x)) {
-                    x = random();
-                }
-                numbers.add(x);
-
-                // and evaluate the polynomial at that point
-                BigInteger y = evaluatePolynomial(polynomial, j, x);
-
-                // encode to Base64 or Hex.
-                if (isBase64) {
-                    s += toBase64(x);
-                    s += toBase64(y);
+        // keep the most common length, and the first share of every x-coordinate
+        int length = -1;
+        for (Map.Entry<Integer, Integer> entry : lengths.entrySet()) {
+            if (length < 0 || entry.getValue() > lengths.get(length)) {
+                length = entry.getKey();
+            }
+        }
+        boolean[] faulty = new boolean[numShare];
+        int[] used = new int[numShare];
+        int n = 0;
+        for (int i = 0; i < numShare; i++) {
+            faulty[i] = ys[i] == null || shares.get(i).length() != length;
+            for (int u = 0; u < n && !faulty[i]; u++) {
+                for (int j = 0; j < xs[i].length && !faulty[i]; j++) {
+                    faulty[i] = Fp256.equals(xs[used[u]][j], xs[i][j]);
+                }
+            }
+            if (!faulty[i]) {
+                used[n++] = i;
+            }
+        }
+        if (n < minimum) {
+            throw new Exception("shares are fewer than the threshold");
+        }
+        SSSMetrics.lap(stats, Phase.DECODE, numShare);
+        used = Arrays.copyOf(used, n);
+        long[][] px = new long[n][];
+        long[][][] py = new long[n][][];
+        for (int u = 0; u < n; u++) {
+            py[u] = ys[used[u]];
+        }
+        // locate the wrong values of every part, then interpolate the first minimum right ones
+        int numSecret = py[0].length;
+        SSSMetrics.parts(stats, numSecret);
+        long[][] values = new long[numSecret][4];
+        ReedSolomon decoder = null;
+        Map<BitSet, long[][]> bases = new HashMap<>();
+        long[] t = Fp256.create();
+        for (int j = 0; j < numSecret; j++) {
+            if (isClassic || decoder == null) {
+                for (int u = 0; u < n; u++) {
+                    px[u] = xs[used[u]][isClassic ? j : 0];
+                }
+                decoder = new ReedSolomon(px, minimum);
+            }
+            int[] errors = decoder.errors(py, j);
+            if (errors == null) {
+                throw new Exception("too many shares are faulty");
+            }
+            BitSet picked = new BitSet();
+            for (int e : errors) {
+                faulty[used[e]] = true;
+            }
+            for (int u = 0, e = 0, c = 0; c < minimum; u++) {
+                if (e < errors.length && errors[e] == u) {
+                    e++;
                 } else {
-                    s += toHex(x);
-                    s += toHex(y);
+                    picked.set(u);
+                    c++;
                 }
             }
-            rs.add(s);
+            // compact shares reuse the basis of the picked shares; classic ones have other x-coordinates per part
+            long[][] basis = isClassic ? null : bases.get(picked);
+            if (basis == null) {
+                long[][] bx = new long[minimum][];
+                for (int u = picked.nextSetBit(0), c = 0; c < minimum; u = picked.nextSetBit(u + 1)) {
+                    bx[c++] = px[u];
+                }
+                basis = lagrangeBasisAtZero(bx);
+                if (!isClassic) {
+                    bases.put(picked, basis);
+                }
+            }
+            for (int u = picked.nextSetBit(0), c = 0; c < minimum; u = picked.nextSetBit(u + 1), c++) {
+                Fp256.mul(t, basis[c], py[u][j]);
+                Fp256.add(values[j], values[j], t);
+            }
         }
-
-        return rs;
+        // locating the errors is part of interpolating
+        SSSMetrics.lap(stats, Phase.INTERPOLATE, numSecret);
+        int[] faultyShares = new int[numShare];
+        int count = 0;
+        for (int i = 0; i < numShare; i++) {
+            if (faulty[i]) {
+                faultyShares[count++] = i;
+            }
+        }
+        boolean isExact = !isClassic && shares.get(used[0]).startsWith(BYTES_PREFIX);
+        byte[] secret = toSecret(values, isExact);
+        SSSMetrics.lap(stats, Phase.MERGE, secret.length);
+        SSSMetrics.end(stats);
+        return new RobustSecret(secret, Arrays.copyOf(faultyShares, count));
     }
 
     /**
-     * Takes a string array of shares encoded in Base64 or Hex created via Shamir's Algorithm Note: the polynomial will
-     * converge if the specified minimum number of shares or more are passed to this function. Passing thus does not
-     * affect it Passing fewer however, simply means that the returned secret is wrong.
+     * Returns an empty {@link ShareAccumulator} for shares of a secret requiring minimum shares, which folds shares in
+     * as they arrive and yields the secret as soon as minimum of them have been added.
      *
-     * @param shares List string shares
+     * @param minimum int minimum
      * @param isBase64 True using decode Base64Url, otherwise decode Hex
-     * @return String secret
+     * @return ShareAccumulator accumulator
      * @throws Exception Input params invalid
      */
-    public String combine(List<String> shares, boolean isBase64) throws Exception {
-        String rs = "";
-        if (shares == null || shares.isEmpty()) {
-            throw new Exception("shares is NULL or empty");
+    public ShareAccumulator accumulator(int minimum, boolean isBase64) throws Exception {
+        return new ShareAccumulator(this, minimum, isBase64);
+    }
+
+    // Interpolates byte-exact points (see BYTES_PREFIX) at 0, given the Lagrange basis of their x-coordinates,
+    // into out (parts * BYTES_PER_PART bytes); returns the secret length.
+    private int recoverExact(long[][] basis, long[][][] ys, byte[] out) throws Exception {
+        int numSecret = ys[0].length;
+        forRange(numSecret - 1, (from, to) -> {
+            long[] secret = Fp256.create();
+            long[] t = Fp256.create();
+            byte[] scratch = new byte[32];
+            for (int j = from; j < to; j++) {
+                interpolate(secret, basis, ys, j, t);
+                partToBytes(secret, false, out, j * BYTES_PER_PART, scratch);
+            }
+        });
+        long[] secret = Fp256.create();
+        interpolate(secret, basis, ys, numSecret - 1, Fp256.create());
+        return (numSecret - 1) * BYTES_PER_PART + partToBytes(secret, true, out, (numSecret - 1) * BYTES_PER_PART, new byte[32]);
+    }
+
+    // r = sum_i basis[i] * ys[i][part], the value at 0 of part; t is scratch.
+    static void interpolate(long[] r, long[][] basis, long[][][] ys, int part, long[] t) {
+        Fp256.setZero(r);
+        for (int i = 0; i < basis.length; i++) {
+            Fp256.mul(t, basis[i], ys[i][part]);
+            Fp256.add(r, r, t);
         }
+    }
 
-        // Recreate the original object of x, y points, based upon number of shares
-        // and size of each share (number of parts in the secret).
-        // 
-        // points[shares][parts][2]
-        BigInteger[][][] points;
-        if (isBase64) {
-            points = decodeShareBase64(shares);
+    // Combine shares in the compact format: the x-coordinates are the same for every part, so the
+    // Lagrange basis at 0 is computed once and each part is a dot product with the y-coordinates.
+    // Returns the secret bytes; exact for BYTES_PREFIX shares, with trailing zeros removed otherwise.
+    private byte[] combineCompact(List<String> shares, boolean isBase64, SSSCallStats stats) throws Exception {
+        int numShare = shares.size();
+        long[][] xs = new long[numShare][];
+        long[][][] ys = new long[numShare][][];
+        decodeShareCompact(shares, isBase64, xs, ys);
+        SSSMetrics.lap(stats, Phase.DECODE, numShare);
+        SSSMetrics.parts(stats, ys[0].length);
+        return recover(lagrangeBasisAtZero(xs), ys, shares.get(0).startsWith(BYTES_PREFIX), stats);
+    }
+
+    // Returns the statistics of a combine of compact shares, or null when no listener is registered.
+    private SSSCallStats beginCombine(List<String> shares, boolean isBase64) {
+        return SSSMetrics.begin(SSSCallStats.COMBINE, formatOf(shares.get(0)), SSSMetrics.encoding(isBase64), 0, shares.size(), 0);
+    }
+
+    // Returns the format of a string share for SSSCallStats: "exact", "compact" or "classic".
+    String formatOf(String share) {
+        if (share == null || !isCompactShare(share)) {
+            return "classic";
+        }
+        return share.startsWith(BYTES_PREFIX) ? "exact" : "compact";
+    }
+
+    // Interpolates the points of every part at 0, given the Lagrange basis of their x-coordinates, and returns
+    // the secret bytes: exact for byte-exact parts (see BYTES_PREFIX), otherwise 32 bytes per part with trailing
+    // zeros removed.
+    byte[] recover(long[][] basis, long[][][] ys, boolean isExact) throws Exception {
+        return recover(basis, ys, isExact, null);
+    }
+
+    // Like recover, timing into stats when not null. Each part is written out as it is interpolated, so INTERPOLATE
+    // covers both and MERGE only the copy to the secret's length.
+    byte[] recover(long[][] basis, long[][][] ys, boolean isExact, SSSCallStats stats) throws Exception {
+        int numSecret = ys[0].length;
+        byte[] rs;
+        if (isExact) {
+            byte[] bytes = new byte[numSecret * BYTES_PER_PART];
+            int len = recoverExact(basis, ys, bytes);
+            SSSMetrics.lap(stats, Phase.INTERPOLATE, numSecret);
+            rs = Arrays.copyOf(bytes, len);
         } else {
-            points = decodeShareHex(shares);
+            byte[] bytes = new byte[numSecret * 32];
+            forRange(numSecret, (from, to) -> {
+                long[] secret = Fp256.create();
+                long[] t = Fp256.create();
+                for (int j = from; j < to; j++) {
+                    interpolate(secret, basis, ys, j, t);
+                    Fp256.toBytes(secret, bytes, j * 32);
+                }
+            });
+            SSSMetrics.lap(stats, Phase.INTERPOLATE, numSecret);
+            rs = trimRight(bytes);
         }
+        SSSMetrics.lap(stats, Phase.MERGE, rs.length);
+        return rs;
+    }
 
-        // Use Lagrange Polynomial Interpolation (LPI) to reconstruct the secret.
-        // For each part of the secret (clearest to iterate over)...
-        List<BigInteger> secrets = new ArrayList<>();
-        int numSecret = points[0].length;
+    // Returns the secret bytes of the values at 0 of every part: exact for byte-exact parts (see BYTES_PREFIX),
+    // otherwise 32 bytes per part with trailing zeros removed.
+    byte[] toSecret(long[][] values, boolean isExact) throws Exception {
+        int numSecret = values.length;
+        byte[] scratch = new byte[32];
+        if (isExact) {
+            byte[] bytes = new byte[numSecret * BYTES_PER_PART];
+            int len = 0;
+            for (int j = 0; j < numSecret; j++) {
+                len += partToBytes(values[j], j == numSecret - 1, bytes, len, scratch);
+            }
+            return Arrays.copyOf(bytes, len);
+        }
+        byte[] bytes = new byte[numSecret * 32];
         for (int j = 0; j < numSecret; j++) {
-            secrets.add(BigInteger.ZERO);
-            // and every share...
-            for (int i = 0; i < shares.size(); i++) { // LPI sum loop
-                // remember the current x and y values
-                BigInteger ax = points[i][j][0]; // ax
-                BigInteger ay = points[i][j][1]; // ay
-                BigInteger numerator = BigInteger.ONE; // LPI numerator
-                BigInteger denominator = BigInteger.ONE; // LPI denominator
-                // and for every other point...
-                for (int k = 0; k < shares.size(); k++) { // LPI product loop
+            Fp256.toBytes(values[j], bytes, j * 32);
+        }
+        return trimRight(bytes);
+    }
+
+    // Returns the number of parts for a byte-exact secret of len bytes (see BYTES_PREFIX).
+    static int bytesToParts(int len) {
+        return len == 0 ? 1 : (len + BYTES_PER_PART - 1) / BYTES_PER_PART;
+    }
+
+    // Loads count (<= BYTES_PER_PART) secret bytes at src[off] into the part r (see BYTES_PREFIX).
+    static void bytesToPart(long[] r, byte[] src, int off, int count, boolean last, byte[] scratch) {
+        scratch[0] = last ? (byte) count : 0;
+        System.arraycopy(src, off, scratch, 1, count);
+        Arrays.fill(scratch, 1 + count, 32, (byte) 0);
+        Fp256.fromBytes(r, scratch, 0);
+    }
+
+    // Stores the secret bytes of part a at dst[off] and returns how many were written (see BYTES_PREFIX).
+    static int partToBytes(long[] a, boolean last, byte[] dst, int off, byte[] scratch) throws Exception {
+        Fp256.toBytes(a, scratch, 0);
+        int count = last ? scratch[0] : (scratch[0] == 0 ? BYTES_PER_PART : -1);
+        if (count < 0 || count > BYTES_PER_PART) {
+            throw new Exception("shares do not recover a valid secret");
+        }
+        System.arraycopy(scratch, 1, dst, off, count);
+        return count;
+    }
+
+    // Returns the Lagrange basis polynomials evaluated at 0 for the distinct non-zero points xs:
+    // basis[i] = prod_{k != i} (0 - xs[k]) / (xs[i] - xs[k]) = N / d_i, with N = prod_k (0 - xs[k]) and
+    // d_i = (0 - xs[i]) * prod_{k != i} (xs[i] - xs[k]) (barycentric form). All the d_i are inverted at once, so the
+    // basis costs about n^2 multiplications and one inversion; from FAST_INTERPOLATION_MINIMUM points the products
+    // prod_{k != i} (xs[i] - xs[k]) = M'(xs[i]), M = prod_k (x - xs[k]), come from a subproduct tree instead.
+    static long[][] lagrangeBasisAtZero(long[][] xs) {
+        return lagrangeBasisAtZero(xs, FAST_INTERPOLATION_MINIMUM);
+    }
+
+    // Like lagrangeBasisAtZero, using the subproduct tree from fastMinimum points; tests lower it to check the tree.
+    static long[][] lagrangeBasisAtZero(long[][] xs, int fastMinimum) {
+        int n = xs.length;
+        long[][] d = new long[n][4];
+        long[] t = Fp256.create();
+        if (n >= fastMinimum) {
+            SubproductTree tree = new SubproductTree(xs, n);
+            long[][] m = tree.product();
+            long[][] derivative = new long[n][4];
+            for (int i = 0; i < n; i++) {
+                Fp256.mul(derivative[i], m[i + 1], Fp256.valueOf(i + 1));
+            }
+            tree.evaluate(derivative, d);
+        } else {
+            for (int i = 0; i < n; i++) {
+                Fp256.setOne(d[i]);
+                for (int k = 0; k < n; k++) {
                     if (k != i) {
-                        // combine them via half products
-                        // x=0 ==> [(0-bx)/(ax-bx)] * ...
-                        BigInteger bx = points[k][j][0]; // bx
-                        BigInteger negbx = bx.multiply(new BigInteger("-1")); // (0-bx)
-                        BigInteger axbx = ax.subtract(bx); // (ax-bx)
-                        numerator = numerator.multiply(negbx).mod(PRIME); // (0-bx)*...
-                        denominator = denominator.multiply(axbx).mod(PRIME); // (ax-bx)*...
+                        Fp256.sub(t, xs[i], xs[k]);
+                        Fp256.mul(d[i], d[i], t);
                     }
                 }
-
-                // LPI product: x=0, y = ay * [(x-bx)/(ax-bx)] * ...
-                // multiply together the points (ay)(numerator)(denominator)^-1 ...
-                BigInteger fx = ay.multiply(numerator).mod(PRIME);
-                fx = fx.multiply(denominator.modInverse(PRIME)).mod(PRIME);
-
-                // LPI sum: s = fx + fx + ...
-                BigInteger secret = secrets.get(j);
-                secret = secret.add(fx).mod(PRIME);
-                secrets.set(j, secret);
             }
         }
-
-        // recover secret string.
-        rs = mergeBigIntToString(secrets);
-        return rs;
+        long[] numerator = Fp256.create();
+        Fp256.setOne(numerator);
+        for (int i = 0; i < n; i++) {
+            Fp256.neg(t, xs[i]);
+            Fp256.mul(numerator, numerator, t);
+            Fp256.mul(d[i], d[i], t);
+        }
+        Fp256.invAll(d, d);
+        for (int i = 0; i < n; i++) {
+            Fp256.mul(d[i], d[i], numerator);
+        }
+        return d;
     }
 
     /**
-     * Takes a string array of shares encoded in Base64 created via Shamir's Algorithm; each string must be of equal
-     * length of a multiple of 88 characters as a single 88 character share is a pair of 256-bit numbers (x, y).
+     * Takes a string array of shares in the compact format (see {@link #COMPACT_PREFIX}, {@link #BYTES_PREFIX}) encoded in Base64 or Hex;
+     * after the prefix each string holds one x-coordinate followed by one y-coordinate per part, each a 44 character
+     * Base64 or 64 character Hex 256-bit number. The x-coordinate is repeated in every part of the returned points so
+     * they have the same layout as {@link #decodeShareBase64(List)}.
      *
      * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
      * @return BigInteger[][][] Matrix points
      * @throws Exception Input params invalid
      */
-    public BigInteger[][][] decodeShareBase64(List<String> shares) throws Exception {
-        // Recreate the original object of x, y points, based upon number of shares
-        // and size of each share (number of parts in the secret).
-        // 
+    public BigInteger[][][] decodeShareCompact(List<String> shares, boolean isBase64) throws Exception {
+        long[][] xs = new long[shares.size()][];
+        long[][][] ys = new long[shares.size()][][];
+        decodeShareCompact(shares, isBase64, xs, ys);
+
         // points[shares][parts][2]
         BigInteger[][][] points = new BigInteger[shares.size()][][];
-
-        // For each share...
         for (int i = 0; i < shares.size(); i++) {
-            // ensure that it is valid
-            if (isValidShareBase64(shares.get(i)) == false) {
-                throw new Exception("one of the shares is invalid");
+            BigInteger x = Fp256.toBigInteger(xs[i]);
+            points[i] = new BigInteger[ys[i].length][];
+            for (int j = 0; j < ys[i].length; j++) {
+                points[i][j] = new BigInteger[]{x, Fp256.toBigInteger(ys[i][j])};
             }
+        }
+        return points;
+    }
 
-            // find the number of parts it represents.
+    // Decodes compact shares into xs[shares] and ys[shares][parts] field elements, checking
+    // that all shares have the same number of parts and distinct x-coordinates.
+    void decodeShareCompact(List<String> shares, boolean isBase64, long[][] xs, long[][][] ys) throws Exception {
+        int blockLen = ShareCodec.blockLength(isBase64);
+        int start = compactPrefixLength(shares.get(0));
+        int len = shares.get(0).length() - start;
+        if (start == 0 || len < 2 * blockLen || len % blockLen != 0) {
+            throw new Exception("one of the shares is invalid");
+        }
+        int parts = len / blockLen - 1;
+        for (int i = 0; i < shares.size(); i++) {
+            // ensure that it has the same format and length as the first...
             String share = shares.get(i);
-            int count = share.length() / 88;
-            points[i] = new BigInteger[count][];
-
-            // and for each part, find the x,y pair...
-            for (int j = 0; j < count; j++) {
-                points[i][j] = new BigInteger[2];
-                String cshare = share.substring(j * 88, (j + 1) * 88);
-                // decoding from Base64.
-                points[i][j][0] = fromBase64(cshare.substring(0, 44));
-                points[i][j][1] = fromBase64(cshare.substring(44, 88));
+            if (share == null || compactPrefixLength(share) != start) {
+                throw new Exception("one of the shares is invalid");
+            }
+            if (share.length() != start + len) {
+                throw new Exception("shares have different lengths");
+            }
+            // ...and a valid, distinct x-coordinate.
+            xs[i] = new long[4];
+            if (!ShareCodec.decode(share, start, isBase64, xs[i]) || Fp256.isZero(xs[i])) {
+                throw new Exception("one of the shares is invalid");
+            }
+            for (int k = 0; k < i; k++) {
+                if (Fp256.equals(xs[k], xs[i])) {
+                    throw new Exception("shares have duplicate x-coordinates");
+                }
             }
+            ys[i] = new long[parts][4];
         }
-        return points;
+        forRange(parts, (from, to) -> {
+            for (int i = 0; i < shares.size(); i++) {
+                String share = shares.get(i);
+                for (int j = from; j < to; j++) {
+                    if (!ShareCodec.decode(share, start + (j + 1) * blockLen, isBase64, ys[i][j])) {
+                        throw new Exception("one of the shares is invalid");
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Takes a string array of shares encoded in Base64 created via Shamir's Algorithm; each string must be of equal
+     * length of a multiple of 88 characters as a single 88 character share is a pair of 256-bit numbers (x, y).
+     *
+     * @param shares List string shares
+     * @return BigInteger[][][] Matrix points
+     * @throws Exception Input params invalid
+     */
+    public BigInteger[][][] decodeShareBase64(List<String> shares) throws Exception {
+        return toBigInteger(decodeShareLegacy(shares, true));
     }
 
     /**
@@ -244,36 +1992,51 @@ public class SSS {
      * @throws Exception Input params invalid
      */
     public BigInteger[][][] decodeShareHex(List<String> shares) throws Exception {
-        // Recreate the original object of x, y points, based upon number of shares
-        // and size of each share (number of parts in the secret).
-        // 
-        // points[shares][parts][2]
-        BigInteger[][][] points = new BigInteger[shares.size()][][];
+        return toBigInteger(decodeShareLegacy(shares, false));
+    }
 
+    // Decodes classic shares (one x,y pair per part) into points[shares][parts][2], validating every block
+    // in the same pass; see isValidShareBase64 and isValidShareHex.
+    static long[][][][] decodeShareLegacy(List<String> shares, boolean isBase64) throws Exception {
+        int pairLen = 2 * ShareCodec.blockLength(isBase64);
+        long[][][][] points = new long[shares.size()][][][];
         // For each share...
         for (int i = 0; i < shares.size(); i++) {
             // ensure that it is valid
-            if (isValidShareHex(shares.get(i)) == false) {
+            String share = shares.get(i);
+            if (share == null || share.isEmpty() || share.length() % pairLen != 0) {
                 throw new Exception("one of the shares is invalid");
             }
 
             // find the number of parts it represents.
-            String share = shares.get(i);
-            int count = share.length() / 128;
-            points[i] = new BigInteger[count][];
+            int count = share.length() / pairLen;
+            points[i] = new long[count][2][4];
 
             // and for each part, find the x,y pair...
             for (int j = 0; j < count; j++) {
-                points[i][j] = new BigInteger[2];
-                String cshare = share.substring(j * 128, (j + 1) * 128);
-                // decoding from Hex.
-                points[i][j][0] = fromHex(cshare.substring(0, 64));
-                points[i][j][1] = fromHex(cshare.substring(64, 128));
+                for (int c = 0; c < 2; c++) {
+                    long[] e = points[i][j][c];
+                    if (!ShareCodec.decode(share, (2 * j + c) * (pairLen / 2), isBase64, e) || Fp256.isZero(e)) {
+                        throw new Exception("one of the shares is invalid");
+                    }
+                }
             }
         }
         return points;
     }
 
+    private static BigInteger[][][] toBigInteger(long[][][][] points) {
+        BigInteger[][][] rs = new BigInteger[points.length][][];
+        for (int i = 0; i < points.length; i++) {
+            rs[i] = new BigInteger[points[i].length][2];
+            for (int j = 0; j < points[i].length; j++) {
+                rs[i][j][0] = Fp256.toBigInteger(points[i][j][0]);
+                rs[i][j][1] = Fp256.toBigInteger(points[i][j][1]);
+            }
+        }
+        return rs;
+    }
+
     // Convert ByteArrays to Hex String
     public String encodeHexString(byte[] bytes) {
         return DatatypeConverter.printHexBinary(bytes);
@@ -291,21 +2054,10 @@ public class SSS {
         List<BigInteger> rs = new ArrayList<>();
         if (secret != null && !secret.isEmpty()) {
             byte[] sbyte = secret.getBytes(StandardCharsets.UTF_8);
-            String hexData = encodeHexString(sbyte);
-            int count = (int) Math.ceil(hexData.length() / 64.0);
+            int count = (sbyte.length + 31) / 32;
             for (int i = 0; i < count; i++) {
-                if ((i + 1) * 64 < hexData.length()) {
-                    BigInteger bi = new BigInteger(hexData.substring(i * 64, (i + 1) * 64), 16);
-                    rs.add(bi);
-                } else {
-                    String last = hexData.substring(i * 64, hexData.length());
-                    int n = 64 - last.length();
-                    for (int j = 0; j < n; j++) {
-                        last += "0";
-                    }
-                    BigInteger bi = new BigInteger(last, 16);
-                    rs.add(bi);
-                }
+                byte[] part = Arrays.copyOfRange(sbyte, i * 32, (i + 1) * 32);
+                rs.add(new BigInteger(1, part));
             }
         }
         return rs;
@@ -313,20 +2065,43 @@ public class SSS {
 
     // Converts an array of BigInteger to the original byte array, removing any least significant nulls
     public String mergeBigIntToString(List<BigInteger> secrets) {
-        String rs = "";
-        String hexData = "";
-        for (BigInteger s : secrets) {
-            String tmp = s.toString(16);
-            int n = 64 - tmp.length();
-            for (int j = 0; j < n; j++) {
-                tmp = "0" + tmp;
-            }
-            hexData = hexData + tmp;
+        byte[] byteData = new byte[secrets.size() * 32];
+        long[] e = Fp256.create();
+        for (int i = 0; i < secrets.size(); i++) {
+            Fp256.set(e, secrets.get(i));
+            Fp256.toBytes(e, byteData, i * 32);
         }
-        byte[] byteData = decodeHexString(hexData);
         byteData = trimRight(byteData);
-        rs = new String(byteData, StandardCharsets.UTF_8);
-        return rs;
+        return new String(byteData, StandardCharsets.UTF_8);
+    }
+
+    // Converts a byte array into 256-bit field elements, right-padding the last one with zeros.
+    static long[][] splitSecret(byte[] secret) {
+        int count = (secret.length + 31) / 32;
+        long[][] parts = new long[count][4];
+        byte[] part = new byte[32];
+        for (int i = 0; i < count; i++) {
+            int n = Math.min(32, secret.length - i * 32);
+            System.arraycopy(secret, i * 32, part, 0, n);
+            Arrays.fill(part, n, 32, (byte) 0);
+            Fp256.fromBytes(parts[i], part, 0);
+        }
+        return parts;
+    }
+
+    // Converts the remaining bytes of the buffer into byte-exact parts (see BYTES_PREFIX), advancing its position.
+    static long[][] splitSecretExact(ByteBuffer secret) {
+        int len = secret.remaining();
+        int count = bytesToParts(len);
+        long[][] parts = new long[count][4];
+        byte[] part = new byte[BYTES_PER_PART];
+        byte[] scratch = new byte[32];
+        for (int i = 0; i < count; i++) {
+            int n = Math.min(BYTES_PER_PART, len - i * BYTES_PER_PART);
+            secret.get(part, 0, n);
+            bytesToPart(parts[i], part, 0, n, i == count - 1, scratch);
+        }
+        return parts;
     }
 
     // Remove right padding null bytes
@@ -342,11 +2117,41 @@ public class SSS {
 
     // Returns a random number from the range (0, PRIME-1) inclusive
     public BigInteger random() {
-        BigInteger rs = new BigInteger(256, rand);
-        while (rs.compareTo(PRIME) >= 0) {
-            rs = new BigInteger(256, rand);
+        long[] r = Fp256.create();
+        random(r, new byte[32]);
+        return Fp256.toBigInteger(r);
+    }
+
+    // Sets r to a random number from the range (0, PRIME-1) inclusive; scratch holds at least 32 bytes.
+    void random(long[] r, byte[] scratch) {
+        do {
+            rand.nextBytes(scratch, 0, 32);
+            Fp256.fromBytes(r, scratch, 0);
+        } while (!Fp256.isReduced(r));
+    }
+
+    // Returns a scratch buffer for drawing count field elements with random(long[][], byte[]): RANDOM_BATCH bytes at
+    // most, and no more than the draw needs, so small secrets do not allocate a full batch.
+    static byte[] randomScratch(int count) {
+        return new byte[32 * Math.max(1, Math.min(RANDOM_BATCH / 32, count))];
+    }
+
+    // Sets every element of rs to a random number from the range (0, PRIME-1) inclusive, drawing the bytes
+    // of up to scratch.length / 32 elements per call to the random source.
+    void random(long[][] rs, byte[] scratch) {
+        int batch = scratch.length / 32;
+        for (int from = 0; from < rs.length; from += batch) {
+            int n = Math.min(batch, rs.length - from);
+            rand.nextBytes(scratch, 0, 32 * n);
+            for (int i = 0; i < n; i++) {
+                Fp256.fromBytes(rs[from + i], scratch, 32 * i);
+                // values >= PRIME have probability 2^-248; redraw them alone in scratch[0, 32), already consumed
+                if (!Fp256.isReduced(rs[from + i])) {
+                    random(rs[from + i], scratch);
+                }
+            }
         }
-        return rs;
+        Arrays.fill(scratch, (byte) 0);
     }
 
     // inNumbers(array, value) returns boolean whether or not value is in array
@@ -362,7 +2167,7 @@ public class SSS {
     // Compute the polynomial value using Horner's method.
     // https://en.wikipedia.org/wiki/Horner%27s_method
     // y = a + bx + cx^2 + dx^3 = ((dx + c)x + b)x + a
-    private BigInteger evaluatePolynomial(BigInteger[][] poly, int part, BigInteger x) {
+    BigInteger evaluatePolynomial(BigInteger[][] poly, int part, BigInteger x) {
         int last = poly[part].length - 1;
         BigInteger accum = poly[part][last];
         for (int i = last - 1; i >= 0; --i) {
@@ -371,35 +2176,61 @@ public class SSS {
         return accum;
     }
 
+    // Compute the polynomial value at x using Horner's method on field elements.
+    // r must not alias x.
+    void evaluatePolynomial(long[] r, long[][] coeffs, long[] x) {
+        int last = coeffs.length - 1;
+        Fp256.copy(r, coeffs[last]);
+        for (int i = last - 1; i >= 0; --i) {
+            Fp256.mul(r, r, x);
+            Fp256.add(r, r, coeffs[i]);
+        }
+    }
+
     // Return Base64 string from BigInteger 256 bits long
     public String toBase64(BigInteger number) {
-        String hexdata = number.toString(16);
-        int n = 64 - hexdata.length();
-        for (int i = 0; i < n; i++) {
-            hexdata = "0" + hexdata;
+        if (number.signum() >= 0 && number.compareTo(PRIME) < 0) {
+            return ShareCodec.encode(Fp256.valueOf(number), true);
         }
-        return Base64.getUrlEncoder().encodeToString(decodeHexString(hexdata));
+        return Base64.getUrlEncoder().encodeToString(decodeHexString(padHex(number.toString(16))));
     }
 
     // Return Hex string from BigInteger 256 bits long
     public String toHex(BigInteger number) {
-        String hexdata = number.toString(16);
+        if (number.signum() >= 0 && number.compareTo(PRIME) < 0) {
+            return ShareCodec.encode(Fp256.valueOf(number), false);
+        }
+        return padHex(number.toString(16));
+    }
+
+    // Left-pads hex digits with zeros to 64 characters.
+    private static String padHex(String hexdata) {
         int n = 64 - hexdata.length();
-        for (int i = 0; i < n; i++) {
-            hexdata = "0" + hexdata;
+        if (n <= 0) {
+            return hexdata;
         }
-        return hexdata;
+        char[] c = new char[64];
+        Arrays.fill(c, 0, n, '0');
+        hexdata.getChars(0, hexdata.length(), c, n);
+        return new String(c);
     }
 
     // Return BigInteger from Base64 string.
     public BigInteger fromBase64(String number) {
+        long[] e = Fp256.create();
+        if (number.length() == ShareCodec.BASE64_BLOCK && ShareCodec.decode(number, 0, true, e)) {
+            return Fp256.toBigInteger(e);
+        }
         byte[] bytedata = Base64.getUrlDecoder().decode(number);
-        String hexdata = encodeHexString(bytedata);
-        return new BigInteger(hexdata, 16);
+        return new BigInteger(1, bytedata);
     }
 
     // Return BigInteger from Hex string.
     public BigInteger fromHex(String number) {
+        long[] e = Fp256.create();
+        if (number.length() == ShareCodec.HEX_BLOCK && ShareCodec.decode(number, 0, false, e)) {
+            return Fp256.toBigInteger(e);
+        }
         return new BigInteger(number, 16);
     }
 
@@ -409,42 +2240,84 @@ public class SSS {
     //	 Can decode each 44 character block as Base64
     // Returns only success/failure (bool)
     public boolean isValidShareBase64(String candidate) throws Exception {
-        if (candidate == null || candidate.isEmpty()) {
+        return isValidShareLegacy(candidate, true);
+    }
+
+    // Takes in a given string to check if it is a valid secret
+    // Requirements:
+    // 	 Length multiple of 128
+    //	 Can decode each 64 character block as Hex
+    // Returns only success/failure (bool)
+    public boolean isValidShareHex(String candidate) throws Exception {
+        return isValidShareLegacy(candidate, false);
+    }
+
+    // Every block of a classic share must decode to a number in (0, PRIME).
+    private static boolean isValidShareLegacy(String candidate, boolean isBase64) {
+        int blockLen = ShareCodec.blockLength(isBase64);
+        if (candidate == null || candidate.isEmpty() || candidate.length() % (2 * blockLen) != 0) {
             return false;
         }
-        if (candidate.length() % 88 != 0) {
+        long[] e = Fp256.create();
+        for (int off = 0; off < candidate.length(); off += blockLen) {
+            if (!ShareCodec.decode(candidate, off, isBase64, e) || Fp256.isZero(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns whether the share is in the compact format, i.e. starts with COMPACT_PREFIX or BYTES_PREFIX.
+    public boolean isCompactShare(String candidate) {
+        return compactPrefixLength(candidate) > 0;
+    }
+
+    // Returns the length of the compact prefix of the share, or 0 if it has none.
+    static int compactPrefixLength(CharSequence candidate) {
+        if (candidate == null) {
+            return 0;
+        }
+        if (startsWith(candidate, COMPACT_PREFIX)) {
+            return COMPACT_PREFIX.length();
+        }
+        if (startsWith(candidate, BYTES_PREFIX)) {
+            return BYTES_PREFIX.length();
+        }
+        return 0;
+    }
+
+    private static boolean startsWith(CharSequence s, String prefix) {
+        if (s.length() < prefix.length()) {
             return false;
         }
-        int count = candidate.length() / 44;
-        for (int i = 0; i < count; i++) {
-            String part = candidate.substring(i * 44, (i + 1) * 44);
-            BigInteger decode = fromBase64(part);
-            // decode <= 0 || decode >= PRIME ==> false
-            if (decode.compareTo(BigInteger.ZERO) <= 0 || decode.compareTo(PRIME) >= 0) {
+        for (int i = 0; i < prefix.length(); i++) {
+            if (s.charAt(i) != prefix.charAt(i)) {
                 return false;
             }
         }
         return true;
     }
 
-    // Takes in a given string to check if it is a valid secret
+    // Takes in a given string to check if it is a valid compact share
     // Requirements:
-    // 	 Length multiple of 128
-    //	 Can decode each 64 character block as Hex
+    // 	 Starts with COMPACT_PREFIX or BYTES_PREFIX
+    // 	 Followed by (1 + parts) blocks of 44 (Base64) or 64 (Hex) characters, parts >= 1
+    // 	 x-coordinate in (0, PRIME), y-coordinates in [0, PRIME)
     // Returns only success/failure (bool)
-    public boolean isValidShareHex(String candidate) throws Exception {
-        if (candidate == null || candidate.isEmpty()) {
+    public boolean isValidShareCompact(String candidate, boolean isBase64) throws Exception {
+        if (!isCompactShare(candidate)) {
             return false;
         }
-        if (candidate.length() % 128 != 0) {
+        int blockLen = ShareCodec.blockLength(isBase64);
+        int start = compactPrefixLength(candidate);
+        int len = candidate.length() - start;
+        if (len < 2 * blockLen || len % blockLen != 0) {
             return false;
         }
-        int count = candidate.length() / 64;
-        for (int i = 0; i < count; i++) {
-            String part = candidate.substring(i * 64, (i + 1) * 64);
-            BigInteger decode = fromHex(part);
-            // decode <= 0 || decode >= PRIME ==> false
-            if (decode.compareTo(BigInteger.ZERO) <= 0 || decode.compareTo(PRIME) >= 0) {
+        long[] e = Fp256.create();
+        for (int off = start; off < candidate.length(); off += blockLen) {
+            // x in (0, PRIME), y in [0, PRIME)
+            if (!ShareCodec.decode(candidate, off, isBase64, e) || (off == start && Fp256.isZero(e))) {
                 return false;
             }
         }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+/**
+ * Timings and counts of one create or combine call, by phase, with the parameters of the call. A phase is timed on
+ * the calling thread as the wall-clock time of its block, including work it hands to the pool; the phases of a call
+ * add up to about its total time. Time outside every phase, such as the stream I/O of {@link SSSStream} or the
+ * commitments of a verifiable create, only counts in the total.
+ * 
+ * A batch call reports once for all its secrets. Its per-secret loop runs on the pool, so it is timed as one phase:
+ * EVALUATE for createBatch, including the draws and encoding of each secret, and INTERPOLATE for combineBatch,
+ * including the decoding of each share set. A combine of compact, exact or binary shares writes the bytes of each
+ * part as it is interpolated, so its MERGE only times the copy to the secret's length. The timed code is the same
+ * whether or not a listener is registered.
+ * 
+ * The counts are: field elements drawn (RANDOM), polynomial evaluations (EVALUATE), shares encoded (ENCODE), shares
+ * decoded and validated (DECODE), parts interpolated (INTERPOLATE) and secret bytes merged (MERGE). A stream writes
+ * and reads its shares a chunk at a time, so its ENCODE and DECODE count coordinate blocks instead of shares.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class SSSCallStats {
+
+    public enum Phase {
+        RANDOM, EVALUATE, ENCODE, DECODE, INTERPOLATE, MERGE
+    }
+
+    public static final String CREATE = "create";
+    public static final String COMBINE = "combine";
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final String operation;
+    private final String format;
+    private final String encoding;
+    private final int threshold;
+    private final int shares;
+    private int parts;
+    private int secrets = 1;
+    private final long[] nanos = new long[PHASES.length];
+    private final long[] counts = new long[PHASES.length];
+    private final long start;
+    private long mark;
+    private long total;
+    // Phase time spent before the call, e.g. folding shares into a ShareAccumulator, included in the total.
+    private long carried;
+    // The Flight Recorder event begun with the call, if any; an Object so this class does not need jdk.jfr.
+    Object event;
+
+    SSSCallStats(String operation, String format, String encoding, int threshold, int shares, int parts) {
+        this.operation = operation;
+        this.format = format;
+        this.encoding = encoding;
+        this.threshold = threshold;
+        this.shares = shares;
+        this.parts = parts;
+        this.start = System.nanoTime();
+        this.mark = start;
+    }
+
+    // Adds the time since the previous lap to phase, and count to its count.
+    void lap(Phase phase, long count) {
+        long now = System.nanoTime();
+        nanos[phase.ordinal()] += now - mark;
+        counts[phase.ordinal()] += count;
+        mark = now;
+    }
+
+    // Restarts the current lap without adding its time to any phase.
+    void skip() {
+        mark = System.nanoTime();
+    }
+
+    // Adds nanos spent before the call to phase, and count to its count.
+    void carry(Phase phase, long nanos, long count) {
+        this.nanos[phase.ordinal()] += nanos;
+        counts[phase.ordinal()] += count;
+        carried += nanos;
+    }
+
+    void parts(int parts) {
+        this.parts = parts;
+    }
+
+    void secrets(int secrets) {
+        this.secrets = secrets;
+    }
+
+    void end() {
+        total = System.nanoTime() - start + carried;
+    }
+
+    // "create" or "combine".
+    public String operation() {
+        return operation;
+    }
+
+    // "classic", "compact", "exact" (see SSS.BYTES_PREFIX), "binary" (raw shares), "header" (see BinaryShare) or
+    // "stream" (see SSSStream).
+    public String format() {
+        return format;
+    }
+
+    // "base64", "hex" or "raw".
+    public String encoding() {
+        return encoding;
+    }
+
+    // The minimum number of shares of a create; 0 for a combine, where the shares do not record it.
+    public int threshold() {
+        return threshold;
+    }
+
+    // The number of shares created or combined, per secret for a batch.
+    public int shares() {
+        return shares;
+    }
+
+    // The number of parts of the secret, of all its secrets for a batch.
+    public int parts() {
+        return parts;
+    }
+
+    // The number of secrets: 1 unless the call is a batch.
+    public int secrets() {
+        return secrets;
+    }
+
+    public long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public long count(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    public long totalNanos() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(operation).append(' ').append(format).append('/').append(encoding)
+                .append(" k=").append(threshold).append(" n=").append(shares).append(" parts=").append(parts);
+        if (secrets != 1) {
+            sb.append(" secrets=").append(secrets);
+        }
+        sb.append(" total=").append(total).append("ns");
+        for (Phase phase : PHASES) {
+            if (counts[phase.ordinal()] > 0) {
+                sb.append(' ').append(phase.name().toLowerCase()).append('=').append(nanos[phase.ordinal()])
+                        .append("ns/").append(counts[phase.ordinal()]);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Shamir's Secret Sharing over GF(2^8), byte by byte.
+ * 
+ * Every byte of the secret is the constant term of its own polynomial of degree (minimum - 1) in
+ * {@link GF256}; a share holds the value of each polynomial at one x-coordinate, so it is the secret
+ * length plus one byte: y[0] ... y[len - 1], x. The x-coordinates are distinct and non-zero, which
+ * limits a secret to 255 shares. The methods have the same shape as {@link SSS}, but the two engines
+ * do not read each other's shares.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public class SSSGF256 {
+
+    // Maximum number of shares: one per non-zero x-coordinate.
+    public static final int MAX_SHARES = 255;
+    // Bytes processed per pass over the shares, so the random coefficients stay in cache.
+    private static final int CHUNK = 16 * 1024;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // Bulk random bytes; thread-safe, so one engine can serve many threads.
+    private final RandomSource rand;
+
+    public SSSGF256() {
+        this(RandomSource.threadLocal());
+    }
+
+    /**
+     * Creates an engine drawing its randomness from the given source (see {@link RandomSource}).
+     *
+     * @param random RandomSource source of random bytes
+     */
+    public SSSGF256(RandomSource random) {
+        if (random == null) {
+            throw new IllegalArgumentException("random is NULL");
+        }
+        this.rand = random;
+    }
+
+    /**
+     * Returns a new array of secret shares (encoding x,y pairs as Base64 or Hex strings) created by Shamir's Secret
+     * Sharing Algorithm over GF(2^8), requiring a minimum number of share to recreate, of length shares, from the
+     * input secret raw as a string
+     *
+     * @param minimum int minimum
+     * @param shares int shares
+     * @param secret String secret
+     * @param isBase64 True using encode Base64Url, otherwise encode Hex
+     * @return List string shares
+     * @throws Exception Input params invalid
+     */
+    public List<String> create(int minimum, int shares, String secret, boolean isBase64) throws Exception {
+        if (secret == null || secret.isEmpty()) {
+            throw new Exception("secret is NULL or empty");
+        }
+        return create(minimum, shares, secret.getBytes(StandardCharsets.UTF_8), isBase64);
+    }
+
+    /**
+     * Like {@link #create(int, int, String, boolean)} for a secret given as exact bytes.
+     *
+     * @param minimum int minimum
+     * @param shares int shares
+     * @param secret byte[] secret
+     * @param isBase64 True using encode Base64Url, otherwise encode Hex
+     * @return List string shares
+     * @throws Exception Input params invalid
+     */
+    public List<String> create(int minimum, int shares, byte[] secret, boolean isBase64) throws Exception {
+        List<byte[]> raw = create(minimum, shares, secret);
+        List<String> rs = new ArrayList<>(raw.size());
+        for (byte[] share : raw) {
+            rs.add(isBase64 ? Base64.getUrlEncoder().encodeToString(share) : toHex(share));
+        }
+        return rs;
+    }
+
+    /**
+     * Returns binary shares of the secret bytes: each is secret.length + 1 bytes, the y-coordinates of every byte
+     * followed by the x-coordinate.
+     *
+     * @param minimum int minimum
+     * @param shares int shares
+     * @param secret byte[] secret
+     * @return List binary shares
+     * @throws Exception Input params invalid
+     */
+    public List<byte[]> create(int minimum, int shares, byte[] secret) throws Exception {
+        if (minimum <= 0 || shares <= 0) {
+            throw new Exception("minimum or shares is invalid");
+        }
+        if (minimum > shares) {
+            throw new Exception("cannot require more shares then existing");
+        }
+        if (shares > MAX_SHARES) {
+            throw new Exception("shares is greater than " + MAX_SHARES);
+        }
+        if (secret == null) {
+            throw new Exception("secret is NULL or empty");
+        }
+        int len = secret.length;
+        int[] xs = randomXs(shares);
+        byte[][] ys = new byte[shares][len + 1];
+        for (int i = 0; i < shares; i++) {
+            ys[i][len] = (byte) xs[i];
+        }
+        byte[] coeff = new byte[Math.min(len, CHUNK)];
+        for (int off = 0; off < len; off += CHUNK) {
+            int n = Math.min(CHUNK, len - off);
+            // Horner's rule from the highest coefficient down to the secret, over the whole chunk.
+            for (int c = minimum - 1; c >= 0; c--) {
+                byte[] src = secret;
+                int srcOff = off;
+                if (c > 0) {
+                    rand.nextBytes(coeff, 0, n);
+                    src = coeff;
+                    srcOff = 0;
+                }
+                for (int i = 0; i < shares; i++) {
+                    if (c == minimum - 1) {
+                        System.arraycopy(src, srcOff, ys[i], off, n);
+                    } else {
+                        GF256.mulAdd(ys[i], xs[i], src, srcOff, off, n);
+                    }
+                }
+            }
+        }
+        List<byte[]> rs = new ArrayList<>(shares);
+        for (byte[] y : ys) {
+            rs.add(y);
+        }
+        return rs;
+    }
+
+    /**
+     * Takes a string array of shares encoded in Base64 or Hex created via Shamir's Algorithm over GF(2^8).
+     * Note: the polynomial will converge if the specified minimum number of shares or more are passed to this
+     * function. Passing thus does not affect it Passing fewer however, simply means that the returned secret is wrong.
+     *
+     * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @return String secret
+     * @throws Exception Input params invalid
+     */
+    public String combine(List<String> shares, boolean isBase64) throws Exception {
+        return new String(combineBytes(shares, isBase64), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Like {@link #combine(List, boolean)} but returns the exact secret bytes.
+     *
+     * @param shares List string shares
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @return byte[] secret
+     * @throws Exception Input params invalid
+     */
+    public byte[] combineBytes(List<String> shares, boolean isBase64) throws Exception {
+        if (shares == null || shares.isEmpty()) {
+            throw new Exception("shares is NULL or empty");
+        }
+        List<byte[]> raw = new ArrayList<>(shares.size());
+        for (String share : shares) {
+            byte[] b = share == null ? null : (isBase64 ? fromBase64(share) : fromHex(share));
+            if (b == null) {
+                throw new Exception("one of the shares is invalid");
+            }
+            raw.add(b);
+        }
+        return combine(raw);
+    }
+
+    /**
+     * Takes binary shares created by {@link #create(int, int, byte[])} and returns the secret bytes.
+     *
+     * @param shares List binary shares
+     * @return byte[] secret
+     * @throws Exception Input params invalid
+     */
+    public byte[] combine(List<byte[]> shares) throws Exception {
+        if (shares == null || shares.isEmpty()) {
+            throw new Exception("shares is NULL or empty");
+        }
+        int numShare = shares.size();
+        if (shares.get(0) == null || shares.get(0).length == 0) {
+            throw new Exception("one of the shares is invalid");
+        }
+        int len = shares.get(0).length - 1;
+        int[] xs = new int[numShare];
+        boolean[] seen = new boolean[256];
+        for (int i = 0; i < numShare; i++) {
+            byte[] share = shares.get(i);
+            if (share == null || share.length != len + 1) {
+                throw new Exception("shares have different lengths");
+            }
+            xs[i] = share[len] & 0xFF;
+            if (xs[i] == 0) {
+                throw new Exception("one of the shares is invalid");
+            }
+            if (seen[xs[i]]) {
+                throw new Exception("shares have duplicate x-coordinates");
+            }
+            seen[xs[i]] = true;
+        }
+        int[] basis = lagrangeBasisAtZero(xs);
+        byte[] secret = new byte[len];
+        for (int off = 0; off < len; off += CHUNK) {
+            int n = Math.min(CHUNK, len - off);
+            for (int i = 0; i < numShare; i++) {
+                GF256.addMul(secret, off, basis[i], shares.get(i), off, n);
+            }
+        }
+        return secret;
+    }
+
+    // Returns count distinct random x-coordinates in [1, 255]: a partial Fisher-Yates shuffle.
+    private int[] randomXs(int count) {
+        int[] all = new int[MAX_SHARES];
+        for (int i = 0; i < MAX_SHARES; i++) {
+            all[i] = i + 1;
+        }
+        for (int i = 0; i < count; i++) {
+            int j = i + rand.nextInt(MAX_SHARES - i);
+            int t = all[i];
+            all[i] = all[j];
+            all[j] = t;
+        }
+        int[] xs = new int[count];
+        System.arraycopy(all, 0, xs, 0, count);
+        return xs;
+    }
+
+    // Returns the Lagrange basis polynomials evaluated at 0 for the distinct points xs:
+    // basis[i] = prod_{k != i} xs[k] / (xs[i] - xs[k]); subtraction is XOR in GF(2^8).
+    static int[] lagrangeBasisAtZero(int[] xs) {
+        int[] basis = new int[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            int numerator = 1;
+            int denominator = 1;
+            for (int k = 0; k < xs.length; k++) {
+                if (k != i) {
+                    numerator = GF256.mul(numerator, xs[k]);
+                    denominator = GF256.mul(denominator, xs[i] ^ xs[k]);
+                }
+            }
+            basis[i] = GF256.div(numerator, denominator);
+        }
+        return basis;
+    }
+
+    // Lowercase Hex encoding.
+    private static String toHex(byte[] b) {
+        char[] c = new char[b.length * 2];
+        for (int i = 0; i < b.length; i++) {
+            c[2 * i] = HEX_DIGITS[(b[i] >> 4) & 0xF];
+            c[2 * i + 1] = HEX_DIGITS[b[i] & 0xF];
+        }
+        return new String(c);
+    }
+
+    // Returns the Hex decoded bytes, or null if malformed.
+    private static byte[] fromHex(String s) {
+        if (s.length() % 2 != 0) {
+            return null;
+        }
+        byte[] b = new byte[s.length() / 2];
+        for (int i = 0; i < b.length; i++) {
+            int hi = Character.digit(s.charAt(2 * i), 16);
+            int lo = Character.digit(s.charAt(2 * i + 1), 16);
+            if (hi < 0 || lo < 0) {
+                return null;
+            }
+            b[i] = (byte) ((hi << 4) | lo);
+        }
+        return b;
+    }
+
+    // Returns the Base64Url decoded bytes, or null if malformed.
+    private static byte[] fromBase64(String s) {
+        try {
+            return Base64.getUrlDecoder().decode(s);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,470 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Hybrid secret sharing for large payloads ("secret sharing made short"): the payload is encrypted with a fresh
+ * AES-256-GCM key, the ciphertext is dispersed with a k-of-n Reed-Solomon erasure code over GF(2^8), and only the key
+ * is shared with {@link SSS}. Each fragment is about |payload| / k bytes instead of twice the payload, so n fragments
+ * take about n / k times the payload in total.
+ * 
+ * The payload is processed in segments of segmentSize bytes, each encrypted on its own with a nonce made of its index
+ * and a final-segment flag, so split and combine stream with constant memory, a segment is written only after its
+ * tag is checked, and a truncated or reordered fragment fails to decrypt. Each ciphertext segment is padded with 0x80
+ * and zeros to k rows of equal length; fragments 0 .. k-1 hold the rows themselves and the others hold parity rows of
+ * a systematic Vandermonde code, so any k fragments recover the segment.
+ * 
+ * <pre>
+ *  offset  size  field
+ *       0     4  magic "SSSH"
+ *       4     1  version (1)
+ *       5     1  threshold k
+ *       6     1  fragment index, in [0, n)
+ *       7     1  reserved (0)
+ *       8     4  segment size in bytes
+ *      12    96  binary share of the key (see SSS#create(int, int, byte[]))
+ *     108        per segment, ceil((ciphertext + 1) / k) bytes
+ * </pre>
+ * 
+ * The fragments are authenticated as a whole by the payload's tags: a corrupted fragment makes combine fail, it is not
+ * corrected.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public class SSSHybrid {
+
+    public static final int MAGIC = 0x53535348; // "SSSH"
+    public static final int VERSION = 1;
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+    // Largest segment size; combine reads it from an untrusted header and buffers a few segments per call.
+    public static final int MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+    // Maximum number of fragments: one per element of GF(2^8) used as a Vandermonde point.
+    public static final int MAX_FRAGMENTS = 255;
+
+    private static final int KEY_LENGTH = 32;
+    private static final int TAG_LENGTH = 16;
+    private static final int NONCE_LENGTH = 12;
+    private static final int KEY_SHARE_LENGTH = SSS.shareLength(KEY_LENGTH);
+    static final int HEADER_LENGTH = 12 + KEY_SHARE_LENGTH;
+
+    private final RandomSource rand;
+    private final SSS sss;
+    private final int segmentSize;
+
+    public SSSHybrid() {
+        this(RandomSource.threadLocal(), DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates an engine drawing its keys from the given source (see {@link RandomSource}) and encrypting the payload
+     * in segments of segmentSize bytes.
+     *
+     * @param random RandomSource source of random bytes
+     * @param segmentSize int plaintext bytes per segment, at most {@link #MAX_SEGMENT_SIZE}
+     */
+    public SSSHybrid(RandomSource random, int segmentSize) {
+        if (random == null || !isSegmentSize(segmentSize)) {
+            throw new IllegalArgumentException("random is NULL or segmentSize is invalid");
+        }
+        this.rand = random;
+        this.sss = new SSS(random);
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Returns the length in bytes of each fragment of a payload of payloadLength bytes split with the given threshold.
+     *
+     * @param payloadLength long payload length
+     * @param minimum int minimum
+     * @return long fragment length
+     */
+    public long fragmentLength(long payloadLength, int minimum) {
+        long full = payloadLength / segmentSize;
+        int rest = (int) (payloadLength % segmentSize);
+        // A payload of whole segments ends with a full final segment; only an empty payload has an empty one.
+        if (rest == 0 && full > 0) {
+            full--;
+            rest = segmentSize;
+        }
+        return HEADER_LENGTH + full * rowLength(segmentSize + TAG_LENGTH, minimum) + rowLength(rest + TAG_LENGTH, minimum);
+    }
+
+    /**
+     * Reads the payload from in until end of stream and writes one fragment to each of outs, requiring minimum
+     * fragments to recover it. The streams are flushed but not closed.
+     *
+     * @param minimum int minimum
+     * @param in InputStream payload
+     * @param outs List OutputStream fragments, one per fragment
+     * @throws Exception Input params invalid or I/O error
+     */
+    public void split(int minimum, InputStream in, List<? extends OutputStream> outs) throws Exception {
+        if (in == null || outs == null || outs.isEmpty()) {
+            throw new Exception("input or outputs is NULL or empty");
+        }
+        int fragments = outs.size();
+        if (minimum <= 0) {
+            throw new Exception("minimum or shares is invalid");
+        }
+        if (minimum > fragments) {
+            throw new Exception("cannot require more shares then existing");
+        }
+        if (fragments > MAX_FRAGMENTS) {
+            throw new Exception("shares is greater than " + MAX_FRAGMENTS);
+        }
+        byte[] key = new byte[KEY_LENGTH];
+        rand.nextBytes(key);
+        try {
+            List<byte[]> keyShares = sss.create(minimum, fragments, key);
+            byte[] header = new byte[HEADER_LENGTH];
+            for (int i = 0; i < fragments; i++) {
+                writeHeader(header, minimum, i, keyShares.get(i));
+                outs.get(i).write(header);
+            }
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            SecretKeySpec spec = new SecretKeySpec(key, "AES");
+            byte[] aad = aad(minimum, segmentSize);
+            byte[][] parity = parityMatrix(minimum, fragments);
+
+            int maxRow = rowLength(segmentSize + TAG_LENGTH, minimum);
+            byte[] plain = new byte[segmentSize];
+            byte[] data = new byte[minimum * maxRow];
+            byte[] row = new byte[maxRow];
+            long index = 0;
+            // Read one byte ahead so we know which segment is the final one.
+            int len = SSSStream.readFully(in, plain, 0, plain.length);
+            int next = len == plain.length ? in.read() : -1;
+            while (true) {
+                boolean last = next < 0;
+                cipher.init(Cipher.ENCRYPT_MODE, spec, nonce(index, last));
+                cipher.updateAAD(aad);
+                int c = cipher.doFinal(plain, 0, len, data, 0);
+                int rowLen = pad(data, c, minimum);
+                for (int j = 0; j < minimum; j++) {
+                    outs.get(j).write(data, j * rowLen, rowLen);
+                }
+                for (int p = 0; p < parity.length; p++) {
+                    Arrays.fill(row, 0, rowLen, (byte) 0);
+                    for (int j = 0; j < minimum; j++) {
+                        GF256.addMul(row, 0, parity[p][j] & 0xFF, data, j * rowLen, rowLen);
+                    }
+                    outs.get(minimum + p).write(row, 0, rowLen);
+                }
+                if (last) {
+                    break;
+                }
+                index++;
+                plain[0] = (byte) next;
+                len = 1 + SSSStream.readFully(in, plain, 1, plain.length - 1);
+                next = len == plain.length ? in.read() : -1;
+            }
+            for (OutputStream out : outs) {
+                out.flush();
+            }
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * Reads fragments created by {@link #split(int, InputStream, List)} and writes the payload to out. Any threshold
+     * number of fragments, in any order, recover it; only the first threshold fragments given are read. Each segment
+     * is written once its tag is checked, so when this throws, the bytes already written must be discarded. The
+     * streams are flushed but not closed.
+     *
+     * @param ins List InputStream fragments
+     * @param out OutputStream payload
+     * @throws Exception Input params invalid, fragments invalid, corrupted or fewer than the threshold, or I/O error
+     */
+    public void combine(List<? extends InputStream> ins, OutputStream out) throws Exception {
+        if (ins == null || ins.isEmpty() || out == null) {
+            throw new Exception("inputs or output is NULL or empty");
+        }
+        // Headers: every fragment must belong to the same split, with distinct indexes.
+        byte[] header = new byte[HEADER_LENGTH];
+        int minimum = -1;
+        int segment = -1;
+        boolean[] seen = new boolean[MAX_FRAGMENTS];
+        List<byte[]> keyShares = new ArrayList<>();
+        int[] indexes = null;
+        List<InputStream> used = new ArrayList<>();
+        for (InputStream in : ins) {
+            if (in == null || SSSStream.readFully(in, header, 0, HEADER_LENGTH) != HEADER_LENGTH) {
+                throw new Exception("one of the fragments is invalid");
+            }
+            ByteBuffer bb = ByteBuffer.wrap(header);
+            int k = header[5] & 0xFF;
+            int index = header[6] & 0xFF;
+            if (bb.getInt(0) != MAGIC || header[4] != VERSION || k == 0 || index >= MAX_FRAGMENTS || !isSegmentSize(bb.getInt(8))) {
+                throw new Exception("one of the fragments is invalid");
+            }
+            if (minimum < 0) {
+                minimum = k;
+                segment = bb.getInt(8);
+                indexes = new int[k];
+            } else if (k != minimum || bb.getInt(8) != segment) {
+                throw new Exception("fragments are from different splits");
+            }
+            if (seen[index]) {
+                throw new Exception("fragments have duplicate indexes");
+            }
+            seen[index] = true;
+            indexes[used.size()] = index;
+            keyShares.add(Arrays.copyOfRange(header, 12, HEADER_LENGTH));
+            used.add(in);
+            if (used.size() == minimum) {
+                break;
+            }
+        }
+        if (used.size() < minimum) {
+            throw new Exception("fragments are fewer than the threshold");
+        }
+        byte[] key = sss.combine(keyShares);
+        try {
+            if (key.length != KEY_LENGTH) {
+                throw new Exception("fragments are from different splits");
+            }
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            SecretKeySpec spec = new SecretKeySpec(key, "AES");
+            byte[] aad = aad(minimum, segment);
+            byte[][] decode = decodeMatrix(minimum, indexes);
+            // Rows held by a data fragment are copied as they are.
+            int[] copy = new int[minimum];
+            Arrays.fill(copy, -1);
+            for (int i = 0; i < minimum; i++) {
+                if (indexes[i] < minimum) {
+                    copy[indexes[i]] = i;
+                }
+            }
+
+            int maxRow = rowLength(segment + TAG_LENGTH, minimum);
+            // Two input buffers per fragment: the next segment is read before the current one is decrypted.
+            byte[][][] bufs = new byte[2][minimum][maxRow];
+            byte[] data = new byte[minimum * maxRow];
+            byte[] plain = new byte[segment];
+            int cur = 0;
+            int rowLen = read(used, bufs[cur]);
+            if (rowLen == 0) {
+                throw new Exception("one of the fragments is invalid");
+            }
+            for (long index = 0; ; index++) {
+                int nextLen = read(used, bufs[cur ^ 1]);
+                boolean last = nextLen == 0;
+                if (!last && rowLen != maxRow) {
+                    throw new Exception("one of the fragments is invalid");
+                }
+                for (int j = 0; j < minimum; j++) {
+                    if (copy[j] >= 0) {
+                        System.arraycopy(bufs[cur][copy[j]], 0, data, j * rowLen, rowLen);
+                        continue;
+                    }
+                    Arrays.fill(data, j * rowLen, (j + 1) * rowLen, (byte) 0);
+                    for (int i = 0; i < minimum; i++) {
+                        GF256.addMul(data, j * rowLen, decode[j][i] & 0xFF, bufs[cur][i], 0, rowLen);
+                    }
+                }
+                int c = unpad(data, minimum * rowLen);
+                if (c < TAG_LENGTH || c > segment + TAG_LENGTH) {
+                    throw new Exception("payload authentication failed");
+                }
+                cipher.init(Cipher.DECRYPT_MODE, spec, nonce(index, last));
+                cipher.updateAAD(aad);
+                int len;
+                try {
+                    len = cipher.doFinal(data, 0, c, plain, 0);
+                } catch (AEADBadTagException e) {
+                    throw new Exception("payload authentication failed", e);
+                }
+                out.write(plain, 0, len);
+                if (last) {
+                    break;
+                }
+                rowLen = nextLen;
+                cur ^= 1;
+            }
+            out.flush();
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    private void writeHeader(byte[] header, int minimum, int index, byte[] keyShare) {
+        ByteBuffer bb = ByteBuffer.wrap(header);
+        bb.putInt(0, MAGIC);
+        header[4] = VERSION;
+        header[5] = (byte) minimum;
+        header[6] = (byte) index;
+        header[7] = 0;
+        bb.putInt(8, segmentSize);
+        System.arraycopy(keyShare, 0, header, 12, KEY_SHARE_LENGTH);
+    }
+
+    private static boolean isSegmentSize(int segmentSize) {
+        return segmentSize > 0 && segmentSize <= MAX_SEGMENT_SIZE;
+    }
+
+    // The header fields common to every fragment, bound to each segment as associated data.
+    private static byte[] aad(int minimum, int segmentSize) {
+        ByteBuffer bb = ByteBuffer.allocate(12);
+        bb.putInt(MAGIC).put((byte) VERSION).put((byte) minimum).put((byte) 0).put((byte) 0).putInt(segmentSize);
+        return bb.array();
+    }
+
+    // Segment index in the first 8 bytes, final-segment flag in the last; the key is fresh, so nonces never repeat.
+    private static GCMParameterSpec nonce(long index, boolean last) {
+        byte[] iv = new byte[NONCE_LENGTH];
+        ByteBuffer.wrap(iv).putLong(0, index);
+        iv[NONCE_LENGTH - 1] = (byte) (last ? 1 : 0);
+        return new GCMParameterSpec(8 * TAG_LENGTH, iv);
+    }
+
+    // Bytes per fragment for a ciphertext segment of length bytes: the padded segment split into minimum rows.
+    private static int rowLength(int length, int minimum) {
+        return (length + minimum) / minimum;
+    }
+
+    // Pads data[0, len) with 0x80 and zeros to minimum rows; returns the row length.
+    private static int pad(byte[] data, int len, int minimum) {
+        int rowLen = rowLength(len, minimum);
+        data[len] = (byte) 0x80;
+        Arrays.fill(data, len + 1, minimum * rowLen, (byte) 0);
+        return rowLen;
+    }
+
+    // Returns the length of data[0, len) before its padding, or -1 if the padding is invalid.
+    private static int unpad(byte[] data, int len) {
+        int i = len - 1;
+        while (i >= 0 && data[i] == 0) {
+            i--;
+        }
+        return i >= 0 && data[i] == (byte) 0x80 ? i : -1;
+    }
+
+    // Rows k .. n-1 of the systematic generator V * V_top^-1, V[i][j] = i^j: any k of its n rows are independent.
+    static byte[][] parityMatrix(int minimum, int fragments) {
+        byte[][] top = new byte[minimum][];
+        for (int i = 0; i < minimum; i++) {
+            top[i] = vandermondeRow(i, minimum);
+        }
+        byte[][] topInv = invert(top);
+        byte[][] parity = new byte[fragments - minimum][];
+        for (int p = 0; p < parity.length; p++) {
+            parity[p] = mulRow(vandermondeRow(minimum + p, minimum), topInv);
+        }
+        return parity;
+    }
+
+    // The inverse of the generator rows of the given fragment indexes.
+    static byte[][] decodeMatrix(int minimum, int[] indexes) throws Exception {
+        byte[][] parity = null;
+        int max = 0;
+        for (int index : indexes) {
+            max = Math.max(max, index);
+        }
+        if (max >= minimum) {
+            parity = parityMatrix(minimum, max + 1);
+        }
+        byte[][] rows = new byte[minimum][];
+        for (int i = 0; i < minimum; i++) {
+            if (indexes[i] < minimum) {
+                rows[i] = new byte[minimum];
+                rows[i][indexes[i]] = 1;
+            } else {
+                rows[i] = parity[indexes[i] - minimum];
+            }
+        }
+        return invert(rows);
+    }
+
+    private static byte[] vandermondeRow(int x, int minimum) {
+        byte[] row = new byte[minimum];
+        int v = 1;
+        for (int j = 0; j < minimum; j++) {
+            row[j] = (byte) v;
+            v = GF256.mul(v, x);
+        }
+        return row;
+    }
+
+    // Returns row * m.
+    private static byte[] mulRow(byte[] row, byte[][] m) {
+        int n = m[0].length;
+        byte[] r = new byte[n];
+        for (int j = 0; j < row.length; j++) {
+            GF256.addMul(r, 0, row[j] & 0xFF, m[j], 0, n);
+        }
+        return r;
+    }
+
+    // Gauss-Jordan inversion over GF(2^8); the matrices built here are always invertible.
+    private static byte[][] invert(byte[][] m) {
+        int n = m.length;
+        byte[][] a = new byte[n][];
+        byte[][] r = new byte[n][n];
+        for (int i = 0; i < n; i++) {
+            a[i] = m[i].clone();
+            r[i][i] = 1;
+        }
+        for (int c = 0; c < n; c++) {
+            int p = c;
+            while (a[p][c] == 0) {
+                p++;
+            }
+            byte[] t = a[p]; a[p] = a[c]; a[c] = t;
+            t = r[p]; r[p] = r[c]; r[c] = t;
+            int inv = GF256.inv(a[c][c] & 0xFF);
+            scale(a[c], inv);
+            scale(r[c], inv);
+            for (int i = 0; i < n; i++) {
+                int f = a[i][c] & 0xFF;
+                if (i != c && f != 0) {
+                    GF256.addMul(a[i], 0, f, a[c], 0, n);
+                    GF256.addMul(r[i], 0, f, r[c], 0, n);
+                }
+            }
+        }
+        return r;
+    }
+
+    private static void scale(byte[] row, int a) {
+        for (int i = 0; i < row.length; i++) {
+            row[i] = (byte) GF256.mul(a, row[i] & 0xFF);
+        }
+    }
+
+    // Reads the same number of bytes, up to one row, from every fragment; returns the row length (0 at end of stream).
+    private static int read(List<InputStream> ins, byte[][] bufs) throws Exception {
+        int len = SSSStream.readFully(ins.get(0), bufs[0], 0, bufs[0].length);
+        for (int i = 1; i < ins.size(); i++) {
+            if (SSSStream.readFully(ins.get(i), bufs[i], 0, len) != len || (len < bufs[i].length && ins.get(i).read() >= 0)) {
+                throw new Exception("fragments have different lengths");
+            }
+        }
+        return len;
+    }
+}
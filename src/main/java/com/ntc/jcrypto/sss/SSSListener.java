@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+/**
+ * Receives the statistics of every create and combine call of {@link SSS} once the call returns, when registered
+ * with {@link SSSMetrics#addListener(SSSListener)}. It is called on the thread that made the call, so it should be
+ * quick and must be thread-safe; exceptions it throws are ignored.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public interface SSSListener {
+
+    // Called once per completed call.
+    void onCall(SSSCallStats stats);
+}
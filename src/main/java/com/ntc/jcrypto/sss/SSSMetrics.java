@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.util.Arrays;
+
+/**
+ * Registry of the {@link SSSListener}s notified of every create and combine call of {@link SSS}, {@link SSSStream},
+ * {@link PreparedShares} and {@link ShareAccumulator}, batches included, and the switch for the JDK Flight Recorder
+ * events ("com.ntc.jcrypto.sss.Call"). With no listener registered a call costs one volatile
+ * read and a few null checks, so the hooks can stay in production code; statistics are only gathered while a listener
+ * is registered.
+ * 
+ * The Flight Recorder events are enabled with {@link #enableFlightRecorder()} or by starting the JVM with
+ * -Dcom.ntc.jcrypto.sss.jfr=true; they are then recorded whenever a recording enables them. The bridge that emits them
+ * is in the Java 11+ layer of the multi-release jar, so they are not available on Java 8.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class SSSMetrics {
+
+    private static final SSSListener[] NONE = new SSSListener[0];
+
+    // Copied on write, so a call reads a consistent snapshot without locking.
+    private static volatile SSSListener[] listeners = NONE;
+    private static volatile CallRecorder flightRecorder;
+
+    // A listener that also begins a per-call event, implemented by the Java 11+ SSSFlightRecorder.
+    interface CallRecorder extends SSSListener {
+
+        // Returns the begun event of a new call, or null when no recording enables it.
+        Object begin();
+    }
+
+    static {
+        if (Boolean.getBoolean("com.ntc.jcrypto.sss.jfr")) {
+            enableFlightRecorder();
+        }
+    }
+
+    private SSSMetrics() {
+    }
+
+    public static synchronized void addListener(SSSListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener is NULL");
+        }
+        SSSListener[] ls = Arrays.copyOf(listeners, listeners.length + 1);
+        ls[ls.length - 1] = listener;
+        listeners = ls;
+    }
+
+    public static synchronized void removeListener(SSSListener listener) {
+        SSSListener[] ls = listeners;
+        for (int i = 0; i < ls.length; i++) {
+            if (ls[i] == listener) {
+                SSSListener[] rs = new SSSListener[ls.length - 1];
+                System.arraycopy(ls, 0, rs, 0, i);
+                System.arraycopy(ls, i + 1, rs, i, rs.length - i);
+                listeners = rs.length == 0 ? NONE : rs;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Registers the listener that emits a Flight Recorder event per call. Returns false when this JVM has no Flight
+     * Recorder or does not load the Java 11+ classes of the jar (Java 8); calling it again has no effect.
+     *
+     * @return boolean whether the events are enabled
+     */
+    public static synchronized boolean enableFlightRecorder() {
+        if (flightRecorder == null) {
+            try {
+                Class.forName("jdk.jfr.Event");
+            } catch (ClassNotFoundException e) {
+                return false;
+            }
+            try {
+                flightRecorder = (CallRecorder) Class.forName("com.ntc.jcrypto.sss.SSSFlightRecorder")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return false;
+            }
+            addListener(flightRecorder);
+        }
+        return true;
+    }
+
+    public static synchronized void disableFlightRecorder() {
+        if (flightRecorder != null) {
+            removeListener(flightRecorder);
+            flightRecorder = null;
+        }
+    }
+
+    // Returns the statistics of a new call, or null when no listener is registered; begins its Flight Recorder event.
+    static SSSCallStats begin(String operation, String format, String encoding, int threshold, int shares, int parts) {
+        if (listeners.length == 0) {
+            return null;
+        }
+        CallRecorder fr = flightRecorder;
+        Object event = fr == null ? null : fr.begin();
+        SSSCallStats stats = new SSSCallStats(operation, format, encoding, threshold, shares, parts);
+        stats.event = event;
+        return stats;
+    }
+
+    static void lap(SSSCallStats stats, SSSCallStats.Phase phase, long count) {
+        if (stats != null) {
+            stats.lap(phase, count);
+        }
+    }
+
+    // Adds phase time spent before the call, like the folding of shares into a ShareAccumulator.
+    static void carry(SSSCallStats stats, SSSCallStats.Phase phase, long nanos, long count) {
+        if (stats != null) {
+            stats.carry(phase, nanos, count);
+        }
+    }
+
+    // Restarts the current lap, leaving time outside the phases, such as I/O, in the total only.
+    static void skip(SSSCallStats stats) {
+        if (stats != null) {
+            stats.skip();
+        }
+    }
+
+    // Sets the number of parts once the shares of a combine are decoded.
+    static void parts(SSSCallStats stats, int parts) {
+        if (stats != null) {
+            stats.parts(parts);
+        }
+    }
+
+    // Sets the number of secrets of a batch.
+    static void secrets(SSSCallStats stats, int secrets) {
+        if (stats != null) {
+            stats.secrets(secrets);
+        }
+    }
+
+    // Notifies the listeners of a completed call; the Flight Recorder listener ends and commits its event.
+    static void end(SSSCallStats stats) {
+        if (stats == null) {
+            return;
+        }
+        stats.end();
+        for (SSSListener listener : listeners) {
+            try {
+                listener.onCall(stats);
+            } catch (RuntimeException e) {
+                // a faulty listener must not fail the call
+            }
+        }
+    }
+
+    static String encoding(boolean isBase64) {
+        return isBase64 ? "base64" : "hex";
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import com.ntc.jcrypto.sss.SSSCallStats.Phase;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streaming Shamir's Secret Sharing over InputStream/OutputStream with bounded memory.
+ * 
+ * A streamed share is a compact share in the byte-exact format (see {@link SSS#BYTES_PREFIX}): the prefix and the
+ * x-coordinate are written first, then one y-coordinate per 31-byte part of the secret, in Base64 or Hex. The secret
+ * is processed in chunks of chunkParts parts, so memory stays constant regardless of its size, and the I/O of one
+ * chunk (writing shares on split, reading shares on combine) runs on a background thread while the next chunk is
+ * computed. Small streamed shares can also be combined as strings with {@link SSS#combine(List, boolean)}.
+ * 
+ * Only the x-coordinates are checked for uniqueness; polynomial coefficients are drawn independently per part so
+ * that no per-secret state grows with the stream.
+ * 
+ * Each split and combine reports to {@link SSSMetrics} as one call of format "stream"; the time spent waiting on the
+ * streams only counts in its total.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public class SSSStream {
+
+    public static final int DEFAULT_CHUNK_PARTS = 1024;
+
+    private static final byte[] PREFIX = SSS.BYTES_PREFIX.getBytes(StandardCharsets.US_ASCII);
+
+    private final SSS sss;
+    private final int chunkParts;
+
+    public SSSStream() {
+        this(new SSS(), DEFAULT_CHUNK_PARTS);
+    }
+
+    public SSSStream(SSS sss, int chunkParts) {
+        if (sss == null || chunkParts <= 0) {
+            throw new IllegalArgumentException("sss is NULL or chunkParts is invalid");
+        }
+        this.sss = sss;
+        this.chunkParts = chunkParts;
+    }
+
+    /**
+     * Reads the secret from in until end of stream and writes one share to each of outs, requiring minimum shares to
+     * recreate it. The streams are flushed but not closed.
+     *
+     * @param minimum int minimum
+     * @param in InputStream secret
+     * @param outs List OutputStream shares, one per share
+     * @param isBase64 True using encode Base64Url, otherwise encode Hex
+     * @throws Exception Input params invalid or I/O error
+     */
+    public void split(int minimum, InputStream in, List<? extends OutputStream> outs, boolean isBase64) throws Exception {
+        if (in == null || outs == null || outs.isEmpty()) {
+            throw new Exception("input or outputs is NULL or empty");
+        }
+        int shares = outs.size();
+        if (minimum <= 0) {
+            throw new Exception("minimum or shares is invalid");
+        }
+        if (minimum > shares) {
+            throw new Exception("cannot require more shares then existing");
+        }
+        int blockLen = ShareCodec.blockLength(isBase64);
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.CREATE, "stream", SSSMetrics.encoding(isBase64), minimum, shares, 0);
+
+        // One x-coordinate per share, distinct and non-zero.
+        long[][] xs = sss.randomXs(shares);
+        byte[] block = new byte[blockLen];
+        byte[] scratch = new byte[32];
+        SSSMetrics.lap(stats, Phase.RANDOM, shares);
+        for (int i = 0; i < shares; i++) {
+            ShareCodec.encode(xs[i], isBase64, block, 0);
+            outs.get(i).write(PREFIX);
+            outs.get(i).write(block);
+        }
+
+        SSSMetrics.lap(stats, Phase.ENCODE, shares);
+
+        // polys[part][minimum] and ys[share][part] of the chunk, so each phase runs once per chunk; the random
+        // coefficients of polys are views of coeffs, drawn in one call per chunk.
+        long[][] coeffs = new long[chunkParts * (minimum - 1)][4];
+        byte[] coeffScratch = SSS.randomScratch(coeffs.length);
+        long[][][] polys = new long[chunkParts][minimum][];
+        for (int j = 0, c0 = 0; j < chunkParts; j++) {
+            polys[j][0] = Fp256.create();
+            for (int c = 1; c < minimum; c++) {
+                polys[j][c] = coeffs[c0++];
+            }
+        }
+        long[][][] ys = new long[shares][chunkParts][4];
+        long numParts = 0;
+        byte[] data = new byte[chunkParts * SSS.BYTES_PER_PART];
+        // Two output buffers per share: one being filled while the other is written.
+        byte[][][] bufs = new byte[2][shares][chunkParts * blockLen];
+        ExecutorService io = newIoThread();
+        try {
+            Future<?> pending = null;
+            int cur = 0;
+            // Read one byte ahead so we know which chunk holds the final part.
+            int len = readFully(in, data, 0, data.length);
+            int next = len == data.length ? in.read() : -1;
+            SSSMetrics.skip(stats);
+            while (true) {
+                boolean last = next < 0;
+                int parts = last ? SSS.bytesToParts(len) : len / SSS.BYTES_PER_PART;
+                for (int j = 0; j < parts; j++) {
+                    int off = j * SSS.BYTES_PER_PART;
+                    int count = Math.min(SSS.BYTES_PER_PART, len - off);
+                    SSS.bytesToPart(polys[j][0], data, off, count, last && j == parts - 1, scratch);
+                }
+                // a short final chunk draws only its own coefficients
+                sss.random(parts == chunkParts ? coeffs : Arrays.copyOf(coeffs, parts * (minimum - 1)), coeffScratch);
+                SSSMetrics.lap(stats, Phase.RANDOM, (long) parts * (minimum - 1));
+                for (int i = 0; i < shares; i++) {
+                    for (int j = 0; j < parts; j++) {
+                        sss.evaluatePolynomial(ys[i][j], polys[j], xs[i]);
+                    }
+                }
+                SSSMetrics.lap(stats, Phase.EVALUATE, (long) parts * shares);
+                for (int i = 0; i < shares; i++) {
+                    for (int j = 0; j < parts; j++) {
+                        ShareCodec.encode(ys[i][j], isBase64, bufs[cur][i], j * blockLen);
+                    }
+                }
+                SSSMetrics.lap(stats, Phase.ENCODE, (long) parts * shares);
+                numParts += parts;
+                // Wait for the previous chunk before handing over this one.
+                await(pending);
+                pending = io.submit(write(outs, bufs[cur], parts * blockLen));
+                cur ^= 1;
+                if (last) {
+                    break;
+                }
+                data[0] = (byte) next;
+                len = 1 + readFully(in, data, 1, data.length - 1);
+                next = len == data.length ? in.read() : -1;
+                SSSMetrics.skip(stats);
+            }
+            await(pending);
+            for (OutputStream out : outs) {
+                out.flush();
+            }
+            SSSMetrics.parts(stats, (int) Math.min(numParts, Integer.MAX_VALUE));
+            SSSMetrics.end(stats);
+        } finally {
+            io.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads one share from each of ins until end of stream and writes the recovered secret to out. As with
+     * {@link SSS#combine(List, boolean)}, passing fewer than the minimum shares yields a wrong secret. The streams are
+     * flushed but not closed.
+     *
+     * @param ins List InputStream shares
+     * @param out OutputStream secret
+     * @param isBase64 True using decode Base64Url, otherwise decode Hex
+     * @throws Exception Input params invalid, shares invalid or I/O error
+     */
+    public void combine(List<? extends InputStream> ins, OutputStream out, boolean isBase64) throws Exception {
+        if (ins == null || ins.isEmpty() || out == null) {
+            throw new Exception("inputs or output is NULL or empty");
+        }
+        int numShare = ins.size();
+        int blockLen = ShareCodec.blockLength(isBase64);
+        byte[] scratch = new byte[32];
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.COMBINE, "stream", SSSMetrics.encoding(isBase64), 0, numShare, 0);
+
+        // Header: prefix and x-coordinate of each share.
+        long[][] xs = new long[numShare][4];
+        byte[] header = new byte[PREFIX.length + blockLen];
+        for (int i = 0; i < numShare; i++) {
+            if (readFully(ins.get(i), header, 0, header.length) != header.length) {
+                throw new Exception("one of the shares is invalid");
+            }
+            for (int c = 0; c < PREFIX.length; c++) {
+                if (header[c] != PREFIX[c]) {
+                    throw new Exception("one of the shares is invalid");
+                }
+            }
+            if (!ShareCodec.decode(header, PREFIX.length, isBase64, xs[i]) || Fp256.isZero(xs[i])) {
+                throw new Exception("one of the shares is invalid");
+            }
+            for (int k = 0; k < i; k++) {
+                if (Fp256.equals(xs[k], xs[i])) {
+                    throw new Exception("shares have duplicate x-coordinates");
+                }
+            }
+        }
+        SSSMetrics.lap(stats, Phase.DECODE, numShare);
+        long[][] basis = SSS.lagrangeBasisAtZero(xs);
+        SSSMetrics.lap(stats, Phase.INTERPOLATE, 0);
+
+        // Two input buffers per share: one being decoded while the other is read.
+        byte[][][] bufs = new byte[2][numShare][chunkParts * blockLen];
+        byte[] data = new byte[chunkParts * SSS.BYTES_PER_PART];
+        // ys[share][part] and the values at 0 of the chunk, so each phase runs once per chunk.
+        long[][][] ys = new long[numShare][chunkParts][4];
+        long[][] values = new long[chunkParts][4];
+        long[] t = Fp256.create();
+        // The last recovered part is held back until we know whether it is the final one.
+        long[] held = Fp256.create();
+        boolean hasHeld = false;
+        long numParts = 0;
+        ExecutorService io = newIoThread();
+        try {
+            int cur = 0;
+            Future<Integer> pending = io.submit(read(ins, bufs[cur], blockLen));
+            while (true) {
+                int parts = await(pending) / blockLen;
+                SSSMetrics.skip(stats);
+                if (parts == 0) {
+                    break;
+                }
+                // Prefetch the next chunk while this one is decoded.
+                pending = io.submit(read(ins, bufs[cur ^ 1], blockLen));
+                for (int i = 0; i < numShare; i++) {
+                    for (int j = 0; j < parts; j++) {
+                        if (!ShareCodec.decode(bufs[cur][i], j * blockLen, isBase64, ys[i][j])) {
+                            throw new Exception("one of the shares is invalid");
+                        }
+                    }
+                }
+                SSSMetrics.lap(stats, Phase.DECODE, (long) parts * numShare);
+                for (int j = 0; j < parts; j++) {
+                    SSS.interpolate(values[j], basis, ys, j, t);
+                }
+                SSSMetrics.lap(stats, Phase.INTERPOLATE, parts);
+                int len = 0;
+                for (int j = 0; j < parts; j++) {
+                    if (hasHeld) {
+                        len += SSS.partToBytes(held, false, data, len, scratch);
+                    }
+                    Fp256.copy(held, values[j]);
+                    hasHeld = true;
+                }
+                SSSMetrics.lap(stats, Phase.MERGE, len);
+                numParts += parts;
+                out.write(data, 0, len);
+                cur ^= 1;
+                SSSMetrics.skip(stats);
+            }
+            if (!hasHeld) {
+                throw new Exception("one of the shares is invalid");
+            }
+            int n = SSS.partToBytes(held, true, data, 0, scratch);
+            SSSMetrics.lap(stats, Phase.MERGE, n);
+            out.write(data, 0, n);
+            out.flush();
+            SSSMetrics.parts(stats, (int) Math.min(numParts, Integer.MAX_VALUE));
+            SSSMetrics.end(stats);
+        } finally {
+            io.shutdownNow();
+        }
+    }
+
+    private static ExecutorService newIoThread() {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "sss-stream-io");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static <T> T await(Future<T> f) throws Exception {
+        if (f == null) {
+            return null;
+        }
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Callable<Void> write(List<? extends OutputStream> outs, byte[][] bufs, int len) {
+        return () -> {
+            for (int i = 0; i < outs.size(); i++) {
+                outs.get(i).write(bufs[i], 0, len);
+            }
+            return null;
+        };
+    }
+
+    // Reads the same number of whole blocks from every share; returns the byte count (0 at end of stream).
+    private static Callable<Integer> read(List<? extends InputStream> ins, byte[][] bufs, int blockLen) {
+        return () -> {
+            int len = readFully(ins.get(0), bufs[0], 0, bufs[0].length);
+            for (int i = 1; i < ins.size(); i++) {
+                if (readFully(ins.get(i), bufs[i], 0, len) != len || (len < bufs[i].length && ins.get(i).read() >= 0)) {
+                    throw new Exception("shares have different lengths");
+                }
+            }
+            if (len % blockLen != 0) {
+                throw new Exception("one of the shares is invalid");
+            }
+            return len;
+        };
+    }
+
+    // Reads until len bytes or end of stream; returns the number of bytes read.
+    static int readFully(InputStream in, byte[] b, int off, int len) throws IOException {
+        int n = 0;
+        while (n < len) {
+            int r = in.read(b, off + n, len - n);
+            if (r < 0) {
+                break;
+            }
+            n += r;
+        }
+        return n;
+    }
+}
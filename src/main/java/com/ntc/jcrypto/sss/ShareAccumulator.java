@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import com.ntc.jcrypto.sss.SSSCallStats.Phase;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reconstructs a secret from shares that arrive one at a time. Each added share is decoded and folded into the Newton
+ * form of the interpolating polynomial of every part, together with its running value at 0, so adding the k-th share
+ * costs O(k) per part and the secret is ready as soon as the threshold is reached. Shares beyond the threshold are
+ * checked against the reconstructed polynomials instead.
+ * 
+ * Created by {@link SSS#accumulator(int, boolean)}. Accepts shares in one format: classic, compact (see
+ * {@link SSS#COMPACT_PREFIX}, {@link SSS#BYTES_PREFIX}) or binary (see {@link BinaryShare}). Safe for use by several
+ * threads. A combine reports to {@link SSSMetrics} the time the shares added since the previous combine took to decode
+ * (DECODE) and to fold in (INTERPOLATE), as well as its own.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class ShareAccumulator {
+
+    private static final int CLASSIC = 1;
+    private static final int COMPACT = 2;
+    private static final int EXACT = 3;
+    private static final int BINARY = 4;
+
+    private final SSS sss;
+    private final int threshold;
+    private final boolean isBase64;
+    // Format of the first share, 0 before it.
+    private int format;
+    private BinaryShare first;
+    private int size;
+    // Classic shares have one x-coordinate per part: xs[share][part]; otherwise xs[share][0].
+    private final List<long[][]> xs = new ArrayList<>();
+    // Newton coefficients coeffs[part][0, min(size, threshold)) over the first threshold x-coordinates.
+    private long[][][] coeffs;
+    // values[part] = the Newton polynomial at 0; products[part] = prod_l (0 - x_l), one unless classic.
+    private long[][] values;
+    private long[][] products;
+    // Time spent in add since the last combine, reported with it.
+    private long decodeNanos;
+    private long foldNanos;
+    private int added;
+
+    ShareAccumulator(SSS sss, int threshold, boolean isBase64) throws Exception {
+        if (threshold <= 0) {
+            throw new Exception("minimum is invalid");
+        }
+        this.sss = sss;
+        this.threshold = threshold;
+        this.isBase64 = isBase64;
+    }
+
+    /**
+     * Decodes a string share and folds it in. A share with the x-coordinate of an earlier share, a different format
+     * or length, or, beyond the threshold, one that disagrees with the earlier shares is rejected and leaves the
+     * accumulator unchanged.
+     *
+     * @param share String share
+     * @return boolean whether the threshold is reached
+     * @throws Exception the share is invalid
+     */
+    public synchronized boolean add(String share) throws Exception {
+        if (share == null) {
+            throw new Exception("one of the shares is invalid");
+        }
+        long start = System.nanoTime();
+        long[][] x;
+        long[][] y;
+        int f;
+        if (sss.isCompactShare(share)) {
+            long[][] cx = new long[1][];
+            long[][][] cy = new long[1][][];
+            sss.decodeShareCompact(Collections.singletonList(share), isBase64, cx, cy);
+            x = cx;
+            y = cy[0];
+            f = share.startsWith(SSS.BYTES_PREFIX) ? EXACT : COMPACT;
+        } else {
+            long[][][] points = SSS.decodeShareLegacy(Collections.singletonList(share), isBase64)[0];
+            x = new long[points.length][];
+            y = new long[points.length][];
+            for (int j = 0; j < points.length; j++) {
+                x[j] = points[j][0];
+                y[j] = points[j][1];
+            }
+            f = CLASSIC;
+        }
+        long decoded = System.nanoTime();
+        fold(f, x, y);
+        time(start, decoded);
+        return isComplete();
+    }
+
+    /**
+     * Folds in a binary share, like {@link #add(String)}; it must have the threshold of the accumulator and belong to
+     * the same secret as the earlier shares.
+     *
+     * @param share BinaryShare share
+     * @return boolean whether the threshold is reached
+     * @throws Exception the share is invalid
+     */
+    public synchronized boolean add(BinaryShare share) throws Exception {
+        if (share == null) {
+            throw new Exception("one of the shares is invalid");
+        }
+        if (share.threshold() != threshold) {
+            throw new Exception("share threshold does not match");
+        }
+        if (first != null && !first.sameSecret(share)) {
+            throw new Exception("shares belong to different secrets");
+        }
+        long start = System.nanoTime();
+        long[][] x = new long[][]{share.x(Fp256.create())};
+        long[][] y = new long[share.parts()][];
+        for (int j = 0; j < y.length; j++) {
+            y[j] = share.y(j, Fp256.create());
+        }
+        long decoded = System.nanoTime();
+        fold(share.layout() == BinaryShare.LAYOUT_EXACT ? EXACT : BINARY, x, y);
+        time(start, decoded);
+        if (first == null) {
+            first = share;
+        }
+        return isComplete();
+    }
+
+    // Returns the minimum number of shares to combine.
+    public int threshold() {
+        return threshold;
+    }
+
+    // Returns the number of shares added.
+    public synchronized int size() {
+        return size;
+    }
+
+    // Returns whether the threshold is reached.
+    public synchronized boolean isComplete() {
+        return size >= threshold;
+    }
+
+    /**
+     * Returns the secret as a string once the threshold is reached.
+     *
+     * @return String secret
+     * @throws Exception the threshold is not reached
+     */
+    public String combine() throws Exception {
+        return new String(combineBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Like {@link #combine()} but returns the secret bytes: exact for byte-exact shares (see {@link SSS#BYTES_PREFIX}),
+     * with trailing zero bytes removed otherwise. Costs one conversion per part.
+     *
+     * @return byte[] secret
+     * @throws Exception the threshold is not reached
+     */
+    public synchronized byte[] combineBytes() throws Exception {
+        if (!isComplete()) {
+            throw new Exception("shares are fewer than the threshold");
+        }
+        boolean isBinary = first != null;
+        String f = isBinary ? "header" : format == CLASSIC ? "classic" : format == COMPACT ? "compact" : "exact";
+        SSSCallStats stats = SSSMetrics.begin(SSSCallStats.COMBINE, f, isBinary ? "raw" : SSSMetrics.encoding(isBase64), 0, size, values.length);
+        SSSMetrics.carry(stats, Phase.DECODE, decodeNanos, added);
+        SSSMetrics.carry(stats, Phase.INTERPOLATE, foldNanos, added == 0 ? 0 : values.length);
+        decodeNanos = 0;
+        foldNanos = 0;
+        added = 0;
+        byte[] rs = sss.toSecret(values, format == EXACT);
+        SSSMetrics.lap(stats, Phase.MERGE, rs.length);
+        SSSMetrics.end(stats);
+        return rs;
+    }
+
+    // Adds the time of an accepted share: decoded from start to decoded, folded in since.
+    private void time(long start, long decoded) {
+        decodeNanos += decoded - start;
+        foldNanos += System.nanoTime() - decoded;
+        added++;
+    }
+
+    // Checks the point (x, y) of format f against the earlier shares and folds it into the Newton form of each part.
+    private void fold(int f, long[][] x, long[][] y) throws Exception {
+        if (format == 0) {
+            format = f;
+            coeffs = new long[y.length][threshold][];
+            values = new long[y.length][4];
+            products = new long[x.length][];
+            for (int j = 0; j < x.length; j++) {
+                products[j] = Fp256.valueOf(1);
+            }
+        } else if (f != format) {
+            throw new Exception("shares have different formats");
+        } else if (y.length != values.length) {
+            throw new Exception("shares have different lengths");
+        }
+        for (long[][] prev : xs) {
+            for (int j = 0; j < x.length; j++) {
+                if (Fp256.equals(prev[j], x[j])) {
+                    throw new Exception("shares have duplicate x-coordinates");
+                }
+            }
+        }
+        int m = Math.min(size, threshold);
+        long[][] cs = new long[y.length][4];
+        // diffs[l] = x - x_l over the first m shares and denominator = prod_l diffs[l], per part if classic
+        long[][] diffs = new long[m][4];
+        long[] denominator = Fp256.create();
+        long[] e = Fp256.create();
+        long[] t = Fp256.create();
+        for (int j = 0; j < y.length; j++) {
+            int jx = x.length == 1 ? 0 : j;
+            if (j == jx) {
+                Fp256.setOne(denominator);
+                for (int l = 0; l < m; l++) {
+                    Fp256.sub(diffs[l], x[jx], xs.get(l)[jx]);
+                    Fp256.mul(denominator, denominator, diffs[l]);
+                }
+                if (m < threshold) {
+                    Fp256.inv(denominator, denominator);
+                }
+            }
+            // e = the polynomial of the first m shares at x, by Horner's rule on the Newton form
+            Fp256.setZero(e);
+            for (int l = m - 1; l >= 0; l--) {
+                Fp256.mul(e, e, diffs[l]);
+                Fp256.add(e, e, coeffs[j][l]);
+            }
+            if (m == threshold) {
+                if (!Fp256.equals(e, y[j])) {
+                    throw new Exception("share is inconsistent with the previous shares");
+                }
+            } else {
+                // next coefficient (y - e) / prod_l (x - x_l)
+                Fp256.sub(t, y[j], e);
+                Fp256.mul(cs[j], t, denominator);
+            }
+        }
+        if (m < threshold) {
+            for (int j = 0; j < y.length; j++) {
+                int jx = x.length == 1 ? 0 : j;
+                coeffs[j][m] = cs[j];
+                Fp256.mul(t, cs[j], products[jx]);
+                Fp256.add(values[j], values[j], t);
+            }
+            for (int j = 0; j < x.length; j++) {
+                Fp256.neg(t, x[j]);
+                Fp256.mul(products[j], products[j], t);
+            }
+        }
+        xs.add(x);
+        size++;
+    }
+}
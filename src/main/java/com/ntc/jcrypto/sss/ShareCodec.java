@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+/**
+ * Text codec for share blocks: a 256-bit field element (see {@link Fp256}) as a 44 character Base64Url block (32
+ * bytes big-endian, one '=' of padding) or a 64 character Hex block.
+ * 
+ * Characters are converted straight to and from the limbs through lookup tables, without intermediate byte arrays,
+ * strings or BigIntegers. Decoding checks the alphabet, the padding (the '=' and the 2 zero bits of the last digit)
+ * and the range [0, PRIME) in the same pass and writes into a caller-supplied element; encoding writes into a
+ * caller-supplied char[] or ASCII byte[], so neither allocates.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class ShareCodec {
+
+    public static final int BASE64_BLOCK = 44;
+    public static final int HEX_BLOCK = 64;
+
+    private static final char[] BASE64_DIGITS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    // Digit value of each ASCII character, or -1.
+    private static final byte[] BASE64_VALUES = new byte[128];
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        java.util.Arrays.fill(BASE64_VALUES, (byte) -1);
+        java.util.Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < BASE64_DIGITS.length; i++) {
+            BASE64_VALUES[BASE64_DIGITS[i]] = (byte) i;
+        }
+        for (int i = 0; i < 16; i++) {
+            HEX_VALUES[HEX_DIGITS[i]] = (byte) i;
+            HEX_VALUES[Character.toUpperCase(HEX_DIGITS[i])] = (byte) i;
+        }
+    }
+
+    private ShareCodec() {
+    }
+
+    // Returns the number of characters of a block.
+    public static int blockLength(boolean isBase64) {
+        return isBase64 ? BASE64_BLOCK : HEX_BLOCK;
+    }
+
+    // Returns the element as a new Base64Url or Hex block.
+    public static String encode(long[] a, boolean isBase64) {
+        char[] c = new char[blockLength(isBase64)];
+        encode(a, isBase64, c, 0);
+        return new String(c);
+    }
+
+    // Writes the element as a Base64Url or Hex block at dst[off].
+    public static void encode(long[] a, boolean isBase64, char[] dst, int off) {
+        if (isBase64) {
+            for (int i = 0; i < BASE64_BLOCK - 1; i++) {
+                dst[off + i] = BASE64_DIGITS[sextet(a, i)];
+            }
+            dst[off + BASE64_BLOCK - 1] = '=';
+        } else {
+            for (int i = 0; i < HEX_BLOCK; i++) {
+                dst[off + i] = HEX_DIGITS[nibble(a, i)];
+            }
+        }
+    }
+
+    // Writes the element as a Base64Url or Hex block of ASCII bytes at dst[off].
+    public static void encode(long[] a, boolean isBase64, byte[] dst, int off) {
+        if (isBase64) {
+            for (int i = 0; i < BASE64_BLOCK - 1; i++) {
+                dst[off + i] = (byte) BASE64_DIGITS[sextet(a, i)];
+            }
+            dst[off + BASE64_BLOCK - 1] = '=';
+        } else {
+            for (int i = 0; i < HEX_BLOCK; i++) {
+                dst[off + i] = (byte) HEX_DIGITS[nibble(a, i)];
+            }
+        }
+    }
+
+    // Decodes the Base64Url or Hex block at src[off] into r; returns false if it is malformed or not below PRIME,
+    // in which case r is unspecified. src must hold a whole block from off.
+    public static boolean decode(CharSequence src, int off, boolean isBase64, long[] r) {
+        int n = blockLength(isBase64);
+        if (!begin(r, isBase64, src.charAt(off + n - 1))) {
+            return false;
+        }
+        byte[] values = isBase64 ? BASE64_VALUES : HEX_VALUES;
+        for (int i = 0, digits = isBase64 ? n - 1 : n; i < digits; i++) {
+            if (!putDigit(r, isBase64, i, digit(values, src.charAt(off + i)))) {
+                return false;
+            }
+        }
+        return Fp256.isReduced(r);
+    }
+
+    // Decodes the Base64Url or Hex block of ASCII bytes at src[off] into r; see decode(CharSequence, ...).
+    public static boolean decode(byte[] src, int off, boolean isBase64, long[] r) {
+        int n = blockLength(isBase64);
+        if (!begin(r, isBase64, src[off + n - 1])) {
+            return false;
+        }
+        byte[] values = isBase64 ? BASE64_VALUES : HEX_VALUES;
+        for (int i = 0, digits = isBase64 ? n - 1 : n; i < digits; i++) {
+            if (!putDigit(r, isBase64, i, digit(values, src[off + i]))) {
+                return false;
+            }
+        }
+        return Fp256.isReduced(r);
+    }
+
+    // Clears r for a block whose last character is last; a Base64 block must end with its '=' padding.
+    private static boolean begin(long[] r, boolean isBase64, int last) {
+        if (isBase64 && last != '=') {
+            return false;
+        }
+        Fp256.setZero(r);
+        return true;
+    }
+
+    // Adds the i-th digit v of a block, counting from the most significant, into r at its fixed bit position; returns
+    // false if v is not a digit. Both decode overloads validate through here, so they accept the same blocks.
+    private static boolean putDigit(long[] r, boolean isBase64, int i, int v) {
+        if (v < 0) {
+            return false;
+        }
+        if (!isBase64) {
+            int shift = 252 - 4 * i;
+            r[shift >>> 6] |= (long) v << (shift & 63);
+            return true;
+        }
+        // 43 sextets carry 258 bits: sextet i sits at bit 250 - 6i, and the last one ends 2 bits below bit 0
+        int shift = 250 - 6 * i;
+        if (shift < 0) {
+            // the padding bits must be zero, so each element has exactly one encoding
+            if ((v & ((1 << -shift) - 1)) != 0) {
+                return false;
+            }
+            r[0] |= v >>> -shift;
+            return true;
+        }
+        int limb = shift >>> 6;
+        int bit = shift & 63;
+        r[limb] |= (long) v << bit;
+        if (bit > 58) {
+            r[limb + 1] |= (long) v >>> (64 - bit);
+        }
+        return true;
+    }
+
+    // Returns the value of the character in the table, or -1.
+    private static int digit(byte[] values, int c) {
+        return c >= 0 && c < 128 ? values[c] : -1;
+    }
+
+    // Returns the i-th 6-bit group of the element, counting from the most significant bit; past bit 256 it is zero.
+    private static int sextet(long[] a, int i) {
+        int bit = 6 * i;
+        int limb = 3 - (bit >>> 6);
+        int shift = 58 - (bit & 63);
+        if (shift >= 0) {
+            return (int) (a[limb] >>> shift) & 0x3F;
+        }
+        long low = limb > 0 ? a[limb - 1] >>> (64 + shift) : 0;
+        return (int) ((a[limb] << -shift) | low) & 0x3F;
+    }
+
+    // Returns the i-th hex digit of the element, counting from the most significant.
+    private static int nibble(long[] a, int i) {
+        return (int) (a[3 - (i >>> 4)] >>> (60 - ((i & 15) << 2))) & 0xF;
+    }
+}
@@ -0,0 +1,918 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * An embedded store of share records, e.g. binary shares (see {@link BinaryShare}), for custodians holding shares of
+ * millions of secrets.
+ * 
+ * Records are appended to memory-mapped segment files and never rewritten. An open-addressing hash index, itself a
+ * memory-mapped file, maps (secret id, share index) to the latest record of that key. Lookups and scans return
+ * read-only views of the mapped records, so the stored shares take no heap: {@link #shares(byte[], int...)} hands
+ * them straight to {@link SSS#combineBinary(List)}.
+ * 
+ * Replacing or removing a record leaves garbage in its segment; {@link #compact(double)} copies the live records of
+ * mostly-garbage segments to the end of the log and deletes those segments. {@link #close()} records that the index
+ * is consistent, so reopening only maps it; a store that was not closed (a crash) rebuilds the index from the
+ * segments, up to the first torn record of each. Only one process may open a store at a time: the store holds a lock
+ * on the file {@code lock} in its directory until it is closed, and opening a locked store fails.
+ * 
+ * <pre>
+ * segment file NNNNNNNN.seg
+ *  offset  size  field
+ *       0     4  magic "SSSG"
+ *       4     1  version (1)
+ *       5     3  reserved (0)
+ *       8     4  segment id
+ *      12     4  reserved (0)
+ *      16        records, each padded to a multiple of 8 bytes:
+ *                   4  record length, header included (0 ends the segment)
+ *                   4  CRC32 of the rest of the record
+ *                  16  secret id
+ *                   4  share index
+ *                   1  type (1 = put, 2 = remove)
+ *                   3  reserved (0)
+ *                      payload
+ * </pre>
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class ShareStore implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    public static final int MIN_SEGMENT_SIZE = 4096;
+    public static final int MAX_SEGMENT_SIZE = 1 << 30;
+    public static final int SEGMENT_MAGIC = 0x53535347; // "SSSG"
+    public static final int INDEX_MAGIC = 0x53535349; // "SSSI"
+    public static final int VERSION = 1;
+    static final int SEGMENT_HEADER = 16;
+    static final int RECORD_HEADER = 32;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final String INDEX_FILE = "index.dat";
+    private static final String INDEX_TEMP = "index.tmp";
+    private static final String LOCK_FILE = "lock";
+
+    /**
+     * Receives the live records of a scan. The buffers are read-only views of the mapped segments, valid after the
+     * call; the visitor must not write to the store.
+     */
+    public interface Visitor {
+
+        void visit(ByteBuffer secretId, int index, ByteBuffer record) throws Exception;
+    }
+
+    private final Path dir;
+    private final int segmentSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Segments by id; records are appended to the last one.
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private Index index;
+    private FileChannel lockChannel;
+    private boolean closed;
+    // Whether opening rebuilt the index from the segments.
+    final boolean isRebuilt;
+
+    private ShareStore(Path dir, int segmentSize) throws Exception {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        try {
+            lockChannel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock fl;
+            try {
+                fl = lockChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                fl = null;
+            }
+            if (fl == null) {
+                throw new Exception("store is already open");
+            }
+            Files.deleteIfExists(dir.resolve(INDEX_TEMP));
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "*.seg")) {
+                for (Path p : ds) {
+                    Integer id = Segment.id(p);
+                    if (id != null) {
+                        segments.put(id, Segment.open(p, id));
+                    }
+                }
+            }
+            index = Index.open(dir.resolve(INDEX_FILE));
+            int tail = segments.isEmpty() ? 0 : segments.lastKey();
+            if (index != null && index.tailSegment() == tail
+                    && (tail == 0 || index.tailPosition() >= SEGMENT_HEADER && index.tailPosition() <= segments.get(tail).capacity)) {
+                isRebuilt = false;
+                if (tail != 0) {
+                    segments.get(tail).end = index.tailPosition();
+                }
+            } else {
+                isRebuilt = true;
+                if (index != null) {
+                    index.close();
+                }
+                index = Index.create(dir.resolve(INDEX_FILE), Index.MIN_CAPACITY);
+                for (Segment s : segments.values()) {
+                    replay(s);
+                }
+                if (tail != 0) {
+                    segments.get(tail).clearFrom(segments.get(tail).end);
+                }
+            }
+            active = segments.isEmpty() ? roll() : segments.lastEntry().getValue();
+            index.markOpen();
+        } catch (Exception e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the store in directory dir, creating it if needed, with segments of {@link #DEFAULT_SEGMENT_SIZE} bytes.
+     *
+     * @param dir Path store directory
+     * @return ShareStore store
+     * @throws Exception I/O error or a damaged segment header
+     */
+    public static ShareStore open(Path dir) throws Exception {
+        return open(dir, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the store in directory dir, creating it if needed. New segment files have segmentSize bytes, which also
+     * bounds the size of a record; existing segments keep their size.
+     *
+     * @param dir Path store directory
+     * @param segmentSize int bytes per segment file
+     * @return ShareStore store
+     * @throws Exception I/O error or a damaged segment header
+     */
+    public static ShareStore open(Path dir, int segmentSize) throws Exception {
+        if (dir == null) {
+            throw new Exception("dir is NULL");
+        }
+        if (segmentSize < MIN_SEGMENT_SIZE || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new Exception("segmentSize is invalid");
+        }
+        Files.createDirectories(dir);
+        return new ShareStore(dir, segmentSize);
+    }
+
+    /**
+     * Stores the binary share under its secret id and index, replacing the record of that key if any.
+     *
+     * @param share BinaryShare share
+     * @param index int share index
+     * @throws Exception Input params invalid or I/O error
+     */
+    public void put(BinaryShare share, int index) throws Exception {
+        if (share == null) {
+            throw new Exception("share is NULL");
+        }
+        put(share.secretId(), index, share.buffer());
+    }
+
+    /**
+     * Stores the remaining bytes of record under (secretId, index), replacing the record of that key if any. The
+     * position of record is not changed.
+     *
+     * @param secretId byte[] 16-byte secret id
+     * @param index int share index
+     * @param record ByteBuffer record
+     * @throws Exception Input params invalid or I/O error
+     */
+    public void put(byte[] secretId, int index, ByteBuffer record) throws Exception {
+        checkId(secretId);
+        if (record == null || !record.hasRemaining()) {
+            throw new Exception("record is NULL or empty");
+        }
+        long hi = getLong(secretId, 0);
+        long lo = getLong(secretId, 8);
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            int pos = append(hi, lo, index, PUT, record);
+            indexPut(hi, lo, index, active.id, pos);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a read-only view of the record of (secretId, index) in its mapped segment, or null if there is none.
+     * The view stays valid after the record is replaced, removed or compacted.
+     *
+     * @param secretId byte[] 16-byte secret id
+     * @param index int share index
+     * @return ByteBuffer record or null
+     * @throws Exception Input params invalid
+     */
+    public ByteBuffer get(byte[] secretId, int index) throws Exception {
+        checkId(secretId);
+        long hi = getLong(secretId, 0);
+        long lo = getLong(secretId, 8);
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            long loc = this.index.get(hi, lo, index);
+            return loc == 0 ? null : record(segments.get((int) (loc >>> 32)), (int) loc);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the record of (secretId, index) read in place as a binary share, or null if there is none.
+     *
+     * @param secretId byte[] 16-byte secret id
+     * @param index int share index
+     * @return BinaryShare share or null
+     * @throws Exception Input params invalid or the record is not a valid binary share
+     */
+    public BinaryShare share(byte[] secretId, int index) throws Exception {
+        ByteBuffer record = get(secretId, index);
+        return record == null ? null : BinaryShare.wrap(record);
+    }
+
+    /**
+     * Returns the stored binary shares of one secret at the given indexes, skipping the missing ones, read in place
+     * and ready for {@link SSS#combineBinary(List)}.
+     *
+     * @param secretId byte[] 16-byte secret id
+     * @param indexes int... share indexes
+     * @return List binary shares
+     * @throws Exception Input params invalid or a record is not a valid binary share
+     */
+    public List<BinaryShare> shares(byte[] secretId, int... indexes) throws Exception {
+        List<BinaryShare> rs = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            BinaryShare share = share(secretId, index);
+            if (share != null) {
+                rs.add(share);
+            }
+        }
+        return rs;
+    }
+
+    /**
+     * Removes the record of (secretId, index).
+     *
+     * @param secretId byte[] 16-byte secret id
+     * @param index int share index
+     * @return boolean whether there was a record
+     * @throws Exception Input params invalid or I/O error
+     */
+    public boolean remove(byte[] secretId, int index) throws Exception {
+        checkId(secretId);
+        long hi = getLong(secretId, 0);
+        long lo = getLong(secretId, 8);
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            if (this.index.get(hi, lo, index) == 0) {
+                return false;
+            }
+            append(hi, lo, index, REMOVE, null);
+            this.index.remove(hi, lo, index);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns the number of records.
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return index == null ? 0 : index.count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns the number of segment files.
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visits every live record once, segment by segment in file order, without copying them. Writes wait until the
+     * scan is over.
+     *
+     * @param visitor Visitor visitor
+     * @return long number of records visited
+     * @throws Exception what the visitor throws
+     */
+    public long scan(Visitor visitor) throws Exception {
+        if (visitor == null) {
+            throw new Exception("visitor is NULL");
+        }
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            long n = 0;
+            for (Segment s : segments.values()) {
+                int len;
+                for (int pos = SEGMENT_HEADER; (len = s.recordLength(pos, false)) > 0; pos += align(len)) {
+                    if (isLive(s, pos)) {
+                        visitor.visit(s.slice(pos + 8, pos + 24), s.buf.getInt(pos + 24), s.slice(pos + RECORD_HEADER, pos + len));
+                        n++;
+                    }
+                }
+            }
+            return n;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts every segment but the one being appended to whose garbage (replaced and removed records) is at least
+     * garbageRatio of its records: its live records are appended again, forced to disk, and the segment file is
+     * deleted. Views handed out earlier stay readable.
+     *
+     * @param garbageRatio double fraction of garbage in [0, 1] from which a segment is compacted
+     * @return int number of segments compacted
+     * @throws Exception Input params invalid or I/O error
+     */
+    public int compact(double garbageRatio) throws Exception {
+        if (!(garbageRatio >= 0 && garbageRatio <= 1)) {
+            throw new Exception("garbageRatio is invalid");
+        }
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            int compacted = 0;
+            for (Segment s : new ArrayList<>(segments.values())) {
+                if (s == active) {
+                    continue;
+                }
+                long live = 0;
+                int len;
+                int pos;
+                for (pos = SEGMENT_HEADER; (len = s.recordLength(pos, false)) > 0; pos += align(len)) {
+                    if (isLive(s, pos)) {
+                        live += align(len);
+                    }
+                }
+                long used = pos - SEGMENT_HEADER;
+                if (used > 0 && (live == used || used - live < garbageRatio * used)) {
+                    continue;
+                }
+                // a removal must stay while an older segment may hold the record it removes
+                boolean isOldest = s.id == segments.firstKey();
+                for (pos = SEGMENT_HEADER; (len = s.recordLength(pos, false)) > 0; pos += align(len)) {
+                    long hi = s.buf.getLong(pos + 8);
+                    long lo = s.buf.getLong(pos + 16);
+                    int idx = s.buf.getInt(pos + 24);
+                    if (isLive(s, pos)) {
+                        int np = append(hi, lo, idx, PUT, s.slice(pos + RECORD_HEADER, pos + len));
+                        indexPut(hi, lo, idx, active.id, np);
+                    } else if (s.buf.get(pos + 28) == REMOVE && !isOldest && index.get(hi, lo, idx) == 0) {
+                        append(hi, lo, idx, REMOVE, null);
+                    }
+                }
+                for (Segment t : segments.tailMap(s.id, false).values()) {
+                    t.force();
+                }
+                segments.remove(s.id);
+                s.close();
+                Files.delete(s.path);
+                compacted++;
+            }
+            return compacted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces the records appended so far to disk.
+     *
+     * @throws IOException I/O error
+     */
+    public void sync() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (!closed) {
+                for (Segment s : segments.values()) {
+                    s.force();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces the records and the index to disk and marks the index consistent, so the next open does not rebuild it.
+     *
+     * @throws IOException I/O error
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment s : segments.values()) {
+                s.force();
+            }
+            index.markClosed(active.id, active.end);
+            release();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Closes the files without marking the index consistent, as a crash would leave them.
+    void crash() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (!closed) {
+                closed = true;
+                release();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Closes the files and drops the store lock; mappings stay readable until they are collected.
+    private void release() throws IOException {
+        try {
+            for (Segment s : segments.values()) {
+                s.close();
+            }
+            if (index != null) {
+                index.close();
+            }
+        } finally {
+            if (lockChannel != null) {
+                // closing the channel releases its lock
+                lockChannel.close();
+            }
+        }
+    }
+
+    // Applies the valid records of a segment to the index, and sets its end after the last one.
+    private void replay(Segment s) throws IOException {
+        int len;
+        int pos;
+        for (pos = SEGMENT_HEADER; (len = s.recordLength(pos, true)) > 0; pos += align(len)) {
+            long hi = s.buf.getLong(pos + 8);
+            long lo = s.buf.getLong(pos + 16);
+            int idx = s.buf.getInt(pos + 24);
+            if (s.buf.get(pos + 28) == PUT) {
+                indexPut(hi, lo, idx, s.id, pos);
+            } else {
+                index.remove(hi, lo, idx);
+            }
+        }
+        s.end = pos;
+    }
+
+    // Appends a record to the active segment, starting a new one if it does not fit, and returns its offset.
+    private int append(long hi, long lo, int idx, byte type, ByteBuffer payload) throws IOException {
+        int len = RECORD_HEADER + (payload == null ? 0 : payload.remaining());
+        if (len < 0 || align(len) > segmentSize - SEGMENT_HEADER) {
+            throw new IOException("record is too large");
+        }
+        if ((long) active.end + align(len) > active.capacity) {
+            active = roll();
+        }
+        Segment s = active;
+        int pos = s.end;
+        ByteBuffer b = s.buf;
+        b.putLong(pos + 8, hi);
+        b.putLong(pos + 16, lo);
+        b.putInt(pos + 24, idx);
+        b.putInt(pos + 28, type << 24);
+        if (payload != null) {
+            ByteBuffer dst = b.duplicate();
+            dst.position(pos + RECORD_HEADER);
+            dst.put(payload.duplicate());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(s.slice(pos + 8, pos + len));
+        b.putInt(pos + 4, (int) crc.getValue());
+        b.putInt(pos, len);
+        s.end = pos + align(len);
+        return pos;
+    }
+
+    // Creates the next segment file.
+    private Segment roll() throws IOException {
+        int id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Segment s = Segment.create(dir, id, segmentSize);
+        segments.put(id, s);
+        return s;
+    }
+
+    private void indexPut(long hi, long lo, int idx, int segment, int pos) throws IOException {
+        if (index.isFull()) {
+            index = index.grow(dir.resolve(INDEX_TEMP), dir.resolve(INDEX_FILE));
+        }
+        index.put(hi, lo, idx, segment, pos);
+    }
+
+    // Whether the put record at pos of s is the one the index points to.
+    private boolean isLive(Segment s, int pos) {
+        if (s.buf.get(pos + 28) != PUT) {
+            return false;
+        }
+        long loc = index.get(s.buf.getLong(pos + 8), s.buf.getLong(pos + 16), s.buf.getInt(pos + 24));
+        return loc == (((long) s.id << 32) | pos);
+    }
+
+    private static ByteBuffer record(Segment s, int pos) {
+        return s.slice(pos + RECORD_HEADER, pos + s.buf.getInt(pos));
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("store is closed");
+        }
+    }
+
+    private static void checkId(byte[] secretId) throws Exception {
+        if (secretId == null || secretId.length != BinaryShare.SECRET_ID_LENGTH) {
+            throw new Exception("secretId is invalid");
+        }
+    }
+
+    private static long getLong(byte[] b, int off) {
+        long r = 0;
+        for (int i = 0; i < 8; i++) {
+            r = (r << 8) | (b[off + i] & 0xFF);
+        }
+        return r;
+    }
+
+    private static int align(int len) {
+        return (len + 7) & ~7;
+    }
+
+    // A segment file, mapped whole; records are appended at end.
+    private static final class Segment {
+
+        final int id;
+        final Path path;
+        final FileChannel ch;
+        final MappedByteBuffer buf;
+        final int capacity;
+        int end = SEGMENT_HEADER;
+
+        private Segment(int id, Path path) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.ch = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = ch.size();
+            if (size < MIN_SEGMENT_SIZE || size > MAX_SEGMENT_SIZE) {
+                ch.close();
+                throw new IOException("segment file is invalid: " + path.getFileName());
+            }
+            this.capacity = (int) size;
+            this.buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        // Returns the id in a segment file name, or null if it is not one.
+        static Integer id(Path p) {
+            String name = p.getFileName().toString();
+            if (!name.matches("[0-9]{8}\\.seg")) {
+                return null;
+            }
+            int id = Integer.parseInt(name.substring(0, 8));
+            return id > 0 ? id : null;
+        }
+
+        static Segment create(Path dir, int id, int size) throws IOException {
+            Path path = dir.resolve(String.format("%08d.seg", id));
+            try (RandomAccessFile f = new RandomAccessFile(path.toFile(), "rw")) {
+                f.setLength(0);
+                f.setLength(size);
+            }
+            Segment s = new Segment(id, path);
+            s.buf.putInt(0, SEGMENT_MAGIC);
+            s.buf.put(4, (byte) VERSION);
+            s.buf.putInt(8, id);
+            s.buf.force();
+            return s;
+        }
+
+        static Segment open(Path path, int id) throws IOException {
+            Segment s = new Segment(id, path);
+            if (s.buf.getInt(0) != SEGMENT_MAGIC || (s.buf.get(4) & 0xFF) != VERSION || s.buf.getInt(8) != id) {
+                s.close();
+                throw new IOException("segment file is invalid: " + path.getFileName());
+            }
+            return s;
+        }
+
+        // Returns the length of the record at pos, or 0 at the end of the records or at a damaged record.
+        int recordLength(int pos, boolean verify) {
+            if (pos > capacity - RECORD_HEADER) {
+                return 0;
+            }
+            int len = buf.getInt(pos);
+            if (len < RECORD_HEADER || len > capacity - pos) {
+                return 0;
+            }
+            byte type = buf.get(pos + 28);
+            if (type != PUT && type != REMOVE) {
+                return 0;
+            }
+            if (verify) {
+                CRC32 crc = new CRC32();
+                crc.update(slice(pos + 8, pos + len));
+                if ((int) crc.getValue() != buf.getInt(pos + 4)) {
+                    return 0;
+                }
+            }
+            return len;
+        }
+
+        // Zeroes whatever a torn append left after the last valid record.
+        void clearFrom(int pos) {
+            for (int i = pos; i <= capacity - 8; i += 8) {
+                if (buf.getLong(i) != 0) {
+                    buf.putLong(i, 0);
+                }
+            }
+        }
+
+        // Read-only view of bytes [from, to).
+        ByteBuffer slice(int from, int to) {
+            ByteBuffer b = buf.duplicate();
+            b.limit(to).position(from);
+            return b.slice().asReadOnlyBuffer();
+        }
+
+        void force() {
+            buf.force();
+        }
+
+        void close() throws IOException {
+            ch.close();
+        }
+    }
+
+    /**
+     * Hash index from (secret id, share index) to the segment and offset of a record, in a memory-mapped file: a
+     * header page, then capacity slots of 32 bytes mapped in regions of REGION_SLOTS slots. Collisions probe linearly
+     * and removals shift the following slots back, so there are no tombstones; the table doubles at 3/4 full.
+     * 
+     * <pre>
+     * header  magic "SSSI" (4), version (1), state (1: 0 = closed cleanly, 1 = open), reserved (2),
+     *         capacity (8), count (8), tail segment id (4), tail offset (4)
+     * slot    secret id (16), share index (4), segment id (4, 0 = empty), offset (4), reserved (4)
+     * </pre>
+     */
+    private static final class Index {
+
+        static final int HEADER = 4096;
+        static final int SLOT = 32;
+        static final int REGION_SHIFT = 20;
+        static final int REGION_SLOTS = 1 << REGION_SHIFT;
+        static final long MIN_CAPACITY = 1024;
+        static final long MAX_CAPACITY = 1L << 31;
+        private static final byte CLOSED = 0;
+        private static final byte OPEN = 1;
+
+        final FileChannel ch;
+        final MappedByteBuffer head;
+        final MappedByteBuffer[] regions;
+        final long capacity;
+        final long mask;
+        long count;
+
+        private Index(Path path, long capacity) throws IOException {
+            this.ch = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            this.head = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER);
+            this.regions = new MappedByteBuffer[(int) ((capacity + REGION_SLOTS - 1) >>> REGION_SHIFT)];
+            for (int r = 0; r < regions.length; r++) {
+                long slots = Math.min(REGION_SLOTS, capacity - ((long) r << REGION_SHIFT));
+                regions[r] = ch.map(FileChannel.MapMode.READ_WRITE, HEADER + ((long) r << REGION_SHIFT) * SLOT, slots * SLOT);
+            }
+        }
+
+        static Index create(Path path, long capacity) throws IOException {
+            try (RandomAccessFile f = new RandomAccessFile(path.toFile(), "rw")) {
+                f.setLength(0);
+                f.setLength(HEADER + capacity * SLOT);
+            }
+            Index ix = new Index(path, capacity);
+            ix.head.putInt(0, INDEX_MAGIC);
+            ix.head.put(4, (byte) VERSION);
+            ix.head.put(5, OPEN);
+            ix.head.putLong(8, capacity);
+            return ix;
+        }
+
+        // Maps an index that was closed cleanly, or returns null if it is missing, damaged or was left open.
+        static Index open(Path path) throws IOException {
+            if (!Files.isRegularFile(path) || Files.size(path) < HEADER) {
+                return null;
+            }
+            ByteBuffer h = ByteBuffer.allocate(32);
+            try (FileChannel c = FileChannel.open(path, StandardOpenOption.READ)) {
+                while (h.hasRemaining() && c.read(h) > 0) {
+                    // the fixed header fields
+                }
+            }
+            long capacity = h.getLong(8);
+            if (h.getInt(0) != INDEX_MAGIC || (h.get(4) & 0xFF) != VERSION || h.get(5) != CLOSED
+                    || capacity < MIN_CAPACITY || capacity > MAX_CAPACITY || Long.bitCount(capacity) != 1
+                    || Files.size(path) != HEADER + capacity * SLOT) {
+                return null;
+            }
+            Index ix = new Index(path, capacity);
+            ix.count = h.getLong(16);
+            return ix;
+        }
+
+        int tailSegment() {
+            return head.getInt(24);
+        }
+
+        int tailPosition() {
+            return head.getInt(28);
+        }
+
+        void markOpen() {
+            head.put(5, OPEN);
+            head.force();
+        }
+
+        void markClosed(int tailSegment, int tailPosition) {
+            head.putLong(16, count);
+            head.putInt(24, tailSegment);
+            head.putInt(28, tailPosition);
+            for (MappedByteBuffer r : regions) {
+                r.force();
+            }
+            head.force();
+            head.put(5, CLOSED);
+            head.force();
+        }
+
+        boolean isFull() {
+            return count + 1 > capacity / 4 * 3;
+        }
+
+        // Returns the location (segment id << 32 | offset) of the key, or 0.
+        long get(long hi, long lo, int idx) {
+            for (long s = hash(hi, lo, idx) & mask;; s = (s + 1) & mask) {
+                ByteBuffer r = regions[(int) (s >>> REGION_SHIFT)];
+                int o = (int) (s & (REGION_SLOTS - 1)) * SLOT;
+                int segment = r.getInt(o + 20);
+                if (segment == 0) {
+                    return 0;
+                }
+                if (r.getLong(o) == hi && r.getLong(o + 8) == lo && r.getInt(o + 16) == idx) {
+                    return ((long) segment << 32) | (r.getInt(o + 24) & 0xFFFFFFFFL);
+                }
+            }
+        }
+
+        // Sets the location of the key; the caller grows the index first when it is full.
+        void put(long hi, long lo, int idx, int segment, int pos) {
+            for (long s = hash(hi, lo, idx) & mask;; s = (s + 1) & mask) {
+                ByteBuffer r = regions[(int) (s >>> REGION_SHIFT)];
+                int o = (int) (s & (REGION_SLOTS - 1)) * SLOT;
+                if (r.getInt(o + 20) == 0) {
+                    r.putLong(o, hi);
+                    r.putLong(o + 8, lo);
+                    r.putInt(o + 16, idx);
+                    r.putInt(o + 24, pos);
+                    r.putInt(o + 20, segment);
+                    count++;
+                    return;
+                }
+                if (r.getLong(o) == hi && r.getLong(o + 8) == lo && r.getInt(o + 16) == idx) {
+                    r.putInt(o + 20, segment);
+                    r.putInt(o + 24, pos);
+                    return;
+                }
+            }
+        }
+
+        void remove(long hi, long lo, int idx) {
+            long i = hash(hi, lo, idx) & mask;
+            while (true) {
+                ByteBuffer r = regions[(int) (i >>> REGION_SHIFT)];
+                int o = (int) (i & (REGION_SLOTS - 1)) * SLOT;
+                if (r.getInt(o + 20) == 0) {
+                    return;
+                }
+                if (r.getLong(o) == hi && r.getLong(o + 8) == lo && r.getInt(o + 16) == idx) {
+                    break;
+                }
+                i = (i + 1) & mask;
+            }
+            // shift back every following slot whose home is not between the hole and itself
+            for (long j = (i + 1) & mask;; j = (j + 1) & mask) {
+                ByteBuffer rj = regions[(int) (j >>> REGION_SHIFT)];
+                int oj = (int) (j & (REGION_SLOTS - 1)) * SLOT;
+                if (rj.getInt(oj + 20) == 0) {
+                    break;
+                }
+                long home = hash(rj.getLong(oj), rj.getLong(oj + 8), rj.getInt(oj + 16)) & mask;
+                if (((j - home) & mask) >= ((j - i) & mask)) {
+                    ByteBuffer ri = regions[(int) (i >>> REGION_SHIFT)];
+                    int oi = (int) (i & (REGION_SLOTS - 1)) * SLOT;
+                    for (int k = 0; k < SLOT; k += 8) {
+                        ri.putLong(oi + k, rj.getLong(oj + k));
+                    }
+                    i = j;
+                }
+            }
+            ByteBuffer r = regions[(int) (i >>> REGION_SHIFT)];
+            int o = (int) (i & (REGION_SLOTS - 1)) * SLOT;
+            for (int k = 0; k < SLOT; k += 8) {
+                r.putLong(o + k, 0);
+            }
+            count--;
+        }
+
+        // Builds an index of twice the capacity in tmp, then moves it over path and closes this one.
+        Index grow(Path tmp, Path path) throws IOException {
+            if (capacity * 2 > MAX_CAPACITY) {
+                throw new IOException("index is full");
+            }
+            Index ix = create(tmp, capacity * 2);
+            for (MappedByteBuffer r : regions) {
+                for (int o = 0; o < r.capacity(); o += SLOT) {
+                    int segment = r.getInt(o + 20);
+                    if (segment != 0) {
+                        ix.put(r.getLong(o), r.getLong(o + 8), r.getInt(o + 16), segment, r.getInt(o + 24));
+                    }
+                }
+            }
+            ix.head.force();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            close();
+            return ix;
+        }
+
+        void close() throws IOException {
+            ch.close();
+        }
+
+        private static long hash(long hi, long lo, int idx) {
+            return mix(hi ^ mix(lo + idx));
+        }
+
+        // The 64-bit finalizer of MurmurHash3.
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
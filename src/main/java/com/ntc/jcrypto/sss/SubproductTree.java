@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+/**
+ * A subproduct tree over distinct points x_0..x_(n-1): each node holds M = prod (x - x_i) over its points, built
+ * bottom-up with {@link Poly#mul}. A polynomial f is evaluated at all points at once by reducing it modulo the nodes
+ * top-down, so each level costs a few products of the node size instead of one Horner pass per point.
+ * 
+ * Points are grouped into blocks of at most blockSize, each with its own tree, for polynomials of fewer than blockSize
+ * coefficients: a tree over more points than the degree would only reduce f to itself in its upper levels. The trees
+ * depend only on the points, so one instance serves every part of a secret, from several threads.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class SubproductTree {
+
+    // Nodes with at most this many points evaluate their remainder by Horner's rule.
+    private static final int LEAF_SIZE = 8;
+
+    private static final class Node {
+        final int from;
+        final int to;
+        // prod_{from <= i < to} (x - x_i), monic
+        final long[][] m;
+        // 1 / reverse(m) mod x^k, k the size of the sibling, to reduce the parent's remainder; at a root, null unless
+        // its block is short
+        long[][] inv;
+        Node left;
+        Node right;
+
+        Node(int from, int to, long[][] m) {
+            this.from = from;
+            this.to = to;
+            this.m = m;
+        }
+    }
+
+    private final long[][] xs;
+    private final Node[] roots;
+
+    SubproductTree(long[][] xs, int blockSize) {
+        this.xs = xs;
+        int blocks = (xs.length + blockSize - 1) / blockSize;
+        this.roots = new Node[blocks];
+        for (int b = 0; b < blocks; b++) {
+            Node root = build(b * blockSize, Math.min(xs.length, (b + 1) * blockSize));
+            // a short last block first reduces f below its own degree
+            int size = root.to - root.from;
+            if (size < blockSize && size > LEAF_SIZE) {
+                root.inv = Poly.inverse(reverse(root.m), blockSize - size);
+            }
+            roots[b] = root;
+        }
+    }
+
+    private Node build(int from, int to) {
+        if (to - from == 1) {
+            long[][] m = new long[2][4];
+            Fp256.neg(m[0], xs[from]);
+            Fp256.setOne(m[1]);
+            return new Node(from, to, m);
+        }
+        int mid = (from + to) >>> 1;
+        Node left = build(from, mid);
+        Node right = build(mid, to);
+        Node node = new Node(from, to, Poly.mul(left.m, right.m));
+        node.left = left;
+        node.right = right;
+        if (to - from > LEAF_SIZE) {
+            left.inv = Poly.inverse(reverse(left.m), to - mid);
+            right.inv = Poly.inverse(reverse(right.m), mid - from);
+        }
+        return node;
+    }
+
+    // Returns the product polynomial of the first block, all the points if it is the only one.
+    long[][] product() {
+        return roots[0].m;
+    }
+
+    // Sets r[i] to f(x_i) for every point; f must have at most blockSize coefficients.
+    void evaluate(long[][] f, long[][] r) {
+        for (Node root : roots) {
+            evaluate(root, root.inv == null ? f : Poly.rem(f, root.m, root.inv), r);
+        }
+    }
+
+    private void evaluate(Node node, long[][] f, long[][] r) {
+        if (node.to - node.from <= LEAF_SIZE) {
+            for (int i = node.from; i < node.to; i++) {
+                horner(r[i], f, xs[i]);
+            }
+            return;
+        }
+        evaluate(node.left, Poly.rem(f, node.left.m, node.left.inv), r);
+        evaluate(node.right, Poly.rem(f, node.right.m, node.right.inv), r);
+    }
+
+    // r = f(x); r must not alias x.
+    static void horner(long[] r, long[][] f, long[] x) {
+        Fp256.setZero(r);
+        for (int i = f.length - 1; i >= 0; i--) {
+            Fp256.mul(r, r, x);
+            Fp256.add(r, r, f[i]);
+        }
+    }
+
+    private static long[][] reverse(long[][] a) {
+        long[][] r = new long[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            r[i] = a[a.length - 1 - i];
+        }
+        return r;
+    }
+}
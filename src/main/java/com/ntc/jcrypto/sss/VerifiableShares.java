@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.util.List;
+
+/**
+ * The result of {@link SSS#createVerifiable(int, int, byte[], boolean)}: the string shares and the Feldman
+ * commitments that let each shareholder, and later the combiner, verify them.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+public final class VerifiableShares {
+
+    private final List<String> shares;
+    private final FeldmanCommitments commitments;
+
+    VerifiableShares(List<String> shares, FeldmanCommitments commitments) {
+        this.shares = shares;
+        this.commitments = commitments;
+    }
+
+    public List<String> shares() {
+        return shares;
+    }
+
+    public FeldmanCommitments commitments() {
+        return commitments;
+    }
+}
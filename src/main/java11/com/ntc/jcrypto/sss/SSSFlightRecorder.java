@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import com.ntc.jcrypto.sss.SSSCallStats.Phase;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits one Flight Recorder event per call (see {@link SSSMetrics#enableFlightRecorder()}). The event begins when the
+ * call starts and is committed when it ends, so its start time and duration are the call's and recording thresholds
+ * apply. It only exists in the Java 11+ layer of the multi-release jar (META-INF/versions/11), so the Java 8 baseline
+ * compiles without jdk.jfr; SSSMetrics loads it by name once the Flight Recorder is known to be present.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class SSSFlightRecorder implements SSSMetrics.CallRecorder {
+
+    @Override
+    public Object begin() {
+        CallEvent event = new CallEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void onCall(SSSCallStats stats) {
+        // a call begun before the events were enabled has none
+        if (!(stats.event instanceof CallEvent)) {
+            return;
+        }
+        CallEvent event = (CallEvent) stats.event;
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.operation = stats.operation();
+        event.format = stats.format();
+        event.encoding = stats.encoding();
+        event.threshold = stats.threshold();
+        event.shares = stats.shares();
+        event.parts = stats.parts();
+        event.secrets = stats.secrets();
+        event.totalTime = stats.totalNanos();
+        event.randomTime = stats.nanos(Phase.RANDOM);
+        event.randomCount = stats.count(Phase.RANDOM);
+        event.evaluateTime = stats.nanos(Phase.EVALUATE);
+        event.evaluateCount = stats.count(Phase.EVALUATE);
+        event.encodeTime = stats.nanos(Phase.ENCODE);
+        event.decodeTime = stats.nanos(Phase.DECODE);
+        event.interpolateTime = stats.nanos(Phase.INTERPOLATE);
+        event.mergeTime = stats.nanos(Phase.MERGE);
+        event.mergeBytes = stats.count(Phase.MERGE);
+        event.commit();
+    }
+
+    @Name("com.ntc.jcrypto.sss.Call")
+    @Label("SSS Call")
+    @Category({"ntc-jcrypto", "Secret Sharing"})
+    @Description("A create or combine call of SSS with the time spent in each phase")
+    @StackTrace(false)
+    static final class CallEvent extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Format")
+        String format;
+
+        @Label("Encoding")
+        String encoding;
+
+        @Label("Threshold")
+        int threshold;
+
+        @Label("Shares")
+        int shares;
+
+        @Label("Parts")
+        int parts;
+
+        @Label("Secrets")
+        int secrets;
+
+        @Label("Total Time")
+        @Timespan
+        long totalTime;
+
+        @Label("Random Time")
+        @Timespan
+        long randomTime;
+
+        @Label("Random Draws")
+        long randomCount;
+
+        @Label("Evaluate Time")
+        @Timespan
+        long evaluateTime;
+
+        @Label("Evaluations")
+        long evaluateCount;
+
+        @Label("Encode Time")
+        @Timespan
+        long encodeTime;
+
+        @Label("Decode Time")
+        @Timespan
+        long decodeTime;
+
+        @Label("Interpolate Time")
+        @Timespan
+        long interpolateTime;
+
+        @Label("Merge Time")
+        @Timespan
+        long mergeTime;
+
+        @Label("Secret Size")
+        @DataAmount
+        long mergeBytes;
+    }
+}
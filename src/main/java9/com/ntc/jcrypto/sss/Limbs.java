@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ntc.jcrypto.sss;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * 64-bit limb primitives used by {@link Fp256}, Java 9+ variant of the multi-release jar
+ * (META-INF/versions/9): the 128-bit product uses the Math.multiplyHigh intrinsic and
+ * big-endian longs are read and written with a byte-array view VarHandle, a single load
+ * or store each. It has the same methods and results as the Java 8 baseline.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class Limbs {
+
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private Limbs() {
+    }
+
+    // Returns the high 64 bits of the unsigned 128-bit product a * b.
+    static long mulHigh(long a, long b) {
+        // the signed high product, corrected for the operands whose top bit is set
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    // Reads 8 bytes big-endian as a long.
+    static long getLong(byte[] b, int off) {
+        return (long) LONG_BE.get(b, off);
+    }
+
+    // Writes a long as 8 bytes big-endian.
+    static void putLong(byte[] b, int off, long v) {
+        LONG_BE.set(b, off, v);
+    }
+}
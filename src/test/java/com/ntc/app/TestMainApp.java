@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.app;
+
+import com.ntc.jcrypto.sss.SSS;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestMainApp test
+ */
+public class TestMainApp {
+    private static final SecureRandom rand = new SecureRandom();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    
+    private int run(String... args) throws Exception {
+        out.reset();
+        err.reset();
+        return MainApp.run(args, new PrintStream(out, true, "UTF-8"), new PrintStream(err, true, "UTF-8"));
+    }
+    
+    private static byte[] random(int size) {
+        byte[] b = new byte[size];
+        rand.nextBytes(b);
+        return b;
+    }
+    
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> s = Files.walk(dir)) {
+            for (Path p : s.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(p);
+            }
+        }
+    }
+    
+    @Test
+    public void testSplitCombine() throws Exception {
+        Path dir = Files.createTempDirectory("sss");
+        try {
+            Path docs = dir.resolve("in").resolve("docs");
+            Files.createDirectories(docs.resolve("sub"));
+            Files.write(docs.resolve("a.txt"), "nghiatcxxx".getBytes(StandardCharsets.UTF_8));
+            Files.write(docs.resolve("empty"), new byte[0]);
+            // several chunks, the last one partial
+            Files.write(docs.resolve("sub").resolve("b.bin"), random(10000));
+            for (String encoding : new String[]{"base64", "hex", "binary"}) {
+                Path shares = dir.resolve("shares-" + encoding);
+                Path restored = dir.resolve("restored-" + encoding);
+                Assert.assertEquals("Split " + err, 0, run("split", "-k", "3", "-n", "5", "-e", encoding, "-c", "4096",
+                        "-t", "2", "-o", shares.toString(), docs.toString()));
+                Assert.assertTrue("Split report", out.toString("UTF-8").startsWith("split: 3 files (0 failed)"));
+                Assert.assertTrue("Share file", Files.isRegularFile(shares.resolve("share-5/docs/sub/b.bin")));
+                Assert.assertEquals("Combine " + err, 0, run("combine", "-o", restored.toString(),
+                        shares.resolve("share-5").toString(), shares.resolve("share-2").toString(), shares.resolve("share-4").toString()));
+                for (String name : new String[]{"a.txt", "empty", "sub/b.bin"}) {
+                    Assert.assertArrayEquals("Restored " + encoding + " " + name,
+                            Files.readAllBytes(docs.resolve(name)), Files.readAllBytes(restored.resolve("docs").resolve(name)));
+                }
+                // a single file from its share files
+                Path one = dir.resolve("one-" + encoding);
+                Assert.assertEquals("Combine file", 0, run("combine", "-o", one.toString(),
+                        shares.resolve("share-1/docs/a.txt").toString(), shares.resolve("share-2/docs/a.txt").toString(),
+                        shares.resolve("share-3/docs/a.txt").toString()));
+                Assert.assertArrayEquals("Restored file", Files.readAllBytes(docs.resolve("a.txt")), Files.readAllBytes(one));
+            }
+            // every line of a text share file is a byte-exact share on its own
+            List<String> lines = Arrays.asList(
+                    Files.readAllLines(dir.resolve("shares-hex/share-1/docs/a.txt")).get(1),
+                    Files.readAllLines(dir.resolve("shares-hex/share-3/docs/a.txt")).get(1),
+                    Files.readAllLines(dir.resolve("shares-hex/share-4/docs/a.txt")).get(1));
+            Assert.assertEquals("Header", "SSSF1 hex 3 4096", Files.readAllLines(dir.resolve("shares-hex/share-1/docs/a.txt")).get(0));
+            Assert.assertArrayEquals("Line", "nghiatcxxx".getBytes(StandardCharsets.UTF_8), new SSS().combineBytes(lines, false));
+        } finally {
+            delete(dir);
+        }
+    }
+    
+    @Test
+    public void testInvalid() throws Exception {
+        Path dir = Files.createTempDirectory("sss");
+        try {
+            Path secret = dir.resolve("secret.bin");
+            Files.write(secret, random(100));
+            Assert.assertEquals("Split", 0, run("split", "-k", "2", "-n", "3", "-o", dir.resolve("a").toString(), secret.toString()));
+            Assert.assertEquals("Split again", 0, run("split", "-k", "2", "-n", "3", "-e", "binary", "-o", dir.resolve("b").toString(), secret.toString()));
+            
+            Path out1 = dir.resolve("out1.bin");
+            Assert.assertEquals("Fewer", 1, run("combine", "-o", out1.toString(), dir.resolve("a/share-1/secret.bin").toString()));
+            Assert.assertTrue("Fewer error", err.toString("UTF-8").contains("share files are fewer than the threshold"));
+            Assert.assertFalse("Fewer output", Files.exists(out1));
+            
+            Assert.assertEquals("Different", 1, run("combine", "-o", out1.toString(),
+                    dir.resolve("a/share-1/secret.bin").toString(), dir.resolve("b/share-2/secret.bin").toString()));
+            Assert.assertTrue("Different error", err.toString("UTF-8").contains("share files are from different splits"));
+            
+            // inputs that would share a path in the share directories
+            Files.createDirectories(dir.resolve("x"));
+            Files.createDirectories(dir.resolve("y"));
+            Files.write(dir.resolve("x").resolve("secret.bin"), random(10));
+            Files.write(dir.resolve("y").resolve("secret.bin"), random(20));
+            Path same = dir.resolve("same");
+            Assert.assertEquals("Same name", 2, run("split", "-k", "2", "-n", "3", "-o", same.toString(),
+                    dir.resolve("x/secret.bin").toString(), dir.resolve("y/secret.bin").toString()));
+            Assert.assertTrue("Same name error", err.toString("UTF-8").contains("have the same share path secret.bin"));
+            Assert.assertFalse("Same name output", Files.exists(same));
+            // the same input twice is split once
+            Assert.assertEquals("Same input", 0, run("split", "-k", "2", "-n", "3", "-o", same.toString(),
+                    dir.resolve("x/secret.bin").toString(), dir.resolve("x/../x/secret.bin").toString()));
+            Assert.assertTrue("Same input report", out.toString("UTF-8").startsWith("split: 1 files (0 failed)"));
+            
+            Assert.assertEquals("Usage", 2, run("split", "-k", "4", "-n", "3", "-o", dir.toString(), secret.toString()));
+            Assert.assertEquals("Unknown", 2, run("frob"));
+            Assert.assertEquals("Option", 2, run("bench", "-x", "1"));
+            Assert.assertEquals("Missing", 1, run("split", "-k", "2", "-n", "3", "-o", dir.toString(), dir.resolve("none").toString()));
+        } finally {
+            delete(dir);
+        }
+    }
+    
+    @Test
+    public void testBench() throws Exception {
+        Assert.assertEquals("Bench", 0, run("bench", "-k", "2", "-n", "3", "-s", "100", "-t", "2", "-d", "1", "-e", "binary"));
+        String report = out.toString("UTF-8");
+        Assert.assertTrue("Bench report", report.startsWith("bench k=2 n=3 size=100 encoding=binary threads=2"));
+        Assert.assertTrue("Bench phases", report.contains("interpolate"));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the heap bytes the current thread allocates per call of an operation, with the HotSpot extension of
+ * ThreadMXBean. The operation is warmed up first so that the JIT, and its escape analysis, have settled; the
+ * measurement itself allocates nothing that is not subtracted.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ */
+final class AllocationMeter {
+
+    // An operation to measure; whatever it allocates counts.
+    interface Op {
+
+        void run() throws Exception;
+    }
+
+    private static final com.sun.management.ThreadMXBean BEAN = bean();
+    // Bytes counted by one empty measurement, subtracted from every result.
+    private static final long OVERHEAD = BEAN == null ? 0 : calibrate();
+
+    private AllocationMeter() {
+    }
+
+    // Whether the JVM can count allocated bytes per thread.
+    static boolean isSupported() {
+        return BEAN != null;
+    }
+
+    /**
+     * Runs op warmup times, then iterations times, and returns the mean bytes allocated per run.
+     *
+     * @param warmup int untimed runs
+     * @param iterations int measured runs
+     * @param op Op operation
+     * @return long bytes per run, rounded
+     * @throws Exception what op throws
+     */
+    static long bytesPerOp(int warmup, int iterations, Op op) throws Exception {
+        if (BEAN == null) {
+            throw new IllegalStateException("thread allocation counting is not supported");
+        }
+        for (int i = 0; i < warmup; i++) {
+            op.run();
+        }
+        long id = Thread.currentThread().getId();
+        long before = BEAN.getThreadAllocatedBytes(id);
+        for (int i = 0; i < iterations; i++) {
+            op.run();
+        }
+        long bytes = BEAN.getThreadAllocatedBytes(id) - before - OVERHEAD;
+        return Math.max(0, (bytes + iterations / 2) / iterations);
+    }
+
+    private static com.sun.management.ThreadMXBean bean() {
+        try {
+            java.lang.management.ThreadMXBean b = ManagementFactory.getThreadMXBean();
+            if (b instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean hb = (com.sun.management.ThreadMXBean) b;
+                if (hb.isThreadAllocatedMemorySupported()) {
+                    hb.setThreadAllocatedMemoryEnabled(true);
+                    return hb;
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // not a HotSpot JVM
+        }
+        return null;
+    }
+
+    private static long calibrate() {
+        long id = Thread.currentThread().getId();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long before = BEAN.getThreadAllocatedBytes(id);
+            min = Math.min(min, BEAN.getThreadAllocatedBytes(id) - before);
+        }
+        return min;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+import org.junit.*;
+
+/**
+ * Allocation budgets of create/combine: bytes allocated per call on the caller's thread, by format and encoding,
+ * over representative (k, n, size) shapes of the serial engine. Every run publishes the table to the console and to
+ * target/allocation-report.txt, then fails if any operation exceeds its budget.
+ * 
+ * Budgets live in src/test/resources/allocation-budgets.properties, keyed operation.format.encoding.kK.nN.sSIZE;
+ * an operation without a budget is reported, not checked. They can be changed per run:
+ * 
+ * # Override one budget, or scale all of them.
+ * mvn -Dtest=TestAllocation -Dsss.alloc.budget.create.exact.base64.k3.n5.s32=4000 test
+ * mvn -Dtest=TestAllocation -Dsss.alloc.slack=1.5 test
+ * 
+ * # Write the report elsewhere, or skip the checks on JVMs without allocation counting.
+ * mvn -Dtest=TestAllocation -Dsss.alloc.report=/tmp/alloc.txt test
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestAllocation test
+ */
+public class TestAllocation {
+    private static final int[][] SHAPES = {{2, 3, 32}, {3, 5, 32}, {3, 5, 1024}, {10, 20, 1024}, {3, 5, 16384}};
+    private static SSS sss;
+    
+    @BeforeClass
+    public static void setUpClass() {
+        sss = new SSS();
+    }
+    
+    private static Properties budgets() throws IOException {
+        Properties p = new Properties();
+        try (InputStream in = TestAllocation.class.getResourceAsStream("/allocation-budgets.properties")) {
+            if (in != null) {
+                p.load(in);
+            }
+        }
+        return p;
+    }
+    
+    // Warm-up and measured runs, fewer for large secrets.
+    private static int runs(int size) {
+        return Math.max(10, Math.min(500, (1 << 15) / size));
+    }
+    
+    @Test
+    public void testBudgets() throws Exception {
+        Assume.assumeTrue("thread allocation counting is not supported", AllocationMeter.isSupported());
+        Properties budgets = budgets();
+        double slack = Double.parseDouble(System.getProperty("sss.alloc.slack", "1.0"));
+        StringWriter sw = new StringWriter();
+        PrintWriter report = new PrintWriter(sw);
+        report.printf(Locale.ROOT, "%-30s %4s %4s %6s %12s %12s  %s%n", "operation", "k", "n", "size", "bytes/op", "budget", "status");
+        List<String> over = new ArrayList<>();
+        Random rand = new Random(2026);
+        for (int[] shape : SHAPES) {
+            int k = shape[0];
+            int n = shape[1];
+            int size = shape[2];
+            int runs = runs(size);
+            byte[] secret = new byte[size];
+            rand.nextBytes(secret);
+            char[] chars = new char[size];
+            for (int i = 0; i < size; i++) {
+                chars[i] = (char) ('a' + rand.nextInt(26));
+            }
+            String text = new String(chars);
+            
+            List<String> classic = sss.create(k, n, text, true);
+            List<String> exact64 = sss.create(k, n, secret, true);
+            List<String> exactHex = sss.create(k, n, secret, false);
+            ByteBuffer[] binary = new ByteBuffer[n];
+            for (int i = 0; i < n; i++) {
+                binary[i] = ByteBuffer.allocate(SSS.shareLength(size));
+            }
+            ByteBuffer in = ByteBuffer.wrap(secret);
+            ByteBuffer out = ByteBuffer.allocate(SSS.maxSecretLength(SSS.shareLength(size)));
+            ByteBuffer[] quorum = new ByteBuffer[k];
+            
+            List<String> names = new ArrayList<>();
+            List<AllocationMeter.Op> ops = new ArrayList<>();
+            names.add("create.classic.base64");
+            ops.add(() -> sss.create(k, n, text, true));
+            names.add("combine.classic.base64");
+            ops.add(() -> check(text.equals(sss.combine(classic.subList(0, k), true))));
+            names.add("create.exact.base64");
+            ops.add(() -> sss.create(k, n, secret, true));
+            names.add("combine.exact.base64");
+            ops.add(() -> check(sss.combineBytes(exact64.subList(0, k), true).length == size));
+            names.add("create.exact.hex");
+            ops.add(() -> sss.create(k, n, secret, false));
+            names.add("combine.exact.hex");
+            ops.add(() -> check(sss.combineBytes(exactHex.subList(0, k), false).length == size));
+            names.add("create.binary.raw");
+            ops.add(() -> {
+                in.clear();
+                for (ByteBuffer b : binary) {
+                    b.clear();
+                }
+                sss.create(k, in, binary);
+            });
+            names.add("combine.binary.raw");
+            ops.add(() -> {
+                for (int i = 0; i < k; i++) {
+                    quorum[i] = binary[i];
+                    binary[i].rewind();
+                }
+                out.clear();
+                check(sss.combine(quorum, out) == size);
+            });
+            // shares for the binary combine
+            ops.get(6).run();
+            
+            for (int i = 0; i < ops.size(); i++) {
+                String key = names.get(i) + ".k" + k + ".n" + n + ".s" + size;
+                long bytes = AllocationMeter.bytesPerOp(runs, runs, ops.get(i));
+                String value = System.getProperty("sss.alloc.budget." + key, budgets.getProperty(key));
+                String status = "no budget";
+                long budget = -1;
+                if (value != null) {
+                    budget = (long) (Long.parseLong(value.trim()) * slack);
+                    status = bytes <= budget ? "ok" : "OVER";
+                    if (bytes > budget) {
+                        over.add(key + " " + bytes + " > " + budget);
+                    }
+                }
+                report.printf(Locale.ROOT, "%-30s %4d %4d %6d %12d %12s  %s%n", names.get(i), k, n, size, bytes,
+                        budget < 0 ? "-" : Long.toString(budget), status);
+            }
+        }
+        report.flush();
+        System.out.print(sw);
+        Path file = Paths.get(System.getProperty("sss.alloc.report", "target/allocation-report.txt"));
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        Files.write(file, sw.toString().getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue("Allocation over budget: " + over, over.isEmpty());
+    }
+    
+    private static void check(boolean isOk) {
+        if (!isOk) {
+            throw new AssertionError("round trip failed");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestBatch test
+ */
+public class TestBatch {
+    private static SSS sss;
+    private static final Random rnd = new Random(2026);
+
+    @BeforeClass
+    public static void initSSS() {
+        sss = new SSS();
+    }
+
+    @Test
+    public void testStrings() throws Exception {
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            List<byte[]> secrets = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                byte[] secret = new byte[i % 70];
+                rnd.nextBytes(secret);
+                secrets.add(secret);
+            }
+            List<List<String>> shareSets = new ArrayList<>();
+            sss.createBatch(3, 5, secrets, isBase64, shareSets);
+            Assert.assertEquals("Sets", 100, shareSets.size());
+            // every secret is shared with the same x-coordinates
+            int head = SSS.BYTES_PREFIX.length() + ShareCodec.blockLength(isBase64);
+            Assert.assertEquals("Same x", shareSets.get(0).get(4).substring(0, head), shareSets.get(99).get(4).substring(0, head));
+
+            List<List<String>> quorums = new ArrayList<>();
+            for (List<String> shares : shareSets) {
+                quorums.add(shares.subList(1, 4));
+                Assert.assertArrayEquals("Single combine", secrets.get(quorums.size() - 1), sss.combineBytes(shares.subList(2, 5), isBase64));
+            }
+            List<byte[]> out = new ArrayList<>();
+            sss.combineBatch(quorums, isBase64, out);
+            for (int i = 0; i < 100; i++) {
+                Assert.assertArrayEquals("Secret " + i, secrets.get(i), out.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testMixedSets() throws Exception {
+        // sets from separate calls have other x-coordinates, and classic sets are combined one by one
+        List<List<String>> sets = new ArrayList<>();
+        sets.add(sss.create(2, 3, new byte[]{1, 2, 3}, true));
+        sets.add(sss.create(2, 3, new byte[]{4, 5}, true).subList(1, 3));
+        sets.add(sss.create(2, 3, "classic", true));
+        List<byte[]> out = new ArrayList<>();
+        sss.combineBatch(sets, true, out);
+        Assert.assertArrayEquals("Set 0", new byte[]{1, 2, 3}, out.get(0));
+        Assert.assertArrayEquals("Set 1", new byte[]{4, 5}, out.get(1));
+        Assert.assertEquals("Set 2", "classic", new String(out.get(2), "UTF-8"));
+    }
+
+    @Test
+    public void testBuffers() throws Exception {
+        for (SSS engine : new SSS[]{sss, new SSS(ForkJoinPool.commonPool(), 8)}) {
+            int count = 200;
+            int len = 32;
+            byte[] secrets = new byte[count * len];
+            rnd.nextBytes(secrets);
+            ByteBuffer[] shares = new ByteBuffer[6];
+            for (int i = 0; i < shares.length; i++) {
+                shares[i] = ByteBuffer.allocate(count * SSS.shareLength(len));
+            }
+            engine.createBatch(4, ByteBuffer.wrap(secrets), len, shares);
+            Assert.assertEquals("Shares written", shares[0].capacity(), shares[0].position());
+
+            // any four holders recover every secret
+            ByteBuffer[] quorum = new ByteBuffer[]{shares[5], shares[1], shares[3], shares[0]};
+            for (ByteBuffer share : quorum) {
+                share.flip();
+            }
+            ByteBuffer out = ByteBuffer.allocate(secrets.length);
+            Assert.assertEquals("Count", count, engine.combineBatch(quorum, len, out));
+            Assert.assertArrayEquals("Secrets", secrets, out.array());
+
+            // each holder's share of a secret is a regular binary share
+            shares[2].flip();
+            ByteBuffer one = ByteBuffer.allocate(len);
+            ByteBuffer[] single = new ByteBuffer[4];
+            int shareLen = SSS.shareLength(len);
+            int[] holders = {0, 1, 2, 3};
+            for (int i = 0; i < 4; i++) {
+                single[i] = ByteBuffer.wrap(shares[holders[i]].array(), 7 * shareLen, shareLen);
+            }
+            engine.combine(single, one);
+            Assert.assertArrayEquals("Secret 7", Arrays.copyOfRange(secrets, 7 * len, 8 * len), one.array());
+        }
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        try {
+            sss.createBatch(2, ByteBuffer.allocate(33), 32, new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocate(64)});
+            Assert.fail("Length");
+        } catch (Exception e) {
+            Assert.assertEquals("Length", "secretLength is invalid", e.getMessage());
+        }
+        try {
+            sss.createBatch(2, ByteBuffer.allocate(64), 32, new ByteBuffer[]{ByteBuffer.allocate(128), ByteBuffer.allocate(64)});
+            Assert.fail("Small");
+        } catch (Exception e) {
+            Assert.assertEquals("Small", "one of the share buffers is too small", e.getMessage());
+        }
+    }
+}
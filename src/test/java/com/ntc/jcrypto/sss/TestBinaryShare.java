@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestBinaryShare test
+ */
+public class TestBinaryShare {
+    private static SSS sss;
+
+    @BeforeClass
+    public static void initSSS() {
+        sss = new SSS();
+    }
+
+    private static void assertFails(String message, String expected, List<BinaryShare> shares) {
+        try {
+            sss.combineBinary(shares);
+            Assert.fail(message);
+        } catch (Exception e) {
+            Assert.assertEquals(message, expected, e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFull() throws Exception {
+        SecureRandom rand = new SecureRandom();
+        for (int size : new int[]{0, 1, 31, 32, 100}) {
+            byte[] key = new byte[size];
+            rand.nextBytes(key);
+            List<BinaryShare> arr = sss.createBinary(3, 6, key);
+            BinaryShare share = arr.get(0);
+            Assert.assertEquals("Full threshold", 3, share.threshold());
+            Assert.assertEquals("Full parts", SSS.bytesToParts(size), share.parts());
+            Assert.assertEquals("Full length", BinaryShare.HEADER_LENGTH + 32 * share.parts(), share.length());
+            Assert.assertArrayEquals("Full secret id", share.secretId(), arr.get(5).secretId());
+            Assert.assertArrayEquals("Full combine 1", key, sss.combineBinary(arr.subList(0, 3)));
+            Assert.assertArrayEquals("Full combine 2", key, sss.combineBinary(arr.subList(2, 6)));
+
+            // wrap a copy, e.g. read from the network
+            List<BinaryShare> copies = new ArrayList<>();
+            for (BinaryShare s : arr.subList(1, 4)) {
+                copies.add(BinaryShare.wrap(ByteBuffer.wrap(s.toByteArray())));
+            }
+            Assert.assertEquals("Full wrap", arr.get(1), copies.get(0));
+            Assert.assertArrayEquals("Full combine wrapped", key, sss.combineBinary(copies));
+        }
+    }
+
+    @Test
+    public void testFiles() throws Exception {
+        byte[] key = new byte[1000];
+        new SecureRandom().nextBytes(key);
+        List<BinaryShare> arr = sss.createBinary(2, 3, key);
+        Path dir = Files.createTempDirectory("sss");
+        try {
+            List<BinaryShare> mapped = new ArrayList<>();
+            for (int i = 0; i < arr.size(); i++) {
+                Path file = dir.resolve("share" + i + ".bin");
+                arr.get(i).write(file);
+                Assert.assertEquals("Files size", arr.get(i).length(), Files.size(file));
+                mapped.add(BinaryShare.map(file));
+            }
+            Assert.assertArrayEquals("Files combine", key, sss.combineBinary(mapped.subList(1, 3)));
+
+            byte[] raw = Files.readAllBytes(dir.resolve("share0.bin"));
+            raw[BinaryShare.HEADER_LENGTH + 5] ^= 1;
+            Files.write(dir.resolve("share0.bin"), raw);
+            try {
+                BinaryShare.map(dir.resolve("share0.bin"));
+                Assert.fail("Files corrupted");
+            } catch (Exception e) {
+                Assert.assertEquals("Files corrupted", "share checksum is invalid", e.getMessage());
+            }
+        } finally {
+            for (int i = 0; i < arr.size(); i++) {
+                Files.deleteIfExists(dir.resolve("share" + i + ".bin"));
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testConvert() throws Exception {
+        String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+        byte[] id = new byte[BinaryShare.SECRET_ID_LENGTH];
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            // compact strings to binary and back
+            List<String> str = sss.create(3, 6, s, isBase64, true);
+            List<BinaryShare> bin = BinaryShare.fromStrings(str, isBase64, 3, id);
+            Assert.assertEquals("Convert layout", BinaryShare.LAYOUT_PADDED, bin.get(0).layout());
+            Assert.assertEquals("Convert combine compact", s, new String(sss.combineBinary(bin.subList(1, 4)), "UTF-8"));
+            Assert.assertEquals("Convert to string", str.get(2), bin.get(2).toString(isBase64));
+
+            // byte-exact binary to strings and back
+            byte[] key = s.getBytes("UTF-8");
+            bin = sss.createBinary(3, 6, key);
+            List<String> back = new ArrayList<>();
+            for (BinaryShare share : bin) {
+                back.add(share.toString(isBase64));
+            }
+            Assert.assertTrue("Convert prefix", back.get(0).startsWith(SSS.BYTES_PREFIX));
+            Assert.assertArrayEquals("Convert combine strings", key, sss.combineBytes(back.subList(0, 3), isBase64));
+            Assert.assertArrayEquals("Convert round trip", key,
+                    sss.combineBinary(BinaryShare.fromStrings(back.subList(3, 6), isBase64, 3, id)));
+        }
+        try {
+            BinaryShare.fromStrings(sss.create(2, 3, s, true), true, 2, id);
+            Assert.fail("Convert classic");
+        } catch (Exception e) {
+            Assert.assertEquals("Convert classic", "one of the shares is invalid", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        byte[] key = "nghiatc".getBytes("UTF-8");
+        List<BinaryShare> arr = sss.createBinary(3, 4, key);
+        assertFails("Invalid threshold", "shares are fewer than the threshold", arr.subList(0, 2));
+        List<BinaryShare> mixed = new ArrayList<>(arr.subList(0, 2));
+        mixed.add(sss.createBinary(3, 4, key).get(2));
+        assertFails("Invalid mixed", "shares belong to different secrets", mixed);
+        assertFails("Invalid duplicate", "shares have duplicate x-coordinates", Arrays.asList(arr.get(0), arr.get(1), arr.get(0)));
+        try {
+            BinaryShare.wrap(ByteBuffer.wrap(new byte[BinaryShare.HEADER_LENGTH + 32]));
+            Assert.fail("Invalid magic");
+        } catch (Exception e) {
+            Assert.assertEquals("Invalid magic", "share is not a binary share", e.getMessage());
+        }
+        byte[] truncated = Arrays.copyOf(arr.get(0).toByteArray(), arr.get(0).length() - 1);
+        try {
+            BinaryShare.wrap(ByteBuffer.wrap(truncated));
+            Assert.fail("Invalid length");
+        } catch (Exception e) {
+            Assert.assertEquals("Invalid length", "share length is invalid", e.getMessage());
+        }
+    }
+}
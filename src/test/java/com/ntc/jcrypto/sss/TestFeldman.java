@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestFeldman test
+ */
+public class TestFeldman {
+    private static SSS sss;
+    private static final byte[] secret = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx".getBytes(StandardCharsets.UTF_8);
+
+    @BeforeClass
+    public static void initSSS() {
+        sss = new SSS();
+    }
+
+    @Test
+    public void testGroup() throws Exception {
+        // K from the nothing-up-my-sleeve seed documented in FeldmanGroup
+        byte[] seed = new byte[224];
+        for (int i = 0; i < 7; i++) {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update("ntc-jcrypto Feldman group".getBytes(StandardCharsets.US_ASCII));
+            md.update((byte) i);
+            System.arraycopy(md.digest(), 0, seed, 32 * i, 32);
+        }
+        BigInteger k = new BigInteger(1, seed).shiftRight(1).setBit(1791).setBit(1790).clearBit(0).add(BigInteger.valueOf(2850));
+        Assert.assertEquals("Q derivation", Fp256.P.multiply(k).add(BigInteger.ONE), FeldmanGroup.Q);
+        Assert.assertEquals("Q bits", 2048, FeldmanGroup.Q.bitLength());
+        Assert.assertTrue("Q prime", FeldmanGroup.Q.isProbablePrime(64));
+        Assert.assertTrue("G order", FeldmanGroup.G.compareTo(BigInteger.ONE) > 0);
+        Assert.assertEquals("G^P", BigInteger.ONE, FeldmanGroup.G.modPow(Fp256.P, FeldmanGroup.Q));
+
+        long[] e = Fp256.valueOf(new BigInteger("123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef", 16));
+        BigInteger expected = FeldmanGroup.G.modPow(Fp256.toBigInteger(e), FeldmanGroup.Q);
+        Assert.assertEquals("powG", expected, FeldmanGroup.fromMont(FeldmanGroup.powG(e)));
+        long[] f = Fp256.valueOf(7);
+        BigInteger h = FeldmanGroup.G.modPow(BigInteger.valueOf(11), FeldmanGroup.Q);
+        Assert.assertEquals("multiPow", expected.multiply(h.modPow(BigInteger.valueOf(7), FeldmanGroup.Q)).mod(FeldmanGroup.Q),
+                FeldmanGroup.fromMont(FeldmanGroup.multiPow(
+                        new BigInteger[]{FeldmanGroup.toMont(FeldmanGroup.G), FeldmanGroup.toMont(h)}, new long[][]{e, f})));
+    }
+
+    @Test
+    public void testVerify() throws Exception {
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            VerifiableShares vs = sss.createVerifiable(3, 6, secret, isBase64);
+            FeldmanCommitments commitments = vs.commitments();
+            Assert.assertEquals("Threshold", 3, commitments.threshold());
+            Assert.assertEquals("Parts", SSS.bytesToParts(secret.length), commitments.parts());
+            for (String share : vs.shares()) {
+                Assert.assertTrue("Valid share", sss.verifyShare(share, isBase64, commitments));
+            }
+            Assert.assertFalse("Tampered share", sss.verifyShare(tamper(vs.shares().get(0), isBase64, 1), isBase64, commitments));
+            Assert.assertFalse("Malformed share", sss.verifyShare("v2b.xyz", isBase64, commitments));
+            Assert.assertArrayEquals("Combine", secret, sss.combineBytes(vs.shares().subList(0, 3), isBase64));
+        }
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        VerifiableShares vs = sss.createVerifiable(4, 10, secret, true);
+        List<String> shares = new ArrayList<>(vs.shares());
+        shares.set(2, tamper(shares.get(2), true, 0));
+        shares.set(7, tamper(shares.get(7), true, 2));
+        shares.set(8, "nghiatc");
+        boolean[] expected = new boolean[10];
+        Arrays.fill(expected, true);
+        expected[2] = expected[7] = expected[8] = false;
+        boolean[] valid = sss.verifyShares(shares, true, vs.commitments());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("Share " + i, expected[i], valid[i]);
+        }
+
+        // forged shares first: combineVerified skips them
+        List<String> mixed = Arrays.asList(shares.get(2), shares.get(7), shares.get(0), shares.get(0), shares.get(1), shares.get(3), shares.get(4));
+        Assert.assertArrayEquals("Combine verified", secret, sss.combineVerified(mixed, true, vs.commitments()));
+        try {
+            sss.combineVerified(mixed.subList(0, 6), true, vs.commitments());
+            Assert.fail("Too few valid shares");
+        } catch (Exception e) {
+            Assert.assertEquals("Too few valid shares", "valid shares are fewer than the threshold", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCommitmentsEncoding() throws Exception {
+        VerifiableShares vs = sss.createVerifiable(2, 3, secret, false);
+        byte[] bytes = vs.commitments().toByteArray();
+        Assert.assertEquals("Length", FeldmanCommitments.HEADER_LENGTH + 3 * 2 * 256, bytes.length);
+        FeldmanCommitments decoded = FeldmanCommitments.fromByteArray(bytes);
+        Assert.assertArrayEquals("Round trip", bytes, decoded.toByteArray());
+        Assert.assertTrue("Decoded verify", sss.verifyShare(vs.shares().get(2), false, decoded));
+
+        // another secret's commitments reject the share
+        FeldmanCommitments other = sss.createVerifiable(2, 3, secret, false).commitments();
+        Assert.assertFalse("Other commitments", sss.verifyShare(vs.shares().get(2), false, other));
+
+        bytes[bytes.length - 1] ^= 1;
+        Assert.assertFalse("Corrupted commitments", sss.verifyShare(vs.shares().get(2), false, FeldmanCommitments.fromByteArray(bytes)));
+        try {
+            FeldmanCommitments.fromByteArray(Arrays.copyOf(bytes, bytes.length - 1));
+            Assert.fail("Truncated commitments");
+        } catch (Exception e) {
+            Assert.assertEquals("Truncated commitments", "commitments length is invalid", e.getMessage());
+        }
+    }
+
+    // Returns share with its y-coordinate of part j changed by one.
+    private static String tamper(String share, boolean isBase64, int j) throws Exception {
+        int blockLen = ShareCodec.blockLength(isBase64);
+        int off = SSS.BYTES_PREFIX.length() + (j + 1) * blockLen;
+        long[] y = Fp256.create();
+        Assert.assertTrue(ShareCodec.decode(share, off, isBase64, y));
+        Fp256.add(y, y, Fp256.valueOf(1));
+        char[] chars = share.toCharArray();
+        ShareCodec.encode(y, isBase64, chars, off);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestFp256 test
+ */
+public class TestFp256 {
+    private static final BigInteger P = Fp256.P;
+    private static List<BigInteger> values;
+    
+    @BeforeClass
+    public static void initValues() {
+        values = new ArrayList<>();
+        // edge cases around 0, 2^64 limb boundaries and P
+        values.add(BigInteger.ZERO);
+        values.add(BigInteger.ONE);
+        values.add(BigInteger.valueOf(2));
+        values.add(BigInteger.valueOf(189));
+        values.add(P.subtract(BigInteger.ONE));
+        values.add(P.subtract(BigInteger.valueOf(2)));
+        values.add(P.subtract(BigInteger.valueOf(189)));
+        for (int i = 1; i < 4; i++) {
+            values.add(BigInteger.ONE.shiftLeft(64 * i));
+            values.add(BigInteger.ONE.shiftLeft(64 * i).subtract(BigInteger.ONE));
+        }
+        values.add(BigInteger.ONE.shiftLeft(255));
+        Random rand = new SecureRandom();
+        for (int i = 0; i < 200; i++) {
+            values.add(new BigInteger(256, rand).mod(P));
+        }
+        // values with all-ones limbs stress the carry chains
+        values.add(P.subtract(BigInteger.ONE.shiftLeft(64)));
+        values.add(BigInteger.ONE.shiftLeft(192).subtract(BigInteger.ONE).shiftLeft(64));
+    }
+    
+    @Test
+    public void testConvert() {
+        for (BigInteger v : values) {
+            long[] a = Fp256.valueOf(v);
+            Assert.assertEquals("toBigInteger", v, Fp256.toBigInteger(a));
+            Assert.assertTrue("isReduced", Fp256.isReduced(a));
+            byte[] b = new byte[32];
+            Fp256.toBytes(a, b, 0);
+            long[] c = Fp256.create();
+            Fp256.fromBytes(c, b, 0);
+            Assert.assertArrayEquals("bytes", a, c);
+        }
+        long[] p = Fp256.create();
+        Fp256.fromBytes(p, Fp256.P.toByteArray(), 1);
+        Assert.assertFalse("P is not reduced", Fp256.isReduced(p));
+    }
+    
+    @Test
+    public void testAddSubNeg() {
+        long[] r = Fp256.create();
+        for (BigInteger x : values) {
+            long[] a = Fp256.valueOf(x);
+            for (int j = 0; j < values.size(); j += 7) {
+                BigInteger y = values.get(j);
+                long[] b = Fp256.valueOf(y);
+                Fp256.add(r, a, b);
+                Assert.assertEquals("add", x.add(y).mod(P), Fp256.toBigInteger(r));
+                Fp256.sub(r, a, b);
+                Assert.assertEquals("sub", x.subtract(y).mod(P), Fp256.toBigInteger(r));
+            }
+            Fp256.neg(r, a);
+            Assert.assertEquals("neg", x.negate().mod(P), Fp256.toBigInteger(r));
+        }
+    }
+    
+    @Test
+    public void testMulSqr() {
+        long[] r = Fp256.create();
+        for (BigInteger x : values) {
+            long[] a = Fp256.valueOf(x);
+            for (BigInteger y : values) {
+                Fp256.mul(r, a, Fp256.valueOf(y));
+                Assert.assertEquals("mul", x.multiply(y).mod(P), Fp256.toBigInteger(r));
+            }
+            Fp256.sqr(r, a);
+            Assert.assertEquals("sqr", x.multiply(x).mod(P), Fp256.toBigInteger(r));
+            // aliasing: r = r * r
+            Fp256.copy(r, a);
+            Fp256.mul(r, r, r);
+            Assert.assertEquals("mul alias", x.multiply(x).mod(P), Fp256.toBigInteger(r));
+        }
+    }
+    
+    @Test
+    public void testInv() {
+        long[] r = Fp256.create();
+        for (BigInteger x : values) {
+            if (x.signum() == 0) {
+                continue;
+            }
+            Fp256.inv(r, Fp256.valueOf(x));
+            Assert.assertEquals("inv", x.modInverse(P), Fp256.toBigInteger(r));
+        }
+    }
+    
+    @Test
+    public void testInvAll() {
+        List<long[]> nonZero = new ArrayList<>();
+        for (BigInteger x : values) {
+            if (x.signum() != 0) {
+                nonZero.add(Fp256.valueOf(x));
+            }
+        }
+        long[][] a = nonZero.toArray(new long[0][]);
+        long[][] r = new long[a.length][4];
+        Fp256.invAll(r, a);
+        for (int i = 0; i < a.length; i++) {
+            Assert.assertEquals("invAll", Fp256.toBigInteger(a[i]).modInverse(P), Fp256.toBigInteger(r[i]));
+        }
+        // in place
+        Fp256.invAll(r, r);
+        for (int i = 0; i < a.length; i++) {
+            Assert.assertArrayEquals("invAll alias", a[i], r[i]);
+        }
+    }
+    
+    @Test(expected = ArithmeticException.class)
+    public void testInvZero() {
+        Fp256.inv(Fp256.create(), Fp256.create());
+    }
+}
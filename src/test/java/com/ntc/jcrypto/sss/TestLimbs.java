@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.*;
+
+/**
+ * Runs the Java 8 baseline and, when the build produced it, the Java 9+ variant of the multi-release jar
+ * (META-INF/versions/9) side by side: the versioned Limbs is loaded with a copy of Fp256 in a separate class loader,
+ * since tests run from the class directory where the JVM does not pick versioned classes itself.
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestLimbs test
+ */
+public class TestLimbs {
+    private static final String VERSIONED = "META-INF/versions/9/";
+    private static final BigInteger MASK64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+    private static final long[] EDGES = {0, 1, 2, -1, -2, Long.MAX_VALUE, Long.MIN_VALUE, 0xFFFFFFFFL, 1L << 32, 189};
+    
+    private static Method mulHigh;
+    private static Method getLong;
+    private static Method putLong;
+    private static Method fpMul;
+    private static Method fpSqr;
+    private static Method fpFromBytes;
+    private static Method fpToBytes;
+    
+    // Defines Limbs from the versioned directory and Fp256 from the baseline, so that Fp256 links to the variant.
+    private static final class VersionedLoader extends ClassLoader {
+        VersionedLoader(ClassLoader parent) {
+            super(parent);
+        }
+        
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(Limbs.class.getName()) && !name.equals(Fp256.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> c = findLoadedClass(name);
+                if (c == null) {
+                    String path = name.replace('.', '/') + ".class";
+                    byte[] b = read(name.equals(Limbs.class.getName()) ? VERSIONED + path : path);
+                    c = defineClass(name, b, 0, b.length);
+                }
+                return c;
+            }
+        }
+        
+        private byte[] read(String path) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(path)) {
+                if (in == null) {
+                    throw new ClassNotFoundException(path);
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buf = new byte[4096];
+                for (int n; (n = in.read(buf)) > 0; ) {
+                    out.write(buf, 0, n);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(path, e);
+            }
+        }
+    }
+    
+    @BeforeClass
+    public static void loadVariant() throws Exception {
+        ClassLoader parent = TestLimbs.class.getClassLoader();
+        if (parent.getResource(VERSIONED + Limbs.class.getName().replace('.', '/') + ".class") == null) {
+            return;
+        }
+        ClassLoader loader = new VersionedLoader(parent);
+        Class<?> limbs = loader.loadClass(Limbs.class.getName());
+        Class<?> fp = loader.loadClass(Fp256.class.getName());
+        mulHigh = method(limbs, "mulHigh", long.class, long.class);
+        getLong = method(limbs, "getLong", byte[].class, int.class);
+        putLong = method(limbs, "putLong", byte[].class, int.class, long.class);
+        fpMul = method(fp, "mul", long[].class, long[].class, long[].class);
+        fpSqr = method(fp, "sqr", long[].class, long[].class);
+        fpFromBytes = method(fp, "fromBytes", long[].class, byte[].class, int.class);
+        fpToBytes = method(fp, "toBytes", long[].class, byte[].class, int.class);
+    }
+    
+    private static Method method(Class<?> c, String name, Class<?>... types) throws Exception {
+        Method m = c.getDeclaredMethod(name, types);
+        m.setAccessible(true);
+        return m;
+    }
+    
+    private static BigInteger unsigned(long v) {
+        return BigInteger.valueOf(v).and(MASK64);
+    }
+    
+    private static long[] operands() {
+        Random rand = new Random(17);
+        long[] vs = new long[EDGES.length + 1000];
+        System.arraycopy(EDGES, 0, vs, 0, EDGES.length);
+        for (int i = EDGES.length; i < vs.length; i++) {
+            vs[i] = rand.nextLong();
+        }
+        return vs;
+    }
+    
+    @Test
+    public void testBaseline() throws Exception {
+        long[] vs = operands();
+        for (int i = 0; i < vs.length; i++) {
+            long a = vs[i];
+            long b = vs[(i * 7 + 3) % vs.length];
+            long expected = unsigned(a).multiply(unsigned(b)).shiftRight(64).longValue();
+            Assert.assertEquals("MulHigh", expected, Limbs.mulHigh(a, b));
+            byte[] buf = new byte[11];
+            Limbs.putLong(buf, 3, a);
+            Assert.assertEquals("Bytes", a, new BigInteger(1, Arrays.copyOfRange(buf, 3, 11)).longValue());
+            Assert.assertEquals("GetLong", a, Limbs.getLong(buf, 3));
+        }
+    }
+    
+    @Test
+    public void testVariant() throws Exception {
+        Assume.assumeTrue("no META-INF/versions/9 classes in this build", mulHigh != null);
+        long[] vs = operands();
+        for (int i = 0; i < vs.length; i++) {
+            long a = vs[i];
+            long b = vs[(i * 7 + 3) % vs.length];
+            Assert.assertEquals("MulHigh", Limbs.mulHigh(a, b), (long) (Long) mulHigh.invoke(null, a, b));
+            byte[] expected = new byte[12];
+            byte[] actual = new byte[12];
+            Limbs.putLong(expected, 1, a);
+            putLong.invoke(null, actual, 1, a);
+            Assert.assertArrayEquals("PutLong", expected, actual);
+            Assert.assertEquals("GetLong", a, (long) (Long) getLong.invoke(null, actual, 1));
+        }
+    }
+    
+    @Test
+    public void testVariantField() throws Exception {
+        Assume.assumeTrue("no META-INF/versions/9 classes in this build", fpMul != null);
+        Random rand = new Random(23);
+        byte[] bytes = new byte[32];
+        for (int i = 0; i < 500; i++) {
+            long[] a = Fp256.valueOf(new BigInteger(256, rand).mod(Fp256.P));
+            long[] b = i == 0 ? Fp256.valueOf(Fp256.P.subtract(BigInteger.ONE)) : Fp256.valueOf(new BigInteger(256, rand).mod(Fp256.P));
+            long[] expected = Fp256.create();
+            long[] actual = Fp256.create();
+            Fp256.mul(expected, a, b);
+            fpMul.invoke(null, actual, a, b);
+            Assert.assertArrayEquals("Mul", expected, actual);
+            Fp256.sqr(expected, a);
+            fpSqr.invoke(null, actual, a);
+            Assert.assertArrayEquals("Sqr", expected, actual);
+            fpToBytes.invoke(null, a, bytes, 0);
+            Assert.assertEquals("ToBytes", Fp256.toBigInteger(a), new BigInteger(1, bytes));
+            fpFromBytes.invoke(null, actual, bytes, 0);
+            Assert.assertArrayEquals("FromBytes", a, actual);
+        }
+    }
+}
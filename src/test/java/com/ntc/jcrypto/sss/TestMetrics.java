@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import com.ntc.jcrypto.sss.SSSCallStats.Phase;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestMetrics test
+ */
+public class TestMetrics {
+    private static final String SECRET = "nghiatcxxx ntc-jcrypto secret sharing with metrics, long enough for several parts";
+    
+    private final List<SSSCallStats> calls = Collections.synchronizedList(new ArrayList<>());
+    private final SSSListener listener = calls::add;
+    
+    @Before
+    public void register() {
+        SSSMetrics.addListener(listener);
+    }
+    
+    @After
+    public void unregister() {
+        SSSMetrics.removeListener(listener);
+    }
+    
+    private SSSCallStats last() {
+        Assert.assertFalse("Reported", calls.isEmpty());
+        return calls.get(calls.size() - 1);
+    }
+    
+    @Test
+    public void testCreateCombine() throws Exception {
+        SSS sss = new SSS();
+        byte[] secret = SECRET.getBytes(StandardCharsets.UTF_8);
+        int parts = SSS.bytesToParts(secret.length);
+        
+        List<String> shares = sss.create(3, 5, secret, true);
+        SSSCallStats create = last();
+        Assert.assertEquals("Operation", SSSCallStats.CREATE, create.operation());
+        Assert.assertEquals("Format", "exact", create.format());
+        Assert.assertEquals("Encoding", "base64", create.encoding());
+        Assert.assertEquals("Threshold", 3, create.threshold());
+        Assert.assertEquals("Shares", 5, create.shares());
+        Assert.assertEquals("Parts", parts, create.parts());
+        Assert.assertEquals("Random", 5 + 2 * parts, create.count(Phase.RANDOM));
+        Assert.assertEquals("Evaluate", 5 * parts, create.count(Phase.EVALUATE));
+        Assert.assertEquals("Encode", 5, create.count(Phase.ENCODE));
+        assertPhases(create);
+        
+        Assert.assertArrayEquals("Secret", secret, sss.combineBytes(shares.subList(1, 4), true));
+        SSSCallStats combine = last();
+        Assert.assertEquals("Operation", SSSCallStats.COMBINE, combine.operation());
+        Assert.assertEquals("Format", "exact", combine.format());
+        Assert.assertEquals("Shares", 3, combine.shares());
+        Assert.assertEquals("Parts", parts, combine.parts());
+        Assert.assertEquals("Decode", 3, combine.count(Phase.DECODE));
+        Assert.assertEquals("Interpolate", parts, combine.count(Phase.INTERPOLATE));
+        Assert.assertEquals("Merge", secret.length, combine.count(Phase.MERGE));
+        assertPhases(combine);
+    }
+    
+    @Test
+    public void testFormats() throws Exception {
+        SSS sss = new SSS();
+        for (boolean isCompact : new boolean[]{false, true}) {
+            List<String> shares = sss.create(2, 3, SECRET, false, isCompact);
+            Assert.assertEquals("Create format", isCompact ? "compact" : "classic", last().format());
+            Assert.assertEquals("Create encoding", "hex", last().encoding());
+            assertPhases(last());
+            Assert.assertEquals("Secret", SECRET, sss.combine(shares.subList(0, 2), false));
+            Assert.assertEquals("Combine format", isCompact ? "compact" : "classic", last().format());
+            Assert.assertEquals("Combine parts", last().parts(), last().count(Phase.INTERPOLATE));
+            assertPhases(last());
+        }
+        
+        byte[] secret = new byte[100];
+        List<byte[]> shares = sss.create(3, 4, secret);
+        Assert.assertEquals("Binary create", "binary", last().format());
+        Assert.assertArrayEquals("Binary secret", secret, sss.combine(shares.subList(1, 4)));
+        Assert.assertEquals("Binary combine", "raw", last().encoding());
+        Assert.assertEquals("Binary merge", secret.length, last().count(Phase.MERGE));
+        assertPhases(last());
+    }
+    
+    @Test
+    public void testBatch() throws Exception {
+        SSS sss = new SSS();
+        List<byte[]> secrets = new ArrayList<>();
+        int parts = 0;
+        for (int i = 0; i < 10; i++) {
+            secrets.add(new byte[20 + 10 * i]);
+            parts += SSS.bytesToParts(20 + 10 * i);
+        }
+        List<List<String>> sets = new ArrayList<>();
+        sss.createBatch(3, 5, secrets, true, sets);
+        Assert.assertEquals("One report", 1, calls.size());
+        SSSCallStats create = last();
+        Assert.assertEquals("Operation", SSSCallStats.CREATE, create.operation());
+        Assert.assertEquals("Secrets", 10, create.secrets());
+        Assert.assertEquals("Parts", parts, create.parts());
+        Assert.assertEquals("Evaluate", 5 * parts, create.count(Phase.EVALUATE));
+        assertPhases(create);
+        
+        List<byte[]> out = new ArrayList<>();
+        sss.combineBatch(sets, true, out);
+        Assert.assertEquals("One report", 2, calls.size());
+        SSSCallStats combine = last();
+        Assert.assertEquals("Operation", SSSCallStats.COMBINE, combine.operation());
+        Assert.assertEquals("Format", "exact", combine.format());
+        Assert.assertEquals("Secrets", 10, combine.secrets());
+        Assert.assertEquals("Interpolate", parts, combine.count(Phase.INTERPOLATE));
+        assertPhases(combine);
+        
+        ByteBuffer packed = ByteBuffer.allocate(8 * 40);
+        ByteBuffer[] holders = new ByteBuffer[3];
+        for (int i = 0; i < holders.length; i++) {
+            holders[i] = ByteBuffer.allocate(8 * SSS.shareLength(40));
+        }
+        sss.createBatch(2, packed, 40, holders);
+        Assert.assertEquals("Binary secrets", 8, last().secrets());
+        for (ByteBuffer holder : holders) {
+            holder.flip();
+        }
+        Assert.assertEquals("Combined", 8, sss.combineBatch(holders, 40, ByteBuffer.allocate(8 * 40)));
+        Assert.assertEquals("Binary format", "binary", last().format());
+        Assert.assertEquals("Binary interpolate", 8 * SSS.bytesToParts(40), last().count(Phase.INTERPOLATE));
+        assertPhases(last());
+    }
+    
+    @Test
+    public void testOtherCalls() throws Exception {
+        SSS sss = new SSS();
+        byte[] secret = SECRET.getBytes(StandardCharsets.UTF_8);
+        int parts = SSS.bytesToParts(secret.length);
+        
+        List<BinaryShare> binary = sss.createBinary(3, 5, secret);
+        Assert.assertEquals("Header create", "header", last().format());
+        Assert.assertArrayEquals("Header secret", secret, sss.combineBinary(binary.subList(0, 3)));
+        Assert.assertEquals("Header combine", "header", last().format());
+        Assert.assertEquals("Header decode", 3, last().count(Phase.DECODE));
+        assertPhases(last());
+        
+        VerifiableShares verifiable = sss.createVerifiable(3, 5, secret, true);
+        Assert.assertEquals("Verifiable create", 5, last().count(Phase.ENCODE));
+        assertPhases(last());
+        Assert.assertArrayEquals("Verified secret", secret, sss.combineVerified(verifiable.shares(), true, verifiable.commitments()));
+        Assert.assertEquals("Verified decode", 5, last().count(Phase.DECODE));
+        Assert.assertEquals("Verified interpolate", parts, last().count(Phase.INTERPOLATE));
+        assertPhases(last());
+        
+        Assert.assertArrayEquals("Robust secret", secret, sss.combineRobust(verifiable.shares(), true, 3).secret());
+        Assert.assertEquals("Robust format", "exact", last().format());
+        Assert.assertEquals("Robust parts", parts, last().parts());
+        Assert.assertEquals("Robust merge", secret.length, last().count(Phase.MERGE));
+        assertPhases(last());
+        
+        PreparedShares prepared = sss.prepare(verifiable.shares(), true);
+        int reported = calls.size();
+        Assert.assertArrayEquals("Prepared secret", secret, prepared.combineBytes(0, 2, 4));
+        Assert.assertEquals("Prepared reported", reported + 1, calls.size());
+        Assert.assertEquals("Prepared encoding", "raw", last().encoding());
+        Assert.assertEquals("Prepared shares", 3, last().shares());
+        Assert.assertEquals("Prepared decode", 0, last().count(Phase.DECODE));
+        assertPhases(last());
+        
+        ShareAccumulator acc = sss.accumulator(3, true);
+        for (String share : verifiable.shares().subList(1, 4)) {
+            acc.add(share);
+        }
+        Assert.assertArrayEquals("Accumulated secret", secret, acc.combineBytes());
+        Assert.assertEquals("Accumulated decode", 3, last().count(Phase.DECODE));
+        Assert.assertEquals("Accumulated interpolate", parts, last().count(Phase.INTERPOLATE));
+        Assert.assertTrue("Accumulated folds", last().nanos(Phase.INTERPOLATE) > 0);
+        assertPhases(last());
+        acc.combineBytes();
+        Assert.assertEquals("Folds reported once", 0, last().count(Phase.DECODE));
+    }
+    
+    @Test
+    public void testStream() throws Exception {
+        SSSStream stream = new SSSStream(new SSS(), 4);
+        byte[] secret = new byte[500];
+        List<ByteArrayOutputStream> outs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            outs.add(new ByteArrayOutputStream());
+        }
+        stream.split(2, new ByteArrayInputStream(secret), outs, false);
+        SSSCallStats split = last();
+        Assert.assertEquals("Format", "stream", split.format());
+        Assert.assertEquals("Parts", SSS.bytesToParts(secret.length), split.parts());
+        Assert.assertEquals("Evaluate", 4 * SSS.bytesToParts(secret.length), split.count(Phase.EVALUATE));
+        Assert.assertEquals("Random", SSS.bytesToParts(secret.length), split.count(Phase.RANDOM) - 4);
+        Assert.assertEquals("Encode", 4 * (1 + SSS.bytesToParts(secret.length)), split.count(Phase.ENCODE));
+        assertPhases(split);
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stream.combine(Arrays.asList(new ByteArrayInputStream(outs.get(1).toByteArray()),
+                new ByteArrayInputStream(outs.get(3).toByteArray())), out, false);
+        Assert.assertArrayEquals("Secret", secret, out.toByteArray());
+        SSSCallStats combine = last();
+        Assert.assertEquals("Operation", SSSCallStats.COMBINE, combine.operation());
+        Assert.assertEquals("Interpolate", SSS.bytesToParts(secret.length), combine.count(Phase.INTERPOLATE));
+        Assert.assertEquals("Decode", 2 * (1 + SSS.bytesToParts(secret.length)), combine.count(Phase.DECODE));
+        Assert.assertEquals("Merge", secret.length, combine.count(Phase.MERGE));
+        assertPhases(combine);
+    }
+    
+    @Test
+    public void testUnregistered() throws Exception {
+        SSS sss = new SSS();
+        SSSMetrics.removeListener(listener);
+        sss.combine(sss.create(2, 3, SECRET, true), true);
+        Assert.assertTrue("Not reported", calls.isEmpty());
+        Assert.assertNull("No statistics", SSSMetrics.begin(SSSCallStats.CREATE, "exact", "raw", 2, 3, 1));
+    }
+    
+    @Test
+    public void testFaultyListener() throws Exception {
+        SSSListener faulty = stats -> {
+            throw new IllegalStateException("faulty");
+        };
+        SSSMetrics.addListener(faulty);
+        try {
+            SSS sss = new SSS();
+            Assert.assertEquals("Secret", SECRET, sss.combine(sss.create(2, 3, SECRET, true), true));
+        } finally {
+            SSSMetrics.removeListener(faulty);
+        }
+        Assert.assertEquals("Reported", 2, calls.size());
+    }
+    
+    @Test
+    public void testFlightRecorder() throws Exception {
+        // the bridge is only built into META-INF/versions/11, which the build puts on the test class path
+        Assume.assumeTrue("no META-INF/versions/11 classes in this build",
+                TestMetrics.class.getClassLoader().getResource("com/ntc/jcrypto/sss/SSSFlightRecorder.class") != null);
+        Assert.assertTrue("Available", SSSMetrics.enableFlightRecorder());
+        Path file = Files.createTempFile("sss", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.ntc.jcrypto.sss.Call");
+            recording.start();
+            SSS sss = new SSS();
+            sss.combineBytes(sss.create(3, 5, new byte[64], false), false);
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals("com.ntc.jcrypto.sss.Call")) {
+                    events.add(event);
+                }
+            }
+            Assert.assertEquals("Events", 2, events.size());
+            Assert.assertEquals("Operation", "create", events.get(0).getString("operation"));
+            Assert.assertEquals("Threshold", 3, events.get(0).getInt("threshold"));
+            Assert.assertEquals("Parts", 3, events.get(1).getInt("parts"));
+            Assert.assertEquals("Merge", 64, events.get(1).getLong("mergeBytes"));
+            // the event begins with the call, so it spans the call instead of only its commit
+            for (RecordedEvent event : events) {
+                Assert.assertTrue("Duration " + event, event.getDuration().toNanos() > 0);
+            }
+        } finally {
+            SSSMetrics.disableFlightRecorder();
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    private static void assertPhases(SSSCallStats stats) {
+        long sum = 0;
+        for (Phase phase : Phase.values()) {
+            Assert.assertTrue("Non-negative " + phase, stats.nanos(phase) >= 0);
+            sum += stats.nanos(phase);
+        }
+        Assert.assertTrue("Phases within total " + stats, sum <= stats.totalNanos());
+    }
+}
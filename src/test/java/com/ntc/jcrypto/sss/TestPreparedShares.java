@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.security.SecureRandom;
+import java.util.List;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestPreparedShares test
+ */
+public class TestPreparedShares {
+    private static SSS sss;
+    private static final String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+
+    @BeforeClass
+    public static void initSSS() {
+        sss = new SSS();
+    }
+
+    @Test
+    public void testClassic() throws Exception {
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            List<String> arr = sss.create(3, 6, s, isBase64);
+            PreparedShares prepared = sss.prepare(arr, isBase64);
+            Assert.assertEquals("Classic size", 6, prepared.size());
+            Assert.assertEquals("Classic all", s, prepared.combine());
+            Assert.assertEquals("Classic subset 1", s, prepared.combine(0, 1, 2));
+            Assert.assertEquals("Classic subset 2", s, prepared.combine(5, 3, 1));
+            Assert.assertEquals("Classic subset 2 again", s, prepared.combine(1, 3, 5));
+            Assert.assertEquals("Classic matches combine", sss.combine(arr.subList(2, 5), isBase64), prepared.combine(2, 3, 4));
+        }
+    }
+
+    @Test
+    public void testCompact() throws Exception {
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            PreparedShares prepared = sss.prepare(sss.create(3, 6, s, isBase64, true), isBase64);
+            Assert.assertEquals("Compact parts", 3, prepared.parts());
+            Assert.assertEquals("Compact subset 1", s, prepared.combine(0, 2, 4));
+            Assert.assertEquals("Compact subset 2", s, prepared.combine(1, 2, 3, 4));
+        }
+        byte[] key = new byte[100];
+        new SecureRandom().nextBytes(key);
+        key[99] = 0;
+        PreparedShares prepared = sss.prepare(sss.create(2, 4, key, true), true);
+        Assert.assertArrayEquals("Compact bytes", key, prepared.combineBytes(3, 0));
+        prepared = sss.prepareBinary(sss.createBinary(2, 4, key));
+        Assert.assertArrayEquals("Compact binary", key, prepared.combineBytes(1, 2));
+        try {
+            prepared.combineBytes(1);
+            Assert.fail("Compact binary threshold");
+        } catch (Exception e) {
+            Assert.assertEquals("Compact binary threshold", "shares are fewer than the threshold", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        PreparedShares prepared = sss.prepare(sss.create(2, 4, s, true, true), true, 2);
+        prepared.combine(0, 1);
+        prepared.combine(1, 2);
+        Assert.assertTrue("Cache hit", prepared.isCached(1, 0));
+        // (0, 1) is now the most recently used, so (1, 2) is evicted
+        prepared.combine(1, 0);
+        prepared.combine(2, 3);
+        Assert.assertTrue("Cache kept", prepared.isCached(0, 1));
+        Assert.assertFalse("Cache evicted", prepared.isCached(1, 2));
+        Assert.assertTrue("Cache added", prepared.isCached(2, 3));
+        Assert.assertEquals("Cache combine after eviction", s, prepared.combine(2, 1));
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        PreparedShares prepared = sss.prepare(sss.create(2, 3, s, true, true), true);
+        for (int[] indexes : new int[][]{{0, 3}, {-1, 0}, {1, 1}}) {
+            try {
+                prepared.combine(indexes);
+                Assert.fail("Invalid index");
+            } catch (Exception e) {
+                Assert.assertEquals("Invalid index", "share index is invalid", e.getMessage());
+            }
+        }
+        List<String> arr = sss.create(2, 3, s, true);
+        arr.set(1, arr.get(0));
+        try {
+            sss.prepare(arr, true);
+            Assert.fail("Invalid duplicate");
+        } catch (Exception e) {
+            Assert.assertEquals("Invalid duplicate", "shares have duplicate x-coordinates", e.getMessage());
+        }
+    }
+}
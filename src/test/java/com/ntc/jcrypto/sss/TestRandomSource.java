@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestRandomSource test
+ */
+public class TestRandomSource {
+
+    @Test
+    public void testThreadLocal() throws Exception {
+        RandomSource rand = RandomSource.threadLocal();
+        // small draws from the buffer, a draw across refills, and a bulk draw
+        Set<String> seen = new HashSet<>();
+        for (int len : new int[]{1, 32, 32, 4000, 5000, 100000}) {
+            byte[] b = new byte[len + 2];
+            rand.nextBytes(b, 1, len);
+            Assert.assertEquals("ThreadLocal offset start", 0, b[0]);
+            Assert.assertEquals("ThreadLocal offset end", 0, b[len + 1]);
+            Assert.assertTrue("ThreadLocal distinct", seen.add(Arrays.toString(b)));
+        }
+        // every byte value about equally likely
+        byte[] b = new byte[1 << 20];
+        rand.nextBytes(b);
+        int[] counts = new int[256];
+        for (byte v : b) {
+            counts[v & 0xFF]++;
+        }
+        for (int c : counts) {
+            Assert.assertTrue("ThreadLocal distribution " + c, c > 3500 && c < 4700);
+        }
+        for (int bound : new int[]{1, 7, 255}) {
+            for (int i = 0; i < 1000; i++) {
+                int v = rand.nextInt(bound);
+                Assert.assertTrue("ThreadLocal nextInt", v >= 0 && v < bound);
+            }
+        }
+    }
+
+    @Test
+    public void testThreads() throws Exception {
+        RandomSource rand = RandomSource.threadLocal();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<byte[]>> draws = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                draws.add(executor.submit(() -> {
+                    byte[] b = new byte[32];
+                    rand.nextBytes(b);
+                    return b;
+                }));
+            }
+            Set<String> seen = new HashSet<>();
+            for (Future<byte[]> f : draws) {
+                Assert.assertTrue("Threads distinct", seen.add(Arrays.toString(f.get())));
+            }
+
+            // one engine shared by all threads
+            SSS sss = new SSS();
+            String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                boolean isCompact = i % 2 == 0;
+                results.add(executor.submit(() -> sss.combine(sss.create(3, 6, s, true, isCompact).subList(1, 4), true)));
+            }
+            for (Future<String> f : results) {
+                Assert.assertEquals("Threads combine", s, f.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCustomSource() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        RandomSource system = RandomSource.of(new SecureRandom());
+        RandomSource counting = (bytes, off, len) -> {
+            calls.incrementAndGet();
+            system.nextBytes(bytes, off, len);
+        };
+        SSS sss = new SSS(counting);
+        byte[] key = new byte[31 * 100];
+        new SecureRandom().nextBytes(key);
+        List<byte[]> arr = sss.create(3, 6, key);
+        Assert.assertArrayEquals("Custom combine", key, sss.combine(arr.subList(0, 3)));
+        // 6 x-coordinates and 200 coefficients drawn in bulk: 6 * 32 bytes, then 200 * 32 bytes in two calls
+        Assert.assertEquals("Custom bulk draws", 3, calls.get());
+
+        SSSGF256 gf = new SSSGF256(system);
+        Assert.assertArrayEquals("Custom GF256", key, gf.combine(gf.create(2, 3, key).subList(1, 3)));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestRefresh test
+ */
+public class TestRefresh {
+    private static SSS sss;
+    private static final String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+
+    @BeforeClass
+    public static void initSSS() {
+        sss = new SSS();
+    }
+
+    @Test
+    public void testStrings() throws Exception {
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            List<String> classic = sss.create(3, 5, s, isBase64);
+            List<String> compact = sss.create(3, 5, s, isBase64, true);
+            byte[] secret = new byte[]{1, 2, 0, 0};
+            List<String> exact = sss.create(3, 5, secret, isBase64);
+            List<List<String>> rs = sss.refresh(3, Arrays.asList(classic, compact, exact), isBase64);
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals("Shares", 5, rs.get(i).size());
+            }
+            Assert.assertNotEquals("Classic changed", classic.get(0), rs.get(0).get(0));
+            Assert.assertNotEquals("Compact changed", compact.get(0), rs.get(1).get(0));
+            Assert.assertEquals("Classic", s, sss.combine(rs.get(0).subList(2, 5), isBase64));
+            Assert.assertEquals("Compact", s, sss.combine(rs.get(1).subList(0, 3), isBase64));
+            Assert.assertArrayEquals("Exact", secret, sss.combineBytes(rs.get(2).subList(1, 4), isBase64));
+            // x-coordinates are kept, so refreshed shares keep their prefix and x block
+            int head = SSS.COMPACT_PREFIX.length() + ShareCodec.blockLength(isBase64);
+            Assert.assertEquals("Same x", compact.get(3).substring(0, head), rs.get(1).get(3).substring(0, head));
+            // old and new shares do not mix
+            List<String> mixed = Arrays.asList(compact.get(0), rs.get(1).get(1), rs.get(1).get(2));
+            Assert.assertNotEquals("Mixed", s, sss.combine(mixed, isBase64));
+        }
+    }
+
+    @Test
+    public void testBuffers() throws Exception {
+        byte[] secret = s.getBytes(StandardCharsets.UTF_8);
+        List<byte[]> arr = sss.create(2, 4, secret);
+        ByteBuffer[] bufs = new ByteBuffer[arr.size()];
+        List<byte[]> old = new ArrayList<>();
+        for (int i = 0; i < bufs.length; i++) {
+            old.add(arr.get(i).clone());
+            bufs[i] = ByteBuffer.wrap(arr.get(i));
+        }
+        sss.refresh(2, new ByteBuffer[][]{bufs});
+        Assert.assertEquals("Position kept", 0, bufs[0].position());
+        Assert.assertFalse("Changed in place", Arrays.equals(old.get(1), arr.get(1)));
+        Assert.assertArrayEquals("Same x", Arrays.copyOf(old.get(1), 32), Arrays.copyOf(arr.get(1), 32));
+        Assert.assertArrayEquals("Combine", secret, sss.combine(arr.subList(1, 3)));
+    }
+
+    @Test
+    public void testBinary() throws Exception {
+        byte[] secret = s.getBytes(StandardCharsets.UTF_8);
+        List<BinaryShare> a = sss.createBinary(3, 4, secret);
+        List<BinaryShare> b = sss.createBinary(2, 3, secret);
+        List<List<BinaryShare>> rs = sss.refreshBinary(Arrays.asList(a, b));
+        Assert.assertTrue("Same secret id", rs.get(0).get(0).sameSecret(a.get(0)));
+        Assert.assertEquals("Threshold", 3, rs.get(0).get(0).threshold());
+        Assert.assertArrayEquals("Binary 3", secret, sss.combineBinary(rs.get(0).subList(1, 4)));
+        Assert.assertArrayEquals("Binary 2", secret, sss.combineBinary(rs.get(1).subList(0, 2)));
+    }
+
+    @Test
+    public void testParallelBatch() throws Exception {
+        SSS parallel = new SSS(ForkJoinPool.commonPool(), 2);
+        List<List<String>> sets = new ArrayList<>();
+        List<byte[]> secrets = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            byte[] secret = ("key-" + i).getBytes(StandardCharsets.UTF_8);
+            secrets.add(secret);
+            sets.add(parallel.create(3, 5, secret, true));
+        }
+        List<List<String>> rs = parallel.refresh(3, sets, true);
+        rs = parallel.refresh(3, rs, true);
+        for (int i = 0; i < 50; i++) {
+            Assert.assertArrayEquals("Secret " + i, secrets.get(i), parallel.combineBytes(rs.get(i).subList(2, 5), true));
+        }
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        List<String> arr = sss.create(3, 5, s, true, true);
+        try {
+            sss.refresh(3, Arrays.asList(Arrays.asList(arr.get(0), arr.get(0))), true);
+            Assert.fail("Duplicate");
+        } catch (Exception e) {
+            Assert.assertEquals("Duplicate", "shares have duplicate x-coordinates", e.getMessage());
+        }
+        try {
+            sss.refresh(0, Arrays.asList(arr), true);
+            Assert.fail("Minimum");
+        } catch (Exception e) {
+            Assert.assertEquals("Minimum", "minimum is invalid", e.getMessage());
+        }
+    }
+}
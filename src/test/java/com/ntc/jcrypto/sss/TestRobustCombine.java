@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestRobustCombine test
+ */
+public class TestRobustCombine {
+    private static SSS sss;
+    private static final String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+
+    @BeforeClass
+    public static void initSSS() {
+        sss = new SSS();
+    }
+
+    @Test
+    public void testCompact() throws Exception {
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            List<String> arr = new ArrayList<>(sss.create(10, 20, s, isBase64, true));
+            RobustSecret rs = sss.combineRobust(arr, isBase64, 10);
+            Assert.assertEquals("No errors", s, rs.secretString());
+            Assert.assertArrayEquals("No faulty shares", new int[0], rs.faultyShares());
+
+            // five wrong shares, each in a different part or parts
+            int[] bad = {1, 4, 9, 15, 19};
+            for (int b = 0; b < bad.length; b++) {
+                arr.set(bad[b], tamper(arr.get(bad[b]), isBase64, SSS.COMPACT_PREFIX.length(), 1 + b % 3));
+            }
+            rs = sss.combineRobust(arr, isBase64, 10);
+            Assert.assertEquals("Corrected", s, rs.secretString());
+            Assert.assertArrayEquals("Faulty shares", bad, rs.faultyShares());
+        }
+    }
+
+    @Test
+    public void testExact() throws Exception {
+        byte[] secret = new byte[]{0, 1, 2, 3, 0, 0};
+        List<String> arr = new ArrayList<>(sss.create(3, 7, secret, true));
+        arr.set(0, tamper(arr.get(0), true, SSS.BYTES_PREFIX.length(), 1));
+        arr.set(5, "v2b.nghiatc");
+        arr.add(arr.get(3));
+        RobustSecret rs = sss.combineRobust(arr, true, 3);
+        Assert.assertArrayEquals("Exact", secret, rs.secret());
+        Assert.assertArrayEquals("Faulty shares", new int[]{0, 5, 7}, rs.faultyShares());
+    }
+
+    @Test
+    public void testClassic() throws Exception {
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            List<String> arr = new ArrayList<>(sss.create(3, 7, s, isBase64));
+            // x,y pairs: the y-coordinate of part j follows its x-coordinate
+            int blockLen = ShareCodec.blockLength(isBase64);
+            arr.set(2, tamper(arr.get(2), isBase64, blockLen, 0));
+            arr.set(6, tamper(arr.get(6), isBase64, blockLen + 4 * blockLen, 0));
+            RobustSecret rs = sss.combineRobust(arr, isBase64, 3);
+            Assert.assertEquals("Classic", s, rs.secretString());
+            Assert.assertArrayEquals("Faulty shares", new int[]{2, 6}, rs.faultyShares());
+        }
+    }
+
+    @Test
+    public void testTooManyErrors() throws Exception {
+        List<String> arr = new ArrayList<>(sss.create(4, 8, s.getBytes(StandardCharsets.UTF_8), true));
+        for (int i = 0; i < 3; i++) {
+            arr.set(i, tamper(arr.get(i), true, SSS.BYTES_PREFIX.length(), 1));
+        }
+        try {
+            sss.combineRobust(arr, true, 4);
+            Assert.fail("Too many errors");
+        } catch (Exception e) {
+            Assert.assertEquals("Too many errors", "too many shares are faulty", e.getMessage());
+        }
+        try {
+            sss.combineRobust(arr.subList(0, 3), true, 4);
+            Assert.fail("Too few shares");
+        } catch (Exception e) {
+            Assert.assertEquals("Too few shares", "shares are fewer than the threshold", e.getMessage());
+        }
+    }
+
+    // Returns share with the block j after off changed by one.
+    private static String tamper(String share, boolean isBase64, int off, int j) throws Exception {
+        int at = off + j * ShareCodec.blockLength(isBase64);
+        long[] y = Fp256.create();
+        Assert.assertTrue(ShareCodec.decode(share, at, isBase64, y));
+        Fp256.add(y, y, Fp256.valueOf(1));
+        char[] chars = share.toCharArray();
+        ShareCodec.encode(y, isBase64, chars, at);
+        return new String(chars);
+    }
+}
@@ -17,8 +17,14 @@
 package com.ntc.jcrypto.sss;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.*;
 
 /**
@@ -206,4 +212,158 @@ public class TestSSS {
             e.printStackTrace();
         }
     }
+    
+    @Test
+    public void testFullCompact() throws Exception {
+        String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            List<String> arr = sss.create(3, 6, s, isBase64, true);
+            Assert.assertEquals("FullCompact size shares", 6, arr.size());
+            // 4 parts: one x + four y blocks
+            int blockLen = isBase64 ? 44 : 64;
+            Assert.assertEquals("FullCompact share length", SSS.COMPACT_PREFIX.length() + 5 * blockLen, arr.get(0).length());
+            Assert.assertTrue("FullCompact valid", sss.isValidShareCompact(arr.get(0), isBase64));
+
+            Assert.assertEquals("FullCompact combine 1", s, sss.combine(arr.subList(0, 3), isBase64));
+            Assert.assertEquals("FullCompact combine 2", s, sss.combine(arr.subList(3, 6), isBase64));
+            Assert.assertEquals("FullCompact combine 3", s, sss.combine(arr.subList(1, 5), isBase64));
+
+            BigInteger[][][] points = sss.decodeShareCompact(arr.subList(0, 3), isBase64);
+            Assert.assertEquals("FullCompact decode parts", 4, points[0].length);
+            Assert.assertEquals("FullCompact decode same x", points[0][0][0], points[0][3][0]);
+        }
+    }
+    
+    @Test
+    public void testFullCompactWithSpecialCase() throws Exception {
+        String s = "бар"; // Cyrillic
+        List<String> arr = sss.create(3, 6, s, true, true);
+        Assert.assertEquals("FullCompact combine 1", s, sss.combine(arr.subList(0, 3), true));
+        Assert.assertEquals("FullCompact combine 3", s, sss.combine(arr.subList(1, 5), true));
+    }
+    
+    @Test
+    public void testCompactInvalid() throws Exception {
+        String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+        List<String> arr = sss.create(2, 3, s, false, true);
+        Assert.assertFalse("Compact legacy is not compact", sss.isValidShareCompact(sss.create(2, 3, s, false).get(0), false));
+        Assert.assertFalse("Compact truncated", sss.isValidShareCompact(arr.get(0).substring(0, arr.get(0).length() - 1), false));
+        Assert.assertFalse("Compact wrong encoding", sss.isValidShareCompact(arr.get(0), true));
+        List<String> dup = new ArrayList<>();
+        dup.add(arr.get(0));
+        dup.add(arr.get(0));
+        try {
+            sss.combine(dup, false);
+            Assert.fail("Compact duplicate x must be rejected");
+        } catch (Exception e) {
+            Assert.assertEquals("Compact duplicate", "shares have duplicate x-coordinates", e.getMessage());
+        }
+    }
+    
+    @Test
+    public void testFullBytes() throws Exception {
+        SecureRandom rand = new SecureRandom();
+        for (int size : new int[]{0, 1, 31, 32, 33, 100}) {
+            byte[] key = new byte[size];
+            rand.nextBytes(key);
+            if (size > 1) {
+                key[size - 1] = 0; // trailing zero byte must survive
+            }
+            List<byte[]> arr = sss.create(3, 6, key);
+            Assert.assertEquals("FullBytes share length", SSS.shareLength(size), arr.get(0).length);
+            Assert.assertArrayEquals("FullBytes combine 1", key, sss.combine(arr.subList(0, 3)));
+            Assert.assertArrayEquals("FullBytes combine 3", key, sss.combine(arr.subList(1, 5)));
+
+            List<String> str = sss.create(3, 6, key, true);
+            Assert.assertTrue("FullBytes prefix", str.get(0).startsWith(SSS.BYTES_PREFIX));
+            Assert.assertArrayEquals("FullBytes combine string", key, sss.combineBytes(str.subList(2, 5), true));
+        }
+        String s = "бар"; // Cyrillic
+        List<String> str = sss.create(2, 3, s.getBytes(StandardCharsets.UTF_8), false);
+        Assert.assertEquals("FullBytes combine as string", s, sss.combine(str.subList(0, 2), false));
+    }
+    
+    @Test
+    public void testFullByteBuffer() throws Exception {
+        byte[] key = new byte[32];
+        Arrays.fill(key, (byte) 0xFF);
+        ByteBuffer secret = ByteBuffer.allocateDirect(32);
+        secret.put(key).flip();
+        ByteBuffer[] shares = new ByteBuffer[5];
+        for (int i = 0; i < shares.length; i++) {
+            shares[i] = ByteBuffer.allocateDirect(SSS.shareLength(32));
+            if (i % 2 == 1) {
+                // byte order of the buffer does not change the layout
+                shares[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        sss.create(2, secret, shares);
+        Assert.assertEquals("FullByteBuffer secret consumed", 0, secret.remaining());
+        shares[3].flip();
+        shares[4].flip();
+        ByteBuffer[] quorum = {shares[3], shares[4]};
+        ByteBuffer out = ByteBuffer.allocateDirect(SSS.maxSecretLength(SSS.shareLength(32)));
+        int len = sss.combine(quorum, out);
+        Assert.assertEquals("FullByteBuffer length", 32, len);
+        byte[] rs = new byte[len];
+        out.flip();
+        out.get(rs);
+        Assert.assertArrayEquals("FullByteBuffer combine", key, rs);
+    }
+    
+    @Test
+    public void testSplitMergeBytes() {
+        String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+        List<BigInteger> arr = sss.splitSecretToBigInt(s);
+        long[][] parts = SSS.splitSecret(s.getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals("SplitMerge parts", arr.size(), parts.length);
+        for (int i = 0; i < parts.length; i++) {
+            Assert.assertEquals("SplitMerge part " + i, arr.get(i), Fp256.toBigInteger(parts[i]));
+        }
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SSS par = new SSS(pool, 1);
+            SecureRandom rand = new SecureRandom();
+            for (int size : new int[]{1, 31, 32, 100, 4000}) {
+                byte[] key = new byte[size];
+                rand.nextBytes(key);
+                key[size - 1] = 0;
+                List<byte[]> arr = par.create(3, 6, key);
+                Assert.assertArrayEquals("Parallel combine serial", key, sss.combine(arr.subList(0, 3)));
+                Assert.assertArrayEquals("Parallel combine parallel", key, par.combine(arr.subList(2, 6)));
+
+                List<String> str = par.create(3, 6, key, size % 2 == 0);
+                Assert.assertArrayEquals("Parallel string combine serial", key, sss.combineBytes(str.subList(1, 4), size % 2 == 0));
+                Assert.assertArrayEquals("Parallel string combine parallel", key, par.combineBytes(str.subList(3, 6), size % 2 == 0));
+            }
+            String s = new String(new char[3000]).replace('\0', 'x') + "nghiatc";
+            for (boolean isBase64 : new boolean[]{true, false}) {
+                List<String> arr = par.create(4, 7, s, isBase64, true);
+                Assert.assertEquals("Parallel compact serial", s, sss.combine(arr.subList(0, 4), isBase64));
+                Assert.assertEquals("Parallel compact parallel", s, par.combine(arr.subList(3, 7), isBase64));
+                arr = sss.create(4, 7, s, isBase64, true);
+                Assert.assertEquals("Serial compact parallel", s, par.combine(arr.subList(1, 5), isBase64));
+
+                arr = par.create(4, 7, s, isBase64, false);
+                Assert.assertEquals("Parallel classic serial", s, sss.combine(arr.subList(0, 4), isBase64));
+                Assert.assertEquals("Parallel classic parallel", s, par.combine(arr.subList(3, 7), isBase64));
+                arr = sss.create(4, 7, s, isBase64, false);
+                Assert.assertEquals("Serial classic parallel", s, par.combine(arr.subList(1, 5), isBase64));
+            }
+            List<String> arr = par.create(2, 3, s, true, true);
+            arr.set(1, arr.get(1).substring(0, 200) + "!" + arr.get(1).substring(201));
+            try {
+                par.combine(arr.subList(0, 2), true);
+                Assert.fail("Parallel invalid share");
+            } catch (Exception e) {
+                Assert.assertEquals("Parallel invalid share", "one of the shares is invalid", e.getMessage());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
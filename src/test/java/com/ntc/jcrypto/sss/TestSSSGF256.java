@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestSSSGF256 test
+ */
+public class TestSSSGF256 {
+    private static SSSGF256 sss;
+
+    @BeforeClass
+    public static void initSSS() {
+        sss = new SSSGF256();
+    }
+
+    // Carry-less multiplication reduced by x^8 + x^4 + x^3 + x + 1.
+    private static int slowMul(int a, int b) {
+        int r = 0;
+        for (int i = 0; i < 8; i++) {
+            if ((b & (1 << i)) != 0) {
+                r ^= a << i;
+            }
+        }
+        for (int i = 14; i >= 8; i--) {
+            if ((r & (1 << i)) != 0) {
+                r ^= 0x11B << (i - 8);
+            }
+        }
+        return r;
+    }
+
+    @Test
+    public void testField() {
+        for (int a = 0; a < 256; a++) {
+            for (int b = 0; b < 256; b++) {
+                Assert.assertEquals("Field mul " + a + "*" + b, slowMul(a, b), GF256.mul(a, b));
+            }
+            if (a != 0) {
+                Assert.assertEquals("Field inv " + a, 1, GF256.mul(a, GF256.inv(a)));
+                Assert.assertEquals("Field div " + a, a, GF256.div(GF256.mul(a, 7), 7));
+            }
+        }
+        Assert.assertEquals("Field mul 0x57*0x83", 0xC1, GF256.mul(0x57, 0x83));
+        try {
+            GF256.inv(0);
+            Assert.fail("Field inv 0");
+        } catch (ArithmeticException e) {
+            Assert.assertEquals("Field inv 0", "/ by zero", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFull() throws Exception {
+        String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            List<String> arr = sss.create(3, 6, s, isBase64);
+            int len = isBase64 ? Base64.getUrlDecoder().decode(arr.get(0)).length : arr.get(0).length() / 2;
+            Assert.assertEquals("Full share length", s.length() + 1, len);
+            Assert.assertEquals("Full combine 1", s, sss.combine(arr.subList(0, 3), isBase64));
+            Assert.assertEquals("Full combine 2", s, sss.combine(arr.subList(3, 6), isBase64));
+            Assert.assertEquals("Full combine 3", s, sss.combine(arr.subList(1, 5), isBase64));
+        }
+        String u = "бар"; // Cyrillic
+        List<String> arr = sss.create(2, 3, u, true);
+        Assert.assertEquals("Full combine unicode", u, sss.combine(arr.subList(1, 3), true));
+    }
+
+    @Test
+    public void testFullBytes() throws Exception {
+        SecureRandom rand = new SecureRandom();
+        for (int size : new int[]{0, 1, 2, 100, 16 * 1024 + 1, 50000}) {
+            byte[] key = new byte[size];
+            rand.nextBytes(key);
+            if (size > 1) {
+                key[size - 1] = 0; // trailing zero byte must survive
+            }
+            List<byte[]> arr = sss.create(3, 6, key);
+            Assert.assertEquals("FullBytes share length", size + 1, arr.get(0).length);
+            Assert.assertArrayEquals("FullBytes combine 1", key, sss.combine(arr.subList(0, 3)));
+            Assert.assertArrayEquals("FullBytes combine 2", key, sss.combine(arr.subList(2, 6)));
+
+            List<String> str = sss.create(3, 6, key, false);
+            Assert.assertArrayEquals("FullBytes combine string", key, sss.combineBytes(str.subList(1, 4), false));
+        }
+        byte[] key = "nghiatc".getBytes(StandardCharsets.UTF_8);
+        Assert.assertArrayEquals("FullBytes minimum 1", key, sss.combine(sss.create(1, 1, key)));
+        List<byte[]> arr = sss.create(255, 255, key);
+        Assert.assertArrayEquals("FullBytes 255 shares", key, sss.combine(arr));
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        byte[] key = "nghiatc".getBytes(StandardCharsets.UTF_8);
+        try {
+            sss.create(2, 256, key);
+            Assert.fail("Invalid shares");
+        } catch (Exception e) {
+            Assert.assertEquals("Invalid shares", "shares is greater than 255", e.getMessage());
+        }
+        try {
+            sss.create(4, 3, key);
+            Assert.fail("Invalid minimum");
+        } catch (Exception e) {
+            Assert.assertEquals("Invalid minimum", "cannot require more shares then existing", e.getMessage());
+        }
+        List<byte[]> arr = new ArrayList<>(sss.create(2, 3, key));
+        arr.set(1, arr.get(0).clone());
+        try {
+            sss.combine(arr.subList(0, 2));
+            Assert.fail("Invalid duplicate");
+        } catch (Exception e) {
+            Assert.assertEquals("Invalid duplicate", "shares have duplicate x-coordinates", e.getMessage());
+        }
+        arr.set(1, Arrays.copyOf(arr.get(2), 5));
+        try {
+            sss.combine(arr.subList(0, 2));
+            Assert.fail("Invalid length");
+        } catch (Exception e) {
+            Assert.assertEquals("Invalid length", "shares have different lengths", e.getMessage());
+        }
+        try {
+            sss.combine(Arrays.asList("zz", "00"), false);
+            Assert.fail("Invalid hex");
+        } catch (Exception e) {
+            Assert.assertEquals("Invalid hex", "one of the shares is invalid", e.getMessage());
+        }
+    }
+}
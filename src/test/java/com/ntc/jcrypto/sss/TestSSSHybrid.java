@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestSSSHybrid test
+ */
+public class TestSSSHybrid {
+    private static SSSHybrid hybrid;
+    
+    @BeforeClass
+    public static void initHybrid() {
+        // small segments so the tests cross segment boundaries
+        hybrid = new SSSHybrid(RandomSource.threadLocal(), 64);
+    }
+    
+    private static List<byte[]> split(int minimum, int fragments, byte[] payload) throws Exception {
+        List<ByteArrayOutputStream> outs = new ArrayList<>();
+        for (int i = 0; i < fragments; i++) {
+            outs.add(new ByteArrayOutputStream());
+        }
+        hybrid.split(minimum, new ByteArrayInputStream(payload), outs);
+        List<byte[]> rs = new ArrayList<>();
+        for (ByteArrayOutputStream out : outs) {
+            rs.add(out.toByteArray());
+        }
+        return rs;
+    }
+    
+    private static byte[] combine(List<byte[]> fragments) throws Exception {
+        List<InputStream> ins = new ArrayList<>();
+        for (byte[] fragment : fragments) {
+            ins.add(new ByteArrayInputStream(fragment));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        hybrid.combine(ins, out);
+        return out.toByteArray();
+    }
+    
+    @Test
+    public void testSplitCombine() throws Exception {
+        Random rand = new Random(11);
+        // around segment (64 bytes) boundaries
+        int[] sizes = {0, 1, 63, 64, 65, 128, 1000};
+        for (int size : sizes) {
+            byte[] payload = new byte[size];
+            rand.nextBytes(payload);
+            List<byte[]> fragments = split(3, 6, payload);
+            for (byte[] fragment : fragments) {
+                Assert.assertEquals("FragmentLength " + size, hybrid.fragmentLength(size, 3), fragment.length);
+            }
+            Assert.assertArrayEquals("Data " + size, payload, combine(fragments.subList(0, 3)));
+            Assert.assertArrayEquals("Parity " + size, payload, combine(fragments.subList(3, 6)));
+            Assert.assertArrayEquals("Mixed " + size, payload,
+                    combine(Arrays.asList(fragments.get(5), fragments.get(1), fragments.get(3))));
+            Assert.assertArrayEquals("More " + size, payload, combine(fragments));
+        }
+    }
+    
+    @Test
+    public void testEveryChoice() throws Exception {
+        byte[] payload = new byte[300];
+        new Random(5).nextBytes(payload);
+        List<byte[]> fragments = split(2, 5, payload);
+        for (int a = 0; a < 5; a++) {
+            for (int b = 0; b < 5; b++) {
+                if (a != b) {
+                    Assert.assertArrayEquals("Choice " + a + "," + b, payload,
+                            combine(Arrays.asList(fragments.get(a), fragments.get(b))));
+                }
+            }
+        }
+        List<byte[]> one = split(1, 3, payload);
+        Assert.assertArrayEquals("Threshold 1", payload, combine(one.subList(2, 3)));
+    }
+    
+    @Test
+    public void testFragmentSize() throws Exception {
+        SSSHybrid large = new SSSHybrid();
+        int size = 1 << 20;
+        long length = large.fragmentLength(size, 4);
+        // about a quarter of the payload, instead of twice the payload with SSS.create
+        Assert.assertTrue("FragmentSize " + length, length < size / 4 + 2048);
+    }
+    
+    @Test
+    public void testInvalid() throws Exception {
+        byte[] payload = new byte[200];
+        new Random(3).nextBytes(payload);
+        List<byte[]> fragments = split(3, 5, payload);
+        
+        try {
+            combine(fragments.subList(0, 2));
+            Assert.fail("Fewer fragments than the threshold should fail");
+        } catch (Exception e) {
+            Assert.assertEquals("Fewer", "fragments are fewer than the threshold", e.getMessage());
+        }
+        try {
+            combine(Arrays.asList(fragments.get(0), fragments.get(0), fragments.get(1)));
+            Assert.fail("Duplicate fragments should fail");
+        } catch (Exception e) {
+            Assert.assertEquals("Duplicate", "fragments have duplicate indexes", e.getMessage());
+        }
+        
+        byte[] corrupt = fragments.get(4).clone();
+        corrupt[SSSHybrid.HEADER_LENGTH + 70] ^= 1;
+        try {
+            combine(Arrays.asList(fragments.get(0), fragments.get(1), corrupt));
+            Assert.fail("A corrupted fragment should fail");
+        } catch (Exception e) {
+            Assert.assertEquals("Corrupt", "payload authentication failed", e.getMessage());
+        }
+        
+        // dropping the final segment of every fragment leaves a segment that was not encrypted as the last one
+        int row = (int) (hybrid.fragmentLength(200, 3) - hybrid.fragmentLength(192, 3));
+        List<byte[]> truncated = new ArrayList<>();
+        for (byte[] fragment : fragments.subList(0, 3)) {
+            truncated.add(Arrays.copyOf(fragment, fragment.length - row));
+        }
+        try {
+            combine(truncated);
+            Assert.fail("Truncated fragments should fail");
+        } catch (Exception e) {
+            Assert.assertEquals("Truncated", "payload authentication failed", e.getMessage());
+        }
+        
+        // a segment size no engine writes must not size the combine buffers
+        for (int segmentSize : new int[]{0, -1, SSSHybrid.MAX_SEGMENT_SIZE + 1, Integer.MAX_VALUE}) {
+            List<byte[]> forged = new ArrayList<>();
+            for (byte[] fragment : fragments.subList(0, 3)) {
+                byte[] f = fragment.clone();
+                ByteBuffer.wrap(f).putInt(8, segmentSize);
+                forged.add(f);
+            }
+            try {
+                combine(forged);
+                Assert.fail("Segment size " + segmentSize + " should fail");
+            } catch (Exception e) {
+                Assert.assertEquals("Segment size " + segmentSize, "one of the fragments is invalid", e.getMessage());
+            }
+        }
+        try {
+            new SSSHybrid(RandomSource.threadLocal(), SSSHybrid.MAX_SEGMENT_SIZE + 1);
+            Assert.fail("Segment size over the maximum should fail");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        
+        List<byte[]> other = split(3, 5, payload);
+        try {
+            combine(Arrays.asList(fragments.get(0), fragments.get(1), other.get(2)));
+            Assert.fail("Fragments of different splits should fail");
+        } catch (Exception e) {
+            // the recovered key is wrong, so the payload does not authenticate
+        }
+    }
+}
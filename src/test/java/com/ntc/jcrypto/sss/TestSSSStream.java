@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestSSSStream test
+ */
+public class TestSSSStream {
+    private static SSSStream stream;
+    
+    @BeforeClass
+    public static void initStream() {
+        // small chunks so the tests cross chunk boundaries
+        stream = new SSSStream(new SSS(), 4);
+    }
+    
+    private static List<ByteArrayOutputStream> split(int minimum, int shares, byte[] secret, boolean isBase64) throws Exception {
+        List<ByteArrayOutputStream> outs = new ArrayList<>();
+        for (int i = 0; i < shares; i++) {
+            outs.add(new ByteArrayOutputStream());
+        }
+        stream.split(minimum, new ByteArrayInputStream(secret), outs, isBase64);
+        return outs;
+    }
+    
+    private static byte[] combine(List<ByteArrayOutputStream> shares, boolean isBase64) throws Exception {
+        List<ByteArrayInputStream> ins = new ArrayList<>();
+        for (ByteArrayOutputStream share : shares) {
+            ins.add(new ByteArrayInputStream(share.toByteArray()));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stream.combine(ins, out, isBase64);
+        return out.toByteArray();
+    }
+    
+    @Test
+    public void testSplitCombine() throws Exception {
+        Random rand = new Random(7);
+        // around part (31 bytes) and chunk (4 parts) boundaries
+        int[] sizes = {0, 1, 30, 31, 32, 123, 124, 125, 1000};
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            for (int size : sizes) {
+                byte[] secret = new byte[size];
+                rand.nextBytes(secret);
+                List<ByteArrayOutputStream> shares = split(3, 5, secret, isBase64);
+                Assert.assertArrayEquals("SplitCombine " + size, secret, combine(shares.subList(0, 3), isBase64));
+                Assert.assertArrayEquals("SplitCombine " + size, secret, combine(shares.subList(2, 5), isBase64));
+            }
+        }
+    }
+    
+    @Test
+    public void testTrailingZerosAndOnes() throws Exception {
+        byte[] zeros = new byte[64];
+        zeros[0] = 1;
+        List<ByteArrayOutputStream> shares = split(2, 3, zeros, true);
+        Assert.assertArrayEquals("Trailing zeros", zeros, combine(shares.subList(1, 3), true));
+        byte[] ones = new byte[96];
+        Arrays.fill(ones, (byte) 0xFF);
+        shares = split(2, 3, ones, false);
+        Assert.assertArrayEquals("All 0xFF", ones, combine(shares.subList(0, 2), false));
+    }
+    
+    @Test
+    public void testStringInterop() throws Exception {
+        String s = "бар nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+        List<ByteArrayOutputStream> shares = split(3, 6, s.getBytes(StandardCharsets.UTF_8), true);
+        List<String> arr = new ArrayList<>();
+        for (ByteArrayOutputStream share : shares) {
+            arr.add(new String(share.toByteArray(), StandardCharsets.US_ASCII));
+        }
+        Assert.assertTrue("Stream share is compact", arr.get(0).startsWith(SSS.BYTES_PREFIX));
+        Assert.assertEquals("Stream share as string", s, new SSS().combine(arr.subList(1, 4), true));
+    }
+    
+    @Test
+    public void testInvalid() throws Exception {
+        List<ByteArrayOutputStream> shares = split(2, 3, new byte[200], false);
+        ByteArrayOutputStream truncated = new ByteArrayOutputStream();
+        truncated.write(shares.get(1).toByteArray(), 0, shares.get(1).size() - 64);
+        List<ByteArrayOutputStream> bad = new ArrayList<>();
+        bad.add(shares.get(0));
+        bad.add(truncated);
+        try {
+            combine(bad, false);
+            Assert.fail("Truncated share must be rejected");
+        } catch (Exception e) {
+            Assert.assertEquals("Truncated", "shares have different lengths", e.getMessage());
+        }
+    }
+}
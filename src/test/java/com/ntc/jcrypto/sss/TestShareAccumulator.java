@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestShareAccumulator test
+ */
+public class TestShareAccumulator {
+    private static SSS sss;
+    private static final String s = "nghiatcxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+
+    @BeforeClass
+    public static void initSSS() {
+        sss = new SSS();
+    }
+
+    @Test
+    public void testClassic() throws Exception {
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            List<String> arr = sss.create(3, 6, s, isBase64);
+            ShareAccumulator acc = sss.accumulator(3, isBase64);
+            Assert.assertFalse("Share 1", acc.add(arr.get(4)));
+            Assert.assertFalse("Share 2", acc.add(arr.get(1)));
+            Assert.assertTrue("Share 3", acc.add(arr.get(3)));
+            Assert.assertEquals("Classic", s, acc.combine());
+            Assert.assertTrue("Share 4", acc.add(arr.get(0)));
+            Assert.assertEquals("Size", 4, acc.size());
+            Assert.assertEquals("Classic after extra share", s, acc.combine());
+        }
+    }
+
+    @Test
+    public void testCompact() throws Exception {
+        for (boolean isBase64 : new boolean[]{true, false}) {
+            List<String> arr = sss.create(4, 6, s, isBase64, true);
+            ShareAccumulator acc = sss.accumulator(4, isBase64);
+            for (int i = 5; i >= 2; i--) {
+                acc.add(arr.get(i));
+            }
+            Assert.assertEquals("Compact", s, acc.combine());
+
+            byte[] secret = new byte[]{0, 1, 2, 0, 0};
+            arr = sss.create(2, 3, secret, isBase64);
+            acc = sss.accumulator(2, isBase64);
+            acc.add(arr.get(2));
+            acc.add(arr.get(0));
+            Assert.assertArrayEquals("Exact", secret, acc.combineBytes());
+        }
+    }
+
+    @Test
+    public void testBinary() throws Exception {
+        byte[] secret = s.getBytes(StandardCharsets.UTF_8);
+        List<BinaryShare> arr = sss.createBinary(3, 5, secret);
+        ShareAccumulator acc = sss.accumulator(3, true);
+        acc.add(arr.get(0));
+        acc.add(arr.get(2));
+        acc.add(arr.get(4));
+        Assert.assertArrayEquals("Binary", secret, acc.combineBytes());
+        try {
+            acc.add(sss.createBinary(3, 5, secret).get(1));
+            Assert.fail("Other secret");
+        } catch (Exception e) {
+            Assert.assertEquals("Other secret", "shares belong to different secrets", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        List<String> arr = sss.create(3, 6, s, true, true);
+        ShareAccumulator acc = sss.accumulator(3, true);
+        try {
+            acc.combine();
+            Assert.fail("Empty");
+        } catch (Exception e) {
+            Assert.assertEquals("Empty", "shares are fewer than the threshold", e.getMessage());
+        }
+        acc.add(arr.get(0));
+        try {
+            acc.add(arr.get(0));
+            Assert.fail("Duplicate");
+        } catch (Exception e) {
+            Assert.assertEquals("Duplicate", "shares have duplicate x-coordinates", e.getMessage());
+        }
+        try {
+            acc.add(sss.create(3, 6, s, true).get(1));
+            Assert.fail("Format");
+        } catch (Exception e) {
+            Assert.assertEquals("Format", "shares have different formats", e.getMessage());
+        }
+        acc.add(arr.get(1));
+        acc.add(arr.get(2));
+        // a share of another secret disagrees with the polynomial of the first three
+        try {
+            acc.add(sss.create(3, 6, s, true, true).get(3));
+            Assert.fail("Inconsistent");
+        } catch (Exception e) {
+            Assert.assertEquals("Inconsistent", "share is inconsistent with the previous shares", e.getMessage());
+        }
+        Assert.assertEquals("Size", 3, acc.size());
+        Assert.assertEquals("Still valid", s, acc.combine());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestShareCodec test
+ */
+public class TestShareCodec {
+    private static final BigInteger P = Fp256.P;
+    private static List<BigInteger> values;
+
+    @BeforeClass
+    public static void initValues() {
+        values = new ArrayList<>();
+        values.add(BigInteger.ZERO);
+        values.add(BigInteger.ONE);
+        values.add(P.subtract(BigInteger.ONE));
+        for (int i = 1; i < 4; i++) {
+            values.add(BigInteger.ONE.shiftLeft(64 * i).subtract(BigInteger.ONE));
+        }
+        Random rand = new SecureRandom();
+        for (int i = 0; i < 200; i++) {
+            values.add(new BigInteger(256, rand).mod(P));
+        }
+    }
+
+    // 32 bytes big-endian
+    private static byte[] bytes(BigInteger v) {
+        byte[] b = new byte[32];
+        byte[] raw = v.toByteArray();
+        int n = Math.min(raw.length, 32);
+        System.arraycopy(raw, raw.length - n, b, 32 - n, n);
+        return b;
+    }
+
+    private static String hex(BigInteger v) {
+        String h = v.toString(16);
+        while (h.length() < 64) {
+            h = "0" + h;
+        }
+        return h;
+    }
+
+    @Test
+    public void testEncode() {
+        for (BigInteger v : values) {
+            long[] e = Fp256.valueOf(v);
+            String b64 = Base64.getUrlEncoder().encodeToString(bytes(v));
+            Assert.assertEquals("Encode Base64 " + v, b64, ShareCodec.encode(e, true));
+            Assert.assertEquals("Encode Hex " + v, hex(v), ShareCodec.encode(e, false));
+            byte[] ascii = new byte[2 + ShareCodec.BASE64_BLOCK];
+            ShareCodec.encode(e, true, ascii, 2);
+            Assert.assertEquals("Encode Base64 bytes " + v, b64, new String(ascii, 2, ShareCodec.BASE64_BLOCK));
+        }
+    }
+
+    @Test
+    public void testDecode() {
+        long[] e = Fp256.create();
+        for (BigInteger v : values) {
+            String b64 = Base64.getUrlEncoder().encodeToString(bytes(v));
+            Assert.assertTrue("Decode Base64 " + v, ShareCodec.decode("xx" + b64, 2, true, e));
+            Assert.assertEquals("Decode Base64 " + v, v, Fp256.toBigInteger(e));
+            Assert.assertTrue("Decode Hex " + v, ShareCodec.decode(hex(v).toUpperCase(), 0, false, e));
+            Assert.assertEquals("Decode Hex " + v, v, Fp256.toBigInteger(e));
+            Assert.assertTrue("Decode Hex bytes " + v, ShareCodec.decode(hex(v).getBytes(), 0, false, e));
+            Assert.assertEquals("Decode Hex bytes " + v, v, Fp256.toBigInteger(e));
+        }
+    }
+
+    @Test
+    public void testDecodeInvalid() {
+        long[] e = Fp256.create();
+        BigInteger max = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+        for (BigInteger v : new BigInteger[]{P, P.add(BigInteger.ONE), max}) {
+            Assert.assertFalse("Invalid range Base64 " + v, ShareCodec.decode(Base64.getUrlEncoder().encodeToString(bytes(v)), 0, true, e));
+            Assert.assertFalse("Invalid range Hex " + v, ShareCodec.decode(hex(v), 0, false, e));
+        }
+        String b64 = Base64.getUrlEncoder().encodeToString(bytes(BigInteger.TEN));
+        Assert.assertFalse("Invalid padding", ShareCodec.decode(b64.substring(0, 43) + "A", 0, true, e));
+        // the last digit carries the 4 low bits of the element, 1010 in 'o' (101000), and 2 padding bits: 'p' is 101001
+        Assert.assertEquals("Last digit", "o=", b64.substring(42));
+        String odd = b64.substring(0, 42) + "p=";
+        Assert.assertFalse("Invalid padding bits", ShareCodec.decode(odd, 0, true, e));
+        Assert.assertFalse("Invalid padding bits bytes", ShareCodec.decode(odd.getBytes(), 0, true, e));
+        Assert.assertTrue("Zero padding bits", ShareCodec.decode(b64.getBytes(), 0, true, e));
+        Assert.assertFalse("Invalid Base64 alphabet", ShareCodec.decode("+" + b64.substring(1), 0, true, e));
+        Assert.assertFalse("Invalid Base64 non-ASCII", ShareCodec.decode("é" + b64.substring(1), 0, true, e));
+        String h = hex(BigInteger.TEN);
+        Assert.assertFalse("Invalid Hex alphabet", ShareCodec.decode(h.substring(0, 63) + "g", 0, false, e));
+        Assert.assertFalse("Invalid Hex sign", ShareCodec.decode("+" + h.substring(1), 0, false, e));
+    }
+
+    @Test
+    public void testLegacyValidation() throws Exception {
+        SSS sss = new SSS();
+        List<String> arr = sss.create(2, 3, "nghiatc", true);
+        Assert.assertTrue("Legacy valid Base64", sss.isValidShareBase64(arr.get(0)));
+        Assert.assertFalse("Legacy invalid Base64", sss.isValidShareBase64("*" + arr.get(0).substring(1)));
+        String zero = ShareCodec.encode(Fp256.create(), true);
+        Assert.assertFalse("Legacy zero block", sss.isValidShareBase64(arr.get(0).substring(0, 44) + zero));
+        arr = sss.create(2, 3, "nghiatc", false);
+        Assert.assertTrue("Legacy valid Hex", sss.isValidShareHex(arr.get(0)));
+        Assert.assertFalse("Legacy invalid Hex", sss.isValidShareHex("z" + arr.get(0).substring(1)));
+        Assert.assertEquals("Legacy toHex", hex(BigInteger.TEN), sss.toHex(BigInteger.TEN));
+        Assert.assertEquals("Legacy fromBase64", BigInteger.TEN, sss.fromBase64(sss.toBase64(BigInteger.TEN)));
+    }
+}
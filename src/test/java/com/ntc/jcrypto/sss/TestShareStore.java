@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestShareStore test
+ */
+public class TestShareStore {
+    private static SSS sss;
+    
+    @BeforeClass
+    public static void setUpClass() {
+        sss = new SSS();
+    }
+    
+    private static byte[] id(int i) {
+        byte[] id = new byte[BinaryShare.SECRET_ID_LENGTH];
+        ByteBuffer.wrap(id).putInt(12, i);
+        return id;
+    }
+    
+    private static ByteBuffer payload(int i, int version, int size) {
+        byte[] b = new byte[size];
+        new Random(i * 31L + version).nextBytes(b);
+        return ByteBuffer.wrap(b);
+    }
+    
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            for (Object p : s.toArray()) {
+                Files.delete((Path) p);
+            }
+        }
+        Files.delete(dir);
+    }
+    
+    @Test
+    public void testPutGetCombine() throws Exception {
+        Path dir = Files.createTempDirectory("sss");
+        try (ShareStore store = ShareStore.open(dir, 64 * 1024)) {
+            List<byte[]> secrets = new ArrayList<>();
+            List<byte[]> ids = new ArrayList<>();
+            Random rand = new Random(7);
+            for (int i = 0; i < 200; i++) {
+                byte[] secret = new byte[1 + rand.nextInt(100)];
+                rand.nextBytes(secret);
+                List<BinaryShare> shares = sss.createBinary(3, 5, secret);
+                for (int j = 0; j < shares.size(); j++) {
+                    store.put(shares.get(j), j);
+                }
+                secrets.add(secret);
+                ids.add(shares.get(0).secretId());
+                Assert.assertEquals("Share", shares.get(4), store.share(ids.get(i), 4));
+            }
+            Assert.assertEquals("Size", 1000, store.size());
+            Assert.assertTrue("Segments", store.segmentCount() > 1);
+            for (int i = 0; i < secrets.size(); i++) {
+                List<BinaryShare> quorum = store.shares(ids.get(i), 4, 0, 2, 9);
+                Assert.assertEquals("Quorum", 3, quorum.size());
+                Assert.assertArrayEquals("Combine", secrets.get(i), sss.combineBinary(quorum));
+            }
+            Assert.assertNull("Missing", store.get(ids.get(0), 5));
+            Assert.assertNull("Missing id", store.get(id(-1), 0));
+            Assert.assertTrue("Read-only", store.get(ids.get(0), 0).isReadOnly());
+            try {
+                store.put(new byte[8], 0, ByteBuffer.allocate(1));
+                Assert.fail("Invalid id");
+            } catch (Exception e) {
+                Assert.assertEquals("Invalid id", "secretId is invalid", e.getMessage());
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+    
+    @Test
+    public void testReopen() throws Exception {
+        Path dir = Files.createTempDirectory("sss");
+        try {
+            // enough keys to grow the index several times
+            try (ShareStore store = ShareStore.open(dir, 64 * 1024)) {
+                Assert.assertTrue("Empty", store.isRebuilt);
+                for (int i = 0; i < 5000; i++) {
+                    store.put(id(i / 2), i % 2, payload(i, 0, 20));
+                }
+            }
+            ShareStore store = ShareStore.open(dir, 64 * 1024);
+            Assert.assertFalse("Clean", store.isRebuilt);
+            Assert.assertEquals("Clean size", 5000, store.size());
+            for (int i = 0; i < 5000; i++) {
+                Assert.assertEquals("Clean get " + i, payload(i, 0, 20), store.get(id(i / 2), i % 2));
+            }
+            for (int i = 5000; i < 6000; i++) {
+                store.put(id(i / 2), i % 2, payload(i, 0, 20));
+            }
+            store.sync();
+            // dropped without closing, as after a crash
+            store.crash();
+            try (ShareStore again = ShareStore.open(dir, 64 * 1024)) {
+                Assert.assertTrue("Crash", again.isRebuilt);
+                Assert.assertEquals("Crash size", 6000, again.size());
+                for (int i = 0; i < 6000; i++) {
+                    Assert.assertEquals("Crash get " + i, payload(i, 0, 20), again.get(id(i / 2), i % 2));
+                }
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+    
+    @Test
+    public void testRemoveCompact() throws Exception {
+        Path dir = Files.createTempDirectory("sss");
+        try {
+            ByteBuffer early;
+            try (ShareStore store = ShareStore.open(dir, 16 * 1024)) {
+                for (int i = 0; i < 1000; i++) {
+                    store.put(id(i), 0, payload(i, 0, 100));
+                }
+                early = store.get(id(1), 0);
+                // replace the odd keys, remove every fourth key
+                for (int i = 1; i < 1000; i += 2) {
+                    store.put(id(i), 0, payload(i, 1, 100));
+                }
+                for (int i = 0; i < 1000; i += 4) {
+                    Assert.assertTrue("Remove", store.remove(id(i), 0));
+                }
+                Assert.assertFalse("Remove again", store.remove(id(0), 0));
+                Assert.assertEquals("Size", 750, store.size());
+                int before = store.segmentCount();
+                Assert.assertTrue("Compact", store.compact(0.3) > 0);
+                Assert.assertTrue("Segments " + before + " " + store.segmentCount(), store.segmentCount() < before);
+                Assert.assertEquals("Early view", payload(1, 0, 100), early);
+                check(store);
+                Assert.assertEquals("Compact again", 0, store.compact(0.3));
+            }
+            try (ShareStore store = ShareStore.open(dir, 16 * 1024)) {
+                Assert.assertFalse("Clean", store.isRebuilt);
+                check(store);
+                store.sync();
+                store.crash();
+                // rebuilding must not bring back removed or replaced records
+                try (ShareStore again = ShareStore.open(dir, 16 * 1024)) {
+                    Assert.assertTrue("Crash", again.isRebuilt);
+                    check(again);
+                }
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+    
+    private static void check(ShareStore store) throws Exception {
+        Assert.assertEquals("Size", 750, store.size());
+        for (int i = 0; i < 1000; i++) {
+            ByteBuffer r = store.get(id(i), 0);
+            if (i % 4 == 0) {
+                Assert.assertNull("Removed " + i, r);
+            } else {
+                Assert.assertEquals("Record " + i, payload(i, i % 2, 100), r);
+            }
+        }
+        long[] seen = new long[1];
+        Assert.assertEquals("Scan", 750, store.scan((secretId, index, record) -> {
+            int i = secretId.getInt(12);
+            Assert.assertEquals("Scan index", 0, index);
+            Assert.assertEquals("Scan record " + i, payload(i, i % 2, 100), record);
+            seen[0]++;
+        }));
+        Assert.assertEquals("Scan seen", 750, seen[0]);
+    }
+    
+    @Test
+    public void testTornTail() throws Exception {
+        Path dir = Files.createTempDirectory("sss");
+        try {
+            ShareStore store = ShareStore.open(dir, 64 * 1024);
+            for (int i = 0; i < 10; i++) {
+                store.put(id(i), 0, payload(i, 0, 100));
+            }
+            store.sync();
+            store.crash();
+            // tear the last record, 136 bytes each after the 16-byte header
+            try (FileChannel ch = FileChannel.open(dir.resolve("00000001.seg"), StandardOpenOption.WRITE)) {
+                ch.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), 16 + 9 * 136 + 40);
+            }
+            try (ShareStore again = ShareStore.open(dir, 64 * 1024)) {
+                Assert.assertTrue("Crash", again.isRebuilt);
+                Assert.assertEquals("Torn size", 9, again.size());
+                Assert.assertNull("Torn", again.get(id(9), 0));
+                again.put(id(10), 0, payload(10, 0, 60));
+                again.sync();
+                again.crash();
+                try (ShareStore third = ShareStore.open(dir, 64 * 1024)) {
+                    Assert.assertEquals("Append size", 10, third.size());
+                    Assert.assertEquals("Append", payload(10, 0, 60), third.get(id(10), 0));
+                    Assert.assertNull("Not resurrected", third.get(id(9), 0));
+                }
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+    
+    @Test
+    public void testLock() throws Exception {
+        Path dir = Files.createTempDirectory("sss");
+        try {
+            try (ShareStore store = ShareStore.open(dir, 64 * 1024)) {
+                store.put(id(1), 0, payload(1, 0, 20));
+                try {
+                    ShareStore.open(dir, 64 * 1024).close();
+                    Assert.fail("A second open should fail");
+                } catch (Exception e) {
+                    Assert.assertEquals("Locked", "store is already open", e.getMessage());
+                }
+                Assert.assertEquals("Still open", payload(1, 0, 20), store.get(id(1), 0));
+            }
+            try (ShareStore store = ShareStore.open(dir, 64 * 1024)) {
+                Assert.assertFalse("Clean", store.isRebuilt);
+                Assert.assertEquals("Unlocked", payload(1, 0, 20), store.get(id(1), 0));
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 nghiatc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ntc.jcrypto.sss;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+import org.junit.*;
+
+/**
+ *
+ * @author nghiatc
+ * @since Oct 16, 2026
+ * 
+ * mvn -Dtest=TestSubproductTree test
+ */
+public class TestSubproductTree {
+    private static final Random rnd = new Random(2026);
+
+    @Test
+    public void testPoly() throws Exception {
+        for (int[] len : new int[][]{{1, 1}, {5, 30}, {100, 100}, {77, 200}, {64, 63}}) {
+            long[][] a = random(len[0]);
+            long[][] b = random(len[1]);
+            Assert.assertArrayEquals("Karatsuba " + len[0] + "x" + len[1], schoolbook(a, b), Poly.mul(a, b));
+        }
+        long[][] h = random(150);
+        Fp256.setOne(h[0]);
+        long[][] g = Poly.inverse(h, 150);
+        long[][] one = Poly.mulLow(h, g, 150);
+        Assert.assertEquals("Inverse", BigInteger.ONE, Fp256.toBigInteger(one[0]));
+        for (int i = 1; i < 150; i++) {
+            Assert.assertTrue("Inverse " + i, Fp256.isZero(one[i]));
+        }
+    }
+
+    @Test
+    public void testEvaluate() throws Exception {
+        for (int[] nk : new int[][]{{1, 1}, {7, 7}, {50, 3}, {100, 40}, {300, 100}, {333, 128}}) {
+            int n = nk[0];
+            int k = nk[1];
+            long[][] xs = random(n);
+            long[][] f = random(k);
+            long[][] r = new long[n][4];
+            new SubproductTree(xs, k).evaluate(f, r);
+            long[] e = Fp256.create();
+            for (int i = 0; i < n; i++) {
+                SubproductTree.horner(e, f, xs[i]);
+                Assert.assertArrayEquals("n=" + n + " k=" + k + " point " + i, e, r[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testCreate() throws Exception {
+        // 124 bytes are four byte-exact parts, enough to build the tree
+        int k = SSS.FAST_EVALUATION_MINIMUM;
+        Assert.assertTrue("Fast evaluation", SSS.isFastEvaluation(k, 4));
+        byte[] secret = new byte[4 * SSS.BYTES_PER_PART];
+        rnd.nextBytes(secret);
+        SSS sss = new SSS();
+        List<String> arr = sss.create(k, k + 8, secret, true);
+        Assert.assertArrayEquals("Combine first", secret, sss.combineBytes(arr.subList(0, k), true));
+        Assert.assertArrayEquals("Combine last", secret, sss.combineBytes(arr.subList(8, k + 8), true));
+    }
+
+    @Test
+    public void testLagrangeBasis() throws Exception {
+        for (int n : new int[]{1, 2, 5, 40}) {
+            long[][] xs = random(n);
+            long[][] basis = SSS.lagrangeBasisAtZero(xs);
+            for (int i = 0; i < n; i++) {
+                BigInteger num = BigInteger.ONE;
+                BigInteger den = BigInteger.ONE;
+                for (int k = 0; k < n; k++) {
+                    if (k != i) {
+                        num = num.multiply(Fp256.toBigInteger(xs[k]).negate());
+                        den = den.multiply(Fp256.toBigInteger(xs[i]).subtract(Fp256.toBigInteger(xs[k])));
+                    }
+                }
+                Assert.assertEquals("Basis n=" + n + " i=" + i, num.multiply(den.modInverse(Fp256.P)).mod(Fp256.P), Fp256.toBigInteger(basis[i]));
+            }
+        }
+    }
+
+    @Test
+    public void testLagrangeBasisTree() throws Exception {
+        // the subproduct tree path, forced at a few hundred points: it must give the barycentric basis itself
+        for (int n : new int[]{2, 3, 255, 300, 513}) {
+            long[][] xs = random(n);
+            long[][] tree = SSS.lagrangeBasisAtZero(xs, 1);
+            long[][] barycentric = SSS.lagrangeBasisAtZero(xs, Integer.MAX_VALUE);
+            for (int i = 0; i < n; i++) {
+                Assert.assertArrayEquals("Basis n=" + n + " i=" + i, barycentric[i], tree[i]);
+            }
+            // and recover the constant term of a polynomial of degree n - 1 from its values, as combine does
+            long[][] f = random(n);
+            long[][][] ys = new long[n][1][4];
+            for (int i = 0; i < n; i++) {
+                SubproductTree.horner(ys[i][0], f, xs[i]);
+            }
+            long[] secret = Fp256.create();
+            SSS.interpolate(secret, tree, ys, 0, Fp256.create());
+            Assert.assertArrayEquals("Secret n=" + n, f[0], secret);
+        }
+    }
+
+    private static long[][] random(int n) {
+        long[][] a = new long[n][];
+        for (int i = 0; i < n; i++) {
+            a[i] = Fp256.valueOf(new BigInteger(255, rnd));
+        }
+        return a;
+    }
+
+    private static long[][] schoolbook(long[][] a, long[][] b) {
+        long[][] r = new long[a.length + b.length - 1][4];
+        long[] t = Fp256.create();
+        for (int i = 0; i < a.length; i++) {
+            for (int k = 0; k < b.length; k++) {
+                Fp256.mul(t, a[i], b[k]);
+                Fp256.add(r[i + k], r[i + k], t);
+            }
+        }
+        return r;
+    }
+}